@@ -8,6 +8,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 @Configuration
@@ -20,4 +21,13 @@ public class CachConfig {
                 .maximumSize(1000)
                 .build();
     }
+
+    @Bean
+    public Cache<String, List<String>> roleCache() {
+        // Role theo email cho luồng đăng nhập/cấp token, bị xoá khi UserRoleEntity thay đổi
+        return CacheBuilder.newBuilder()
+                .expireAfterWrite(30, TimeUnit.MINUTES)
+                .maximumSize(10000)
+                .build();
+    }
 }
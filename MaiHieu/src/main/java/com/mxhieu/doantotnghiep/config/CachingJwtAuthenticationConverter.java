@@ -0,0 +1,19 @@
+package com.mxhieu.doantotnghiep.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+// Lấy authorities đã tính sẵn trong CachingJwtDecoder; token Authentication tạo mới mỗi request
+// vì Spring Security gắn details (IP, session) vào nó
+@RequiredArgsConstructor
+public class CachingJwtAuthenticationConverter implements Converter<Jwt, AbstractAuthenticationToken> {
+    private final CachingJwtDecoder jwtDecoder;
+
+    @Override
+    public AbstractAuthenticationToken convert(Jwt jwt) {
+        return new JwtAuthenticationToken(jwt, jwtDecoder.authorities(jwt), jwt.getSubject());
+    }
+}
@@ -0,0 +1,121 @@
+package com.mxhieu.doantotnghiep.config;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bọc NimbusJwtDecoder: token đã verify được giữ lại (kèm authorities) theo SHA-256 của token
+ * cho tới khi hết hạn, nên các request polling không phải parse + kiểm HMAC lại mỗi lần.
+ * evict() dùng khi logout / thu hồi token: xoá khỏi cache và chặn token đó tới khi nó hết hạn.
+ * Danh sách thu hồi không giới hạn kích thước (cache có trần sẽ đẩy token đã logout ra và token lại dùng được);
+ * mỗi mục giữ tới exp của chính token, sweepRevoked() dọn định kỳ (xem RevokedTokenSweeper).
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+    // NimbusJwtDecoder mặc định chấp nhận lệch đồng hồ 60 giây sau exp: giữ mục thu hồi thêm khoảng này
+    private static final Duration REVOKE_GRACE = Duration.ofMinutes(1);
+
+    private final JwtDecoder delegate;
+    private final Converter<Jwt, Collection<GrantedAuthority>> authoritiesConverter;
+    private final Duration maxTokenLifetime;
+    private final Cache<String, VerifiedJwt> verified;
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+
+    record VerifiedJwt(Jwt jwt, Collection<GrantedAuthority> authorities) {
+    }
+
+    public CachingJwtDecoder(JwtDecoder delegate,
+                             Converter<Jwt, Collection<GrantedAuthority>> authoritiesConverter,
+                             long maximumSize,
+                             Duration maxTokenLifetime) {
+        this.delegate = delegate;
+        this.authoritiesConverter = authoritiesConverter;
+        this.maxTokenLifetime = maxTokenLifetime;
+        this.verified = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(maxTokenLifetime.toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        return lookup(token).jwt();
+    }
+
+    public Collection<GrantedAuthority> authorities(Jwt jwt) {
+        return lookup(jwt.getTokenValue()).authorities();
+    }
+
+    public void evict(String token) {
+        String key = digest(token);
+        VerifiedJwt cached = verified.getIfPresent(key);
+        verified.invalidate(key);
+        Instant expiresAt;
+        try {
+            expiresAt = (cached != null ? cached.jwt() : delegate.decode(token)).getExpiresAt();
+        } catch (JwtException e) {
+            // Token không hợp lệ / đã hết hạn: delegate đã từ chối nó, không cần ghi vào danh sách thu hồi
+            return;
+        }
+        revoked.put(key, expiresAt != null ? expiresAt : Instant.now().plus(maxTokenLifetime));
+    }
+
+    // Xoá các mục thu hồi mà token đã hết hạn (quá cả khoảng lệch đồng hồ), trả về số mục đã xoá
+    public int sweepRevoked() {
+        Instant cutoff = Instant.now().minus(REVOKE_GRACE);
+        int removed = 0;
+        for (Iterator<Instant> it = revoked.values().iterator(); it.hasNext(); ) {
+            if (it.next().isBefore(cutoff)) {
+                it.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    private VerifiedJwt lookup(String token) {
+        String key = digest(token);
+        if (revoked.containsKey(key)) {
+            throw new BadJwtException("Token has been revoked");
+        }
+        VerifiedJwt cached = verified.getIfPresent(key);
+        if (cached != null && notExpired(cached.jwt())) {
+            return cached;
+        }
+        if (cached != null) {
+            verified.invalidate(key);
+        }
+        Jwt jwt = delegate.decode(token);
+        Collection<GrantedAuthority> authorities = authoritiesConverter.convert(jwt);
+        VerifiedJwt entry = new VerifiedJwt(jwt, authorities != null ? List.copyOf(authorities) : List.of());
+        if (jwt.getExpiresAt() != null) {
+            verified.put(key, entry);
+        }
+        return entry;
+    }
+
+    private boolean notExpired(Jwt jwt) {
+        Instant expiresAt = jwt.getExpiresAt();
+        return expiresAt != null && Instant.now().isBefore(expiresAt);
+    }
+
+    private static String digest(String token) {
+        return Hashing.sha256().hashString(token, StandardCharsets.UTF_8).toString();
+    }
+}
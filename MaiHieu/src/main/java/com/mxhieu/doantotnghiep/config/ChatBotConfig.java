@@ -0,0 +1,18 @@
+package com.mxhieu.doantotnghiep.config;
+
+import com.mxhieu.doantotnghiep.service.TextEmbedder;
+import com.mxhieu.doantotnghiep.service.impl.HashingTextEmbedder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ChatBotConfig {
+    // Mặc định dùng embedder băm cục bộ; khai báo bean TextEmbedder khác (vd. gọi model embedding) để thay thế
+    @Bean
+    @ConditionalOnMissingBean(TextEmbedder.class)
+    public TextEmbedder textEmbedder(@Value("${chatbot.rag.dimension:384}") int dimension) {
+        return new HashingTextEmbedder(dimension);
+    }
+}
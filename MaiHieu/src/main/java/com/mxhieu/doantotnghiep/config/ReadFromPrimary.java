@@ -0,0 +1,13 @@
+package com.mxhieu.doantotnghiep.config;
+
+import java.lang.annotation.*;
+
+/**
+ * Đánh dấu method/class đọc phải thấy ngay dữ liệu vừa ghi: luôn đọc ở primary kể cả khi transaction readOnly.
+ * Chỉ có tác dụng khi bật replica (datasource.replica.url).
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ReadFromPrimary {
+}
@@ -0,0 +1,22 @@
+package com.mxhieu.doantotnghiep.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+// Chạy ngoài cùng, trước TransactionInterceptor, để cờ primary có hiệu lực khi transaction lấy connection
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ReadFromPrimaryAspect {
+    @Around("@annotation(com.mxhieu.doantotnghiep.config.ReadFromPrimary) || @within(com.mxhieu.doantotnghiep.config.ReadFromPrimary)")
+    public Object readFromPrimary(ProceedingJoinPoint joinPoint) throws Throwable {
+        ReadWriteRoutingDataSource.enterPrimary();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ReadWriteRoutingDataSource.exitPrimary();
+        }
+    }
+}
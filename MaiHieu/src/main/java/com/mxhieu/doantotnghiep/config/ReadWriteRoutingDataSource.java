@@ -0,0 +1,121 @@
+package com.mxhieu.doantotnghiep.config;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Transaction readOnly đọc từ replica, còn lại ghi/đọc ở primary.
+ * Read-your-writes: sau khi người dùng (hoặc chính request hiện tại) commit một transaction ghi,
+ * các lần đọc của họ trong khoảng stickyWindow vẫn đi primary để không thấy dữ liệu cũ do replica trễ.
+ * Phải bọc trong LazyConnectionDataSourceProxy để việc chọn nguồn diễn ra khi đã biết cờ readOnly.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+    public enum Target { PRIMARY, REPLICA }
+
+    private static final String REQUEST_WROTE_ATTRIBUTE = ReadWriteRoutingDataSource.class.getName() + ".WROTE";
+    private static final ThreadLocal<Integer> FORCE_PRIMARY = ThreadLocal.withInitial(() -> 0);
+
+    private final Cache<String, Boolean> recentWriters;
+    private final Counter primaryCounter;
+    private final Counter replicaCounter;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, Duration stickyWindow, MeterRegistry meterRegistry) {
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        this.recentWriters = CacheBuilder.newBuilder()
+                .expireAfterWrite(stickyWindow)
+                .maximumSize(100_000)
+                .build();
+        this.primaryCounter = Counter.builder("datasource.routing").tag("target", "primary").register(meterRegistry);
+        this.replicaCounter = Counter.builder("datasource.routing").tag("target", "replica").register(meterRegistry);
+    }
+
+    /**
+     * Chạy đoạn đọc bắt buộc ở primary (kể cả trong transaction readOnly).
+     */
+    public static <T> T primary(Supplier<T> work) {
+        enterPrimary();
+        try {
+            return work.get();
+        } finally {
+            exitPrimary();
+        }
+    }
+
+    static void enterPrimary() {
+        FORCE_PRIMARY.set(FORCE_PRIMARY.get() + 1);
+    }
+
+    static void exitPrimary() {
+        int depth = FORCE_PRIMARY.get() - 1;
+        if (depth <= 0) {
+            FORCE_PRIMARY.remove();
+        } else {
+            FORCE_PRIMARY.set(depth);
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Target target = route();
+        (target == Target.PRIMARY ? primaryCounter : replicaCounter).increment();
+        return target;
+    }
+
+    private Target route() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                rememberWriterAfterCommit();
+            }
+            return Target.PRIMARY;
+        }
+        if (FORCE_PRIMARY.get() > 0 || wroteRecently()) {
+            return Target.PRIMARY;
+        }
+        return Target.REPLICA;
+    }
+
+    private void rememberWriterAfterCommit() {
+        String user = currentUser();
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                if (user != null) {
+                    recentWriters.put(user, Boolean.TRUE);
+                }
+                if (request != null) {
+                    request.setAttribute(REQUEST_WROTE_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+                }
+            }
+        });
+    }
+
+    private boolean wroteRecently() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null && request.getAttribute(REQUEST_WROTE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null) {
+            return true;
+        }
+        String user = currentUser();
+        return user != null && recentWriters.getIfPresent(user) != null;
+    }
+
+    private String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+}
@@ -0,0 +1,19 @@
+package com.mxhieu.doantotnghiep.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Dọn định kỳ các token đã thu hồi mà đã quá exp khỏi danh sách thu hồi của CachingJwtDecoder.
+ */
+@Component
+@RequiredArgsConstructor
+public class RevokedTokenSweeper {
+    private final CachingJwtDecoder jwtDecoder;
+
+    @Scheduled(fixedDelayString = "${jwt.revoked.sweep-ms:600000}")
+    public void sweep() {
+        jwtDecoder.sweepRevoked();
+    }
+}
@@ -14,14 +14,13 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
 import org.springframework.security.oauth2.jwt.Jwt;
-import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
-import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.SecurityFilterChain;
 
 import javax.crypto.spec.SecretKeySpec;
+import java.time.Duration;
 
 @Configuration
 @EnableWebSecurity
@@ -29,6 +28,9 @@ public class SecurityConfig {
     @Value("${jwt.signer-key}")
     private String secretKey;
 
+    @Value("${jwt.cache.maximum-size:20000}")
+    private long jwtCacheSize;
+
     private String[] publicEndpoints = {
             "/auth/login",
             "/auth/refresh-token",
@@ -50,6 +52,13 @@ public class SecurityConfig {
                         request
                                 // Cho phép POST vào các endpoint public không cần authentication
                                 .requestMatchers(publicEndpoints).permitAll()
+                                // Theo dõi hàng đợi email chỉ dành cho ADMIN
+                                .requestMatchers("/mail-outbox/**").hasRole("ADMIN")
+                                // Actuator: health chỉ cần đăng nhập, còn metrics (tên bảng, endpoint, số liệu tải) chỉ dành cho ADMIN
+                                .requestMatchers("/actuator/health", "/actuator/health/**").authenticated()
+                                .requestMatchers("/actuator/**").hasRole("ADMIN")
+                                // Danh sách toàn bộ người dùng chỉ dành cho ADMIN
+                                .requestMatchers(HttpMethod.GET, "/users/page").hasRole("ADMIN")
                                 // GET /users chỉ cho ADMIN truy cập
 //                                .requestMatchers(HttpMethod.GET, "/teacherprofiles/**").hasRole("ADMIN")
                                 // Các request còn lại đều yêu cầu authentication
@@ -71,21 +80,24 @@ public class SecurityConfig {
 
 
     @Bean
-    public JwtAuthenticationConverter jwtAuthenticationConverter() {
-        JwtGrantedAuthoritiesConverter converter = new JwtGrantedAuthoritiesConverter();
-        converter.setAuthoritiesClaimName("role"); // lấy quyền từ claim "role"
-        converter.setAuthorityPrefix("ROLE_");          // không thêm "ROLE_"
-        JwtAuthenticationConverter jwtConverter = new JwtAuthenticationConverter();
-        jwtConverter.setJwtGrantedAuthoritiesConverter(converter);
-        return jwtConverter;
+    public Converter<Jwt, AbstractAuthenticationToken> jwtAuthenticationConverter() {
+        // Authorities đã được tính một lần khi verify token (xem CachingJwtDecoder)
+        return new CachingJwtAuthenticationConverter(jwtDecoder());
     }
 
     @Bean
-    JwtDecoder jwtDecoder() {
+    CachingJwtDecoder jwtDecoder() {
         SecretKeySpec secretKeySpec = new SecretKeySpec(secretKey.getBytes(), "HS512");
-        return NimbusJwtDecoder.withSecretKey(secretKeySpec)
+        NimbusJwtDecoder nimbusJwtDecoder = NimbusJwtDecoder.withSecretKey(secretKeySpec)
                 .macAlgorithm(MacAlgorithm.HS512)
                 .build();
+
+        JwtGrantedAuthoritiesConverter converter = new JwtGrantedAuthoritiesConverter();
+        converter.setAuthoritiesClaimName("role"); // lấy quyền từ claim "role"
+        converter.setAuthorityPrefix("ROLE_");          // không thêm "ROLE_"
+
+        // Access token sống 7 ngày (AuthenticationServiceImpl)
+        return new CachingJwtDecoder(nimbusJwtDecoder, converter, jwtCacheSize, Duration.ofDays(7));
     }
 
     @Bean
@@ -9,8 +9,13 @@ import com.mxhieu.doantotnghiep.dto.response.ApiResponse;
 import com.mxhieu.doantotnghiep.dto.response.AssessmentResponse;
 import com.mxhieu.doantotnghiep.dto.response.ExerciseResponse;
 import com.mxhieu.doantotnghiep.service.AssessmentService;
+import com.mxhieu.doantotnghiep.service.ContentPayloadService;
+import com.mxhieu.doantotnghiep.service.PlacementPoolService;
+import com.mxhieu.doantotnghiep.utils.Const;
 import lombok.RequiredArgsConstructor;
 import org.checkerframework.checker.units.qual.A;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -24,6 +29,10 @@ public class AssessmentController {
 
     // Service xử lý logic nghiệp vụ cho Assessment
     private final AssessmentService assessmentService;
+    // Kho bài test đầu vào đã render sẵn
+    private final PlacementPoolService placementPoolService;
+    // Cache body đề bài (dùng chung mọi học viên)
+    private final ContentPayloadService contentPayloadService;
 
     /**
      * API tạo mới Assessment
@@ -146,21 +155,26 @@ public class AssessmentController {
      * khi học sinh mới đăng nhập lần đầu sẽ làm bài test đầu vào
      */
     @GetMapping("/firsttest")
-    ApiResponse<List<AssessmentResponse>> getAssessmentDetailForFistTest() {
-        return ApiResponse.<List<AssessmentResponse>>builder()
-                .code(200)
-                .data(assessmentService.getAssessmentDetailForFistTest())
-                .build();
+    ResponseEntity<byte[]> getAssessmentDetailForFistTest(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        // Body đã render và nén sẵn trong kho, mỗi request chỉ bốc ngẫu nhiên một bài
+        return placementPoolService.getRandomPayload().toResponse(ifNoneMatch, acceptEncoding);
     }
 
     /**
      * API lấy danh sách Assessment theo Test ID (Mini Test)
+     * Đề giống nhau cho mọi học viên nên trả body đã serialize sẵn kèm ETag
      */
     @GetMapping("/mini-test/{id}")
-    ApiResponse<List<AssessmentResponse>>getAssessmentDetailByTestId(@PathVariable Integer id) {
-        return ApiResponse.<List<AssessmentResponse>>builder()
-                .code(200)
-                .data(assessmentService.getAssessmentsDetailByTestId(id))
-                .build();
+    ResponseEntity<byte[]> getAssessmentDetailByTestId(@PathVariable Integer id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return contentPayloadService.getPayload(Const.CONTENT_PAYLOAD.TEST_ASSESSMENTS, id,
+                        () -> ApiResponse.<List<AssessmentResponse>>builder()
+                                .code(200)
+                                .data(assessmentService.getAssessmentsDetailByTestId(id))
+                                .build())
+                .toResponse(ifNoneMatch, acceptEncoding);
     }
 }
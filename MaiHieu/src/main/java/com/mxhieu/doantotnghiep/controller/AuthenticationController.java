@@ -63,4 +63,18 @@ public class AuthenticationController {
                 .data(response)
                 .build();
     }
+
+    /**
+     * API đăng xuất
+     * Thu hồi access token đang dùng (Authorization: Bearer ...)
+     */
+    @PostMapping("/logout")
+    public ApiResponse<Void> logout(@RequestHeader("Authorization") String authorization) {
+        String token = authorization.startsWith("Bearer ") ? authorization.substring(7) : authorization;
+        authenticationService.logOut(token);
+        return ApiResponse.<Void>builder()
+                .code(200)
+                .message("Đăng xuất thành công")
+                .build();
+    }
 }
\ No newline at end of file
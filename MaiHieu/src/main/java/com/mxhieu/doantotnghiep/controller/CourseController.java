@@ -2,6 +2,7 @@ package com.mxhieu.doantotnghiep.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mxhieu.doantotnghiep.dto.request.CourseRequest;
+import com.mxhieu.doantotnghiep.dto.request.CursorPageRequest;
 import com.mxhieu.doantotnghiep.dto.request.ModuleRequest;
 import com.mxhieu.doantotnghiep.dto.response.ApiResponse;
 import com.mxhieu.doantotnghiep.service.CourseService;
@@ -84,6 +85,22 @@ public class CourseController {
                 .build();
     }
 
+    /**
+     * API danh sách khóa học phân trang keyset (không kèm ảnh):
+     * ?sort=title|-id&q=...&status=...&type=...&teacherId=...&limit=...&cursor=...
+     */
+    @GetMapping("/page")
+    public ApiResponse<?> getCoursesPage(CursorPageRequest request,
+                                         @RequestParam(required = false) String status,
+                                         @RequestParam(required = false) String type,
+                                         @RequestParam(required = false) Integer teacherId) {
+        return ApiResponse.builder()
+                .code(200)
+                .message("Success")
+                .data(courseService.getCoursesPage(request, status, type, teacherId))
+                .build();
+    }
+
     /**
      * API lấy chi tiết khóa học theo ID
      */
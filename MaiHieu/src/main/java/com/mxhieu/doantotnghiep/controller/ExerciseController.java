@@ -6,13 +6,18 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mxhieu.doantotnghiep.dto.request.ExerciseAndQuestionRequest;
 import com.mxhieu.doantotnghiep.dto.request.ExerciseRequest;
 import com.mxhieu.doantotnghiep.dto.request.ExerciseTypeRequest;
+import com.mxhieu.doantotnghiep.dto.request.ReorderRequest;
 import com.mxhieu.doantotnghiep.dto.response.ApiResponse;
 import com.mxhieu.doantotnghiep.dto.response.ExerciseResponse;
 import com.mxhieu.doantotnghiep.dto.response.ExerciseTypeResponse;
 import com.mxhieu.doantotnghiep.repository.ExerciseRepository;
+import com.mxhieu.doantotnghiep.service.ContentPayloadService;
 import com.mxhieu.doantotnghiep.service.ExerciseService;
+import com.mxhieu.doantotnghiep.utils.Const;
 import io.swagger.v3.oas.annotations.parameters.RequestBody;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -25,6 +30,7 @@ import java.util.List;
 public class ExerciseController {
     private  final ExerciseService exerciseService;
     private final ObjectMapper objectMapper;
+    private final ContentPayloadService contentPayloadService;
 
 
     /**
@@ -101,6 +107,15 @@ public class ExerciseController {
                 .data(exerciseService.getMaxOrder(lessonId))
                 .build();
     }
+    @PutMapping("/lesson/{lessonId}/order")
+    ApiResponse<?> reorderExercises(@PathVariable Integer lessonId,
+                                    @org.springframework.web.bind.annotation.RequestBody ReorderRequest request){
+        exerciseService.reorderExercises(lessonId, request.getIds());
+        return ApiResponse.builder()
+                .code(200)
+                .message("sap xep thanh cong")
+                .build();
+    }
     @DeleteMapping("/{id}")
     ApiResponse<?> deleteExercise(@PathVariable Integer id){
         exerciseService.deleteExcercise(id);
@@ -164,14 +179,27 @@ public class ExerciseController {
             .data(exerciseService.getSummaryExercisesByLessonId(lessonId))
             .build();
     }
-    // lấy bài tập cho trang giáo viên và admin
+    // lấy bài tập cho trang giáo viên và admin; nội dung giống nhau cho mọi người nên trả body đã serialize sẵn kèm ETag
     @GetMapping("/{id}")
-    ApiResponse<?> getExerciseByIdForTeacher(@PathVariable Integer id) {
-        ExerciseResponse exerciseResponse = exerciseService.getExerciseDetailById(id);
+    ResponseEntity<byte[]> getExerciseByIdForTeacher(@PathVariable Integer id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return contentPayloadService.getPayload(Const.CONTENT_PAYLOAD.EXERCISE, id,
+                        () -> ApiResponse.builder()
+                                .code(200)
+                                .message("Success")
+                                .data(exerciseService.getExerciseDetailById(id))
+                                .build())
+                .toResponse(ifNoneMatch, acceptEncoding);
+    }
+
+    // Phần riêng của học viên (đã hoàn thành, lựa chọn đã chọn) để ghép lên nội dung dùng chung ở GET /{id}
+    @GetMapping("/{id}/student/{studentProfileId}/state")
+    ApiResponse<?> getExerciseStateForStudent(@PathVariable Integer id, @PathVariable Integer studentProfileId) {
         return ApiResponse.builder()
                 .code(200)
                 .message("Success")
-                .data(exerciseResponse)
+                .data(exerciseService.getExerciseStateForStudent(id, studentProfileId))
                 .build();
     }
 }
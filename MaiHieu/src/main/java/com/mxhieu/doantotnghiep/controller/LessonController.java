@@ -5,10 +5,14 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mxhieu.doantotnghiep.dto.request.LessonOrTestAroundRequest;
 import com.mxhieu.doantotnghiep.dto.request.LessonProgressRequest;
 import com.mxhieu.doantotnghiep.dto.request.LessonRequest;
+import com.mxhieu.doantotnghiep.dto.request.ReorderRequest;
+import com.mxhieu.doantotnghiep.dto.request.WatchSegmentRequest;
 import com.mxhieu.doantotnghiep.dto.response.LessonOrTestAroundResponse;
 import com.mxhieu.doantotnghiep.dto.response.ApiResponse;
 import com.mxhieu.doantotnghiep.dto.response.LessonResponse;
+import com.mxhieu.doantotnghiep.dto.response.LessonWatchHeatmapResponse;
 import com.mxhieu.doantotnghiep.service.LessonService;
+import com.mxhieu.doantotnghiep.service.LessonWatchHeatmapService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
@@ -20,6 +24,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class LessonController {
     private final LessonService lessonService;
+    private final LessonWatchHeatmapService lessonWatchHeatmapService;
     @PostMapping(consumes = "multipart/form-data")
     public ApiResponse<?> createLesson(
             @RequestPart("lesson") String lessonJson,
@@ -120,6 +125,15 @@ public class LessonController {
                 .build();
     }
 
+    @PutMapping("/module/{moduleId}/order")
+    public ApiResponse<?> reorderLessons(@PathVariable Integer moduleId, @RequestBody ReorderRequest request) {
+        lessonService.reorderLessons(moduleId, request.getIds());
+        return ApiResponse.builder()
+                .code(200)
+                .message("reorder lessons success")
+                .build();
+    }
+
     @DeleteMapping("/{id}")
     public ApiResponse<?> deleteLesson(@PathVariable Integer id) {
         lessonService.deleteLesson(id);
@@ -128,4 +142,24 @@ public class LessonController {
                 .message("delete lesson success")
                 .build();
     }
+
+    // Beacon của trình phát: các đoạn vừa xem (giây), chỉ cộng bộ đếm trong bộ nhớ
+    @PostMapping("/{id}/watch-segments")
+    public ApiResponse<?> recordWatchSegments(@PathVariable Integer id, @RequestBody List<WatchSegmentRequest> segments) {
+        lessonWatchHeatmapService.recordSegments(id, segments);
+        return ApiResponse.builder()
+                .code(200)
+                .message("Success")
+                .build();
+    }
+
+    // Heatmap cho giáo viên: lượt xem theo từng đoạn bucketSec giây của video
+    @GetMapping("/{id}/watch-heatmap")
+    public ApiResponse<LessonWatchHeatmapResponse> getWatchHeatmap(@PathVariable Integer id) {
+        return ApiResponse.<LessonWatchHeatmapResponse>builder()
+                .code(200)
+                .message("Success")
+                .data(lessonWatchHeatmapService.getHeatmap(id))
+                .build();
+    }
 }
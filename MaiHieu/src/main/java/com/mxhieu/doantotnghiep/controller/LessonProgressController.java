@@ -2,7 +2,7 @@ package com.mxhieu.doantotnghiep.controller;
 
 import com.mxhieu.doantotnghiep.dto.request.LessonProgressRequest;
 import com.mxhieu.doantotnghiep.dto.response.ApiResponse;
-import com.mxhieu.doantotnghiep.service.LessonProgressService;
+import com.mxhieu.doantotnghiep.service.WatchProgressService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -13,10 +13,11 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/lesson-progress")
 @RequiredArgsConstructor
 public class LessonProgressController {
-    private final LessonProgressService lessonProgressService;
+    private final WatchProgressService watchProgressService;
+    // Heartbeat của trình phát: dưới ngưỡng hoàn thành thì gộp và ghi trễ, tới ngưỡng thì kiểm tra hoàn thành ngay
     @PostMapping()
     public ApiResponse<?> checkCompletionCondition(@RequestBody LessonProgressRequest lessonProgressRequest) {
-        lessonProgressService.checkCompletionCondition(lessonProgressRequest);
+        watchProgressService.recordHeartbeat(lessonProgressRequest);
         return ApiResponse.builder()
                 .code(200)
                 .message("Check completion condition success")
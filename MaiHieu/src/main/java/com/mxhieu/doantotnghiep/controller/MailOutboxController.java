@@ -0,0 +1,57 @@
+package com.mxhieu.doantotnghiep.controller;
+
+import com.mxhieu.doantotnghiep.dto.response.ApiResponse;
+import com.mxhieu.doantotnghiep.dto.response.MailOutboxResponse;
+import com.mxhieu.doantotnghiep.dto.response.MailOutboxSummaryResponse;
+import com.mxhieu.doantotnghiep.service.MailOutboxService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/mail-outbox")
+@RequiredArgsConstructor
+public class MailOutboxController {
+    private final MailOutboxService mailOutboxService;
+
+    /**
+     * GET /mail-outbox/summary
+     * Số email theo trạng thái (PENDING / SENDING / SENT / FAILED) và thời điểm tạo cũ nhất
+     */
+    @GetMapping("/summary")
+    public ApiResponse<List<MailOutboxSummaryResponse>> getSummary() {
+        return ApiResponse.<List<MailOutboxSummaryResponse>>builder()
+                .code(200)
+                .message("Success")
+                .data(mailOutboxService.getSummary())
+                .build();
+    }
+
+    /**
+     * GET /mail-outbox?status=FAILED&limit=50
+     * Danh sách email mới nhất theo trạng thái, kèm lỗi gần nhất
+     */
+    @GetMapping
+    public ApiResponse<List<MailOutboxResponse>> getByStatus(@RequestParam(defaultValue = "FAILED") String status,
+                                                             @RequestParam(defaultValue = "50") int limit) {
+        return ApiResponse.<List<MailOutboxResponse>>builder()
+                .code(200)
+                .message("Success")
+                .data(mailOutboxService.getByStatus(status, Math.min(limit, 500)))
+                .build();
+    }
+
+    /**
+     * PUT /mail-outbox/{id}/retry
+     * Đưa email lỗi về hàng đợi để gửi lại ngay
+     */
+    @PutMapping("/{id}/retry")
+    public ApiResponse<Void> retry(@PathVariable Integer id) {
+        mailOutboxService.retry(id);
+        return ApiResponse.<Void>builder()
+                .code(200)
+                .message("Success")
+                .build();
+    }
+}
@@ -1,6 +1,5 @@
 package com.mxhieu.doantotnghiep.controller;
 
-import com.mxhieu.doantotnghiep.converter.base.BaseConverter;
 import com.mxhieu.doantotnghiep.entity.LessonEntity;
 import com.mxhieu.doantotnghiep.entity.MaterialEntity;
 import com.mxhieu.doantotnghiep.utils.FileUtils;
@@ -12,7 +11,7 @@ import java.io.IOException;
 import java.util.List;
 
 @Component
-public class MaterialConverter extends BaseConverter<Object, Object, Object> {
+public class MaterialConverter {
 
     @Autowired
     private FileUtils fileUtils;
@@ -1,6 +1,8 @@
 package com.mxhieu.doantotnghiep.controller;
 
+import com.mxhieu.doantotnghiep.dto.request.CursorPageRequest;
 import com.mxhieu.doantotnghiep.dto.request.ModuleRequest;
+import com.mxhieu.doantotnghiep.dto.request.ReorderRequest;
 import com.mxhieu.doantotnghiep.dto.response.ApiResponse;
 import com.mxhieu.doantotnghiep.service.ModuleService;
 import lombok.RequiredArgsConstructor;
@@ -27,6 +29,15 @@ public class ModuleController {
                 .data(moduleService.getAll())
                 .build();
     }
+    // Phân trang keyset: ?sort=orderIndex|-title&q=...&courseId=...&limit=...&cursor=...
+    @GetMapping("/page")
+    public ApiResponse<?> getModulesPage(CursorPageRequest request, @RequestParam(required = false) Integer courseId) {
+        return ApiResponse.builder()
+                .code(200)
+                .message("Success")
+                .data(moduleService.getPage(request, courseId))
+                .build();
+    }
     @GetMapping("/course/{courseId}")
     public ApiResponse<?> getAllModulesOfCourse(@PathVariable int courseId) {
         return ApiResponse.builder()
@@ -51,6 +62,14 @@ public class ModuleController {
                 .message("Module Updated")
                 .build();
     }
+    @PutMapping("/course/{courseId}/order")
+    public ApiResponse<?> reorderModules(@PathVariable Integer courseId, @RequestBody ReorderRequest request) {
+        moduleService.reorderModules(courseId, request.getIds());
+        return ApiResponse.builder()
+                .code(200)
+                .message("Modules Reordered")
+                .build();
+    }
     @DeleteMapping("/{id}")
     public ApiResponse<?> deleteModule(@PathVariable Integer id) {
         moduleService.deleteModule(id);
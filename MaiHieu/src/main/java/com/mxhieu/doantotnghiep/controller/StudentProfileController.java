@@ -1,6 +1,7 @@
 package com.mxhieu.doantotnghiep.controller;
 
 
+import com.mxhieu.doantotnghiep.dto.request.CursorPageRequest;
 import com.mxhieu.doantotnghiep.dto.request.StudentprofileRequest;
 import com.mxhieu.doantotnghiep.dto.response.ApiResponse;
 import com.mxhieu.doantotnghiep.exception.AppException;
@@ -31,6 +32,17 @@ public class StudentProfileController {
                 .data(studentProfileService.getStudentProfiles())
                 .build();
     }
+    // Phân trang keyset: ?sort=fullName|-email&q=...&status=...&placementLevel=...&limit=...&cursor=...
+    @GetMapping("/page")
+    public ApiResponse<?> getStudentProfilesPage(CursorPageRequest request,
+                                                 @RequestParam(required = false) String status,
+                                                 @RequestParam(required = false) String placementLevel) {
+        return ApiResponse.builder()
+                .code(200)
+                .message("success")
+                .data(studentProfileService.getStudentProfilesPage(request, status, placementLevel))
+                .build();
+    }
     @GetMapping("/{id}")
     public ApiResponse<?> getStudentProfileById(@PathVariable int id) {
         return ApiResponse.builder()
@@ -1,9 +1,12 @@
 package com.mxhieu.doantotnghiep.controller;
 
 
+import com.mxhieu.doantotnghiep.dto.request.CursorPageRequest;
 import com.mxhieu.doantotnghiep.dto.request.TeacherprofileRequest;
 import com.mxhieu.doantotnghiep.dto.response.ApiResponse;
+import com.mxhieu.doantotnghiep.dto.response.CursorPageResponse;
 import com.mxhieu.doantotnghiep.dto.response.TeacherprofileResponse;
+import com.mxhieu.doantotnghiep.dto.response.TeacherprofileSummaryResponse;
 import com.mxhieu.doantotnghiep.service.TeacherprofileService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
@@ -49,6 +52,16 @@ public class TeacherprofileController {
                 .data(teacherprofileService.getAllTeacherProfilesActive())
                 .build();
     }
+    // Phân trang keyset: ?sort=fullName|-email&q=...&status=...&limit=...&cursor=...
+    @GetMapping("/page")
+    public ApiResponse<CursorPageResponse<TeacherprofileSummaryResponse>> getTeacherProfilesPage(CursorPageRequest request,
+                                                                                               @RequestParam(required = false) String status) {
+        return ApiResponse.<CursorPageResponse<TeacherprofileSummaryResponse>>builder()
+                .code(200)
+                .message("success")
+                .data(teacherprofileService.getTeacherProfilesPage(request, status))
+                .build();
+    }
     @GetMapping("/Teacherprofile/{id}")
     public ApiResponse<TeacherprofileResponse> getTeacherprofile(@PathVariable Integer id) {
 
@@ -1,8 +1,10 @@
 package com.mxhieu.doantotnghiep.controller;
 
+import com.mxhieu.doantotnghiep.dto.request.AnswerDraftRequest;
 import com.mxhieu.doantotnghiep.dto.request.TestAttemptRequest;
 import com.mxhieu.doantotnghiep.dto.response.ApiResponse;
 import com.mxhieu.doantotnghiep.repository.TestAttemptRepository;
+import com.mxhieu.doantotnghiep.service.AnswerDraftService;
 import com.mxhieu.doantotnghiep.service.TestAttemptService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
@@ -12,20 +14,55 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class TestAttemptController {
     private final TestAttemptService testAttemptService;
+    private final AnswerDraftService answerDraftService;
     @PostMapping()
     public ApiResponse<?> saveResultFirstTest(@RequestBody TestAttemptRequest testAttemptRequest){
-        testAttemptService.saveResultFirstTest(testAttemptRequest);
         return ApiResponse.builder()
                 .code(200)
                 .message("Success")
+                .data(testAttemptService.saveResultFirstTest(testAttemptRequest))
                 .build();
     }
     @PostMapping("/mini-test")
     public ApiResponse<?> saveResultMiniTest(@RequestBody TestAttemptRequest testAttemptRequest){
-        testAttemptService.saveResultMiniTest(testAttemptRequest);
         return ApiResponse.builder()
                 .code(200)
                 .message("Success")
+                .data(testAttemptService.saveResultMiniTest(testAttemptRequest))
+                .build();
+    }
+    /**
+     * GET /testattempt/submission/{submissionKey}
+     * Trạng thái ghi của bài đã nộp; testAttemptId có khi status = DONE
+     */
+    @GetMapping("/submission/{submissionKey}")
+    public ApiResponse<?> getSubmission(@PathVariable String submissionKey) {
+        return ApiResponse.builder()
+                .code(200)
+                .data(testAttemptService.getSubmission(submissionKey))
+                .build();
+    }
+    /**
+     * PUT /testattempt/draft/{submissionKey}
+     * Autosave: chỉ gửi các câu vừa đổi, kèm seq tăng dần; khi nộp bài dùng cùng submissionKey để gộp bản nháp
+     */
+    @PutMapping("/draft/{submissionKey}")
+    public ApiResponse<?> saveDraft(@PathVariable String submissionKey, @RequestBody AnswerDraftRequest answerDraftRequest) {
+        answerDraftService.saveDraft(submissionKey, answerDraftRequest);
+        return ApiResponse.builder()
+                .code(200)
+                .message("Success")
+                .build();
+    }
+    /**
+     * GET /testattempt/draft/{submissionKey}?studentProfileId=1&testId=2
+     * Bản nháp hiện tại để khôi phục bài đang làm
+     */
+    @GetMapping("/draft/{submissionKey}")
+    public ApiResponse<?> getDraft(@PathVariable String submissionKey, @RequestParam Integer studentProfileId, @RequestParam Integer testId) {
+        return ApiResponse.builder()
+                .code(200)
+                .data(answerDraftService.getDraft(submissionKey, studentProfileId, testId))
                 .build();
     }
     @GetMapping("/{id}/testAttemptDetail")
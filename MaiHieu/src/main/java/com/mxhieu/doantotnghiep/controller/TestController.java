@@ -3,8 +3,12 @@ package com.mxhieu.doantotnghiep.controller;
 
 import com.mxhieu.doantotnghiep.dto.request.TestRequest;
 import com.mxhieu.doantotnghiep.dto.response.ApiResponse;
+import com.mxhieu.doantotnghiep.service.ContentPayloadService;
 import com.mxhieu.doantotnghiep.service.TestService;
+import com.mxhieu.doantotnghiep.utils.Const;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
@@ -15,6 +19,7 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class TestController {
     private final TestService testService;
+    private final ContentPayloadService contentPayloadService;
     @PostMapping()
     public ApiResponse<?> createTest(@RequestBody TestRequest testRequest){
         testService.createTest(testRequest);
@@ -43,11 +48,15 @@ public class TestController {
                 .build();
     }
     @GetMapping("/miniTest/summary/{id}")
-    public ApiResponse<?> getMiniTestsSummery(@PathVariable Integer id){
-        return ApiResponse.builder()
-                .code(200)
-                .data(testService.getMiniTestsSummery(id))
-                .build();
+    public ResponseEntity<byte[]> getMiniTestsSummery(@PathVariable Integer id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding){
+        return contentPayloadService.getPayload(Const.CONTENT_PAYLOAD.TEST_SUMMARY, id,
+                        () -> ApiResponse.builder()
+                                .code(200)
+                                .data(testService.getMiniTestsSummery(id))
+                                .build())
+                .toResponse(ifNoneMatch, acceptEncoding);
     }
     @GetMapping("/{testId}/student/{studentProfileId}/completedStar" )
     public ApiResponse<?> getCompletedStar(@PathVariable Integer testId, @PathVariable Integer studentProfileId) {
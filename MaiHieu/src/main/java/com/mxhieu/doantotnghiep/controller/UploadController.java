@@ -1,6 +1,9 @@
 package com.mxhieu.doantotnghiep.controller;
 
 import com.mxhieu.doantotnghiep.dto.response.ApiResponse;
+import com.mxhieu.doantotnghiep.service.OutboundCallService;
+import com.mxhieu.doantotnghiep.utils.OutboundIntegration;
+import lombok.RequiredArgsConstructor;
 import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -14,7 +17,9 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 
 @RestController
+@RequiredArgsConstructor
 public class UploadController {
+    private final OutboundCallService outboundCallService;
 
     /**
      * API nhận từng CHUNK từ FE gửi lên
@@ -99,18 +104,21 @@ public class UploadController {
                 finalFile.toString()
         );
 
-        Process process = pb.start();
-
-        // Log FFmpeg
-        BufferedReader br = new BufferedReader(new InputStreamReader(process.getErrorStream()));
-        String line;
-        System.out.println("=== FFMPEG ERROR LOG START ===");
-        while ((line = br.readLine()) != null) {
-            System.out.println(line);
-        }
-        System.out.println("=== FFMPEG ERROR LOG END ===");
-
-        int exitCode = process.waitFor();
+        // Chạy trên bulkhead FFMPEG: giới hạn số tiến trình song song và có timeout
+        int exitCode = outboundCallService.call(OutboundIntegration.FFMPEG, () -> {
+            // Log FFmpeg ra thẳng console của ứng dụng, để waitFor() còn bị ngắt được khi timeout
+            pb.redirectErrorStream(true);
+            pb.redirectOutput(ProcessBuilder.Redirect.INHERIT);
+            Process process = pb.start();
+            try {
+                return process.waitFor();
+            } finally {
+                // Bị timeout/ngắt giữa chừng thì không để tiến trình mồ côi
+                if (process.isAlive()) {
+                    process.destroyForcibly();
+                }
+            }
+        });
         System.out.println("FFMPEG EXIT CODE = " + exitCode);
 
         if (exitCode != 0) {
@@ -1,5 +1,6 @@
 package com.mxhieu.doantotnghiep.controller;
 
+import com.mxhieu.doantotnghiep.dto.request.CursorPageRequest;
 import com.mxhieu.doantotnghiep.dto.request.UserRequest;
 import com.mxhieu.doantotnghiep.dto.response.ApiResponse;
 import com.mxhieu.doantotnghiep.dto.response.UserRespone;
@@ -76,6 +77,16 @@ public ApiResponse getUser(@PathVariable String email) {
                 .build();
     }
 
+    // Danh sách người dùng cho admin, phân trang keyset: ?sort=email|-fullName&q=...&status=...&limit=...&cursor=...
+    @GetMapping("/page")
+    public ApiResponse<?> getUsersPage(CursorPageRequest request, @RequestParam(required = false) String status) {
+        return ApiResponse.builder()
+                .code(200)
+                .message("Success")
+                .data(userService.getUsers(request, status))
+                .build();
+    }
+
     @GetMapping("/forgotPassword/{email}")
     public ApiResponse<?> forGotPass(@PathVariable String email) {
         userService.forGotPassword(email);
@@ -7,9 +7,10 @@ import com.mxhieu.doantotnghiep.dto.response.AssessmentQuestionResponse;
 import com.mxhieu.doantotnghiep.dto.response.AssessmentResponse;
 import com.mxhieu.doantotnghiep.dto.response.ExerciseResponse;
 import com.mxhieu.doantotnghiep.entity.AssessmentEntity;
+import com.mxhieu.doantotnghiep.entity.AssessmentQuestionEntity;
 import com.mxhieu.doantotnghiep.entity.ExerciseEntity;
-import org.modelmapper.ModelMapper;
-import org.springframework.beans.factory.annotation.Autowired;
+import com.mxhieu.doantotnghiep.utils.ContentSummary;
+import com.mxhieu.doantotnghiep.utils.ReviewTemplate;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
@@ -17,15 +18,13 @@ import java.util.List;
 
 @Component
 public class AssessmentConverter extends BaseConverter<AssessmentEntity, AssessmentRequest, AssessmentResponse> {
-    @Autowired
-    ModelMapper modelMapper;
-    public List<AssessmentResponse> toResponseSummaryList(List<AssessmentEntity> assessments) {
+    public List<AssessmentResponse> toResponseSummaryList(List<ContentSummary> summaries) {
         List<AssessmentResponse> assessmentResponses = new ArrayList<>();
-        for (AssessmentEntity entity : assessments) {
+        for (ContentSummary summary : summaries) {
             AssessmentResponse assessmentResponse =AssessmentResponse.builder()
-                    .id(entity.getId())
-                    .title(entity.getTitle())
-                    .typeName(entity.getExercisetype().getDescription())
+                    .id(summary.id())
+                    .title(summary.title())
+                    .typeName(summary.type())
                     .build();
             assessmentResponses.add(assessmentResponse);
         }
@@ -33,38 +32,54 @@ public class AssessmentConverter extends BaseConverter<AssessmentEntity, Assessm
     }
     public AssessmentResponse toAssessmentDetailResponse(AssessmentEntity assessmentEntity) {
         AssessmentResponse assessmentResponse = toResponse(assessmentEntity, AssessmentResponse.class);
-        assessmentResponse.setTestId(assessmentEntity.getTest().getId());
         assessmentResponse.setTypeName(assessmentEntity.getExercisetype().getDescription());
-        List<AssessmentQuestionResponse> assessmentQuestionResponses = new ArrayList<>();
-        assessmentEntity.getAssessmentQuestions().stream().forEach(assessmentQuestionEntity -> {
-            AssessmentQuestionResponse assessmentQuestionResponse = new AssessmentQuestionResponse();
-            assessmentQuestionResponse.setId(assessmentQuestionEntity.getId());
-            assessmentQuestionResponse.setQuestionText(assessmentQuestionEntity.getStem());
-            assessmentQuestionResponse.setExplain(assessmentQuestionEntity.getExplain());
-            assessmentQuestionResponse.setMediData(assessmentQuestionEntity.getMediData());
-            List<AssessmentOptionResponse> optionResponses = new ArrayList<>();
-            assessmentQuestionEntity.getAssessmentOptions().stream().forEach(assessmentOptionEntity -> {
-                AssessmentOptionResponse assessmentOptionResponse = AssessmentOptionResponse.builder()
-                        .content(assessmentOptionEntity.getContent())
-                        .id(assessmentOptionEntity.getId())
-                        .isCorrect(assessmentOptionEntity.getIsCorrect())
-                        .build();
-                optionResponses.add(assessmentOptionResponse);
-            });
-            assessmentQuestionResponse.setChoices(optionResponses);
-            assessmentQuestionResponses.add(assessmentQuestionResponse);
-        });
-        assessmentResponse.setAssessmentQuestions(assessmentQuestionResponses);
+        assessmentResponse.setAssessmentQuestions(assessmentEntity.getAssessmentQuestions().stream()
+                .map(this::toAssessmentQuestionResponse)
+                .toList());
         return assessmentResponse;
     }
 
-    public List<AssessmentResponse> toSplitAssessmentDetailResponse(AssessmentEntity assessmentEntity) {
+    // Đề của cả bài test: các dạng nghe/đọc theo đoạn giữ nguyên, các dạng còn lại tách mỗi câu hỏi một response
+    public List<AssessmentResponse> toTestDetailResponses(List<AssessmentEntity> assessmentEntities) {
         List<AssessmentResponse> assessmentResponses = new ArrayList<>();
-        assessmentEntity.getAssessmentQuestions().stream().forEach(assessmentQuestionEntity -> {
-            AssessmentEntity assessmentEntityCoppy = modelMapper.map(assessmentEntity, AssessmentEntity.class);
-            assessmentEntityCoppy.setAssessmentQuestions(List.of(assessmentQuestionEntity));
-            assessmentResponses.add(toAssessmentDetailResponse(assessmentEntityCoppy));
+        assessmentEntities.forEach(assessmentEntity -> {
+            if (ReviewTemplate.WHOLE_TYPES.contains(assessmentEntity.getExercisetype().getCode())) {
+                assessmentResponses.add(toAssessmentDetailResponse(assessmentEntity));
+            } else {
+                assessmentResponses.addAll(toSplitAssessmentDetailResponse(assessmentEntity));
+            }
         });
         return assessmentResponses;
     }
+
+    // Map phần đầu đề một lần, mỗi câu hỏi chỉ tạo thêm một response nông (dùng chung media/paragraphs)
+    public List<AssessmentResponse> toSplitAssessmentDetailResponse(AssessmentEntity assessmentEntity) {
+        AssessmentResponse header = toResponse(assessmentEntity, AssessmentResponse.class);
+        header.setTypeName(assessmentEntity.getExercisetype().getDescription());
+        List<AssessmentResponse> assessmentResponses = new ArrayList<>();
+        assessmentEntity.getAssessmentQuestions().forEach(assessmentQuestionEntity ->
+                assessmentResponses.add(header.toBuilder()
+                        .assessmentQuestions(List.of(toAssessmentQuestionResponse(assessmentQuestionEntity)))
+                        .build()));
+        return assessmentResponses;
+    }
+
+    private AssessmentQuestionResponse toAssessmentQuestionResponse(AssessmentQuestionEntity assessmentQuestionEntity) {
+        AssessmentQuestionResponse assessmentQuestionResponse = new AssessmentQuestionResponse();
+        assessmentQuestionResponse.setId(assessmentQuestionEntity.getId());
+        assessmentQuestionResponse.setQuestionText(assessmentQuestionEntity.getStem());
+        assessmentQuestionResponse.setExplain(assessmentQuestionEntity.getExplain());
+        assessmentQuestionResponse.setMediData(assessmentQuestionEntity.getMediData());
+        List<AssessmentOptionResponse> optionResponses = new ArrayList<>();
+        assessmentQuestionEntity.getAssessmentOptions().forEach(assessmentOptionEntity -> {
+            AssessmentOptionResponse assessmentOptionResponse = AssessmentOptionResponse.builder()
+                    .content(assessmentOptionEntity.getContent())
+                    .id(assessmentOptionEntity.getId())
+                    .isCorrect(assessmentOptionEntity.getIsCorrect())
+                    .build();
+            optionResponses.add(assessmentOptionResponse);
+        });
+        assessmentQuestionResponse.setChoices(optionResponses);
+        return assessmentQuestionResponse;
+    }
 }
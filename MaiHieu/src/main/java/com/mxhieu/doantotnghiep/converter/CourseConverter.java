@@ -1,6 +1,7 @@
 package com.mxhieu.doantotnghiep.converter;
 
 import com.mxhieu.doantotnghiep.converter.base.BaseConverter;
+import com.mxhieu.doantotnghiep.converter.mapper.CourseMapper;
 import com.mxhieu.doantotnghiep.dto.request.CourseRequest;
 import com.mxhieu.doantotnghiep.dto.response.CourseResponse;
 import com.mxhieu.doantotnghiep.entity.CourseEntity;
@@ -11,7 +12,6 @@ import com.mxhieu.doantotnghiep.repository.TrackRepository;
 import com.mxhieu.doantotnghiep.service.CourseService;
 import com.mxhieu.doantotnghiep.utils.FileUtils;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -22,13 +22,13 @@ import java.util.List;
 @Component
 @RequiredArgsConstructor
 public class CourseConverter extends BaseConverter<CourseEntity, CourseRequest, CourseResponse> {
-    private final ModelMapper modelMapper;
+    private final CourseMapper courseMapper;
     private final TrackRepository trackRepository;
     private final TeacheprofileRepository teacheprofileRepository;
     private final FileUtils fileUtils;
 
     public CourseEntity toCourseEntity(CourseRequest request, MultipartFile file) {
-        CourseEntity course = modelMapper.map(request, CourseEntity.class);
+        CourseEntity course = courseMapper.toEntity(request);
 
         // 🔹 Tìm track theo code
         TrackEntity track = trackRepository.findByCode(request.getTrackCode())
@@ -56,8 +56,7 @@ public class CourseConverter extends BaseConverter<CourseEntity, CourseRequest,
     }
 
     public CourseResponse toCourseResponse(CourseEntity course) {
-        CourseResponse response = modelMapper.map(course, CourseResponse.class);
-        return response;
+        return courseMapper.toDetailResponse(course);
     }
 
     public CourseResponse toCourseResponseByTeacher(CourseEntity courseEntity) {
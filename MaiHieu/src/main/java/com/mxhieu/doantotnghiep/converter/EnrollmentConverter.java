@@ -1,7 +1,5 @@
 package com.mxhieu.doantotnghiep.converter;
 
-import com.mxhieu.doantotnghiep.converter.base.BaseConverter;
-import com.mxhieu.doantotnghiep.dto.request.EnrollmentRequest;
 import com.mxhieu.doantotnghiep.dto.response.EnrollmentResponst;
 import com.mxhieu.doantotnghiep.dto.response.TrackResponse;
 import com.mxhieu.doantotnghiep.entity.EnrollmentEntity;
@@ -12,7 +10,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Component
-public class EnrollmentConverter extends BaseConverter<EnrollmentEntity, EnrollmentRequest, EnrollmentResponst> {
+public class EnrollmentConverter {
     public List<EnrollmentResponst> toStudyFlow(List<EnrollmentEntity> enrollmentEntities) {
         List<EnrollmentResponst> enrollmentResponsts = new ArrayList<>();
         enrollmentEntities.forEach(enrollmentEntity -> {
@@ -1,23 +1,25 @@
 package com.mxhieu.doantotnghiep.converter;
 
 import com.mxhieu.doantotnghiep.converter.base.BaseConverter;
+import com.mxhieu.doantotnghiep.dto.request.ExerciseRequest;
 import com.mxhieu.doantotnghiep.dto.response.ExerciseResponse;
 import com.mxhieu.doantotnghiep.entity.ExerciseEntity;
+import com.mxhieu.doantotnghiep.utils.ContentSummary;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Component
-public class ExerciseConverter extends BaseConverter<ExerciseEntity, Object, ExerciseResponse> {
+public class ExerciseConverter extends BaseConverter<ExerciseEntity, ExerciseRequest, ExerciseResponse> {
 
-    public List<ExerciseResponse> toResponseSummaryList(List<ExerciseEntity> entities) {
+    public List<ExerciseResponse> toResponseSummaryList(List<ContentSummary> summaries) {
         List<ExerciseResponse> exerciseResponses = new ArrayList<>();
-        for (ExerciseEntity entity : entities) {
+        for (ContentSummary summary : summaries) {
             ExerciseResponse exerciseResponse =ExerciseResponse.builder()
-                    .id(entity.getId())
-                    .title(entity.getTitle())
-                    .typeName(entity.getExercisetype().getDescription())
+                    .id(summary.id())
+                    .title(summary.title())
+                    .typeName(summary.type())
                     .build();
             exerciseResponses.add(exerciseResponse);
         }
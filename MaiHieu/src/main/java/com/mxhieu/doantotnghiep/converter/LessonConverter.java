@@ -9,8 +9,6 @@ import com.mxhieu.doantotnghiep.entity.LessonEntity;
 import com.mxhieu.doantotnghiep.repository.LessonRepository;
 import com.mxhieu.doantotnghiep.service.LessonService;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
@@ -24,8 +22,6 @@ import java.util.List;
 @RequiredArgsConstructor
 @Component
 public class LessonConverter extends BaseConverter<LessonEntity, LessonRequest, LessonResponse> {
-    @Autowired
-    ModelMapper modelMapper;
     @Override
     public LessonResponse toResponse(LessonEntity entity, Class<LessonResponse> responseClass) {
         LessonResponse result = super.toResponse(entity, responseClass);
@@ -79,6 +75,10 @@ public class LessonConverter extends BaseConverter<LessonEntity, LessonRequest,
             responses.add(response);
         }
         Collections.sort(responses, (a, b) -> a.getOrderIndex().compareTo(b.getOrderIndex()));
+        // OrderIndex lưu khoá thưa, trả về vị trí 1-based cho màn hình soạn bài
+        for (int i = 0; i < responses.size(); i++) {
+            responses.get(i).setOrderIndex(i + 1);
+        }
         return responses;
     }
 }
@@ -12,7 +12,6 @@ import com.mxhieu.doantotnghiep.repository.LessonRepository;
 import com.mxhieu.doantotnghiep.repository.ModuleRepository;
 import com.mxhieu.doantotnghiep.service.ModuleService;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
@@ -21,23 +20,16 @@ import java.util.List;
 @Component
 @RequiredArgsConstructor
 public class ModuleConverter extends BaseConverter<ModuleEntity, ModuleRequest, ModuleResponse> {
-    private final ModelMapper modelMapper;
     private final CourseRepository courseRepository;
 
     @Override
     public ModuleEntity toEntity(ModuleRequest request, Class<ModuleEntity> entityClass) {
-        ModuleEntity module = modelMapper.map(request, entityClass);
+        ModuleEntity module = mapper.toEntity(request);
         CourseEntity course = courseRepository.findById(request.getCourseId()).orElseThrow(() ->new AppException(ErrorCode.COURSE_NOT_FOUND));
         module.setCourse(course);
         return  module;
     }
 
-    @Override
-    public ModuleResponse toResponse(ModuleEntity entity, Class<ModuleResponse> responseClass) {
-        ModuleResponse response = super.toResponse(entity, responseClass);
-        response.setCourseId(entity.getCourse().getId());
-        return response;
-    }
     public ModuleResponse toResponseByTeacherOrAdmin(ModuleEntity entity) {
         ModuleResponse response = ModuleResponse.builder()
                 .id(entity.getId())
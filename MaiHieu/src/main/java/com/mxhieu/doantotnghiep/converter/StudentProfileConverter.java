@@ -1,11 +1,11 @@
 package com.mxhieu.doantotnghiep.converter;
 
-import com.mxhieu.doantotnghiep.converter.base.BaseConverter;
-import com.mxhieu.doantotnghiep.dto.request.StudentprofileRequest;
+import com.mxhieu.doantotnghiep.converter.base.ResponseConverter;
+import com.mxhieu.doantotnghiep.converter.mapper.StudentProfileMapper;
 import com.mxhieu.doantotnghiep.dto.response.StudentprofileResponse;
 import com.mxhieu.doantotnghiep.entity.StudentProfileEntity;
 import org.springframework.stereotype.Component;
 
 @Component
-public class StudentProfileConverter extends BaseConverter<StudentProfileEntity, StudentprofileRequest, StudentprofileResponse> {
+public class StudentProfileConverter extends ResponseConverter<StudentProfileEntity, StudentprofileResponse, StudentProfileMapper> {
 }
@@ -6,6 +6,7 @@ import com.mxhieu.doantotnghiep.dto.response.LessonResponse;
 import com.mxhieu.doantotnghiep.dto.response.TestResponse;
 import com.mxhieu.doantotnghiep.entity.LessonEntity;
 import com.mxhieu.doantotnghiep.entity.TestEntity;
+import com.mxhieu.doantotnghiep.utils.ContentSummary;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -30,11 +31,11 @@ public class TestConverter extends BaseConverter<TestEntity, TestRequest, TestRe
         return responses;
     }
 
-    public TestResponse toResponseSummery(TestEntity testEntity) {
+    public TestResponse toResponseSummery(ContentSummary summary) {
         return TestResponse.builder()
-                .id(testEntity.getId())
-                .type(testEntity.getType())
-                .name(testEntity.getName())
+                .id(summary.id())
+                .type(summary.type())
+                .name(summary.title())
                 .build();
     }
 
@@ -1,8 +1,8 @@
 package com.mxhieu.doantotnghiep.converter;
 
-import com.mxhieu.doantotnghiep.converter.base.BaseConverter;
+import com.mxhieu.doantotnghiep.converter.base.ResponseConverter;
+import com.mxhieu.doantotnghiep.converter.mapper.TrackMapper;
 import com.mxhieu.doantotnghiep.dto.request.TeacherprofileRequest;
-import com.mxhieu.doantotnghiep.dto.request.TrackRequest;
 import com.mxhieu.doantotnghiep.dto.response.CourseResponse;
 import com.mxhieu.doantotnghiep.dto.response.TeacherprofileResponse;
 import com.mxhieu.doantotnghiep.dto.response.TrackResponse;
@@ -10,7 +10,6 @@ import com.mxhieu.doantotnghiep.entity.CourseEntity;
 import com.mxhieu.doantotnghiep.entity.EnrollmentEntity;
 import com.mxhieu.doantotnghiep.entity.TrackEntity;
 import com.mxhieu.doantotnghiep.service.CourseService;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -18,16 +17,14 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Component
-public class TrackConverter extends BaseConverter<TrackEntity, TrackRequest, TrackResponse> {
-    @Autowired
-    ModelMapper modelMapper;
+public class TrackConverter extends ResponseConverter<TrackEntity, TrackResponse, TrackMapper> {
     @Autowired
     CourseConverter courseConverter;
     @Autowired
     CourseService courseService;
 
     public TrackResponse toTrackResponseWithCourses(TrackEntity trackEntity,String type) {
-        TrackResponse trackResponse = modelMapper.map(trackEntity, TrackResponse.class);
+        TrackResponse trackResponse = mapper.toResponse(trackEntity);
         List <CourseEntity> courses = trackEntity.getCourses();
         if(type.equals("Main")){
             courses = courses.stream().filter(course -> course.getType().equals("Main")).toList();
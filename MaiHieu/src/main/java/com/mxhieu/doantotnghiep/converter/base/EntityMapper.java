@@ -0,0 +1,10 @@
+package com.mxhieu.doantotnghiep.converter.base;
+
+/**
+ * Mapper sinh lúc compile (MapStruct) cho một cặp Entity/DTO, được BaseConverter tự inject theo kiểu generic.
+ * toEntity là abstract nên MapStruct buộc mọi field của entity phải được map hoặc ignore rõ ràng.
+ */
+public interface EntityMapper<E, REQ, RES> extends ResponseMapper<E, RES> {
+
+    E toEntity(REQ request);
+}
@@ -0,0 +1,34 @@
+package com.mxhieu.doantotnghiep.converter.base;
+
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Converter chỉ trả dữ liệu ra (Entity -> Response DTO), dùng mapper M inject theo kiểu generic.
+ * Tham số Class chỉ giữ lại để không phải sửa các chỗ gọi.
+ */
+public abstract class ResponseConverter<E, RES, M extends ResponseMapper<E, RES>> {
+
+    // Bắt buộc: converter không có mapper thì là @Component thường, không kế thừa lớp này
+    @Autowired
+    protected M mapper;
+
+    /**
+     * Chuyển từ Entity sang Response DTO
+     */
+    public RES toResponse(E entity, Class<RES> responseClass) {
+        return mapper.toResponse(entity);
+    }
+
+    /**
+     * Chuyển danh sách Entity sang danh sách Response DTO
+     */
+    public List<RES> toResponseList(List<E> entities, Class<RES> responseClass) {
+        return entities.stream()
+                .map(entity -> toResponse(entity, responseClass))
+                .collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,10 @@
+package com.mxhieu.doantotnghiep.converter.base;
+
+/**
+ * Mapper chỉ đọc (MapStruct, sinh lúc compile): Entity -> Response DTO.
+ * Cặp nào còn tạo entity từ request thì dùng EntityMapper.
+ */
+public interface ResponseMapper<E, RES> {
+
+    RES toResponse(E entity);
+}
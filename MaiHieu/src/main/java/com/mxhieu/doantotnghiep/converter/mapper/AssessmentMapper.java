@@ -0,0 +1,27 @@
+package com.mxhieu.doantotnghiep.converter.mapper;
+
+import com.mxhieu.doantotnghiep.converter.base.EntityMapper;
+import com.mxhieu.doantotnghiep.dto.request.AssessmentRequest;
+import com.mxhieu.doantotnghiep.dto.response.AssessmentResponse;
+import com.mxhieu.doantotnghiep.entity.AssessmentEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = MappingConfig.class, uses = BlobMapper.class)
+public interface AssessmentMapper extends EntityMapper<AssessmentEntity, AssessmentRequest, AssessmentResponse> {
+
+    @Override
+    @Mapping(target = "testId", source = "test.id")
+    @Mapping(target = "typeName", ignore = true)
+    @Mapping(target = "assessmentQuestions", ignore = true)
+    AssessmentResponse toResponse(AssessmentEntity entity);
+
+    // clone(...) trả về chính entity nên MapStruct coi là fluent setter
+    @Override
+    @Mapping(target = "test", ignore = true)
+    @Mapping(target = "exercisetype", ignore = true)
+    @Mapping(target = "assessmentAttemptEntities", ignore = true)
+    @Mapping(target = "assessmentQuestions", ignore = true)
+    @Mapping(target = "clone", ignore = true)
+    AssessmentEntity toEntity(AssessmentRequest request);
+}
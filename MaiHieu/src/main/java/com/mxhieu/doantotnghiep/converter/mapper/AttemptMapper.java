@@ -0,0 +1,19 @@
+package com.mxhieu.doantotnghiep.converter.mapper;
+
+import com.mxhieu.doantotnghiep.dto.request.AttemptRequest;
+import com.mxhieu.doantotnghiep.entity.AttemptEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = MappingConfig.class)
+public interface AttemptMapper {
+
+    // Điểm, học viên, bài tập và câu trả lời do AttemptSevice tự gán
+    @Mapping(target = "scorePercent", ignore = true)
+    @Mapping(target = "scoreReading", ignore = true)
+    @Mapping(target = "scoreListening", ignore = true)
+    @Mapping(target = "attemptAnswers", ignore = true)
+    @Mapping(target = "studentProfile", ignore = true)
+    @Mapping(target = "exercise", ignore = true)
+    AttemptEntity toEntity(AttemptRequest request);
+}
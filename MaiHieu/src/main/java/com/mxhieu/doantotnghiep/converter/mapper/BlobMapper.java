@@ -0,0 +1,15 @@
+package com.mxhieu.doantotnghiep.converter.mapper;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Dùng chung mảng byte (ảnh/audio) giữa entity và response thay vì để mapper sinh ra bản sao:
+ * response chỉ được serialize rồi bỏ, không ai sửa mảng này.
+ */
+@Component
+public class BlobMapper {
+
+    public byte[] share(byte[] data) {
+        return data;
+    }
+}
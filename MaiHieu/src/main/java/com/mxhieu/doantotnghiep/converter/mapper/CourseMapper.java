@@ -0,0 +1,40 @@
+package com.mxhieu.doantotnghiep.converter.mapper;
+
+import com.mxhieu.doantotnghiep.converter.base.EntityMapper;
+import com.mxhieu.doantotnghiep.dto.request.CourseRequest;
+import com.mxhieu.doantotnghiep.dto.response.CourseResponse;
+import com.mxhieu.doantotnghiep.entity.CourseEntity;
+import org.mapstruct.InheritConfiguration;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.Named;
+
+@Mapper(config = MappingConfig.class, uses = {ModuleMapper.class, BlobMapper.class})
+public interface CourseMapper extends EntityMapper<CourseEntity, CourseRequest, CourseResponse> {
+
+    @Override
+    @Mapping(target = "modules", ignore = true)
+    @Mapping(target = "trackName", ignore = true)
+    @Mapping(target = "teacherName", ignore = true)
+    @Mapping(target = "lock", ignore = true)
+    @Mapping(target = "completedCup", ignore = true)
+    @Mapping(target = "versions", ignore = true)
+    CourseResponse toResponse(CourseEntity entity);
+
+    // Trang chi tiết khoá học: duyệt module -> lesson/test một cách tường minh
+    @Named("detail")
+    @InheritConfiguration(name = "toResponse")
+    @Mapping(target = "modules", source = "modules", qualifiedByName = "detail")
+    CourseResponse toDetailResponse(CourseEntity entity);
+
+    @Override
+    @Mapping(target = "imgData", ignore = true)
+    @Mapping(target = "status", ignore = true)
+    @Mapping(target = "track", ignore = true)
+    @Mapping(target = "teacherprofile", ignore = true)
+    @Mapping(target = "parentCourse", ignore = true)
+    @Mapping(target = "children", ignore = true)
+    @Mapping(target = "enrollmentcourse", ignore = true)
+    @Mapping(target = "modules", ignore = true)
+    CourseEntity toEntity(CourseRequest request);
+}
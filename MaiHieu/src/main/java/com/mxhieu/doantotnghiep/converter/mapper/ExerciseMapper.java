@@ -0,0 +1,30 @@
+package com.mxhieu.doantotnghiep.converter.mapper;
+
+import com.mxhieu.doantotnghiep.converter.base.EntityMapper;
+import com.mxhieu.doantotnghiep.dto.request.ExerciseRequest;
+import com.mxhieu.doantotnghiep.dto.response.ExerciseResponse;
+import com.mxhieu.doantotnghiep.entity.ExerciseEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = MappingConfig.class, uses = {QuestionMapper.class, BlobMapper.class})
+public interface ExerciseMapper extends EntityMapper<ExerciseEntity, ExerciseRequest, ExerciseResponse> {
+
+    // Câu hỏi/lựa chọn được map tường minh vì trang làm bài cần cả đề
+    @Override
+    @Mapping(target = "typeCode", ignore = true)
+    @Mapping(target = "typeName", ignore = true)
+    @Mapping(target = "isCompleted", ignore = true)
+    ExerciseResponse toResponse(ExerciseEntity entity);
+
+    // clone(...) trả về chính entity nên MapStruct coi là fluent setter
+    @Override
+    @Mapping(target = "instruction", ignore = true)
+    @Mapping(target = "userId", ignore = true)
+    @Mapping(target = "exercisetype", ignore = true)
+    @Mapping(target = "lesson", ignore = true)
+    @Mapping(target = "questions", ignore = true)
+    @Mapping(target = "attempts", ignore = true)
+    @Mapping(target = "clone", ignore = true)
+    ExerciseEntity toEntity(ExerciseRequest request);
+}
@@ -0,0 +1,13 @@
+package com.mxhieu.doantotnghiep.converter.mapper;
+
+import com.mxhieu.doantotnghiep.converter.base.ResponseMapper;
+import com.mxhieu.doantotnghiep.dto.response.ExerciseTypeResponse;
+import com.mxhieu.doantotnghiep.entity.ExerciseTypeEntity;
+import org.mapstruct.Mapper;
+
+@Mapper(config = MappingConfig.class)
+public interface ExerciseTypeMapper extends ResponseMapper<ExerciseTypeEntity, ExerciseTypeResponse> {
+
+    @Override
+    ExerciseTypeResponse toResponse(ExerciseTypeEntity entity);
+}
@@ -0,0 +1,36 @@
+package com.mxhieu.doantotnghiep.converter.mapper;
+
+import com.mxhieu.doantotnghiep.converter.base.EntityMapper;
+import com.mxhieu.doantotnghiep.dto.request.LessonRequest;
+import com.mxhieu.doantotnghiep.dto.response.LessonResponse;
+import com.mxhieu.doantotnghiep.entity.LessonEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = MappingConfig.class)
+public interface LessonMapper extends EntityMapper<LessonEntity, LessonRequest, LessonResponse> {
+
+    @Override
+    @Mapping(target = "moduleId", source = "module.id")
+    @Mapping(target = "videoData", ignore = true)
+    @Mapping(target = "videoSize", ignore = true)
+    @Mapping(target = "videoPath", ignore = true)
+    @Mapping(target = "materials", ignore = true)
+    @Mapping(target = "completedStar", ignore = true)
+    @Mapping(target = "completionRate", ignore = true)
+    @Mapping(target = "status", ignore = true)
+    @Mapping(target = "hasExercise", ignore = true)
+    @Mapping(target = "progressWatched", ignore = true)
+    LessonResponse toResponse(LessonEntity entity);
+
+    // clone(...) trả về chính entity nên MapStruct coi là fluent setter
+    @Override
+    @Mapping(target = "module", ignore = true)
+    @Mapping(target = "mediaassets", ignore = true)
+    @Mapping(target = "lessonProgresses", ignore = true)
+    @Mapping(target = "materialEntities", ignore = true)
+    @Mapping(target = "exercises", ignore = true)
+    @Mapping(target = "studyPlanItems", ignore = true)
+    @Mapping(target = "clone", ignore = true)
+    LessonEntity toEntity(LessonRequest request);
+}
@@ -0,0 +1,20 @@
+package com.mxhieu.doantotnghiep.converter.mapper;
+
+import org.mapstruct.Builder;
+import org.mapstruct.InjectionStrategy;
+import org.mapstruct.MapperConfig;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * Cấu hình chung cho mọi mapper: thuộc tính đích nào chưa được khai báo rõ (map hoặc ignore) sẽ làm hỏng build,
+ * nên không có association lazy nào bị duyệt ngầm như khi dùng ModelMapper.
+ */
+@MapperConfig(
+        componentModel = MappingConstants.ComponentModel.SPRING,
+        injectionStrategy = InjectionStrategy.CONSTRUCTOR,
+        unmappedTargetPolicy = ReportingPolicy.ERROR,
+        builder = @Builder(disableBuilder = true)
+)
+public interface MappingConfig {
+}
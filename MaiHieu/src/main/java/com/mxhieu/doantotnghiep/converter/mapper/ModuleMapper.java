@@ -0,0 +1,40 @@
+package com.mxhieu.doantotnghiep.converter.mapper;
+
+import com.mxhieu.doantotnghiep.converter.base.EntityMapper;
+import com.mxhieu.doantotnghiep.dto.request.ModuleRequest;
+import com.mxhieu.doantotnghiep.dto.response.ModuleResponse;
+import com.mxhieu.doantotnghiep.entity.ModuleEntity;
+import org.mapstruct.InheritConfiguration;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.Named;
+
+@Mapper(config = MappingConfig.class, uses = {LessonMapper.class, TestMapper.class})
+public interface ModuleMapper extends EntityMapper<ModuleEntity, ModuleRequest, ModuleResponse> {
+
+    @Override
+    @Mapping(target = "courseId", source = "course.id")
+    @Mapping(target = "totalLessons", ignore = true)
+    @Mapping(target = "completedLessons", ignore = true)
+    @Mapping(target = "totalStar", ignore = true)
+    @Mapping(target = "completeCups", ignore = true)
+    @Mapping(target = "completedStars", ignore = true)
+    @Mapping(target = "lessons", ignore = true)
+    @Mapping(target = "tests", ignore = true)
+    ModuleResponse toResponse(ModuleEntity entity);
+
+    @Named("detail")
+    @InheritConfiguration(name = "toResponse")
+    @Mapping(target = "lessons", source = "lessons")
+    @Mapping(target = "tests", source = "tests")
+    ModuleResponse toDetailResponse(ModuleEntity entity);
+
+    // clone(...) trả về chính entity nên MapStruct coi là fluent setter
+    @Override
+    @Mapping(target = "score", ignore = true)
+    @Mapping(target = "course", ignore = true)
+    @Mapping(target = "lessons", ignore = true)
+    @Mapping(target = "tests", ignore = true)
+    @Mapping(target = "clone", ignore = true)
+    ModuleEntity toEntity(ModuleRequest request);
+}
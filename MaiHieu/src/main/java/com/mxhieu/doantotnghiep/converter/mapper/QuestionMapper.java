@@ -0,0 +1,23 @@
+package com.mxhieu.doantotnghiep.converter.mapper;
+
+import com.mxhieu.doantotnghiep.dto.response.ChoiceResponse;
+import com.mxhieu.doantotnghiep.dto.response.MediaquestionResponse;
+import com.mxhieu.doantotnghiep.dto.response.QuestionResponse;
+import com.mxhieu.doantotnghiep.entity.ChoiceEntity;
+import com.mxhieu.doantotnghiep.entity.MediaQuestionEntity;
+import com.mxhieu.doantotnghiep.entity.QuestionEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = MappingConfig.class, uses = BlobMapper.class)
+public interface QuestionMapper {
+
+    QuestionResponse toResponse(QuestionEntity entity);
+
+    // questionId/selected do ExerciseService điền khi trả bài đã làm
+    @Mapping(target = "questionId", ignore = true)
+    @Mapping(target = "selected", ignore = true)
+    ChoiceResponse toResponse(ChoiceEntity entity);
+
+    MediaquestionResponse toResponse(MediaQuestionEntity entity);
+}
@@ -0,0 +1,16 @@
+package com.mxhieu.doantotnghiep.converter.mapper;
+
+import com.mxhieu.doantotnghiep.converter.base.ResponseMapper;
+import com.mxhieu.doantotnghiep.dto.response.StudentprofileResponse;
+import com.mxhieu.doantotnghiep.entity.StudentProfileEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = MappingConfig.class, uses = UserMapper.class)
+public interface StudentProfileMapper extends ResponseMapper<StudentProfileEntity, StudentprofileResponse> {
+
+    @Override
+    @Mapping(target = "joinDate", ignore = true)
+    @Mapping(target = "progress", ignore = true)
+    StudentprofileResponse toResponse(StudentProfileEntity entity);
+}
@@ -0,0 +1,28 @@
+package com.mxhieu.doantotnghiep.converter.mapper;
+
+import com.mxhieu.doantotnghiep.converter.base.EntityMapper;
+import com.mxhieu.doantotnghiep.dto.request.TeacherprofileRequest;
+import com.mxhieu.doantotnghiep.dto.response.TeacherprofileResponse;
+import com.mxhieu.doantotnghiep.entity.TeacherprofileEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = MappingConfig.class)
+public interface TeacherprofileMapper extends EntityMapper<TeacherprofileEntity, TeacherprofileRequest, TeacherprofileResponse> {
+
+    @Override
+    @Mapping(target = "email", source = "user.email")
+    @Mapping(target = "fullName", source = "user.fullName")
+    @Mapping(target = "phone", source = "user.phone")
+    @Mapping(target = "address", source = "user.address")
+    @Mapping(target = "sex", source = "user.sex")
+    @Mapping(target = "birthday", source = "user.birthday", dateFormat = "dd/MM/yyyy")
+    @Mapping(target = "status", source = "user.status")
+    TeacherprofileResponse toResponse(TeacherprofileEntity entity);
+
+    @Override
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "user", ignore = true)
+    @Mapping(target = "courses", ignore = true)
+    TeacherprofileEntity toEntity(TeacherprofileRequest request);
+}
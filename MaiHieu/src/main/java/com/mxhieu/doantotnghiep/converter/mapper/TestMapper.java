@@ -0,0 +1,27 @@
+package com.mxhieu.doantotnghiep.converter.mapper;
+
+import com.mxhieu.doantotnghiep.converter.base.EntityMapper;
+import com.mxhieu.doantotnghiep.dto.request.TestRequest;
+import com.mxhieu.doantotnghiep.dto.response.TestResponse;
+import com.mxhieu.doantotnghiep.entity.TestEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = MappingConfig.class)
+public interface TestMapper extends EntityMapper<TestEntity, TestRequest, TestResponse> {
+
+    @Override
+    @Mapping(target = "completedStar", ignore = true)
+    @Mapping(target = "status", ignore = true)
+    TestResponse toResponse(TestEntity entity);
+
+    // clone(...) trả về chính entity nên MapStruct coi là fluent setter
+    @Override
+    @Mapping(target = "module", ignore = true)
+    @Mapping(target = "assessments", ignore = true)
+    @Mapping(target = "testProgresses", ignore = true)
+    @Mapping(target = "testAttempts", ignore = true)
+    @Mapping(target = "studyPlanItems", ignore = true)
+    @Mapping(target = "clone", ignore = true)
+    TestEntity toEntity(TestRequest request);
+}
@@ -0,0 +1,16 @@
+package com.mxhieu.doantotnghiep.converter.mapper;
+
+import com.mxhieu.doantotnghiep.converter.base.ResponseMapper;
+import com.mxhieu.doantotnghiep.dto.response.TrackResponse;
+import com.mxhieu.doantotnghiep.entity.TrackEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = MappingConfig.class)
+public interface TrackMapper extends ResponseMapper<TrackEntity, TrackResponse> {
+
+    // Danh sách khoá học do TrackConverter dựng theo từng màn hình
+    @Override
+    @Mapping(target = "courses", ignore = true)
+    TrackResponse toResponse(TrackEntity entity);
+}
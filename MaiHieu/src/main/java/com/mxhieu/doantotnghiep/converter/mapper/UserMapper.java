@@ -0,0 +1,43 @@
+package com.mxhieu.doantotnghiep.converter.mapper;
+
+import com.mxhieu.doantotnghiep.converter.base.ResponseMapper;
+import com.mxhieu.doantotnghiep.dto.request.StudentprofileRequest;
+import com.mxhieu.doantotnghiep.dto.request.TeacherprofileRequest;
+import com.mxhieu.doantotnghiep.dto.response.UserRespone;
+import com.mxhieu.doantotnghiep.entity.UserEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = MappingConfig.class)
+public interface UserMapper extends ResponseMapper<UserEntity, UserRespone> {
+
+    // Không bao giờ trả password (kể cả hash) ra ngoài
+    @Override
+    @Mapping(target = "password", ignore = true)
+    @Mapping(target = "roles", ignore = true)
+    UserRespone toResponse(UserEntity entity);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "password", ignore = true)
+    @Mapping(target = "status", ignore = true)
+    @Mapping(target = "createAt", ignore = true)
+    @Mapping(target = "token", ignore = true)
+    @Mapping(target = "userRole", ignore = true)
+    @Mapping(target = "teacherprofile", ignore = true)
+    @Mapping(target = "studentprofile", ignore = true)
+    @Mapping(target = "questions", ignore = true)
+    UserEntity toEntity(StudentprofileRequest request);
+
+    // birthday dạng chuỗi do TeacherprofileService tự parse
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "password", ignore = true)
+    @Mapping(target = "status", ignore = true)
+    @Mapping(target = "createAt", ignore = true)
+    @Mapping(target = "token", ignore = true)
+    @Mapping(target = "birthday", ignore = true)
+    @Mapping(target = "userRole", ignore = true)
+    @Mapping(target = "teacherprofile", ignore = true)
+    @Mapping(target = "studentprofile", ignore = true)
+    @Mapping(target = "questions", ignore = true)
+    UserEntity toEntity(TeacherprofileRequest request);
+}
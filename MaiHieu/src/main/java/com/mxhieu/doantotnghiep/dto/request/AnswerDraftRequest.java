@@ -0,0 +1,21 @@
+package com.mxhieu.doantotnghiep.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AnswerDraftRequest {
+    private Integer studentProfileId;
+    private Integer testId;
+    // Bắt buộc, tăng dần theo mỗi lần lưu của cùng bản nháp (bộ đếm hoặc thời điểm client tính bằng ms)
+    private Long seq;
+    // Chỉ những câu vừa thay đổi kể từ lần lưu trước
+    private List<DraftAnswerRequest> answers;
+}
@@ -16,4 +16,6 @@ public class AssessmentAnswerRequest {
     private Boolean isCorrect;
     private Integer assessmentOptionId;
     private Integer assessmentQuestionId;
+    // Câu điền từ gửi chữ thay cho assessmentOptionId; isCorrect từ client không còn được dùng để chấm
+    private String answerText;
 }
@@ -12,4 +12,6 @@ public class AttemptanswerRequest {
     private Integer id;
     private Integer questionId;
     private Integer choiceId;
+    // Câu điền từ gửi chữ thay cho choiceId
+    private String answerText;
 }
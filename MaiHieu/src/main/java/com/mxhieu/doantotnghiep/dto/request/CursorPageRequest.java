@@ -0,0 +1,16 @@
+package com.mxhieu.doantotnghiep.dto.request;
+
+import lombok.*;
+
+// Tham số chung của các danh sách phân trang keyset: sort là tên trường, thêm '-' phía trước để sắp giảm dần
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CursorPageRequest {
+    private String cursor;
+    private Integer limit;
+    private String sort;
+    private String q;
+}
@@ -0,0 +1,20 @@
+package com.mxhieu.doantotnghiep.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DraftAnswerRequest {
+    private Integer assessmentId;
+    private Integer assessmentQuestionId;
+    // Toàn bộ lựa chọn hiện tại của câu hỏi (chọn nhiều gửi đủ cả tập); rỗng và answerText null là bỏ chọn
+    private List<Integer> assessmentOptionIds;
+    private String answerText;
+}
@@ -0,0 +1,17 @@
+package com.mxhieu.doantotnghiep.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReorderRequest {
+    // Toàn bộ id trong nhóm theo thứ tự mới sau khi kéo-thả
+    private List<Integer> ids;
+}
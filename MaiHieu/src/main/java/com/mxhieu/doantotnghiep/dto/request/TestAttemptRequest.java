@@ -18,5 +18,7 @@ public class TestAttemptRequest {
     private LocalDateTime testAt;
     private Integer testId;
     private Integer studentProfileId;
+    // Client sinh 1 lần cho mỗi lần nộp và gửi lại nguyên giá trị khi retry để không tạo attempt trùng
+    private String submissionKey;
     List<AssessmentAttemptRequest> assessmentAttemptRequests;
 }
@@ -0,0 +1,21 @@
+package com.mxhieu.doantotnghiep.dto.request;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserPrincipalDTO {
+    private Integer userId;
+    private String email;
+    private String password;                  // Hash BCrypt
+    private String status;
+    private String fullName;
+    private Integer teacherProfileId;
+    private Integer studentProfileId;
+    private Boolean firstLogin;
+    private List<String> roles;               // Giá trị RoleEntity.value (ADMIN, TEACHER, STUDENT)
+}
@@ -0,0 +1,14 @@
+package com.mxhieu.doantotnghiep.dto.request;
+
+import lombok.*;
+
+// Một đoạn video học viên đã xem liên tục, tính bằng giây [fromSec, toSec)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WatchSegmentRequest {
+    private Integer fromSec;
+    private Integer toSec;
+}
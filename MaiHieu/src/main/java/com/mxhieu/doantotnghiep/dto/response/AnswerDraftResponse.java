@@ -0,0 +1,23 @@
+package com.mxhieu.doantotnghiep.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.mxhieu.doantotnghiep.dto.request.DraftAnswerRequest;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class AnswerDraftResponse {
+    String submissionKey;
+    Integer testId;
+    LocalDateTime lastSavedAt;
+    // Câu trả lời hiện tại của từng câu hỏi, cùng dạng client gửi lên để khôi phục bài làm
+    List<DraftAnswerRequest> answers;
+}
@@ -0,0 +1,21 @@
+package com.mxhieu.doantotnghiep.dto.response;
+
+import lombok.*;
+
+// Một dòng của danh sách khoá học, không kèm ảnh ImgData
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CourseSummaryResponse {
+    private Integer id;
+    private String title;
+    private String type;
+    private String status;
+    private Integer version;
+    private Integer levelTag;
+    private Integer trackId;
+    private Integer teacherId;
+    private String teacherName;
+}
@@ -0,0 +1,16 @@
+package com.mxhieu.doantotnghiep.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+
+// nextCursor null nghĩa là đã tới trang cuối
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CursorPageResponse<T> {
+    private List<T> items;
+    private String nextCursor;
+}
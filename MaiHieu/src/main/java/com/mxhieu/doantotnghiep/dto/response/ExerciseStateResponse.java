@@ -0,0 +1,18 @@
+package com.mxhieu.doantotnghiep.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+
+// Phần riêng của một học viên với một bài tập, tách khỏi nội dung bài tập (dùng chung, cache được)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ExerciseStateResponse {
+    private Integer exerciseId;
+    private Boolean isCompleted;
+    // Mỗi câu hỏi một câu trả lời (lần trả lời đầu tiên)
+    private List<AttemptanswerResponse> answers;
+}
@@ -0,0 +1,18 @@
+package com.mxhieu.doantotnghiep.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LessonWatchHeatmapResponse {
+    private Integer lessonId;
+    private Integer lengthSec;
+    private Integer bucketSec;
+    // views[i] là số lượt xem phủ qua đoạn [i * bucketSec, (i + 1) * bucketSec)
+    private List<Long> views;
+}
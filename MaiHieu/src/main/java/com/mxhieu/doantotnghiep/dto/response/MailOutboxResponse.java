@@ -0,0 +1,26 @@
+package com.mxhieu.doantotnghiep.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class MailOutboxResponse {
+    Integer id;
+    String recipient;
+    String subject;
+    String templateName;
+    String status;
+    Integer attempts;
+    LocalDateTime nextAttemptAt;
+    String lastError;
+    LocalDateTime createdAt;
+    LocalDateTime sentAt;
+}
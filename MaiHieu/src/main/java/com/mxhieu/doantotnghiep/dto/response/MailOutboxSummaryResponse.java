@@ -0,0 +1,19 @@
+package com.mxhieu.doantotnghiep.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class MailOutboxSummaryResponse {
+    String status;
+    Long total;
+    LocalDateTime oldestCreatedAt;
+}
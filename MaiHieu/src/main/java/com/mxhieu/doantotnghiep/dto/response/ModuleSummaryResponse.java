@@ -0,0 +1,18 @@
+package com.mxhieu.doantotnghiep.dto.response;
+
+import com.mxhieu.doantotnghiep.utils.ModuleType;
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ModuleSummaryResponse {
+    private Integer id;
+    private Integer courseId;
+    private String title;
+    private Long orderIndex;
+    private Integer score;
+    private ModuleType type;
+}
@@ -0,0 +1,22 @@
+package com.mxhieu.doantotnghiep.dto.response;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Một dòng của danh sách học viên: hồ sơ học viên kèm thông tin tài khoản
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class StudentprofileSummaryResponse {
+    private Integer id;
+    private Integer userId;
+    private String email;
+    private String fullName;
+    private String status;
+    private String placementLevel;
+    private Integer targetScore;
+    private LocalDateTime lastActiveAt;
+}
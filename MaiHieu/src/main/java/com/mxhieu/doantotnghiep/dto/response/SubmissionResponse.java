@@ -0,0 +1,21 @@
+package com.mxhieu.doantotnghiep.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class SubmissionResponse {
+    String submissionKey;
+    // PENDING / PROCESSING / DONE / FAILED: điểm có ngay, testAttemptId chỉ có khi DONE
+    String status;
+    Float totalScore;
+    Integer correctQuestions;
+    Integer totalQuestions;
+    Integer testAttemptId;
+}
@@ -0,0 +1,19 @@
+package com.mxhieu.doantotnghiep.dto.response;
+
+import lombok.*;
+
+// Một dòng của danh sách giáo viên: hồ sơ giáo viên kèm thông tin tài khoản
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TeacherprofileSummaryResponse {
+    private Integer id;
+    private String email;
+    private String fullName;
+    private String phone;
+    private String title;
+    private String university;
+    private String status;
+}
@@ -0,0 +1,20 @@
+package com.mxhieu.doantotnghiep.dto.response;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Một dòng của danh sách người dùng cho admin, chỉ các cột hiển thị
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class UserSummaryResponse {
+    private Integer id;
+    private String email;
+    private String fullName;
+    private String phone;
+    private String status;
+    private LocalDateTime createAt;
+}
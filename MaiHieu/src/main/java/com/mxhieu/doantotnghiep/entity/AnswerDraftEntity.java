@@ -0,0 +1,56 @@
+package com.mxhieu.doantotnghiep.entity;
+
+import com.mxhieu.doantotnghiep.converter.IntegerListConverter;
+import com.mxhieu.doantotnghiep.utils.Const;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "answerdraft")
+public class AnswerDraftEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "answerdraft_id")
+    @TableGenerator(name = "answerdraft_id", table = Const.ID_GENERATOR.TABLE,
+            pkColumnName = Const.ID_GENERATOR.PK_COLUMN, valueColumnName = Const.ID_GENERATOR.VALUE_COLUMN,
+            pkColumnValue = "answerdraft", allocationSize = Const.ID_GENERATOR.ALLOCATION_SIZE)
+    @Column(name = "ID")
+    private Integer id;
+
+    @Column(name = "SubmissionKey")
+    private String submissionKey;
+
+    @Column(name = "StudentProfileID")
+    private Integer studentProfileId;
+
+    @Column(name = "TestID")
+    private Integer testId;
+
+    @Column(name = "AssessmentID")
+    private Integer assessmentId;
+
+    @Column(name = "QuestionID")
+    private Integer questionId;
+
+    // Thứ tự lần lưu do client đánh (tăng dần), request autosave đến lệch thứ tự vẫn giữ đúng bản mới nhất
+    @Column(name = "Seq")
+    private Long seq;
+
+    // Rỗng và answerText null nghĩa là học viên đã bỏ chọn câu này
+    @Convert(converter = IntegerListConverter.class)
+    @Column(name = "OptionIDs")
+    private List<Integer> optionIds;
+
+    @Column(name = "AnswerText")
+    private String answerText;
+
+    @Column(name = "CreatedAt")
+    private LocalDateTime createdAt;
+}
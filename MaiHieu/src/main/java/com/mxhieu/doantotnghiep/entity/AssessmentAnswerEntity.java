@@ -1,5 +1,6 @@
 package com.mxhieu.doantotnghiep.entity;
 
+import com.mxhieu.doantotnghiep.utils.Const;
 import jakarta.persistence.*;
 import lombok.*;
 import org.springframework.web.service.annotation.GetExchange;
@@ -13,13 +14,20 @@ import org.springframework.web.service.annotation.GetExchange;
 @Table(name = "assessmentanswer")
 public class AssessmentAnswerEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "assessmentanswer_id")
+    @TableGenerator(name = "assessmentanswer_id", table = Const.ID_GENERATOR.TABLE,
+            pkColumnName = Const.ID_GENERATOR.PK_COLUMN, valueColumnName = Const.ID_GENERATOR.VALUE_COLUMN,
+            pkColumnValue = "assessmentanswer", allocationSize = Const.ID_GENERATOR.ALLOCATION_SIZE)
     @Column(name = "ID")
     private Integer id;
 
     @Column(name = "IsCorrect")
     private Boolean isCorrect;
 
+    // Câu điền từ: chữ học viên đã gõ (assessmentOption chỉ có khi khớp đáp án)
+    @Column(name = "AnswerText")
+    private String answerText;
+
     @ManyToOne(fetch = FetchType.LAZY,cascade = CascadeType.ALL)
     @JoinColumn(name = "AssessmentAttemptID")
     private AssessmentAttemptEntity assessmentAttempt;
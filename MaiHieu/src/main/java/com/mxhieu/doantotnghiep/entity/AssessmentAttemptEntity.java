@@ -1,5 +1,6 @@
 package com.mxhieu.doantotnghiep.entity;
 
+import com.mxhieu.doantotnghiep.utils.Const;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -15,7 +16,10 @@ import java.util.List;
 @Table(name = "assessmentattempt")
 public class AssessmentAttemptEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "assessmentattempt_id")
+    @TableGenerator(name = "assessmentattempt_id", table = Const.ID_GENERATOR.TABLE,
+            pkColumnName = Const.ID_GENERATOR.PK_COLUMN, valueColumnName = Const.ID_GENERATOR.VALUE_COLUMN,
+            pkColumnValue = "assessmentattempt", allocationSize = Const.ID_GENERATOR.ALLOCATION_SIZE)
     @Column(name = "ID")
     private Integer id;
 
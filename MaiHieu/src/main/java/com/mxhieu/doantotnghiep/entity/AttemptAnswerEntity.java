@@ -1,5 +1,6 @@
 package com.mxhieu.doantotnghiep.entity;
 
+import com.mxhieu.doantotnghiep.utils.Const;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -12,13 +13,20 @@ import lombok.*;
 @Table(name = "attemptanswer")
 public class AttemptAnswerEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "attemptanswer_id")
+    @TableGenerator(name = "attemptanswer_id", table = Const.ID_GENERATOR.TABLE,
+            pkColumnName = Const.ID_GENERATOR.PK_COLUMN, valueColumnName = Const.ID_GENERATOR.VALUE_COLUMN,
+            pkColumnValue = "attemptanswer", allocationSize = Const.ID_GENERATOR.ALLOCATION_SIZE)
     @Column(name = "ID")
     private Integer id;
 
     @Column(name = "IsCorrect")
     private Boolean isCorrect;
 
+    // Câu điền từ: chữ học viên đã gõ (choice chỉ có khi khớp đáp án)
+    @Column(name = "AnswerText")
+    private String answerText;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "AttemptID")
     private AttemptEntity attempt;
@@ -2,9 +2,12 @@ package com.mxhieu.doantotnghiep.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
+// Không cache entity course vì có cột ảnh ImgData (byte[]), chỉ cache danh sách module của course
 @Getter
 @Setter
 @NoArgsConstructor
@@ -61,6 +64,7 @@ public class CourseEntity {
     private List<EnrollmentCourseEntity> enrollmentcourse;
 
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "catalog.course.modules")
     @OneToMany(mappedBy = "course", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
     private List<ModuleEntity> modules;
 
@@ -1,5 +1,6 @@
 package com.mxhieu.doantotnghiep.entity;
 
+import com.mxhieu.doantotnghiep.utils.Const;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -12,7 +13,10 @@ import lombok.*;
 @Table(name = "enrollmentcourse")
 public class EnrollmentCourseEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "enrollmentcourse_id")
+    @TableGenerator(name = "enrollmentcourse_id", table = Const.ID_GENERATOR.TABLE,
+            pkColumnName = Const.ID_GENERATOR.PK_COLUMN, valueColumnName = Const.ID_GENERATOR.VALUE_COLUMN,
+            pkColumnValue = "enrollmentcourse", allocationSize = Const.ID_GENERATOR.ALLOCATION_SIZE)
     @Column(name = "ID")
     private Integer id;
 
@@ -1,5 +1,6 @@
 package com.mxhieu.doantotnghiep.entity;
 
+import com.mxhieu.doantotnghiep.utils.Const;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -15,7 +16,10 @@ import java.util.List;
 @Table(name = "enrollment")
 public class EnrollmentEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "enrollment_id")
+    @TableGenerator(name = "enrollment_id", table = Const.ID_GENERATOR.TABLE,
+            pkColumnName = Const.ID_GENERATOR.PK_COLUMN, valueColumnName = Const.ID_GENERATOR.VALUE_COLUMN,
+            pkColumnValue = "enrollment", allocationSize = Const.ID_GENERATOR.ALLOCATION_SIZE)
     @Column(name = "ID")
     private Integer id;
 
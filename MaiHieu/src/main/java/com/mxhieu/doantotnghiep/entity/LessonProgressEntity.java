@@ -9,7 +9,8 @@ import lombok.*;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "lessonprogress")
+@Table(name = "lessonprogress", uniqueConstraints = @UniqueConstraint(name = "uq_lessonprogress_student_lesson",
+        columnNames = {"StudentProfileID", "LessonID"}))
 public class LessonProgressEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,52 @@
+package com.mxhieu.doantotnghiep.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "mailoutbox")
+public class MailOutboxEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "ID")
+    private Integer id;
+
+    @Column(name = "Recipient")
+    private String recipient;
+
+    @Column(name = "Subject")
+    private String subject;
+
+    @Column(name = "TemplateName")
+    private String templateName;
+
+    // Biến cho template Thymeleaf dạng JSON, xoá khi mail sang SENT hoặc FAILED (có thể chứa mật khẩu tạm, OTP)
+    @Column(name = "Props")
+    private String props;
+
+    // PENDING / SENDING / SENT / FAILED
+    @Column(name = "Status")
+    private String status;
+
+    @Column(name = "Attempts")
+    private Integer attempts;
+
+    @Column(name = "NextAttemptAt")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "LastError")
+    private String lastError;
+
+    @Column(name = "CreatedAt")
+    private LocalDateTime createdAt;
+
+    @Column(name = "SentAt")
+    private LocalDateTime sentAt;
+}
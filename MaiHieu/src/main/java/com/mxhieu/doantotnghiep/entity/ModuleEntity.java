@@ -3,10 +3,14 @@ package com.mxhieu.doantotnghiep.entity;
 import com.mxhieu.doantotnghiep.utils.ModuleType;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "catalog.module")
 @Table(name = "module")
 @Getter
 @Setter
@@ -40,9 +44,11 @@ public class ModuleEntity {
     @JoinColumn(name = "CourseID")
     private CourseEntity course;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "catalog.module.lessons")
     @OneToMany(mappedBy = "module", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
     private List<LessonEntity> lessons;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "catalog.module.tests")
     @OneToMany(mappedBy = "module", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
     private List<TestEntity> tests;
 
@@ -49,5 +49,6 @@ public class StudyPlanEntity {
     private TrackEntity track;
 
     @OneToMany(mappedBy = "studyPlan", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
+    @OrderBy("id ASC")
     private List<StudyPlanItemEntity> studyPlanItems;
 }
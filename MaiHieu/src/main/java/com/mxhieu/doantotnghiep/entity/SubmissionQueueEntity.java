@@ -0,0 +1,68 @@
+package com.mxhieu.doantotnghiep.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "submissionqueue")
+public class SubmissionQueueEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "ID")
+    private Integer id;
+
+    @Column(name = "SubmissionKey")
+    private String submissionKey;
+
+    // FIRST_TEST / MINI_TEST
+    @Column(name = "Kind")
+    private String kind;
+
+    @Column(name = "StudentProfileID")
+    private Integer studentProfileId;
+
+    @Column(name = "TestID")
+    private Integer testId;
+
+    @Column(name = "TotalScore")
+    private Float totalScore;
+
+    @Column(name = "CorrectQuestions")
+    private Integer correctQuestions;
+
+    @Column(name = "TotalQuestions")
+    private Integer totalQuestions;
+
+    // Câu trả lời đã chấm dạng JSON (TestAttemptRequest), xoá sau khi ghi xong
+    @Column(name = "Payload")
+    private String payload;
+
+    // PENDING / PROCESSING / DONE / FAILED
+    @Column(name = "Status")
+    private String status;
+
+    @Column(name = "Attempts")
+    private Integer attempts;
+
+    @Column(name = "NextAttemptAt")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "LastError")
+    private String lastError;
+
+    @Column(name = "CreatedAt")
+    private LocalDateTime createdAt;
+
+    @Column(name = "WrittenAt")
+    private LocalDateTime writtenAt;
+
+    @Column(name = "TestAttemptID")
+    private Integer testAttemptId;
+}
@@ -1,5 +1,6 @@
 package com.mxhieu.doantotnghiep.entity;
 
+import com.mxhieu.doantotnghiep.utils.Const;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -15,7 +16,10 @@ import java.util.List;
 @Table(name = "testattempt")
 public class TestAttemptEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "testattempt_id")
+    @TableGenerator(name = "testattempt_id", table = Const.ID_GENERATOR.TABLE,
+            pkColumnName = Const.ID_GENERATOR.PK_COLUMN, valueColumnName = Const.ID_GENERATOR.VALUE_COLUMN,
+            pkColumnValue = "testattempt", allocationSize = Const.ID_GENERATOR.ALLOCATION_SIZE)
     @Column(name = "ID")
     private Integer id;
 
@@ -28,6 +32,10 @@ public class TestAttemptEntity {
     @Column(name = "TestAt")
     private LocalDateTime testAt;
 
+    // Khoá idempotency của lần nộp (submissionqueue.SubmissionKey)
+    @Column(name = "SubmissionKey")
+    private String submissionKey;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "TestID")
     private TestEntity test;
@@ -9,7 +9,8 @@ import lombok.*;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "testprogress")
+@Table(name = "testprogress", uniqueConstraints = @UniqueConstraint(name = "uq_testprogress_student_test",
+        columnNames = {"StudentprofileID", "TestID"}))
 public class TestProgressEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
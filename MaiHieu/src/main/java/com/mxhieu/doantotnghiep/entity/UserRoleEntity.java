@@ -12,6 +12,7 @@ import java.time.LocalDateTime;
 @Entity
 @Builder
 @Table(name = "userrole")
+@EntityListeners(UserRoleEntityListener.class)
 public class UserRoleEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
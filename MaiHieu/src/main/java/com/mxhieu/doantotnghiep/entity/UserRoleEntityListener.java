@@ -0,0 +1,29 @@
+package com.mxhieu.doantotnghiep.entity;
+
+import com.google.common.cache.Cache;
+import com.mxhieu.doantotnghiep.utils.AfterCommit;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Hibernate lấy listener qua Spring (SpringBeanContainer) nên inject được roleCache.
+// Các callback chạy lúc flush (trước commit): lấy email ngay, còn việc xoá cache đợi transaction commit
+@Component
+@RequiredArgsConstructor
+public class UserRoleEntityListener {
+    private final Cache<String, List<String>> roleCache;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void evictRoles(UserRoleEntity userRole) {
+        if (userRole.getUser() != null && userRole.getUser().getEmail() != null) {
+            String email = userRole.getUser().getEmail();
+            AfterCommit.run(() -> roleCache.invalidate(email));
+        }
+    }
+}
@@ -67,7 +67,21 @@ public enum ErrorCode {
     NEXT_NOT_FOUND(1000,"khong tim thay course tiep theo" , HttpStatus.NOT_FOUND),
     LESSON_IS_LOCK(1000,"lesson nay bị khóa" ,HttpStatus.BAD_REQUEST ),
     DEFINITION_EXAMPLE_NOT_FOUND(1000,"Khong tim thấy nghĩa và ví dụ" ,HttpStatus.NOT_FOUND ),
-    QUESSTION_CHOICE_EMPTY(1000,"câu hỏi không có lựa chọn" , HttpStatus.BAD_REQUEST);
+    QUESSTION_CHOICE_EMPTY(1000,"câu hỏi không có lựa chọn" , HttpStatus.BAD_REQUEST),
+    EXTERNAL_SERVICE_UNAVAILABLE(1026,"Dịch vụ bên ngoài đang bận, vui lòng thử lại sau" , HttpStatus.SERVICE_UNAVAILABLE),
+    LOGIN_BUSY(1027,"Hệ thống đang xử lý nhiều lượt đăng nhập, vui lòng thử lại" , HttpStatus.TOO_MANY_REQUESTS),
+    MAIL_OUTBOX_NOT_FOUND(1028,"Không tìm thấy email trong hàng đợi" , HttpStatus.NOT_FOUND),
+    MAIL_OUTBOX_NOT_RETRYABLE(1038,"Email này không thể gửi lại (đã gửi, hoặc đã lỗi hẳn và dữ liệu nhạy cảm đã bị xoá)" , HttpStatus.BAD_REQUEST),
+    ORDER_LIST_MISMATCH(1029,"Danh sách sắp xếp phải gồm đúng và đủ các phần tử hiện có" , HttpStatus.BAD_REQUEST),
+    ASSESSMENT_OPTION_INVALID(1030,"Lựa chọn không thuộc câu hỏi của bài test" , HttpStatus.BAD_REQUEST),
+    SUBMISSION_KEY_CONFLICT(1031,"Mã nộp bài đã được dùng cho bài làm khác" , HttpStatus.CONFLICT),
+    SUBMISSION_NOT_FOUND(1032,"Không tìm thấy bài nộp" , HttpStatus.NOT_FOUND),
+    SUBMISSION_KEY_INVALID(1033,"Mã nộp bài không hợp lệ (tối đa 64 ký tự)" , HttpStatus.BAD_REQUEST),
+    ANSWER_DRAFT_NOT_FOUND(1034,"Không tìm thấy bản nháp bài làm" , HttpStatus.NOT_FOUND),
+    ANSWER_DRAFT_TOO_LARGE(1035,"Bản nháp gửi lên quá nhiều câu trả lời" , HttpStatus.BAD_REQUEST),
+    ANSWER_DRAFT_SEQ_REQUIRED(1039,"Bản nháp phải kèm seq tăng dần theo mỗi lần lưu" , HttpStatus.BAD_REQUEST),
+    CURSOR_INVALID(1036,"Con trỏ phân trang không hợp lệ hoặc không khớp cách sắp xếp" , HttpStatus.BAD_REQUEST),
+    SORT_INVALID(1037,"Không hỗ trợ sắp xếp theo trường này" , HttpStatus.BAD_REQUEST);
     private final int code;
     private final String message;
     private final HttpStatusCode httpStatusCode;
@@ -0,0 +1,37 @@
+package com.mxhieu.doantotnghiep.repository;
+
+import com.mxhieu.doantotnghiep.entity.AnswerDraftEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface AnswerDraftRepository extends JpaRepository<AnswerDraftEntity, Integer> {
+    List<AnswerDraftEntity> findBySubmissionKeyAndStudentProfileIdAndTestId(String submissionKey, Integer studentProfileId, Integer testId);
+
+    @Modifying
+    @Query("DELETE FROM AnswerDraftEntity d WHERE d.submissionKey = ?1 AND d.studentProfileId = ?2 AND d.testId = ?3")
+    int deleteDraft(String submissionKey, Integer studentProfileId, Integer testId);
+
+    // Compaction chỉ đọc (không khoá) rồi xoá theo ID từng lô nhỏ, để không giữ next-key lock trên cả bảng
+    // chặn các INSERT autosave. Các bản nháp có lưu từ mốc thời gian (answerdraft_created_idx)
+    @Query(value = "SELECT DISTINCT SubmissionKey FROM answerdraft WHERE CreatedAt >= ?1", nativeQuery = true)
+    List<String> findKeysSavedSince(LocalDateTime since);
+
+    // Dòng đã có bản lưu mới hơn cho cùng câu hỏi trong một bản nháp (answerdraft_key_question_seq_idx)
+    @Query(value = "SELECT d.ID FROM answerdraft d WHERE d.SubmissionKey = ?1 AND EXISTS (SELECT 1 FROM answerdraft newer " +
+            "WHERE newer.SubmissionKey = d.SubmissionKey AND newer.QuestionID = d.QuestionID " +
+            "AND newer.StudentProfileID = d.StudentProfileID AND newer.TestID = d.TestID " +
+            "AND (newer.Seq > d.Seq OR (newer.Seq = d.Seq AND newer.ID > d.ID))) LIMIT ?2", nativeQuery = true)
+    List<Integer> findSupersededIds(String submissionKey, int limit);
+
+    // Bản nháp có dòng cũ hơn mốc thời gian và không được lưu thêm từ mốc đó thì coi như bỏ dở
+    @Query(value = "SELECT DISTINCT d.SubmissionKey FROM answerdraft d WHERE d.CreatedAt < ?1 AND NOT EXISTS " +
+            "(SELECT 1 FROM answerdraft n WHERE n.SubmissionKey = d.SubmissionKey AND n.CreatedAt >= ?1) LIMIT ?2", nativeQuery = true)
+    List<String> findAbandonedKeys(LocalDateTime lastSavedBefore, int limit);
+
+    @Query(value = "SELECT ID FROM answerdraft WHERE SubmissionKey = ?1 AND CreatedAt < ?2 LIMIT ?3", nativeQuery = true)
+    List<Integer> findIdsSavedBefore(String submissionKey, LocalDateTime lastSavedBefore, int limit);
+}
@@ -2,10 +2,17 @@ package com.mxhieu.doantotnghiep.repository;
 
 import com.mxhieu.doantotnghiep.converter.TestAttemptConverter;
 import com.mxhieu.doantotnghiep.entity.AssessmentAnswerEntity;
+import com.mxhieu.doantotnghiep.utils.ReviewTemplate;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 
 public interface AssessmentAnswerRepository extends JpaRepository<AssessmentAnswerEntity, Integer> {
     List<AssessmentAnswerEntity> findByAssessmentAttempt_Id(Integer id);
+
+    // Chỉ lấy cặp (câu hỏi, lựa chọn) đã chọn của cả attempt để dựng chỉ mục khi xem lại bài
+    @Query("SELECT new com.mxhieu.doantotnghiep.utils.ReviewTemplate$Selection(ans.assessmentQuestion.id, ans.assessmentOption.id) " +
+            "FROM AssessmentAnswerEntity ans WHERE ans.assessmentAttempt.testAttempt.id = ?1 AND ans.assessmentOption IS NOT NULL")
+    List<ReviewTemplate.Selection> findSelectionsByTestAttemptId(Integer testAttemptId);
 }
@@ -2,6 +2,11 @@ package com.mxhieu.doantotnghiep.repository;
 
 import com.mxhieu.doantotnghiep.entity.AssessmentAttemptEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 public interface AssessmentAttemptRepository extends JpaRepository<AssessmentAttemptEntity, Integer> {
+    @Query("SELECT aa.assessment.id FROM AssessmentAttemptEntity aa WHERE aa.testAttempt.id = ?1 ORDER BY aa.id")
+    List<Integer> findAssessmentIdsByTestAttemptId(Integer testAttemptId);
 }
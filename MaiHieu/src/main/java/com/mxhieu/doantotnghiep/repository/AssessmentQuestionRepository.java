@@ -1,7 +1,35 @@
 package com.mxhieu.doantotnghiep.repository;
 
 import com.mxhieu.doantotnghiep.entity.AssessmentQuestionEntity;
+import com.mxhieu.doantotnghiep.utils.AnswerKey;
+import com.mxhieu.doantotnghiep.utils.ReviewTemplate;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+import java.util.Optional;
 
 public interface AssessmentQuestionRepository extends JpaRepository<AssessmentQuestionEntity, Integer> {
+    @Query("SELECT DISTINCT q FROM AssessmentQuestionEntity q LEFT JOIN FETCH q.assessmentOptions WHERE q.assessment.test.id = ?1")
+    List<AssessmentQuestionEntity> fetchOptionsByTestId(Integer testId);
+
+    @Query("SELECT q.assessment.test.id FROM AssessmentQuestionEntity q WHERE q.id = ?1")
+    Optional<Integer> findTestIdById(Integer id);
+
+    @Query("SELECT a.test.id FROM AssessmentQuestionEntity q JOIN q.assessment a " +
+            "WHERE a.test.type = ?1 GROUP BY a.test.id HAVING COUNT(q) >= ?2")
+    List<Integer> findTestIdsWithMinQuestions(String testType, long minQuestions);
+
+    // Dữ liệu để biên dịch đáp án của cả bài test trong 1 query (nhóm = assessment)
+    @Query("SELECT new com.mxhieu.doantotnghiep.utils.AnswerKey$Row(a.id, q.id, o.id, o.isCorrect, o.content, t.code) " +
+            "FROM AssessmentQuestionEntity q JOIN q.assessment a LEFT JOIN a.exercisetype t LEFT JOIN q.assessmentOptions o WHERE a.test.id = ?1")
+    List<AnswerKey.Row> findAnswerKeyRowsByTestId(Integer testId);
+
+    @Query("SELECT new com.mxhieu.doantotnghiep.utils.ReviewTemplate$QuestionRow(q.assessment.id, q.id, q.stem, q.explain, q.mediData) " +
+            "FROM AssessmentQuestionEntity q WHERE q.assessment.test.id = ?1 ORDER BY q.id")
+    List<ReviewTemplate.QuestionRow> findReviewRowsByTestId(Integer testId);
+
+    @Query("SELECT new com.mxhieu.doantotnghiep.utils.ReviewTemplate$OptionRow(o.assessmentQuestion.id, o.id, o.content, o.isCorrect) " +
+            "FROM AssessmentOptionEntity o WHERE o.assessmentQuestion.assessment.test.id = ?1 ORDER BY o.id")
+    List<ReviewTemplate.OptionRow> findReviewOptionRowsByTestId(Integer testId);
 }
@@ -2,11 +2,29 @@ package com.mxhieu.doantotnghiep.repository;
 
 import com.mxhieu.doantotnghiep.dto.response.AssessmentResponse;
 import com.mxhieu.doantotnghiep.entity.AssessmentEntity;
+import com.mxhieu.doantotnghiep.utils.ContentSummary;
+import com.mxhieu.doantotnghiep.utils.ReviewTemplate;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface AssessmentRepository extends JpaRepository<AssessmentEntity, Integer> {
-    List<AssessmentEntity> findByTestId(Integer testId);
+    @Query("SELECT new com.mxhieu.doantotnghiep.utils.ContentSummary(a.id, a.title, t.description) " +
+            "FROM AssessmentEntity a LEFT JOIN a.exercisetype t WHERE a.test.id = ?1 ORDER BY a.id")
+    List<ContentSummary> findSummariesByTestId(Integer testId);
+
+    @Query("SELECT a.test.id FROM AssessmentEntity a WHERE a.id = ?1")
+    Optional<Integer> findTestIdById(Integer id);
+
+    @EntityGraph(attributePaths = "assessmentQuestions")
+    @Query("SELECT DISTINCT a FROM AssessmentEntity a WHERE a.test.id = ?1")
+    List<AssessmentEntity> findWithQuestionsByTestId(Integer testId);
+
+    @Query("SELECT new com.mxhieu.doantotnghiep.utils.ReviewTemplate$AssessmentRow(a.id, a.title, a.mediaData, a.imageData, a.paragraphs, t.code, t.description) " +
+            "FROM AssessmentEntity a LEFT JOIN a.exercisetype t WHERE a.test.id = ?1")
+    List<ReviewTemplate.AssessmentRow> findReviewRowsByTestId(Integer testId);
 }
@@ -1,12 +1,24 @@
 package com.mxhieu.doantotnghiep.repository;
 
+import com.mxhieu.doantotnghiep.dto.response.AttemptanswerResponse;
 import com.mxhieu.doantotnghiep.entity.AttemptAnswerEntity;
 import com.mxhieu.doantotnghiep.entity.AttemptEntity;
 import com.mxhieu.doantotnghiep.repository.custom.AttemptAnswerRepositoryCustom;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 
 public interface AttemptAnswerRepository extends JpaRepository<AttemptAnswerEntity, Integer>, AttemptAnswerRepositoryCustom {
     List<AttemptAnswerEntity> findByQuestion_IdAndAttempt_StudentProfile_Id(Integer question_Id, Integer attempt_StudentProfile_Id);
+
+    @Query("SELECT new com.mxhieu.doantotnghiep.dto.response.AttemptanswerResponse(aa.id, a.id, aa.isCorrect, q.id, c.id) " +
+            "FROM AttemptAnswerEntity aa JOIN aa.attempt a JOIN aa.question q LEFT JOIN aa.choice c " +
+            "WHERE q.exercise.id = ?1 AND a.studentProfile.id = ?2 ORDER BY aa.id")
+    List<AttemptanswerResponse> findAnswersByExerciseAndStudent(Integer exerciseId, Integer studentProfileId);
+
+    @Query("SELECT new com.mxhieu.doantotnghiep.dto.response.AttemptanswerResponse(aa.id, a.id, aa.isCorrect, q.id, c.id) " +
+            "FROM AttemptAnswerEntity aa JOIN aa.attempt a JOIN aa.question q LEFT JOIN aa.choice c " +
+            "WHERE q.exercise.lesson.id = ?1 AND a.studentProfile.id = ?2 ORDER BY aa.id")
+    List<AttemptanswerResponse> findAnswersByLessonAndStudent(Integer lessonId, Integer studentProfileId);
 }
@@ -3,9 +3,14 @@ package com.mxhieu.doantotnghiep.repository;
 import com.mxhieu.doantotnghiep.entity.AttemptEntity;
 import com.mxhieu.doantotnghiep.repository.custom.AttemptRepositoryCustom;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 
 public interface AttemptRepository extends JpaRepository<AttemptEntity, Integer> , AttemptRepositoryCustom {
     AttemptEntity findFirstByStudentProfileIdAndExerciseIdOrderByIdAsc(Integer studentProfileId, Integer exerciseId);
+
+    // Bài tập trong lesson mà học viên đã có attempt (cùng điều kiện với isExerciseCompletedByStudent)
+    @Query("SELECT DISTINCT a.exercise.id FROM AttemptEntity a WHERE a.exercise.lesson.id = ?1 AND a.studentProfile.id = ?2")
+    List<Integer> findAttemptedExerciseIdsByLessonId(Integer lessonId, Integer studentProfileId);
 }
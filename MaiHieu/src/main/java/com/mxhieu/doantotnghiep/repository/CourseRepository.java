@@ -3,9 +3,13 @@ package com.mxhieu.doantotnghiep.repository;
 import com.mxhieu.doantotnghiep.entity.CourseEntity;
 import com.mxhieu.doantotnghiep.entity.ModuleEntity;
 import com.mxhieu.doantotnghiep.repository.custom.CourseRepositoryCustom;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface CourseRepository extends JpaRepository<CourseEntity, Integer> , CourseRepositoryCustom {
     List<CourseEntity> findByTeacherprofile_Id(Integer teacherId);
@@ -14,5 +18,18 @@ public interface CourseRepository extends JpaRepository<CourseEntity, Integer> ,
 
     CourseEntity findTopByParentCourse_IdOrderByVersionDesc(Integer parentCourseId);
 
+    // Bản mới nhất của mọi khoá gốc (status OLD) thuộc các track, một query thay cho findTopByParentCourse... từng khoá.
+    // Sắp theo khoá gốc rồi id giảm dần để khi trùng version thì lấy bản tạo sau cùng
+    @Query("SELECT c FROM CourseEntity c JOIN FETCH c.parentCourse p " +
+            "WHERE p.track.id IN :trackIds AND p.status = 'OLD' " +
+            "AND c.version = (SELECT MAX(c2.version) FROM CourseEntity c2 WHERE c2.parentCourse = p) " +
+            "ORDER BY p.id, c.id DESC")
+    List<CourseEntity> findLatestVersionsByTrackIds(Collection<Integer> trackIds);
+
+    List<CourseEntity> findByStatus(String status);
+
+    @EntityGraph(attributePaths = "modules")
+    Optional<CourseEntity> findWithModulesById(Integer id);
+
 
 }
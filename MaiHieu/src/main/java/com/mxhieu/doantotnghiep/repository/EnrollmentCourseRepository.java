@@ -2,6 +2,7 @@ package com.mxhieu.doantotnghiep.repository;
 
 import com.mxhieu.doantotnghiep.entity.EnrollmentCourseEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
@@ -20,4 +21,14 @@ public interface EnrollmentCourseRepository extends JpaRepository<EnrollmentCour
     List<EnrollmentCourseEntity> findByCourse_IdAndEnrollment_StudentProfile_Id(Integer courseId, Integer studentId);
 
     Optional<EnrollmentCourseEntity> findTopByIdAfterAndEnrollment_Id(Integer Id, Integer enrollmentId);
+
+    // Khoá học đã DONE thì không đổi trạng thái nữa
+    @Modifying
+    @Query(value = "UPDATE enrollmentcourse ec JOIN enrollment e ON ec.EnrollmentID = e.ID " +
+            "SET ec.status = ?3 WHERE e.StudentProfileID = ?1 AND ec.CourseID = ?2 AND ec.status <> 'DONE'", nativeQuery = true)
+    int updateStatus(Integer studentProfileId, Integer courseId, String status);
+
+    @Modifying
+    @Query("UPDATE EnrollmentCourseEntity ec SET ec.status = ?2 WHERE ec.id = ?1 AND ec.status <> 'DONE'")
+    int updateStatusById(Integer id, String status);
 }
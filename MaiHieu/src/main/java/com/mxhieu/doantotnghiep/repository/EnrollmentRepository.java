@@ -2,10 +2,17 @@ package com.mxhieu.doantotnghiep.repository;
 
 import com.mxhieu.doantotnghiep.entity.EnrollmentEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 
 public interface EnrollmentRepository extends JpaRepository<EnrollmentEntity, Integer> {
     List<EnrollmentEntity> findByStudentProfile_Id(Integer studentId);
     List<EnrollmentEntity> findByTrack_IdAndStudentProfile_Id(Integer trackId, Integer studentId);
+
+    // Track đã hoàn thành (status 2) thì không đổi trạng thái nữa
+    @Modifying
+    @Query("UPDATE EnrollmentEntity e SET e.status = ?3 WHERE e.studentProfile.id = ?1 AND e.track.id = ?2 AND e.status <> 2")
+    int updateStatus(Integer studentProfileId, Integer trackId, Integer status);
 }
@@ -2,6 +2,7 @@ package com.mxhieu.doantotnghiep.repository;
 
 import com.mxhieu.doantotnghiep.entity.ExerciseEntity;
 import com.mxhieu.doantotnghiep.repository.custom.ExerciseRepositoryCustom;
+import com.mxhieu.doantotnghiep.utils.ContentSummary;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
@@ -13,6 +14,15 @@ public interface ExerciseRepository extends JpaRepository<ExerciseEntity, Intege
     List<Integer> findAllExerciseIdsByLessonId(Integer lessonId);
 
     List<ExerciseEntity> findByLessonId(Integer lessonId);
+
+    // Bài tập của lesson kèm loại và danh sách câu hỏi trong 1 query; Hibernate tự gộp các dòng trùng của cùng bài tập
+    @Query("SELECT e FROM ExerciseEntity e JOIN FETCH e.exercisetype LEFT JOIN FETCH e.questions q " +
+            "WHERE e.lesson.id = ?1 ORDER BY e.orderIndex, e.id, q.id")
+    List<ExerciseEntity> findWithQuestionsByLessonId(Integer lessonId);
+
+    @Query("SELECT new com.mxhieu.doantotnghiep.utils.ContentSummary(e.id, e.title, t.description) " +
+            "FROM ExerciseEntity e LEFT JOIN e.exercisetype t WHERE e.lesson.id = ?1 ORDER BY e.orderIndex, e.id")
+    List<ContentSummary> findSummariesByLessonId(Integer lessonId);
     List<ExerciseEntity> findByLesson_IdAndExercisetype_Code(Integer lessonId, String exerciseTypeCode);
     List<ExerciseEntity> findByLesson_IdAndExercisetype_CodeAndIdNot(Integer lessonId, String exercisetypeCode, Integer id);
 }
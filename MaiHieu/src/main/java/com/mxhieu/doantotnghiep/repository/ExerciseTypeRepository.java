@@ -2,10 +2,14 @@ package com.mxhieu.doantotnghiep.repository;
 
 import com.mxhieu.doantotnghiep.entity.ExerciseTypeEntity;
 import com.mxhieu.doantotnghiep.repository.custom.ExerciseRepositoryCustom;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.Optional;
 
 public interface ExerciseTypeRepository extends JpaRepository<ExerciseTypeEntity, Integer> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<ExerciseTypeEntity> findByCode(String code);
 }
@@ -2,9 +2,25 @@ package com.mxhieu.doantotnghiep.repository;
 
 import com.mxhieu.doantotnghiep.entity.LessonProgressEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
-import java.util.List;
+import java.util.Optional;
 
 public interface LessonProgressRepository extends JpaRepository<LessonProgressEntity, Long> {
-    List<LessonProgressEntity> findByLesson_IdAndStudentProfile_Id(Integer lessonId, Integer studentProfileId);
+    // uq_lessonprogress_student_lesson đảm bảo mỗi (học viên, bài học) chỉ có một dòng
+    Optional<LessonProgressEntity> findByLesson_IdAndStudentProfile_Id(Integer lessonId, Integer studentProfileId);
+
+    // Mở khoá bài học: chưa có dòng thì tạo với process 0, đã có thì giữ nguyên
+    @Modifying
+    @Query(value = "INSERT INTO lessonprogress (StudentProfileID, LessonID, PercentageWatched, Process) VALUES (?1, ?2, 0, 0) " +
+            "ON DUPLICATE KEY UPDATE ID = ID", nativeQuery = true)
+    int unlock(Integer studentProfileId, Integer lessonId);
+
+    // Ghi % đã xem và trạng thái trong một câu lệnh; cả hai chỉ tăng, sự kiện đến muộn không kéo lùi tiến độ
+    @Modifying
+    @Query(value = "INSERT INTO lessonprogress (StudentProfileID, LessonID, PercentageWatched, Process) VALUES (?1, ?2, ?3, ?4) " +
+            "ON DUPLICATE KEY UPDATE PercentageWatched = GREATEST(COALESCE(PercentageWatched, 0), VALUES(PercentageWatched)), " +
+            "Process = GREATEST(COALESCE(Process, 0), VALUES(Process))", nativeQuery = true)
+    int upsertProgress(Integer studentProfileId, Integer lessonId, Integer percentageWatched, Integer process);
 }
@@ -2,13 +2,20 @@ package com.mxhieu.doantotnghiep.repository;
 
 import com.mxhieu.doantotnghiep.entity.LessonEntity;
 import com.mxhieu.doantotnghiep.repository.custom.LessonRepositoryCustom;
+import com.mxhieu.doantotnghiep.utils.WatchProgressBuffer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface LessonRepository extends JpaRepository<LessonEntity, Integer>, LessonRepositoryCustom {
     List<LessonEntity> findByModuleId(int moduleId);
     Long countByModuleId(int moduleId);
     LessonEntity findTopByModule_IdOrderByOrderIndexDesc(Integer moduleId);
 
+    @Query("SELECT new com.mxhieu.doantotnghiep.utils.WatchProgressBuffer$Gate(l.id, l.gatingRules, l.module.course.id) " +
+            "FROM LessonEntity l WHERE l.id = ?1")
+    Optional<WatchProgressBuffer.Gate> findGateById(Integer id);
+
 }
@@ -0,0 +1,25 @@
+package com.mxhieu.doantotnghiep.repository;
+
+import com.mxhieu.doantotnghiep.entity.MailOutboxEntity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface MailOutboxRepository extends JpaRepository<MailOutboxEntity, Integer> {
+    // SKIP LOCKED (lock.timeout = -2): nhiều instance cùng chạy dispatcher không lấy trùng mail
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    List<MailOutboxEntity> findByStatusInAndNextAttemptAtLessThanEqualOrderByIdAsc(List<String> statuses, LocalDateTime now, Pageable pageable);
+
+    List<MailOutboxEntity> findByStatusOrderByIdDesc(String status, Pageable pageable);
+
+    @Query("SELECT m.status, COUNT(m), MIN(m.createdAt) FROM MailOutboxEntity m GROUP BY m.status")
+    List<Object[]> summarizeByStatus();
+}
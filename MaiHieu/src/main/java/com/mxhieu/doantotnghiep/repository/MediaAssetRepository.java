@@ -2,6 +2,10 @@ package com.mxhieu.doantotnghiep.repository;
 
 import com.mxhieu.doantotnghiep.entity.MediaAssetEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 public interface MediaAssetRepository extends JpaRepository<MediaAssetEntity, Integer> {
+    // Thời lượng video của bài học (null nếu bài chưa có video hoặc chưa nhập thời lượng)
+    @Query("SELECT MAX(m.lengthSec) FROM MediaAssetEntity m WHERE m.lesson.id = ?1")
+    Integer findLengthSecByLessonId(Integer lessonId);
 }
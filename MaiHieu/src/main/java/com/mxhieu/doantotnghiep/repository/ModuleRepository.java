@@ -3,6 +3,7 @@ package com.mxhieu.doantotnghiep.repository;
 import com.mxhieu.doantotnghiep.entity.ModuleEntity;
 import com.mxhieu.doantotnghiep.repository.custom.ModuleRepositoryCustom;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 import java.util.Optional;
@@ -12,4 +13,12 @@ public interface ModuleRepository extends JpaRepository<ModuleEntity, Integer>,
     List<ModuleEntity> findByCourseIdOrderByOrderIndex(int courseId);
     ModuleEntity findTopByCourse_IdOrderByOrderIndexAsc(int courseId);
     ModuleEntity findTopByCourse_IdOrderByOrderIndexDesc(int courseId);
+
+    // Hai bag lessons/tests không fetch chung được (MultipleBagFetchException) nên tách 2 query,
+    // cùng persistence context nên module đã load sẽ được khởi tạo collection tương ứng
+    @Query("SELECT DISTINCT m FROM ModuleEntity m LEFT JOIN FETCH m.lessons WHERE m.course.id = ?1")
+    List<ModuleEntity> fetchLessonsByCourseId(Integer courseId);
+
+    @Query("SELECT DISTINCT m FROM ModuleEntity m LEFT JOIN FETCH m.tests WHERE m.course.id = ?1")
+    List<ModuleEntity> fetchTestsByCourseId(Integer courseId);
 }
@@ -2,7 +2,20 @@ package com.mxhieu.doantotnghiep.repository;
 
 import com.mxhieu.doantotnghiep.dto.request.QuestionRequest;
 import com.mxhieu.doantotnghiep.entity.QuestionEntity;
+import com.mxhieu.doantotnghiep.utils.AnswerKey;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 public interface QuestionRepository extends JpaRepository<QuestionEntity, Integer> {
+    // Dữ liệu để biên dịch đáp án của một bài tập trong 1 query (nhóm = exercise)
+    @Query("SELECT new com.mxhieu.doantotnghiep.utils.AnswerKey$Row(e.id, q.id, c.id, c.isCorrect, c.content, t.code) " +
+            "FROM QuestionEntity q JOIN q.exercise e LEFT JOIN e.exercisetype t LEFT JOIN q.choices c WHERE e.id = ?1")
+    List<AnswerKey.Row> findAnswerKeyRowsByExerciseId(Integer exerciseId);
+
+    // Nạp lựa chọn và media của mọi câu hỏi trong lesson vào persistence context (đi sau ExerciseRepository.findWithQuestionsByLessonId)
+    @Query("SELECT q FROM QuestionEntity q LEFT JOIN FETCH q.mediaQuestion LEFT JOIN FETCH q.choices c " +
+            "WHERE q.exercise.lesson.id = ?1 ORDER BY q.id, c.id")
+    List<QuestionEntity> fetchChoicesByLessonId(Integer lessonId);
 }
@@ -1,7 +1,8 @@
 package com.mxhieu.doantotnghiep.repository;
 
 import com.mxhieu.doantotnghiep.entity.StudentProfileEntity;
+import com.mxhieu.doantotnghiep.repository.custom.StudentProfileRepositoryCustom;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-public interface StudentProfileRepository extends JpaRepository<StudentProfileEntity, Integer> {
+public interface StudentProfileRepository extends JpaRepository<StudentProfileEntity, Integer>, StudentProfileRepositoryCustom {
 }
@@ -1,12 +1,19 @@
 package com.mxhieu.doantotnghiep.repository;
 
 import com.mxhieu.doantotnghiep.entity.StudyPlanEntity;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface StudyPlanRepository extends JpaRepository<StudyPlanEntity, Integer> {
     List<StudyPlanEntity> findByTrack_IdAndStudentProfile_Id(Integer trackId, Integer studentId);
 
     List<StudyPlanEntity> findByStudentProfile_Id(Integer studentProfileId);
+
+    @EntityGraph(attributePaths = {"studentProfile", "studyPlanItems", "studyPlanItems.lesson", "studyPlanItems.test"})
+    @Query("SELECT s FROM StudyPlanEntity s WHERE s.id = ?1")
+    Optional<StudyPlanEntity> findDetailById(Integer id);
 }
@@ -0,0 +1,42 @@
+package com.mxhieu.doantotnghiep.repository;
+
+import com.mxhieu.doantotnghiep.entity.SubmissionQueueEntity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface SubmissionQueueRepository extends JpaRepository<SubmissionQueueEntity, Integer> {
+    Optional<SubmissionQueueEntity> findBySubmissionKey(String submissionKey);
+
+    // SKIP LOCKED (lock.timeout = -2): nhiều instance cùng chạy dispatcher không lấy trùng bài nộp
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    List<SubmissionQueueEntity> findByStatusInAndNextAttemptAtLessThanEqualOrderByIdAsc(List<String> statuses, LocalDateTime now, Pageable pageable);
+
+    // Gửi lại cùng SubmissionKey (kể cả 2 request song song) không tạo dòng thứ hai; người gọi đọc lại dòng theo key
+    @Modifying
+    @Query(value = "INSERT INTO submissionqueue (SubmissionKey, Kind, StudentProfileID, TestID, TotalScore, CorrectQuestions, TotalQuestions, " +
+            "Payload, Status, Attempts, NextAttemptAt, CreatedAt) VALUES (?1, ?2, ?3, ?4, ?5, ?6, ?7, ?8, 'PENDING', 0, ?9, ?9) " +
+            "ON DUPLICATE KEY UPDATE ID = ID", nativeQuery = true)
+    void insertIfAbsent(String submissionKey, String kind, Integer studentProfileId, Integer testId, Float totalScore,
+                        Integer correctQuestions, Integer totalQuestions, String payload, LocalDateTime now);
+
+    // Đọc lại sau insertIfAbsent bằng locking read: đọc bản commit mới nhất thay vì snapshot REPEATABLE READ
+    // của transaction gọi, nên request thua cuộc đua insert vẫn thấy dòng của request thắng
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM SubmissionQueueEntity s WHERE s.submissionKey = ?1")
+    Optional<SubmissionQueueEntity> lockBySubmissionKey(String submissionKey);
+
+    // Điểm cao nhất trong các bài đã chấm nhưng worker chưa ghi xong, để kiểm tra qua bài không phải chờ hàng đợi
+    @Query("SELECT MAX(s.totalScore) FROM SubmissionQueueEntity s WHERE s.testId = ?1 AND s.studentProfileId = ?2 AND s.status IN ?3")
+    Float findMaxScoreByTestAndStudentAndStatusIn(Integer testId, Integer studentProfileId, List<String> statuses);
+
+    @Modifying
+    @Query("DELETE FROM SubmissionQueueEntity s WHERE s.status = ?1 AND s.writtenAt < ?2")
+    int deleteByStatusAndWrittenAtBefore(String status, LocalDateTime before);
+}
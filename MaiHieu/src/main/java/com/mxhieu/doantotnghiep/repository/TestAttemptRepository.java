@@ -9,5 +9,5 @@ import java.util.Optional;
 public interface TestAttemptRepository extends JpaRepository<TestAttemptEntity,Integer> {
     List<TestAttemptEntity> findByTestIdAndStudentProfileId(Integer testId, Integer studentProfileId);
     Optional<TestAttemptEntity> findTopByTest_IdAndStudentProfile_IdOrderByTotalScoreDesc(Integer testId, Integer studentProfileId);
-
+    Optional<TestAttemptEntity> findBySubmissionKey(String submissionKey);
 }
@@ -2,9 +2,24 @@ package com.mxhieu.doantotnghiep.repository;
 
 import com.mxhieu.doantotnghiep.entity.TestProgressEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
-import java.util.List;
+import java.util.Optional;
 
 public interface TestProgressRepository extends JpaRepository<TestProgressEntity,Integer> {
-    List<TestProgressEntity> findByTest_IdAndStudentProfile_Id(Integer testId, Integer studentProfileId);
+    // uq_testprogress_student_test đảm bảo mỗi (học viên, bài test) chỉ có một dòng
+    Optional<TestProgressEntity> findByTest_IdAndStudentProfile_Id(Integer testId, Integer studentProfileId);
+
+    // Mở khoá bài test: chưa có dòng thì tạo với process 0, đã có thì giữ nguyên
+    @Modifying
+    @Query(value = "INSERT INTO testprogress (StudentprofileID, TestId, Process) VALUES (?1, ?2, 0) " +
+            "ON DUPLICATE KEY UPDATE ID = ID", nativeQuery = true)
+    int unlock(Integer studentProfileId, Integer testId);
+
+    // Trạng thái chỉ tăng (0 mở khoá, 1 đang làm, 2 hoàn thành)
+    @Modifying
+    @Query(value = "INSERT INTO testprogress (StudentprofileID, TestId, Process) VALUES (?1, ?2, ?3) " +
+            "ON DUPLICATE KEY UPDATE Process = GREATEST(COALESCE(Process, 0), VALUES(Process))", nativeQuery = true)
+    int upsertProcess(Integer studentProfileId, Integer testId, Integer process);
 }
@@ -1,12 +1,19 @@
 package com.mxhieu.doantotnghiep.repository;
 
 import com.mxhieu.doantotnghiep.entity.TestEntity;
+import com.mxhieu.doantotnghiep.utils.ContentSummary;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface TestRepository extends JpaRepository<TestEntity, Integer> {
-    List<TestEntity> findByType(String type);
+    @Query("SELECT new com.mxhieu.doantotnghiep.utils.ContentSummary(t.id, t.name, t.type) FROM TestEntity t WHERE t.type = ?1 ORDER BY t.id")
+    List<ContentSummary> findSummariesByType(String type);
+
+    @Query("SELECT new com.mxhieu.doantotnghiep.utils.ContentSummary(t.id, t.name, t.type) FROM TestEntity t WHERE t.id = ?1")
+    Optional<ContentSummary> findSummaryById(Integer id);
     List<TestEntity> findByModuleId(Integer moduleId);
     long countByModuleId(Integer moduleId);
 
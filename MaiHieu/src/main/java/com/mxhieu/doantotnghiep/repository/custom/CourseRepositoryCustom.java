@@ -1,6 +1,9 @@
 package com.mxhieu.doantotnghiep.repository.custom;
 
+import com.mxhieu.doantotnghiep.dto.request.CursorPageRequest;
 import com.mxhieu.doantotnghiep.dto.request.EnrollmentRequest;
+import com.mxhieu.doantotnghiep.dto.response.CourseSummaryResponse;
+import com.mxhieu.doantotnghiep.dto.response.CursorPageResponse;
 import com.mxhieu.doantotnghiep.entity.CourseEntity;
 
 import java.util.List;
@@ -9,4 +12,6 @@ import java.util.Optional;
 public interface CourseRepositoryCustom {
 
     Optional<CourseEntity> findNextCourseOfTrack(Integer courseId);
+
+    CursorPageResponse<CourseSummaryResponse> findSummaries(CursorPageRequest request, String status, String type, Integer teacherId);
 }
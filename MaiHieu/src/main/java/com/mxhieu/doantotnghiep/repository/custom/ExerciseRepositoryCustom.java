@@ -1,8 +1,13 @@
 package com.mxhieu.doantotnghiep.repository.custom;
 
+import java.util.List;
+
 public interface ExerciseRepositoryCustom {
-    void flushOrderIndex(Integer lessonId, Integer orderIndex);
     int getMaxOrder(Integer lessonId);
+    int orderKeyForPosition(Integer lessonId, Integer excludeExerciseId, long position);
+    boolean applyOrder(Integer lessonId, List<Integer> orderedExerciseIds);
+    void rebalanceOrderIndex(Integer lessonId);
+    List<Integer> findLessonsWithCrowdedOrder();
 
     boolean isExerciseCompletedByStudent(Integer exerciseId, Integer studentProfileId);
 }
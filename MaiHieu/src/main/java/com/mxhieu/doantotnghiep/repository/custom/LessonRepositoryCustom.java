@@ -2,10 +2,14 @@ package com.mxhieu.doantotnghiep.repository.custom;
 
 import com.mxhieu.doantotnghiep.entity.LessonEntity;
 
+import java.util.List;
+
 public interface LessonRepositoryCustom {
     int getMaxOrder(Integer moduleId);
-    void flushOrderIndex(Integer moduleId, Integer orderIndex);
-    void decreaseOrderIndex(Integer moduleId, Integer orderIndex);
+    int orderKeyForPosition(Integer moduleId, Integer excludeLessonId, long position);
+    boolean applyOrder(Integer moduleId, List<Integer> orderedLessonIds);
+    void rebalanceOrderIndex(Integer moduleId);
+    List<Integer> findModulesWithCrowdedOrder();
     int totalScroreOfLesson(Integer lessonId, Integer userId);
     LessonEntity getNextLesson(Integer currentLessonId);
     LessonEntity getPreviousLesson(Integer currentLessonId);
@@ -1,10 +1,19 @@
 package com.mxhieu.doantotnghiep.repository.custom;
 
+import com.mxhieu.doantotnghiep.dto.request.CursorPageRequest;
+import com.mxhieu.doantotnghiep.dto.response.CursorPageResponse;
+import com.mxhieu.doantotnghiep.dto.response.ModuleSummaryResponse;
+
+import java.util.List;
+
 public interface ModuleRepositoryCustom {
     Long getMaxOrder(Integer courseId);
 
-    void flushOrderIndex(Integer courseId, Long orderIndex);
+    long orderKeyForPosition(Integer courseId, Integer excludeModuleId, long position);
 
     Long getCompletedLessonsOfStudent(Integer ModuleId, Integer studentProfileId);
-    void decreaseOrderIndex(Integer courseId, Long orderIndex);
+    boolean applyOrder(Integer courseId, List<Integer> orderedModuleIds);
+    void rebalanceOrderIndex(Integer courseId);
+    List<Integer> findCoursesWithCrowdedOrder();
+    CursorPageResponse<ModuleSummaryResponse> findSummaries(CursorPageRequest request, Integer courseId);
 }
@@ -0,0 +1,9 @@
+package com.mxhieu.doantotnghiep.repository.custom;
+
+import com.mxhieu.doantotnghiep.dto.request.CursorPageRequest;
+import com.mxhieu.doantotnghiep.dto.response.CursorPageResponse;
+import com.mxhieu.doantotnghiep.dto.response.TeacherprofileSummaryResponse;
+
+public interface TeacheprofileRepositoryCustom {
+    CursorPageResponse<TeacherprofileSummaryResponse> findSummaries(CursorPageRequest request, String status);
+}
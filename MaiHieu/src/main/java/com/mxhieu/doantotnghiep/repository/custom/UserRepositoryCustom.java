@@ -1,8 +1,14 @@
 package com.mxhieu.doantotnghiep.repository.custom;
 
-import com.mxhieu.doantotnghiep.entity.UserEntity;
+import com.mxhieu.doantotnghiep.dto.request.CursorPageRequest;
+import com.mxhieu.doantotnghiep.dto.request.UserPrincipalDTO;
+import com.mxhieu.doantotnghiep.dto.response.CursorPageResponse;
+import com.mxhieu.doantotnghiep.dto.response.UserSummaryResponse;
 
 import java.util.Optional;
 
 public interface UserRepositoryCustom {
+    Optional<UserPrincipalDTO> findPrincipalByEmail(String email);
+
+    CursorPageResponse<UserSummaryResponse> findSummaries(CursorPageRequest request, String status);
 }
@@ -1,15 +1,28 @@
 package com.mxhieu.doantotnghiep.repository.custom.impl;
 
+import com.mxhieu.doantotnghiep.dto.request.CursorPageRequest;
+import com.mxhieu.doantotnghiep.dto.response.CourseSummaryResponse;
+import com.mxhieu.doantotnghiep.dto.response.CursorPageResponse;
 import com.mxhieu.doantotnghiep.entity.CourseEntity;
 import com.mxhieu.doantotnghiep.repository.custom.CourseRepositoryCustom;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import org.springframework.stereotype.Repository;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Repository
 public class CourseRepositoryImpl implements CourseRepositoryCustom {
+    // Không chọn ImgData: danh sách chỉ cần tiêu đề/trạng thái, ảnh lấy ở màn chi tiết
+    private static final KeysetListing<CourseSummaryResponse> SUMMARIES = new KeysetListing<>(CourseSummaryResponse.class,
+            "e.id, e.title, e.type, e.status, e.version, e.levelTag, e.track.id, t.id, tu.fullName",
+            "CourseEntity e LEFT JOIN e.teacherprofile t LEFT JOIN t.user tu",
+            Map.of("title", KeysetListing.SortKey.text("e.title")),
+            List.of("e.title"),
+            Map.of("status", "e.status", "type", "e.type", "teacherId", "t.id"));
 
     @PersistenceContext
     private EntityManager em;
@@ -29,4 +42,13 @@ public class CourseRepositoryImpl implements CourseRepositoryCustom {
                 .getResultStream()
                 .findFirst();
     }
+
+    @Override
+    public CursorPageResponse<CourseSummaryResponse> findSummaries(CursorPageRequest request, String status, String type, Integer teacherId) {
+        Map<String, Object> filters = new HashMap<>();
+        filters.put("status", status);
+        filters.put("type", type);
+        filters.put("teacherId", teacherId);
+        return SUMMARIES.page(em, request, filters);
+    }
 }
@@ -1,24 +1,48 @@
 package com.mxhieu.doantotnghiep.repository.custom.impl;
 
+import com.mxhieu.doantotnghiep.entity.ExerciseEntity;
 import com.mxhieu.doantotnghiep.repository.custom.ExerciseRepositoryCustom;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 public class ExerciseRepositoryImpl implements ExerciseRepositoryCustom {
 
+    private static final SparseOrderIndex ORDER_INDEX =
+            new SparseOrderIndex("exercise", "lesson", "LessonID", ExerciseEntity.class);
+
     @PersistenceContext
     private EntityManager entityManager;
 
     @Override
     public int getMaxOrder(Integer lessonId) {
-        StringBuilder sql = new StringBuilder(
-                "SELECT COALESCE(MAX(OrderIndex), 0) FROM exercise WHERE LessonId = :lessonId"
-        );
-        Object result = entityManager.createNativeQuery(sql.toString())
-                .setParameter("lessonId", lessonId)
-                .getSingleResult();
-        return ((Number) result).intValue();
+        // OrderIndex là khoá thưa nên vị trí lớn nhất chính là số exercise của lesson
+        return (int) ORDER_INDEX.countSiblings(entityManager, lessonId);
+    }
+
+    @Transactional
+    @Override
+    public int orderKeyForPosition(Integer lessonId, Integer excludeExerciseId, long position) {
+        return (int) ORDER_INDEX.keyForPosition(entityManager, lessonId, excludeExerciseId, position);
+    }
+
+    @Transactional
+    @Override
+    public boolean applyOrder(Integer lessonId, List<Integer> orderedExerciseIds) {
+        return ORDER_INDEX.applyOrder(entityManager, lessonId, orderedExerciseIds);
+    }
+
+    @Transactional
+    @Override
+    public void rebalanceOrderIndex(Integer lessonId) {
+        ORDER_INDEX.rebalance(entityManager, lessonId);
+    }
+
+    @Override
+    public List<Integer> findLessonsWithCrowdedOrder() {
+        return ORDER_INDEX.findCrowdedParents(entityManager);
     }
 
     @Override
@@ -34,19 +58,4 @@ public class ExerciseRepositoryImpl implements ExerciseRepositoryCustom {
         return count > 0;
 
     }
-
-    @Transactional
-    @Override
-    public void flushOrderIndex(Integer lessonId, Integer orderIndex) {
-        StringBuilder sql = new StringBuilder();
-        sql.append("UPDATE exercise ")
-                .append("SET OrderIndex = OrderIndex + 1 ")
-                .append("WHERE LessonId = :lessonId ")
-                .append("AND OrderIndex >= :orderIndex");
-
-        entityManager.createNativeQuery(sql.toString())
-                .setParameter("lessonId", lessonId)
-                .setParameter("orderIndex", orderIndex)
-                .executeUpdate();
-    }
 }
@@ -0,0 +1,155 @@
+package com.mxhieu.doantotnghiep.repository.custom.impl;
+
+import com.mxhieu.doantotnghiep.dto.request.CursorPageRequest;
+import com.mxhieu.doantotnghiep.dto.response.CursorPageResponse;
+import com.mxhieu.doantotnghiep.exception.AppException;
+import com.mxhieu.doantotnghiep.exception.ErrorCode;
+import com.mxhieu.doantotnghiep.utils.Const;
+import com.mxhieu.doantotnghiep.utils.KeysetCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * JPQL dùng chung cho các danh sách phân trang keyset của admin/giáo viên.
+ * Mỗi trang chỉ chọn các cột hiển thị (constructor expression vào DTO tóm tắt) và lọc
+ * "(cột sắp xếp, id) sau con trỏ" thay cho OFFSET, nên trang sau không phải đọc lại các trang trước.
+ * Thực thể gốc luôn có alias e; id là khoá phụ để thứ tự ổn định khi cột sắp xếp trùng giá trị.
+ * Cột sắp xếp được so sánh nguyên dạng để dùng được index (cột, ID); dòng có giá trị NULL đứng theo thứ tự
+ * mặc định của MySQL (đầu khi tăng dần, cuối khi giảm dần) và được xử lý riêng trong điều kiện sau con trỏ.
+ */
+final class KeysetListing<T> {
+    private static final String ID = "id";
+
+    // Cột sắp xếp được phép và cách đọc lại giá trị từ con trỏ (đúng kiểu của thuộc tính)
+    record SortKey(String expression, Function<String, Object> parser) {
+        static SortKey text(String path) {
+            return new SortKey(path, value -> value);
+        }
+
+        static SortKey number(String path) {
+            return new SortKey(path, Long::valueOf);
+        }
+    }
+
+    private final String select;
+    private final String from;
+    private final Map<String, SortKey> sortKeys;
+    private final List<String> searchPaths;
+    private final Map<String, String> filterPaths;
+
+    KeysetListing(Class<T> rowClass, String columns, String from, Map<String, SortKey> sortKeys,
+                  List<String> searchPaths, Map<String, String> filterPaths) {
+        this.select = "new " + rowClass.getName() + "(" + columns + ")";
+        this.from = from;
+        this.sortKeys = sortKeys;
+        this.searchPaths = searchPaths;
+        this.filterPaths = filterPaths;
+    }
+
+    // filters: tên bộ lọc -> giá trị, giá trị null thì bỏ qua bộ lọc đó
+    CursorPageResponse<T> page(EntityManager entityManager, CursorPageRequest request, Map<String, Object> filters) {
+        String sort = isBlank(request.getSort()) ? Const.CURSOR_PAGE.DEFAULT_SORT : request.getSort().trim();
+        boolean descending = sort.startsWith("-");
+        String field = descending ? sort.substring(1) : sort;
+        SortKey sortKey = ID.equals(field) ? null : sortKeys.get(field);
+        if (sortKey == null && !ID.equals(field)) {
+            throw new AppException(ErrorCode.SORT_INVALID);
+        }
+        String sortExpression = sortKey == null ? "e.id" : sortKey.expression();
+        KeysetCursor after = isBlank(request.getCursor()) ? null : KeysetCursor.decode(request.getCursor(), sort);
+        int limit = request.getLimit() == null || request.getLimit() <= 0
+                ? Const.CURSOR_PAGE.DEFAULT_LIMIT
+                : Math.min(request.getLimit(), Const.CURSOR_PAGE.MAX_LIMIT);
+
+        StringBuilder jpql = new StringBuilder("SELECT ").append(select).append(", e.id, ").append(sortExpression)
+                .append(" FROM ").append(from).append(" WHERE 1 = 1");
+        Map<String, Object> parameters = new HashMap<>();
+        filters.forEach((name, value) -> {
+            if (value != null) {
+                jpql.append(" AND ").append(filterPaths.get(name)).append(" = :").append(name);
+                parameters.put(name, value);
+            }
+        });
+        if (!isBlank(request.getQ())) {
+            jpql.append(" AND (").append(searchPaths.stream()
+                    .map(path -> path + " LIKE :q ESCAPE '!'")
+                    .collect(Collectors.joining(" OR "))).append(")");
+            parameters.put("q", "%" + escapeLike(request.getQ().trim()) + "%");
+        }
+        String comparison = descending ? " < " : " > ";
+        if (after != null) {
+            if (sortKey == null) {
+                jpql.append(" AND e.id").append(comparison).append(":afterId");
+            } else {
+                jpql.append(" AND (").append(afterPredicate(sortExpression, comparison, descending, after.value())).append(")");
+                if (after.value() != null) {
+                    parameters.put("afterValue", parseCursorValue(sortKey, after.value()));
+                }
+            }
+            parameters.put("afterId", after.id());
+        }
+        String direction = descending ? " DESC" : " ASC";
+        jpql.append(" ORDER BY ");
+        if (sortKey != null) {
+            jpql.append(sortExpression).append(direction).append(", ");
+        }
+        jpql.append("e.id").append(direction);
+
+        TypedQuery<Object[]> query = entityManager.createQuery(jpql.toString(), Object[].class);
+        parameters.forEach(query::setParameter);
+        // Lấy dư một dòng để biết còn trang sau hay không
+        List<Object[]> rows = query.setMaxResults(limit + 1).getResultList();
+
+        List<T> items = new ArrayList<>(Math.min(rows.size(), limit));
+        for (int i = 0; i < Math.min(rows.size(), limit); i++) {
+            @SuppressWarnings("unchecked")
+            T item = (T) rows.get(i)[0];
+            items.add(item);
+        }
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            Object[] last = rows.get(limit - 1);
+            nextCursor = new KeysetCursor(sort, (Integer) last[1], sortKey == null || last[2] == null ? null : String.valueOf(last[2])).encode();
+        }
+        return CursorPageResponse.<T>builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    // Các dòng đứng sau (value, afterId): NULL đứng đầu khi tăng dần nên chỉ còn ở phía trước con trỏ có giá trị,
+    // và đứng cuối khi giảm dần nên luôn thuộc phần còn lại của con trỏ có giá trị
+    private static String afterPredicate(String expression, String comparison, boolean descending, String value) {
+        String tieBreak = "e.id" + comparison + ":afterId";
+        if (value == null) {
+            return descending
+                    ? expression + " IS NULL AND " + tieBreak
+                    : "(" + expression + " IS NULL AND " + tieBreak + ") OR " + expression + " IS NOT NULL";
+        }
+        String after = expression + comparison + ":afterValue OR (" + expression + " = :afterValue AND " + tieBreak + ")";
+        return descending ? after + " OR " + expression + " IS NULL" : after;
+    }
+
+    private static Object parseCursorValue(SortKey sortKey, String value) {
+        try {
+            return sortKey.parser().apply(value);
+        } catch (IllegalArgumentException e) {
+            throw new AppException(ErrorCode.CURSOR_INVALID);
+        }
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
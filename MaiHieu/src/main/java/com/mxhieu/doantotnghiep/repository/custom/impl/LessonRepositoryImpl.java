@@ -9,43 +9,39 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 
 public class LessonRepositoryImpl implements LessonRepositoryCustom {
+    private static final SparseOrderIndex ORDER_INDEX =
+            new SparseOrderIndex("lesson", "module", "ModuleID", LessonEntity.class);
+
     @PersistenceContext
     private EntityManager entityManager;
+
     @Override
     public int getMaxOrder(Integer moduleId) {
-        StringBuilder sql = new StringBuilder("SELECT COALESCE(MAX(OrderIndex), 0) FROM lesson WHERE ModuleId = :moduleId");
-        Object result = entityManager.createNativeQuery(sql.toString())
-                .setParameter("moduleId", moduleId)
-                .getSingleResult();
-        return ((Number) result).intValue();
+        // OrderIndex là khoá thưa nên vị trí lớn nhất chính là số lesson của module
+        return (int) ORDER_INDEX.countSiblings(entityManager, moduleId);
+    }
+
+    @Transactional
+    @Override
+    public int orderKeyForPosition(Integer moduleId, Integer excludeLessonId, long position) {
+        return (int) ORDER_INDEX.keyForPosition(entityManager, moduleId, excludeLessonId, position);
     }
 
     @Transactional
     @Override
-    public void flushOrderIndex(Integer moduleId, Integer orderIndex) {
-        StringBuilder sql = new StringBuilder();
-        sql.append("UPDATE lesson ")
-           .append("SET OrderIndex = OrderIndex + 1 ")
-           .append("WHERE ModuleId = :moduleId ")
-           .append("AND OrderIndex >= :orderIndex");
-        entityManager.createNativeQuery(sql.toString())
-                .setParameter("moduleId", moduleId)
-                .setParameter("orderIndex", orderIndex)
-                .executeUpdate();
+    public boolean applyOrder(Integer moduleId, List<Integer> orderedLessonIds) {
+        return ORDER_INDEX.applyOrder(entityManager, moduleId, orderedLessonIds);
     }
 
     @Transactional
     @Override
-    public void decreaseOrderIndex(Integer moduleId, Integer orderIndex) {
-        StringBuilder sql = new StringBuilder();
-        sql.append("UPDATE lesson ")
-                .append("SET OrderIndex = OrderIndex - 1 ")
-                .append("WHERE ModuleId = :moduleId ")
-                .append("AND OrderIndex >= :orderIndex");
-        entityManager.createNativeQuery(sql.toString())
-                .setParameter("moduleId", moduleId)
-                .setParameter("orderIndex", orderIndex)
-                .executeUpdate();
+    public void rebalanceOrderIndex(Integer moduleId) {
+        ORDER_INDEX.rebalance(entityManager, moduleId);
+    }
+
+    @Override
+    public List<Integer> findModulesWithCrowdedOrder() {
+        return ORDER_INDEX.findCrowdedParents(entityManager);
     }
 
     @Override
@@ -1,56 +1,65 @@
 package com.mxhieu.doantotnghiep.repository.custom.impl;
 
+import com.mxhieu.doantotnghiep.dto.request.CursorPageRequest;
+import com.mxhieu.doantotnghiep.dto.response.CursorPageResponse;
+import com.mxhieu.doantotnghiep.dto.response.ModuleSummaryResponse;
+import com.mxhieu.doantotnghiep.entity.ModuleEntity;
 import com.mxhieu.doantotnghiep.repository.custom.ModuleRepositoryCustom;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 @Repository
 @SuppressWarnings("JpaQueryApiInspection")
 public class ModuleRepositoryImpl implements ModuleRepositoryCustom {
 
+    private static final SparseOrderIndex ORDER_INDEX =
+            new SparseOrderIndex("module", "course", "CourseID", ModuleEntity.class);
+
+    private static final KeysetListing<ModuleSummaryResponse> SUMMARIES = new KeysetListing<>(ModuleSummaryResponse.class,
+            "e.id, e.course.id, e.title, e.orderIndex, e.score, e.type",
+            "ModuleEntity e",
+            Map.of("title", KeysetListing.SortKey.text("e.title"),
+                    "orderIndex", KeysetListing.SortKey.number("e.orderIndex")),
+            List.of("e.title"),
+            Map.of("courseId", "e.course.id"));
+
     @PersistenceContext
     private EntityManager entityManager;
 
     @Override
     public Long getMaxOrder(Integer courseId) {
-        String sql = "SELECT COALESCE(MAX(OrderIndex), 0) FROM module WHERE CourseId = :courseId";
-        Object result = entityManager.createNativeQuery(sql)
-                .setParameter("courseId", courseId)
-                .getSingleResult();
-        return ((Number) result).longValue();
+        // OrderIndex là khoá thưa nên vị trí lớn nhất chính là số module của khoá học
+        return ORDER_INDEX.countSiblings(entityManager, courseId);
     }
 
     @Transactional
     @Override
-    public void flushOrderIndex(Integer courseId, Long orderIndex) {
-        String sql = """
-            UPDATE module
-            SET OrderIndex = OrderIndex + 1
-            WHERE CourseId = :courseId
-            AND OrderIndex >= :orderIndex
-        """;
-        entityManager.createNativeQuery(sql)
-                .setParameter("courseId", courseId)
-                .setParameter("orderIndex", orderIndex)
-                .executeUpdate();
+    public long orderKeyForPosition(Integer courseId, Integer excludeModuleId, long position) {
+        return ORDER_INDEX.keyForPosition(entityManager, courseId, excludeModuleId, position);
     }
+
     @Transactional
     @Override
-    public void decreaseOrderIndex(Integer courseId, Long orderIndex) {
-        String sql = """
-        UPDATE module
-        SET OrderIndex = OrderIndex - 1
-        WHERE CourseId = :courseId
-        AND OrderIndex >= :orderIndex
-    """;
-        entityManager.createNativeQuery(sql)
-                .setParameter("courseId", courseId)
-                .setParameter("orderIndex", orderIndex)
-                .executeUpdate();
+    public boolean applyOrder(Integer courseId, List<Integer> orderedModuleIds) {
+        return ORDER_INDEX.applyOrder(entityManager, courseId, orderedModuleIds);
+    }
+
+    @Transactional
+    @Override
+    public void rebalanceOrderIndex(Integer courseId) {
+        ORDER_INDEX.rebalance(entityManager, courseId);
     }
 
+    @Override
+    public List<Integer> findCoursesWithCrowdedOrder() {
+        return ORDER_INDEX.findCrowdedParents(entityManager);
+    }
 
     @Transactional(readOnly = true)
     @Override
@@ -80,4 +89,11 @@ public class ModuleRepositoryImpl implements ModuleRepositoryCustom {
             return 0L; // tránh crash nếu dữ liệu rỗng hoặc query lỗi
         }
     }
+
+    @Override
+    public CursorPageResponse<ModuleSummaryResponse> findSummaries(CursorPageRequest request, Integer courseId) {
+        Map<String, Object> filters = new HashMap<>();
+        filters.put("courseId", courseId);
+        return SUMMARIES.page(entityManager, request, filters);
+    }
 }
@@ -0,0 +1,142 @@
+package com.mxhieu.doantotnghiep.repository.custom.impl;
+
+import com.mxhieu.doantotnghiep.utils.Const;
+import com.mxhieu.doantotnghiep.utils.OrderKeys;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.hibernate.query.NativeQuery;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * SQL dùng chung cho cột OrderIndex thưa của module/lesson/exercise.
+ * Mọi thao tác ghi đều khoá dòng cha (FOR UPDATE) trước, nên hai giáo viên sửa cùng một nhóm
+ * được xếp hàng thay vì tính ra cùng một khoá.
+ */
+final class SparseOrderIndex {
+    private final String table;
+    private final String parentTable;
+    private final String parentColumn;
+    private final Class<?> entityClass;
+
+    SparseOrderIndex(String table, String parentTable, String parentColumn, Class<?> entityClass) {
+        this.table = table;
+        this.parentTable = parentTable;
+        this.parentColumn = parentColumn;
+        this.entityClass = entityClass;
+    }
+
+    long keyForPosition(EntityManager entityManager, Integer parentId, Integer excludeId, long position) {
+        lockParent(entityManager, parentId);
+        Long key = OrderKeys.keyAt(findKeys(entityManager, parentId, excludeId), position);
+        if (key == null) {
+            // Hết chỗ giữa hai hàng xóm: đánh số lại cả nhóm rồi tính lại (hiếm, job nền thường đã làm trước)
+            rebalance(entityManager, parentId);
+            key = OrderKeys.keyAt(findKeys(entityManager, parentId, excludeId), position);
+        }
+        return key;
+    }
+
+    long countSiblings(EntityManager entityManager, Integer parentId) {
+        Object result = entityManager.createNativeQuery(
+                        "SELECT COUNT(*) FROM " + table + " WHERE " + parentColumn + " = :parentId")
+                .setParameter("parentId", parentId)
+                .getSingleResult();
+        return ((Number) result).longValue();
+    }
+
+    void rebalance(EntityManager entityManager, Integer parentId) {
+        lockParent(entityManager, parentId);
+        String sql = """
+            UPDATE %1$s t
+            JOIN (
+                SELECT ID, ROW_NUMBER() OVER (ORDER BY OrderIndex, ID) AS rn
+                FROM %1$s
+                WHERE %2$s = :parentId
+            ) r ON r.ID = t.ID
+            SET t.OrderIndex = r.rn * :gap
+        """.formatted(table, parentColumn);
+        entityManager.createNativeQuery(sql)
+                .setParameter("parentId", parentId)
+                .setParameter("gap", Const.ORDER_INDEX.GAP)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(entityClass)
+                .executeUpdate();
+    }
+
+    /**
+     * Áp cả hoán vị kéo-thả trong một câu UPDATE ... CASE.
+     * Trả về false (không ghi gì) khi danh sách id không đúng bằng tập con của nhóm.
+     */
+    @SuppressWarnings("unchecked")
+    boolean applyOrder(EntityManager entityManager, Integer parentId, List<Integer> orderedIds) {
+        lockParent(entityManager, parentId);
+        List<Number> currentIds = entityManager.createNativeQuery(
+                        "SELECT ID FROM " + table + " WHERE " + parentColumn + " = :parentId")
+                .setParameter("parentId", parentId)
+                .getResultList();
+        Set<Integer> current = new HashSet<>();
+        currentIds.forEach(id -> current.add(id.intValue()));
+        if (orderedIds.size() != current.size() || !current.equals(new HashSet<>(orderedIds))) {
+            return false;
+        }
+        if (orderedIds.isEmpty()) {
+            return true;
+        }
+
+        StringBuilder sql = new StringBuilder("UPDATE ").append(table).append(" SET OrderIndex = CASE ID");
+        for (int i = 0; i < orderedIds.size(); i++) {
+            sql.append(" WHEN :id").append(i).append(" THEN :key").append(i);
+        }
+        sql.append(" END WHERE ").append(parentColumn).append(" = :parentId");
+        Query query = entityManager.createNativeQuery(sql.toString())
+                .setParameter("parentId", parentId);
+        for (int i = 0; i < orderedIds.size(); i++) {
+            query.setParameter("id" + i, orderedIds.get(i));
+            query.setParameter("key" + i, (i + 1) * Const.ORDER_INDEX.GAP);
+        }
+        query.unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(entityClass)
+                .executeUpdate();
+        return true;
+    }
+
+    /** Các nhóm có khoá quá sát nhau, khoá rỗng hoặc khoá đã tiến gần giới hạn INT. */
+    @SuppressWarnings("unchecked")
+    List<Integer> findCrowdedParents(EntityManager entityManager) {
+        String sql = """
+            SELECT DISTINCT g.ParentID
+            FROM (
+                SELECT %2$s AS ParentID, OrderIndex,
+                       OrderIndex - LAG(OrderIndex) OVER (PARTITION BY %2$s ORDER BY OrderIndex) AS Gap
+                FROM %1$s
+                WHERE %2$s IS NOT NULL
+            ) g
+            WHERE g.Gap < :minGap OR g.OrderIndex IS NULL OR g.OrderIndex > :maxKey
+        """.formatted(table, parentColumn);
+        List<Number> result = entityManager.createNativeQuery(sql)
+                .setParameter("minGap", Const.ORDER_INDEX.MIN_GAP)
+                .setParameter("maxKey", Const.ORDER_INDEX.MAX_KEY)
+                .getResultList();
+        return result.stream().map(Number::intValue).toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Long> findKeys(EntityManager entityManager, Integer parentId, Integer excludeId) {
+        String sql = "SELECT COALESCE(OrderIndex, 0) FROM " + table
+                + " WHERE " + parentColumn + " = :parentId AND ID <> :excludeId ORDER BY OrderIndex, ID";
+        List<Number> result = entityManager.createNativeQuery(sql)
+                .setParameter("parentId", parentId)
+                .setParameter("excludeId", excludeId == null ? 0 : excludeId)
+                .getResultList();
+        return result.stream().map(Number::longValue).toList();
+    }
+
+    private void lockParent(EntityManager entityManager, Integer parentId) {
+        entityManager.createNativeQuery("SELECT ID FROM " + parentTable + " WHERE ID = :parentId FOR UPDATE")
+                .setParameter("parentId", parentId)
+                .getResultList();
+    }
+}
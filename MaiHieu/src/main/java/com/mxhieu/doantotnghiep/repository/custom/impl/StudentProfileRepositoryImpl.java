@@ -0,0 +1,35 @@
+package com.mxhieu.doantotnghiep.repository.custom.impl;
+
+import com.mxhieu.doantotnghiep.dto.request.CursorPageRequest;
+import com.mxhieu.doantotnghiep.dto.response.CursorPageResponse;
+import com.mxhieu.doantotnghiep.dto.response.StudentprofileSummaryResponse;
+import com.mxhieu.doantotnghiep.repository.custom.StudentProfileRepositoryCustom;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Repository;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+public class StudentProfileRepositoryImpl implements StudentProfileRepositoryCustom {
+    private static final KeysetListing<StudentprofileSummaryResponse> SUMMARIES = new KeysetListing<>(StudentprofileSummaryResponse.class,
+            "e.id, u.id, u.email, u.fullName, u.status, e.placementLevel, e.targetScore, e.lastActiveAt",
+            "StudentProfileEntity e JOIN e.user u",
+            Map.of("email", KeysetListing.SortKey.text("u.email"),
+                    "fullName", KeysetListing.SortKey.text("u.fullName")),
+            List.of("u.email", "u.fullName"),
+            Map.of("status", "u.status", "placementLevel", "e.placementLevel"));
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public CursorPageResponse<StudentprofileSummaryResponse> findSummaries(CursorPageRequest request, String status, String placementLevel) {
+        Map<String, Object> filters = new HashMap<>();
+        filters.put("status", status);
+        filters.put("placementLevel", placementLevel);
+        return SUMMARIES.page(entityManager, request, filters);
+    }
+}
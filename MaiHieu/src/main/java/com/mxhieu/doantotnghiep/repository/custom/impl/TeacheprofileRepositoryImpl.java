@@ -0,0 +1,34 @@
+package com.mxhieu.doantotnghiep.repository.custom.impl;
+
+import com.mxhieu.doantotnghiep.dto.request.CursorPageRequest;
+import com.mxhieu.doantotnghiep.dto.response.CursorPageResponse;
+import com.mxhieu.doantotnghiep.dto.response.TeacherprofileSummaryResponse;
+import com.mxhieu.doantotnghiep.repository.custom.TeacheprofileRepositoryCustom;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Repository;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+public class TeacheprofileRepositoryImpl implements TeacheprofileRepositoryCustom {
+    private static final KeysetListing<TeacherprofileSummaryResponse> SUMMARIES = new KeysetListing<>(TeacherprofileSummaryResponse.class,
+            "e.id, u.email, u.fullName, u.phone, e.title, e.university, u.status",
+            "TeacherprofileEntity e JOIN e.user u",
+            Map.of("email", KeysetListing.SortKey.text("u.email"),
+                    "fullName", KeysetListing.SortKey.text("u.fullName")),
+            List.of("u.email", "u.fullName", "u.phone"),
+            Map.of("status", "u.status"));
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public CursorPageResponse<TeacherprofileSummaryResponse> findSummaries(CursorPageRequest request, String status) {
+        Map<String, Object> filters = new HashMap<>();
+        filters.put("status", status);
+        return SUMMARIES.page(entityManager, request, filters);
+    }
+}
@@ -1,11 +1,82 @@
 package com.mxhieu.doantotnghiep.repository.custom.impl;
 
-import com.mxhieu.doantotnghiep.entity.UserEntity;
+import com.mxhieu.doantotnghiep.dto.request.CursorPageRequest;
+import com.mxhieu.doantotnghiep.dto.request.UserPrincipalDTO;
+import com.mxhieu.doantotnghiep.dto.response.CursorPageResponse;
+import com.mxhieu.doantotnghiep.dto.response.UserSummaryResponse;
 import com.mxhieu.doantotnghiep.repository.custom.UserRepositoryCustom;
-import org.springframework.stereotype.Controller;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.stereotype.Repository;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 @Repository
 public class UserRepositoryImpl implements UserRepositoryCustom {
+    private static final KeysetListing<UserSummaryResponse> SUMMARIES = new KeysetListing<>(UserSummaryResponse.class,
+            "e.id, e.email, e.fullName, e.phone, e.status, e.createAt",
+            "UserEntity e",
+            Map.of("email", KeysetListing.SortKey.text("e.email"),
+                    "fullName", KeysetListing.SortKey.text("e.fullName")),
+            List.of("e.email", "e.fullName", "e.phone"),
+            Map.of("status", "e.status"));
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // User + role + id profile trong 1 câu query cho luồng đăng nhập
+    @Override
+    public Optional<UserPrincipalDTO> findPrincipalByEmail(String email) {
+        String sql = """
+        SELECT u.ID, u.Email, u.Password, u.Status, u.FullName,
+               MAX(tp.ID), MAX(sp.ID), MAX(sp.FirstLogin),
+               GROUP_CONCAT(DISTINCT r.Value SEPARATOR ' ')
+        FROM user u
+        LEFT JOIN userrole ur ON ur.userid = u.ID
+        LEFT JOIN role r ON r.ID = ur.RoleID
+        LEFT JOIN teacherprofile tp ON tp.UserID = u.ID
+        LEFT JOIN studentprofile sp ON sp.UserID = u.ID
+        WHERE u.Email = :email
+        GROUP BY u.ID, u.Email, u.Password, u.Status, u.FullName
+    """;
+        List<Object[]> rows = entityManager.createNativeQuery(sql)
+                .setParameter("email", email)
+                .getResultList();
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        Object[] row = rows.get(0);
+        String roles = (String) row[8];
+        return Optional.of(UserPrincipalDTO.builder()
+                .userId(((Number) row[0]).intValue())
+                .email((String) row[1])
+                .password((String) row[2])
+                .status((String) row[3])
+                .fullName((String) row[4])
+                .teacherProfileId(row[5] != null ? ((Number) row[5]).intValue() : null)
+                .studentProfileId(row[6] != null ? ((Number) row[6]).intValue() : null)
+                .firstLogin(toBoolean(row[7]))
+                .roles(roles == null || roles.isBlank() ? List.of() : Arrays.asList(roles.split(" ")))
+                .build());
+    }
+
+    @Override
+    public CursorPageResponse<UserSummaryResponse> findSummaries(CursorPageRequest request, String status) {
+        Map<String, Object> filters = new HashMap<>();
+        filters.put("status", status);
+        return SUMMARIES.page(entityManager, request, filters);
+    }
+
+    private Boolean toBoolean(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Boolean b) {
+            return b;
+        }
+        return ((Number) value).intValue() != 0;
+    }
 }
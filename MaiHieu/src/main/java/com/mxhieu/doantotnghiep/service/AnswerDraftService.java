@@ -0,0 +1,22 @@
+package com.mxhieu.doantotnghiep.service;
+
+import com.mxhieu.doantotnghiep.dto.request.AnswerDraftRequest;
+import com.mxhieu.doantotnghiep.dto.request.AssessmentAttemptRequest;
+import com.mxhieu.doantotnghiep.dto.response.AnswerDraftResponse;
+
+import java.util.List;
+
+public interface AnswerDraftService {
+    void saveDraft(String submissionKey, AnswerDraftRequest answerDraftRequest);
+
+    AnswerDraftResponse getDraft(String submissionKey, Integer studentProfileId, Integer testId);
+
+    List<AssessmentAttemptRequest> mergeDraft(String submissionKey, Integer studentProfileId, Integer testId,
+                                              List<AssessmentAttemptRequest> submitted);
+
+    void discardDraft(String submissionKey, Integer studentProfileId, Integer testId);
+
+    int compact();
+
+    int expireAbandoned();
+}
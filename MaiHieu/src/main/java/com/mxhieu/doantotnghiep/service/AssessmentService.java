@@ -13,7 +13,6 @@ public interface AssessmentService {
 
     void deleteAssessmentById(Integer id);
 
-    List<AssessmentResponse> getAssessmentDetailForFistTest();
     List<AssessmentResponse> getAssessmentsDetailByTestId(int testId);
 
     void updateAssessment(AssessmentRequest assessmentRequest);
@@ -0,0 +1,10 @@
+package com.mxhieu.doantotnghiep.service;
+
+import com.mxhieu.doantotnghiep.dto.response.TestAttemptResponse;
+
+public interface AttemptReviewService {
+    TestAttemptResponse getTestAttemptReview(Integer testAttemptId);
+
+    // Gọi khi sửa/xoá đề của test (assessment, câu hỏi, lựa chọn) hoặc xoá test; xoá sau khi transaction commit
+    void evictTestReviews();
+}
@@ -6,4 +6,5 @@ import com.mxhieu.doantotnghiep.dto.response.AuthenticationResponse;
 public interface AuthenticationService {
     AuthenticationResponse logIn(AuthenticationRequest authenticationRequest);
     AuthenticationResponse refreshToken(String refreshToken);
+    void logOut(String accessToken);
 }
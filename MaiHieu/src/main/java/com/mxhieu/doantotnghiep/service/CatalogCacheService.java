@@ -0,0 +1,5 @@
+package com.mxhieu.doantotnghiep.service;
+
+public interface CatalogCacheService {
+    void evictCourseStructure();
+}
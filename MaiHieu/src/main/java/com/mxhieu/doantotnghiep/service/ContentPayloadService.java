@@ -0,0 +1,20 @@
+package com.mxhieu.doantotnghiep.service;
+
+import com.mxhieu.doantotnghiep.utils.ContentPayload;
+
+import java.util.Collection;
+import java.util.function.Supplier;
+
+public interface ContentPayloadService {
+    // body: dựng ApiResponse khi chưa có trong cache; kind lấy từ Const.CONTENT_PAYLOAD
+    ContentPayload getPayload(String kind, Integer id, Supplier<?> body);
+
+    // Gọi khi sửa/xoá assessment, câu hỏi hoặc lựa chọn của test; xoá sau khi transaction commit
+    void evictTest(Integer testId);
+
+    // Gọi khi sửa/xoá bài tập, câu hỏi/lựa chọn của nó hoặc OrderIndex của nó đổi
+    void evictExercises(Collection<Integer> exerciseIds);
+
+    // Xoá lesson/module kéo theo bài tập và test bên trong
+    void evictAll();
+}
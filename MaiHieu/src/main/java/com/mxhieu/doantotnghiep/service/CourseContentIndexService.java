@@ -0,0 +1,13 @@
+package com.mxhieu.doantotnghiep.service;
+
+import com.mxhieu.doantotnghiep.entity.CourseEntity;
+
+import java.util.List;
+
+public interface CourseContentIndexService {
+    void rebuild();
+
+    void indexPublishedCourse(CourseEntity publishedCourse);
+
+    List<String> search(String query, int topK);
+}
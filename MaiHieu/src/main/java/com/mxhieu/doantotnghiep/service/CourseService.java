@@ -1,7 +1,10 @@
 package com.mxhieu.doantotnghiep.service;
 
 import com.mxhieu.doantotnghiep.dto.request.CourseRequest;
+import com.mxhieu.doantotnghiep.dto.request.CursorPageRequest;
 import com.mxhieu.doantotnghiep.dto.response.CourseResponse;
+import com.mxhieu.doantotnghiep.dto.response.CourseSummaryResponse;
+import com.mxhieu.doantotnghiep.dto.response.CursorPageResponse;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
@@ -10,6 +13,7 @@ import java.util.Map;
 public interface CourseService {
     void addCourseToTrack(CourseRequest request, MultipartFile file);
     public List<CourseResponse> getAllCourses();
+    CursorPageResponse<CourseSummaryResponse> getCoursesPage(CursorPageRequest request, String status, String type, Integer teacherId);
 
     CourseResponse getCourseById(Integer id);
 
@@ -3,14 +3,16 @@ package com.mxhieu.doantotnghiep.service;
 import com.mxhieu.doantotnghiep.dto.request.ExerciseAndQuestionRequest;
 import com.mxhieu.doantotnghiep.dto.request.ExerciseRequest;
 import com.mxhieu.doantotnghiep.dto.response.ExerciseResponse;
+import com.mxhieu.doantotnghiep.dto.response.ExerciseStateResponse;
 
 import java.util.List;
 
 public interface ExerciseService {
-    void flushOrderIndex(Integer lessonId, Integer orderIndex);
     int getMaxOrder(Integer lessonId);
     ExerciseResponse getExerciseDetailById(Integer exerciseId, Integer studentProfileId);
 
+    ExerciseStateResponse getExerciseStateForStudent(Integer exerciseId, Integer studentProfileId);
+
     List<ExerciseResponse> getSummaryExercisesByLessonId(Integer lessonId);
 
     void createExercise(ExerciseRequest exerciseRequest);
@@ -24,4 +26,6 @@ public interface ExerciseService {
     List<ExerciseResponse> getInteractiveExerciseByLessonIdForStudent(Integer lessonId, Integer studentProfileId);
 
     void updateExercise(ExerciseRequest exerciseRequest);
+
+    void reorderExercises(Integer lessonId, List<Integer> exerciseIds);
 }
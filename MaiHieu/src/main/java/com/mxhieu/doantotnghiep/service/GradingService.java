@@ -0,0 +1,14 @@
+package com.mxhieu.doantotnghiep.service;
+
+import com.mxhieu.doantotnghiep.utils.AnswerKey;
+
+public interface GradingService {
+    AnswerKey getTestAnswerKey(Integer testId);
+
+    AnswerKey getExerciseAnswerKey(Integer exerciseId);
+
+    // Gọi khi sửa câu hỏi/đáp án của test (assessment) hoặc bài tập; xoá sau khi transaction commit
+    void evictTestAnswerKeys();
+
+    void evictExerciseAnswerKeys();
+}
@@ -32,5 +32,7 @@ public interface LessonService {
 
     void deleteLesson(Integer id);
 
+    void reorderLessons(Integer moduleId, List<Integer> lessonIds);
+
     LessonResponse getLessonForStudent(Integer id, Integer studentId);
 }
@@ -0,0 +1,14 @@
+package com.mxhieu.doantotnghiep.service;
+
+import com.mxhieu.doantotnghiep.dto.request.WatchSegmentRequest;
+import com.mxhieu.doantotnghiep.dto.response.LessonWatchHeatmapResponse;
+
+import java.util.List;
+
+public interface LessonWatchHeatmapService {
+    void recordSegments(Integer lessonId, List<WatchSegmentRequest> segments);
+
+    LessonWatchHeatmapResponse getHeatmap(Integer lessonId);
+
+    int flush();
+}
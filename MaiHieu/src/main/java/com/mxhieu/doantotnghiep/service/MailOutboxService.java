@@ -0,0 +1,22 @@
+package com.mxhieu.doantotnghiep.service;
+
+import com.mxhieu.doantotnghiep.dto.response.MailOutboxResponse;
+import com.mxhieu.doantotnghiep.dto.response.MailOutboxSummaryResponse;
+import com.mxhieu.doantotnghiep.entity.MailOutboxEntity;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface MailOutboxService {
+    List<MailOutboxEntity> claimBatch(int size);
+
+    void markSent(Collection<Integer> ids);
+
+    void markFailed(Integer id, String error);
+
+    List<MailOutboxSummaryResponse> getSummary();
+
+    List<MailOutboxResponse> getByStatus(String status, int limit);
+
+    void retry(Integer id);
+}
@@ -2,7 +2,13 @@ package com.mxhieu.doantotnghiep.service;
 
 import com.mxhieu.doantotnghiep.dto.request.DataMailDTO;
 import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
 
 public interface MailService {
     void sendMail(DataMailDTO dataMailDTO, String template) throws MessagingException;
+
+    // Ghi vào bảng mailoutbox trong transaction của người gọi, MailOutboxDispatcher gửi sau
+    void queueMail(DataMailDTO dataMailDTO, String template);
+
+    MimeMessage createMessage(DataMailDTO dataMailDTO, String template) throws MessagingException;
 }
@@ -1,7 +1,10 @@
 package com.mxhieu.doantotnghiep.service;
 
+import com.mxhieu.doantotnghiep.dto.request.CursorPageRequest;
 import com.mxhieu.doantotnghiep.dto.request.ModuleRequest;
+import com.mxhieu.doantotnghiep.dto.response.CursorPageResponse;
 import com.mxhieu.doantotnghiep.dto.response.ModuleResponse;
+import com.mxhieu.doantotnghiep.dto.response.ModuleSummaryResponse;
 import com.mxhieu.doantotnghiep.entity.ModuleEntity;
 
 import java.util.List;
@@ -9,11 +12,13 @@ import java.util.List;
 public interface ModuleService {
     void addModule(ModuleRequest request);
     List<ModuleResponse> getAll();
+    CursorPageResponse<ModuleSummaryResponse> getPage(CursorPageRequest request, Integer courseId);
     Long getMaxOrder(Integer courseId);
     int completedCups(Integer courseId, Integer studentProfileId);
     List<ModuleResponse> getResponseDetailList(List<ModuleEntity> moduleEntities, Integer studentProfileId);
     List<ModuleResponse> getAllModulesOfCourse(int courseId);
     void updateModule(ModuleRequest request);
     void deleteModule(Integer id);
+    void reorderModules(Integer courseId, List<Integer> moduleIds);
     boolean isCompleted(Integer moduleId, Integer studentId );
 }
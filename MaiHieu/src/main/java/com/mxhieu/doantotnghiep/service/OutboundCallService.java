@@ -0,0 +1,14 @@
+package com.mxhieu.doantotnghiep.service;
+
+import com.mxhieu.doantotnghiep.utils.OutboundIntegration;
+
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+
+public interface OutboundCallService {
+    // Lỗi (quá tải, timeout, circuit mở, exception) được chuyển cho fallback
+    <T> T call(OutboundIntegration integration, Callable<T> call, Function<Throwable, T> fallback);
+
+    // Không có fallback: lỗi được ném ra dưới dạng AppException(EXTERNAL_SERVICE_UNAVAILABLE)
+    <T> T call(OutboundIntegration integration, Callable<T> call);
+}
@@ -0,0 +1,11 @@
+package com.mxhieu.doantotnghiep.service;
+
+import com.mxhieu.doantotnghiep.utils.ContentPayload;
+
+public interface PlacementPoolService {
+    // Body JSON (ApiResponse) đã nén của một bài test đầu vào chọn ngẫu nhiên
+    ContentPayload getRandomPayload();
+
+    // Gọi khi sửa/xoá đề của test hoặc xoá test; xoá sau khi transaction commit
+    void evictPlacementPool();
+}
@@ -0,0 +1,13 @@
+package com.mxhieu.doantotnghiep.service;
+
+import com.mxhieu.doantotnghiep.dto.request.UserPrincipalDTO;
+
+import java.util.List;
+
+public interface PrincipalService {
+    UserPrincipalDTO resolve(String email);
+
+    List<String> getRoles(String email);
+
+    void evictRoles(String email);
+}
@@ -1,13 +1,17 @@
 package com.mxhieu.doantotnghiep.service;
 
+import com.mxhieu.doantotnghiep.dto.request.CursorPageRequest;
 import com.mxhieu.doantotnghiep.dto.request.StudentprofileRequest;
+import com.mxhieu.doantotnghiep.dto.response.CursorPageResponse;
 import com.mxhieu.doantotnghiep.dto.response.StudentprofileResponse;
+import com.mxhieu.doantotnghiep.dto.response.StudentprofileSummaryResponse;
 
 import java.util.List;
 
 public interface StudentProfileService {
     void createStudentProfile(StudentprofileRequest request);
     List<StudentprofileResponse> getStudentProfiles();
+    CursorPageResponse<StudentprofileSummaryResponse> getStudentProfilesPage(CursorPageRequest request, String status, String placementLevel);
 
     Object getStudentProfileById(int id);
 
@@ -0,0 +1,27 @@
+package com.mxhieu.doantotnghiep.service;
+
+import com.mxhieu.doantotnghiep.dto.request.TestAttemptRequest;
+import com.mxhieu.doantotnghiep.dto.response.SubmissionResponse;
+import com.mxhieu.doantotnghiep.utils.AnswerKey;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface SubmissionQueueService {
+    Optional<SubmissionResponse> findSubmitted(String submissionKey, Integer studentProfileId, Integer testId);
+
+    SubmissionResponse enqueue(String submissionKey, String kind, Integer studentProfileId, Integer testId,
+                               AnswerKey.Grade grade, TestAttemptRequest gradedAnswers);
+
+    SubmissionResponse getBySubmissionKey(String submissionKey);
+
+    Optional<Float> findPendingMaxScore(Integer testId, Integer studentProfileId);
+
+    List<Integer> claimBatch(int size);
+
+    void writeBatch(List<Integer> ids);
+
+    void markFailed(Integer id, String error);
+
+    int purgeWritten();
+}
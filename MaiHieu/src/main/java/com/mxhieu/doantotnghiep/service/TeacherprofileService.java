@@ -1,7 +1,10 @@
 package com.mxhieu.doantotnghiep.service;
 
+import com.mxhieu.doantotnghiep.dto.request.CursorPageRequest;
 import com.mxhieu.doantotnghiep.dto.request.TeacherprofileRequest;
+import com.mxhieu.doantotnghiep.dto.response.CursorPageResponse;
 import com.mxhieu.doantotnghiep.dto.response.TeacherprofileResponse;
+import com.mxhieu.doantotnghiep.dto.response.TeacherprofileSummaryResponse;
 
 import java.util.List;
 
@@ -11,6 +14,7 @@ public interface TeacherprofileService {
 
     List<TeacherprofileResponse> getAllTeacherProfiles();
     List<TeacherprofileResponse> getAllTeacherProfilesActive();
+    CursorPageResponse<TeacherprofileSummaryResponse> getTeacherProfilesPage(CursorPageRequest request, String status);
 
     TeacherprofileResponse getTeacherProfileByID(Integer id);
 
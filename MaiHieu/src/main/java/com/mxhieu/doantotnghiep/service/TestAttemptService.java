@@ -1,12 +1,15 @@
 package com.mxhieu.doantotnghiep.service;
 
 import com.mxhieu.doantotnghiep.dto.request.TestAttemptRequest;
+import com.mxhieu.doantotnghiep.dto.response.SubmissionResponse;
 import com.mxhieu.doantotnghiep.dto.response.TestAttemptResponse;
 
 public interface TestAttemptService {
-    void saveResultFirstTest(TestAttemptRequest testAttemptRequest);
+    SubmissionResponse saveResultFirstTest(TestAttemptRequest testAttemptRequest);
 
-    void saveResultMiniTest(TestAttemptRequest testAttemptRequest);
+    SubmissionResponse saveResultMiniTest(TestAttemptRequest testAttemptRequest);
+
+    SubmissionResponse getSubmission(String submissionKey);
 
     TestAttemptResponse getTestAttemptDetailById(Integer id);
 }
@@ -0,0 +1,8 @@
+package com.mxhieu.doantotnghiep.service;
+
+public interface TextEmbedder {
+    int dimension();
+
+    // Vector trả về phải đã được chuẩn hoá L2 để index dùng tích vô hướng như cosine
+    float[] embed(String text);
+}
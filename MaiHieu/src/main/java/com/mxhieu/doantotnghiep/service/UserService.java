@@ -1,7 +1,10 @@
 package com.mxhieu.doantotnghiep.service;
 
+import com.mxhieu.doantotnghiep.dto.request.CursorPageRequest;
 import com.mxhieu.doantotnghiep.dto.request.UserRequest;
+import com.mxhieu.doantotnghiep.dto.response.CursorPageResponse;
 import com.mxhieu.doantotnghiep.dto.response.UserRespone;
+import com.mxhieu.doantotnghiep.dto.response.UserSummaryResponse;
 import com.mxhieu.doantotnghiep.entity.UserEntity;
 import org.springframework.stereotype.Service;
 
@@ -9,7 +12,7 @@ import java.util.List;
 
 @Service
 public interface UserService {
-    List<UserEntity> getUsers();
+    CursorPageResponse<UserSummaryResponse> getUsers(CursorPageRequest request, String status);
     void checkEmailExistsAndSendCode(UserRequest user);
     void createUser(UserRequest user, String otp);
     UserRespone getMyInfor();
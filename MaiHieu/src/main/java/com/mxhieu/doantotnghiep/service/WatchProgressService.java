@@ -0,0 +1,9 @@
+package com.mxhieu.doantotnghiep.service;
+
+import com.mxhieu.doantotnghiep.dto.request.LessonProgressRequest;
+
+public interface WatchProgressService {
+    void recordHeartbeat(LessonProgressRequest request);
+
+    int flush();
+}
@@ -0,0 +1,27 @@
+package com.mxhieu.doantotnghiep.service.impl;
+
+import com.mxhieu.doantotnghiep.service.AnswerDraftService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Định kỳ thu gọn log bản nháp: mỗi câu hỏi chỉ giữ bản lưu mới nhất, bản nháp lâu không lưu thêm thì xoá hẳn.
+ * Bản nháp của bài đã nộp được xoá ngay khi nộp nên job chỉ dọn các bài đang làm dở.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AnswerDraftCompactor {
+    private final AnswerDraftService answerDraftService;
+
+    @Scheduled(fixedDelayString = "${answer-draft.compact-ms:300000}", initialDelayString = "${answer-draft.compact-ms:300000}")
+    public void compact() {
+        int superseded = answerDraftService.compact();
+        int abandoned = answerDraftService.expireAbandoned();
+        if (superseded + abandoned > 0) {
+            log.info("Bản nháp bài làm: xoá {} bản lưu cũ, {} dòng của bản nháp bỏ dở", superseded, abandoned);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.mxhieu.doantotnghiep.service.impl;
+
+import com.mxhieu.doantotnghiep.config.ReadFromPrimary;
+import com.mxhieu.doantotnghiep.dto.request.AnswerDraftRequest;
+import com.mxhieu.doantotnghiep.dto.request.AssessmentAnswerRequest;
+import com.mxhieu.doantotnghiep.dto.request.AssessmentAttemptRequest;
+import com.mxhieu.doantotnghiep.dto.request.DraftAnswerRequest;
+import com.mxhieu.doantotnghiep.dto.response.AnswerDraftResponse;
+import com.mxhieu.doantotnghiep.entity.AnswerDraftEntity;
+import com.mxhieu.doantotnghiep.exception.AppException;
+import com.mxhieu.doantotnghiep.exception.ErrorCode;
+import com.mxhieu.doantotnghiep.repository.AnswerDraftRepository;
+import com.mxhieu.doantotnghiep.service.AnswerDraftService;
+import com.mxhieu.doantotnghiep.utils.Const;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Bản nháp bài làm: mỗi lần autosave chỉ INSERT các câu vừa đổi vào log answerdraft (không đọc, không UPDATE,
+ * nên nhiều học viên lưu cùng lúc không tranh chấp dòng). Bản nháp hiện tại là bản lưu có Seq lớn nhất của
+ * từng câu hỏi; AnswerDraftCompactor định kỳ xoá bản lưu đã bị thay thế và bản nháp bị bỏ dở, từng bản nháp một,
+ * mỗi lô tối đa Const.SUBMISSION.DRAFT_COMPACT_BATCH dòng trong transaction riêng.
+ */
+@Service
+public class AnswerDraftServiceImpl implements AnswerDraftService {
+    private static final int MAX_TEXT_LENGTH = 255;
+    // Lùi mốc quét một chút: lượt lưu lấy CreatedAt trước khi commit vẫn được lần compaction sau thấy
+    private static final Duration COMPACT_OVERLAP = Duration.ofMinutes(1);
+
+    private final AnswerDraftRepository answerDraftRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long expireHours;
+    // Chỉ bản nháp có lưu mới kể từ lần compaction trước mới có thể có dòng bị thay thế
+    private volatile LocalDateTime lastCompactedAt;
+
+    public AnswerDraftServiceImpl(AnswerDraftRepository answerDraftRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${answer-draft.expire-hours:24}") long expireHours) {
+        this.answerDraftRepository = answerDraftRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.expireHours = expireHours;
+        this.lastCompactedAt = LocalDateTime.now().minusHours(expireHours);
+    }
+
+    @Override
+    @Transactional
+    public void saveDraft(String submissionKey, AnswerDraftRequest answerDraftRequest) {
+        if (submissionKey == null || submissionKey.isBlank() || submissionKey.length() > Const.SUBMISSION.MAX_KEY_LENGTH) {
+            throw new AppException(ErrorCode.SUBMISSION_KEY_INVALID);
+        }
+        if (answerDraftRequest.getStudentProfileId() == null) {
+            throw new AppException(ErrorCode.STUDENT_PROFILE_NOT_FOUND);
+        }
+        if (answerDraftRequest.getTestId() == null) {
+            throw new AppException(ErrorCode.TEST_NOT_FOUND);
+        }
+        List<DraftAnswerRequest> answers = answerDraftRequest.getAnswers() == null ? List.of() : answerDraftRequest.getAnswers();
+        if (answers.size() > Const.SUBMISSION.MAX_DRAFT_ANSWERS) {
+            throw new AppException(ErrorCode.ANSWER_DRAFT_TOO_LARGE);
+        }
+        // Không tự điền giờ server: giá trị đó luôn lớn hơn bộ đếm nhỏ của client và đè mọi lần lưu sau
+        if (answerDraftRequest.getSeq() == null) {
+            throw new AppException(ErrorCode.ANSWER_DRAFT_SEQ_REQUIRED);
+        }
+        long seq = answerDraftRequest.getSeq();
+        LocalDateTime now = LocalDateTime.now();
+        List<AnswerDraftEntity> rows = new ArrayList<>(answers.size());
+        for (DraftAnswerRequest answer : answers) {
+            if (answer.getAssessmentId() == null || answer.getAssessmentQuestionId() == null) {
+                continue;
+            }
+            String text = answer.getAnswerText();
+            rows.add(AnswerDraftEntity.builder()
+                    .submissionKey(submissionKey)
+                    .studentProfileId(answerDraftRequest.getStudentProfileId())
+                    .testId(answerDraftRequest.getTestId())
+                    .assessmentId(answer.getAssessmentId())
+                    .questionId(answer.getAssessmentQuestionId())
+                    .seq(seq)
+                    .optionIds(answer.getAssessmentOptionIds() == null ? List.of() : answer.getAssessmentOptionIds())
+                    .answerText(text != null && text.length() > MAX_TEXT_LENGTH ? text.substring(0, MAX_TEXT_LENGTH) : text)
+                    .createdAt(now)
+                    .build());
+        }
+        answerDraftRepository.saveAll(rows);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @ReadFromPrimary // Khôi phục bài ngay sau lần lưu cuối
+    public AnswerDraftResponse getDraft(String submissionKey, Integer studentProfileId, Integer testId) {
+        List<AnswerDraftEntity> rows = answerDraftRepository.findBySubmissionKeyAndStudentProfileIdAndTestId(submissionKey, studentProfileId, testId);
+        if (rows.isEmpty()) {
+            throw new AppException(ErrorCode.ANSWER_DRAFT_NOT_FOUND);
+        }
+        List<DraftAnswerRequest> answers = latestAnswers(rows).stream()
+                .map(row -> DraftAnswerRequest.builder()
+                        .assessmentId(row.getAssessmentId())
+                        .assessmentQuestionId(row.getQuestionId())
+                        .assessmentOptionIds(row.getOptionIds())
+                        .answerText(row.getAnswerText())
+                        .build())
+                .toList();
+        return AnswerDraftResponse.builder()
+                .submissionKey(submissionKey)
+                .testId(testId)
+                .lastSavedAt(rows.stream().map(AnswerDraftEntity::getCreatedAt).max(Comparator.naturalOrder()).orElse(null))
+                .answers(answers)
+                .build();
+    }
+
+    // Câu trong bài nộp là trạng thái cuối của client; bản nháp chỉ bổ sung những câu bài nộp không gửi
+    @Override
+    public List<AssessmentAttemptRequest> mergeDraft(String submissionKey, Integer studentProfileId, Integer testId,
+                                                     List<AssessmentAttemptRequest> submitted) {
+        List<AssessmentAttemptRequest> merged = submitted == null ? new ArrayList<>() : new ArrayList<>(submitted);
+        if (submissionKey == null) {
+            return merged;
+        }
+        List<AnswerDraftEntity> rows = answerDraftRepository.findBySubmissionKeyAndStudentProfileIdAndTestId(submissionKey, studentProfileId, testId);
+        if (rows.isEmpty()) {
+            return merged;
+        }
+        Set<Integer> answeredQuestions = new HashSet<>();
+        merged.forEach(attempt -> answersOf(attempt).forEach(answer -> answeredQuestions.add(answer.getAssessmentQuestionId())));
+
+        Map<Integer, List<AssessmentAnswerRequest>> draftAnswers = new LinkedHashMap<>();
+        for (AnswerDraftEntity row : latestAnswers(rows)) {
+            if (answeredQuestions.contains(row.getQuestionId())) {
+                continue;
+            }
+            List<AssessmentAnswerRequest> answers = draftAnswers.computeIfAbsent(row.getAssessmentId(), id -> new ArrayList<>());
+            for (Integer optionId : row.getOptionIds()) {
+                answers.add(AssessmentAnswerRequest.builder().assessmentQuestionId(row.getQuestionId()).assessmentOptionId(optionId).build());
+            }
+            if (row.getAnswerText() != null && !row.getAnswerText().isBlank()) {
+                answers.add(AssessmentAnswerRequest.builder().assessmentQuestionId(row.getQuestionId()).answerText(row.getAnswerText()).build());
+            }
+        }
+        draftAnswers.forEach((assessmentId, answers) -> merged.add(AssessmentAttemptRequest.builder()
+                .assessmentId(assessmentId)
+                .assessmentAnswerRequests(answers)
+                .build()));
+        return merged;
+    }
+
+    @Override
+    @Transactional
+    public void discardDraft(String submissionKey, Integer studentProfileId, Integer testId) {
+        answerDraftRepository.deleteDraft(submissionKey, studentProfileId, testId);
+    }
+
+    @Override
+    public int compact() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        List<String> keys = transactionTemplate.execute(status ->
+                answerDraftRepository.findKeysSavedSince(lastCompactedAt.minus(COMPACT_OVERLAP)));
+        int deleted = 0;
+        for (String key : keys) {
+            deleted += deleteInBatches(() -> answerDraftRepository.findSupersededIds(key, Const.SUBMISSION.DRAFT_COMPACT_BATCH));
+        }
+        lastCompactedAt = startedAt;
+        return deleted;
+    }
+
+    @Override
+    public int expireAbandoned() {
+        LocalDateTime lastSavedBefore = LocalDateTime.now().minusHours(expireHours);
+        int deleted = 0;
+        List<String> keys;
+        do {
+            keys = transactionTemplate.execute(status ->
+                    answerDraftRepository.findAbandonedKeys(lastSavedBefore, Const.SUBMISSION.DRAFT_COMPACT_BATCH));
+            for (String key : keys) {
+                deleted += deleteInBatches(() ->
+                        answerDraftRepository.findIdsSavedBefore(key, lastSavedBefore, Const.SUBMISSION.DRAFT_COMPACT_BATCH));
+            }
+        } while (keys.size() == Const.SUBMISSION.DRAFT_COMPACT_BATCH);
+        return deleted;
+    }
+
+    // Mỗi lô: đọc ID (đọc snapshot, không khoá) rồi xoá theo khoá chính, chỉ khoá đúng các dòng bị xoá.
+    // Đọc trong transaction ghi để đi vào primary: replica chậm có thể chưa thấy lượt lưu mới nhất
+    private int deleteInBatches(Supplier<List<Integer>> nextBatch) {
+        int deleted = 0;
+        int batch;
+        do {
+            batch = transactionTemplate.execute(status -> {
+                List<Integer> ids = nextBatch.get();
+                if (!ids.isEmpty()) {
+                    answerDraftRepository.deleteAllByIdInBatch(ids);
+                }
+                return ids.size();
+            });
+            deleted += batch;
+        } while (batch == Const.SUBMISSION.DRAFT_COMPACT_BATCH);
+        return deleted;
+    }
+
+    // Bản lưu mới nhất của mỗi câu (Seq, rồi ID khi cùng Seq), bỏ các câu đã bị bỏ chọn
+    private List<AnswerDraftEntity> latestAnswers(List<AnswerDraftEntity> rows) {
+        Map<Integer, AnswerDraftEntity> latest = new LinkedHashMap<>();
+        rows.stream()
+                .sorted(Comparator.comparing(AnswerDraftEntity::getSeq).thenComparing(AnswerDraftEntity::getId))
+                .forEach(row -> latest.put(row.getQuestionId(), row));
+        return latest.values().stream()
+                .filter(row -> !row.getOptionIds().isEmpty() || (row.getAnswerText() != null && !row.getAnswerText().isBlank()))
+                .sorted(Comparator.comparing(AnswerDraftEntity::getQuestionId))
+                .toList();
+    }
+
+    private List<AssessmentAnswerRequest> answersOf(AssessmentAttemptRequest assessmentAttemptRequest) {
+        return assessmentAttemptRequest.getAssessmentAnswerRequests() == null
+                ? List.of()
+                : assessmentAttemptRequest.getAssessmentAnswerRequests();
+    }
+}
@@ -1,7 +1,12 @@
 package com.mxhieu.doantotnghiep.service.impl;
 
 import com.mxhieu.doantotnghiep.repository.AssessmentOptionRepository;
+import com.mxhieu.doantotnghiep.repository.AssessmentQuestionRepository;
 import com.mxhieu.doantotnghiep.service.AssessmentOptionService;
+import com.mxhieu.doantotnghiep.service.AttemptReviewService;
+import com.mxhieu.doantotnghiep.service.ContentPayloadService;
+import com.mxhieu.doantotnghiep.service.GradingService;
+import com.mxhieu.doantotnghiep.service.PlacementPoolService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -10,9 +15,18 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class AssessmentOptionServiceImpl implements AssessmentOptionService {
     private final AssessmentOptionRepository assessmentOptionRepository;
+    private final AssessmentQuestionRepository assessmentQuestionRepository;
+    private final GradingService gradingService;
+    private final AttemptReviewService attemptReviewService;
+    private final PlacementPoolService placementPoolService;
+    private final ContentPayloadService contentPayloadService;
     @Transactional
     @Override
     public void deleteAssessmentOptionByQuestionId(Integer questionId) {
         assessmentOptionRepository.deleteByAssessmentQuestion_Id(questionId);
+        gradingService.evictTestAnswerKeys();
+        attemptReviewService.evictTestReviews();
+        placementPoolService.evictPlacementPool();
+        contentPayloadService.evictTest(assessmentQuestionRepository.findTestIdById(questionId).orElse(null));
     }
 }
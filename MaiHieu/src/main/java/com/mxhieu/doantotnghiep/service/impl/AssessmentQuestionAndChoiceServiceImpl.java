@@ -8,6 +8,10 @@ import com.mxhieu.doantotnghiep.exception.ErrorCode;
 import com.mxhieu.doantotnghiep.repository.AssessmentQuestionRepository;
 import com.mxhieu.doantotnghiep.repository.AssessmentRepository;
 import com.mxhieu.doantotnghiep.service.AssessmentQuestionAndChoiceService;
+import com.mxhieu.doantotnghiep.service.AttemptReviewService;
+import com.mxhieu.doantotnghiep.service.ContentPayloadService;
+import com.mxhieu.doantotnghiep.service.GradingService;
+import com.mxhieu.doantotnghiep.service.PlacementPoolService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,6 +27,10 @@ import java.util.Objects;
 public class AssessmentQuestionAndChoiceServiceImpl implements AssessmentQuestionAndChoiceService {
     private final AssessmentRepository assessmentRepository;
     private final AssessmentQuestionRepository assessmentQuestionRepository;
+    private final GradingService gradingService;
+    private final AttemptReviewService attemptReviewService;
+    private final PlacementPoolService placementPoolService;
+    private final ContentPayloadService contentPayloadService;
 
 
     @Override
@@ -69,6 +77,10 @@ public class AssessmentQuestionAndChoiceServiceImpl implements AssessmentQuestio
         }
         questionEntity.setAssessmentOptions(choiceEntities);
         assessmentQuestionRepository.save(questionEntity);
+        gradingService.evictTestAnswerKeys();
+        attemptReviewService.evictTestReviews();
+        placementPoolService.evictPlacementPool();
+        contentPayloadService.evictTest(assessmentEntity.getTest().getId());
     }
 
     @Transactional
@@ -97,6 +109,10 @@ public class AssessmentQuestionAndChoiceServiceImpl implements AssessmentQuestio
         }
         updateChoices(assessmentQuestionEntity, questionRequest.getChoices(),questionRequest.getAnswer());
         assessmentQuestionRepository.save(assessmentQuestionEntity);
+        gradingService.evictTestAnswerKeys();
+        attemptReviewService.evictTestReviews();
+        placementPoolService.evictPlacementPool();
+        contentPayloadService.evictTest(assessmentEntity.getTest().getId());
     }
 
     private void updateChoices(AssessmentQuestionEntity assessmentQuestionEntity, List<AssessmentOptionRequest> content, Object answer) {
@@ -144,7 +160,12 @@ public class AssessmentQuestionAndChoiceServiceImpl implements AssessmentQuestio
 
     @Override
     public void deleteAssessmentQuestionById(Integer id) {
+        Integer testId = assessmentQuestionRepository.findTestIdById(id).orElse(null);
         assessmentQuestionRepository.deleteById(id);
+        gradingService.evictTestAnswerKeys();
+        attemptReviewService.evictTestReviews();
+        placementPoolService.evictPlacementPool();
+        contentPayloadService.evictTest(testId);
     }
 
     private List<AssessmentOptionEntity> createChoices(AssessmentQuestionEntity questionEntity, List<String> content, Object answer) {
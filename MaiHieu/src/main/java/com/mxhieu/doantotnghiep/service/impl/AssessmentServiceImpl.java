@@ -9,24 +9,33 @@ import com.mxhieu.doantotnghiep.dto.response.ExerciseResponse;
 import com.mxhieu.doantotnghiep.entity.*;
 import com.mxhieu.doantotnghiep.exception.AppException;
 import com.mxhieu.doantotnghiep.exception.ErrorCode;
+import com.mxhieu.doantotnghiep.repository.AssessmentQuestionRepository;
 import com.mxhieu.doantotnghiep.repository.AssessmentRepository;
 import com.mxhieu.doantotnghiep.repository.ExerciseTypeRepository;
 import com.mxhieu.doantotnghiep.repository.TestRepository;
 import com.mxhieu.doantotnghiep.service.AssessmentService;
+import com.mxhieu.doantotnghiep.service.AttemptReviewService;
+import com.mxhieu.doantotnghiep.service.ContentPayloadService;
+import com.mxhieu.doantotnghiep.service.GradingService;
+import com.mxhieu.doantotnghiep.service.PlacementPoolService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 
 @Service
 @RequiredArgsConstructor
 public class AssessmentServiceImpl implements AssessmentService {
     private final AssessmentRepository assessmentRepository;
+    private final AssessmentQuestionRepository assessmentQuestionRepository;
     private final TestRepository testRepository;
     private final AssessmentConverter assessmentConverter;
     private final ExerciseTypeRepository exerciseTypeRepository;
+    private final GradingService gradingService;
+    private final AttemptReviewService attemptReviewService;
+    private final PlacementPoolService placementPoolService;
+    private final ContentPayloadService contentPayloadService;
     @Override
     public void createAssessment(AssessmentRequest assessmentRequest) {
         ExerciseTypeEntity exerciseTypeEntity = exerciseTypeRepository.findByCode(assessmentRequest.getType()).orElseThrow(()-> new AppException(ErrorCode.EXERCISE_TYPE_NOT_FOUND));
@@ -35,6 +44,8 @@ public class AssessmentServiceImpl implements AssessmentService {
         assessmentEntity.setTest(testEntity);
         assessmentEntity.setExercisetype(exerciseTypeEntity);
         assessmentRepository.save(assessmentEntity);
+        placementPoolService.evictPlacementPool();
+        contentPayloadService.evictTest(testEntity.getId());
     }
 
     @Override
@@ -53,13 +64,15 @@ public class AssessmentServiceImpl implements AssessmentService {
             assessmentEntity.setMediaData(assessmentRequest.getMediaData());
         }
         assessmentRepository.save(assessmentEntity);
+        attemptReviewService.evictTestReviews();
+        placementPoolService.evictPlacementPool();
+        contentPayloadService.evictTest(assessmentEntity.getTest().getId());
     }
 
     @Override
     public List<AssessmentResponse> getSummaryAssessmentsByTestId(Integer testId) {
-        List<AssessmentEntity> assessments = assessmentRepository.findByTestId(testId);
-        List<AssessmentResponse> assessmentResponses = assessmentConverter.toResponseSummaryList(assessments);
-        return assessmentResponses;
+        // Projection id/tiêu đề/loại, không đọc cột media/ảnh/đoạn văn của assessment
+        return assessmentConverter.toResponseSummaryList(assessmentRepository.findSummariesByTestId(testId));
     }
 
     @Override
@@ -70,80 +83,24 @@ public class AssessmentServiceImpl implements AssessmentService {
 
     @Override
     public void deleteAssessmentById(Integer id) {
+        Integer testId = assessmentRepository.findTestIdById(id).orElse(null);
         assessmentRepository.deleteById(id);
+        gradingService.evictTestAnswerKeys();
+        attemptReviewService.evictTestReviews();
+        placementPoolService.evictPlacementPool();
+        contentPayloadService.evictTest(testId);
     }
 
     @Override
-    public List<AssessmentResponse> getAssessmentDetailForFistTest() {
-        List<TestEntity> testEntities = testRepository.findByType("FIRST_TEST");
-
-        testEntities = locBaiTestItCauHoi(testEntities);
-
-        if (testEntities.isEmpty()) {
-            throw new RuntimeException("No test found");
-        }
-
-
-
-        TestEntity randomTest =
-                testEntities.get(new Random().nextInt(testEntities.size()));
-
-        Integer randomTestId = randomTest.getId();
-
-
-        List<AssessmentEntity> assessmentEntities = assessmentRepository.findByTestId(randomTestId);
-        List<AssessmentResponse> assessmentResponses = new ArrayList<>();
-        assessmentEntities.stream().forEach(assessmentEntity -> {
-            switch (assessmentEntity.getExercisetype().getCode()) {
-                case "LISTENING_1" :
-                case "LISTENING_2" :
-                case "READING_6":
-                case "READING_7":
-                case "LISTENING_3_4":
-                    assessmentResponses.add(assessmentConverter.toAssessmentDetailResponse(assessmentEntity));
-                    break;
-                default:
-                    assessmentResponses.addAll(assessmentConverter.toSplitAssessmentDetailResponse(assessmentEntity));
-            }
-
-        });
-        return  assessmentResponses;
-    }
-
-    private List<TestEntity> locBaiTestItCauHoi(List<TestEntity> testEntities) {
-        List<TestEntity> result = new ArrayList<>();
-        for(TestEntity testEntity : testEntities){
-            int countQuesstion = 0;
-
-            for (AssessmentEntity assessmentEntity : testEntity.getAssessments()){
-                countQuesstion += assessmentEntity.getAssessmentQuestions().size();
-            }
-
-            if(countQuesstion >= 10){
-                result.add(testEntity);
-            }
-        }
-        return result;
-    }
-
-    @Override
+    @Transactional(readOnly = true)
     public List<AssessmentResponse> getAssessmentsDetailByTestId(int testId) {
-        List<AssessmentEntity> assessmentEntities = assessmentRepository.findByTestId(testId);
-        List<AssessmentResponse> assessmentResponses = new ArrayList<>();
-        assessmentEntities.stream().forEach(assessmentEntity -> {
-            switch (assessmentEntity.getExercisetype().getCode()) {
-                case "LISTENING_1" :
-                case "LISTENING_2" :
-                case "READING_6":
-                case "READING_7":
-                case "LISTENING_3_4":
-                    assessmentResponses.add(assessmentConverter.toAssessmentDetailResponse(assessmentEntity));
-                    break;
-                default:
-                    assessmentResponses.addAll(assessmentConverter.toSplitAssessmentDetailResponse(assessmentEntity));
-            }
+        return assessmentConverter.toTestDetailResponses(loadAssessmentTree(testId));
+    }
 
-        });
-        return  assessmentResponses;
+    // assessments -> questions -> options, mỗi tầng 1 query, các tầng sau gắn vào entity đã có trong persistence context
+    private List<AssessmentEntity> loadAssessmentTree(Integer testId) {
+        List<AssessmentEntity> assessmentEntities = assessmentRepository.findWithQuestionsByTestId(testId);
+        assessmentQuestionRepository.fetchOptionsByTestId(testId);
+        return assessmentEntities;
     }
 }
@@ -0,0 +1,122 @@
+package com.mxhieu.doantotnghiep.service.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.mxhieu.doantotnghiep.config.ReadFromPrimary;
+import com.mxhieu.doantotnghiep.converter.TestAttemptConverter;
+import com.mxhieu.doantotnghiep.dto.response.TestAttemptResponse;
+import com.mxhieu.doantotnghiep.entity.TestAttemptEntity;
+import com.mxhieu.doantotnghiep.exception.AppException;
+import com.mxhieu.doantotnghiep.exception.ErrorCode;
+import com.mxhieu.doantotnghiep.repository.*;
+import com.mxhieu.doantotnghiep.service.AttemptReviewService;
+import com.mxhieu.doantotnghiep.utils.AfterCommit;
+import com.mxhieu.doantotnghiep.utils.ReviewTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Xem lại bài test đã nộp. Attempt không đổi sau khi ghi nên phần của attempt (điểm, thứ tự assessment,
+ * chỉ mục lựa chọn đã chọn) được cache theo id; phần đề (gồm media) cache một bản cho mỗi bài test
+ * thay vì nhân theo số attempt. Sửa đề thì tăng thế hệ của cả hai vùng cache sau khi commit như đáp án chấm điểm,
+ * nên bản đang nạp dở từ đề cũ nằm ở thế hệ cũ và không được đọc lại.
+ */
+@Service
+public class AttemptReviewServiceImpl implements AttemptReviewService {
+    private final TestAttemptRepository testAttemptRepository;
+    private final AssessmentAttemptRepository assessmentAttemptRepository;
+    private final AssessmentAnswerRepository assessmentAnswerRepository;
+    private final AssessmentRepository assessmentRepository;
+    private final AssessmentQuestionRepository assessmentQuestionRepository;
+    private final TestAttemptConverter testAttemptConverter;
+    private final Cache<VersionedKey, AttemptReview> attempts;
+    private final Cache<VersionedKey, ReviewTemplate> templates;
+    private final AtomicLong generation = new AtomicLong();
+
+    private record VersionedKey(long generation, Integer id) {
+    }
+
+    private record AttemptReview(TestAttemptResponse summary, Integer testId, List<Integer> assessmentIds, Set<Long> selections) {
+    }
+
+    public AttemptReviewServiceImpl(TestAttemptRepository testAttemptRepository,
+                                    AssessmentAttemptRepository assessmentAttemptRepository,
+                                    AssessmentAnswerRepository assessmentAnswerRepository,
+                                    AssessmentRepository assessmentRepository,
+                                    AssessmentQuestionRepository assessmentQuestionRepository,
+                                    TestAttemptConverter testAttemptConverter,
+                                    @Value("${review.attempt.cache-size:10000}") long attemptCacheSize,
+                                    @Value("${review.template.cache-size:200}") long templateCacheSize) {
+        this.testAttemptRepository = testAttemptRepository;
+        this.assessmentAttemptRepository = assessmentAttemptRepository;
+        this.assessmentAnswerRepository = assessmentAnswerRepository;
+        this.assessmentRepository = assessmentRepository;
+        this.assessmentQuestionRepository = assessmentQuestionRepository;
+        this.testAttemptConverter = testAttemptConverter;
+        this.attempts = CacheBuilder.newBuilder().maximumSize(attemptCacheSize).expireAfterAccess(Duration.ofHours(6)).build();
+        this.templates = CacheBuilder.newBuilder().maximumSize(templateCacheSize).expireAfterAccess(Duration.ofHours(6)).build();
+    }
+
+    @Override
+    @ReadFromPrimary // Xem lại bài ngay sau khi nộp, attempt có thể chưa kịp sang replica
+    public TestAttemptResponse getTestAttemptReview(Integer testAttemptId) {
+        // Đọc thế hệ một lần trước khi nạp, dùng cho cả hai vùng
+        long current = generation.get();
+        AttemptReview attempt = load(attempts, new VersionedKey(current, testAttemptId), () -> loadAttempt(testAttemptId));
+        ReviewTemplate template = load(templates, new VersionedKey(current, attempt.testId()), () -> loadTemplate(attempt.testId()));
+        TestAttemptResponse summary = attempt.summary();
+        return TestAttemptResponse.builder()
+                .id(summary.getId())
+                .totalScore(summary.getTotalScore())
+                .count(summary.getCount())
+                .testAt(summary.getTestAt())
+                .studentProfileId(summary.getStudentProfileId())
+                .assessmentResponses(template.render(attempt.assessmentIds(), attempt.selections()))
+                .build();
+    }
+
+    @Override
+    public void evictTestReviews() {
+        // Xoá test thì attempt cũng bị xoá theo, nên vùng attempt cũng phải xoá
+        AfterCommit.run(this::nextGeneration);
+    }
+
+    private void nextGeneration() {
+        generation.incrementAndGet();
+        templates.invalidateAll();
+        attempts.invalidateAll();
+    }
+
+    private AttemptReview loadAttempt(Integer testAttemptId) {
+        TestAttemptEntity testAttemptEntity = testAttemptRepository.findById(testAttemptId).orElseThrow(()-> new AppException(ErrorCode.TEST_ATTEMPT_NOT_FOUND));
+        return new AttemptReview(testAttemptConverter.toResponseSummery(testAttemptEntity),
+                testAttemptEntity.getTest().getId(),
+                List.copyOf(assessmentAttemptRepository.findAssessmentIdsByTestAttemptId(testAttemptId)),
+                ReviewTemplate.selections(assessmentAnswerRepository.findSelectionsByTestAttemptId(testAttemptId)));
+    }
+
+    private ReviewTemplate loadTemplate(Integer testId) {
+        return ReviewTemplate.compile(assessmentRepository.findReviewRowsByTestId(testId),
+                assessmentQuestionRepository.findReviewRowsByTestId(testId),
+                assessmentQuestionRepository.findReviewOptionRowsByTestId(testId));
+    }
+
+    private <T> T load(Cache<VersionedKey, T> cache, VersionedKey key, Callable<T> loader) {
+        try {
+            return cache.get(key, loader);
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -1,19 +1,22 @@
 package com.mxhieu.doantotnghiep.service.impl;
 
 import com.mxhieu.doantotnghiep.converter.AttemptConverter;
+import com.mxhieu.doantotnghiep.converter.mapper.AttemptMapper;
 import com.mxhieu.doantotnghiep.dto.request.AttemptRequest;
 import com.mxhieu.doantotnghiep.dto.request.AttemptanswerRequest;
 import com.mxhieu.doantotnghiep.entity.AttemptAnswerEntity;
 import com.mxhieu.doantotnghiep.entity.AttemptEntity;
-import com.mxhieu.doantotnghiep.entity.ChoiceEntity;
+import com.mxhieu.doantotnghiep.entity.ExerciseEntity;
 import com.mxhieu.doantotnghiep.entity.StudentProfileEntity;
 import com.mxhieu.doantotnghiep.exception.AppException;
 import com.mxhieu.doantotnghiep.exception.ErrorCode;
 import com.mxhieu.doantotnghiep.repository.*;
 import com.mxhieu.doantotnghiep.service.AttemptSevice;
+import com.mxhieu.doantotnghiep.service.GradingService;
+import com.mxhieu.doantotnghiep.utils.AnswerKey;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -30,17 +33,22 @@ public class AttemptSeviceImpl implements AttemptSevice {
     private final ChoiceRepository choiceRepository;
     private final StudentProfileRepository studentProfileRepository;
     private final ExerciseRepository exerciseRepository;
-    private final ModelMapper modelMapper;
+    private final AttemptMapper attemptMapper;
+    private final GradingService gradingService;
+    @Transactional
     @Override
     public void saveAttempt(AttemptRequest attemptRequest) {
 
-        AttemptEntity attemptEntity = new AttemptEntity();
-        modelMapper.map(attemptRequest, attemptEntity);
+        AttemptEntity attemptEntity = attemptMapper.toEntity(attemptRequest);
 
         attemptEntity.setStartedAt(LocalDateTime.now());
 
-        // 5. Tính điểm
-        attemptEntity.setScorePercent(tinhDiem(attemptRequest.getAttemptanswerRequests()));
+        // 5. Chấm ở server theo đáp án đã biên dịch của bài tập (1 lượt, không query từng lựa chọn)
+        ExerciseEntity exercise = exerciseRepository.findById(attemptRequest.getExerciseId())
+                .orElseThrow(() -> new AppException(ErrorCode.EXERCISE_NOT_FOUND));
+        List<AttemptanswerRequest> answerRequests = attemptRequest.getAttemptanswerRequests();
+        AnswerKey.Grade grade = grade(gradingService.getExerciseAnswerKey(exercise.getId()), answerRequests);
+        attemptEntity.setScorePercent(grade.percent());
         attemptEntity.setSubmittedAt(LocalDateTime.now());
 
         // 6. Gán Student
@@ -50,20 +58,19 @@ public class AttemptSeviceImpl implements AttemptSevice {
         attemptEntity.setStudentProfile(student);
 
         // 7. Gán Exercise
-        attemptEntity.setExercise(
-                exerciseRepository.findById(attemptRequest.getExerciseId())
-                        .orElseThrow(() -> new AppException(ErrorCode.EXERCISE_NOT_FOUND))
-        );
+        attemptEntity.setExercise(exercise);
 
-        // 8. Tạo answer mới
+        // 8. Tạo answer mới: câu hỏi/lựa chọn đã được đáp án xác thực nên chỉ cần tham chiếu
         List<AttemptAnswerEntity> answers = new ArrayList<>();
 
-        for (AttemptanswerRequest req : attemptRequest.getAttemptanswerRequests()) {
-            ChoiceEntity choice = choiceRepository.findById(req.getChoiceId()).orElseThrow(() -> new AppException(ErrorCode.CHOICE_NOT_FOUND));
+        for (int i = 0; i < answerRequests.size(); i++) {
+            AttemptanswerRequest req = answerRequests.get(i);
+            Integer choiceId = grade.matchedOptionIds()[i];
             AttemptAnswerEntity answer = AttemptAnswerEntity.builder()
-                    .question(questionRepository.findById(req.getQuestionId()).orElseThrow(() -> new AppException(ErrorCode.QUESTION_NOT_FOUND)))
-                    .choice(choice)
-                    .isCorrect(choice.getIsCorrect())
+                    .question(questionRepository.getReferenceById(req.getQuestionId()))
+                    .choice(choiceId == null ? null : choiceRepository.getReferenceById(choiceId))
+                    .answerText(req.getAnswerText())
+                    .isCorrect(grade.answerCorrect()[i])
                     .attempt(attemptEntity)        // PHẢI CÓ DÒNG NÀY
                     .build();
 
@@ -76,19 +83,16 @@ public class AttemptSeviceImpl implements AttemptSevice {
         attemptRepository.save(attemptEntity);
     }
 
-
-
-    private Integer tinhDiem(List<AttemptanswerRequest> attemptanswerRequests) {
-        int soCauDung = 0;
-        for (AttemptanswerRequest attemptanswerRequest : attemptanswerRequests) {
-            Integer questionId = attemptanswerRequest.getQuestionId();
-            Integer choiceId = attemptanswerRequest.getChoiceId();
-            ChoiceEntity choice = choiceRepository.findById(choiceId).orElseThrow(() -> new AppException(ErrorCode.CHOICE_NOT_FOUND));
-            if (choice.getIsCorrect()) {
-                soCauDung++;
-            }
+    private AnswerKey.Grade grade(AnswerKey answerKey, List<AttemptanswerRequest> attemptanswerRequests) {
+        List<AnswerKey.Answer> answers = attemptanswerRequests.stream()
+                .map(req -> new AnswerKey.Answer(null, req.getQuestionId(), req.getChoiceId(), req.getAnswerText()))
+                .toList();
+        AnswerKey.Grade grade = answerKey.grade(answers);
+        if (!grade.isValid()) {
+            throw new AppException(grade.invalidReason() == AnswerKey.InvalidReason.UNKNOWN_QUESTION
+                    ? ErrorCode.QUESTION_NOT_FOUND
+                    : ErrorCode.CHOICE_NOT_FOUND);
         }
-        int diem = (soCauDung * 100) / attemptanswerRequests.size();
-        return diem;
+        return grade;
     }
 }
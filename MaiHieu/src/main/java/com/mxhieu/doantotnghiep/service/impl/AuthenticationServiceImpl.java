@@ -1,20 +1,20 @@
 package com.mxhieu.doantotnghiep.service.impl;
 
+import com.mxhieu.doantotnghiep.config.CachingJwtDecoder;
 import com.mxhieu.doantotnghiep.dto.request.AuthenticationRequest;
+import com.mxhieu.doantotnghiep.dto.request.UserPrincipalDTO;
 import com.mxhieu.doantotnghiep.dto.response.AuthenticationResponse;
-import com.mxhieu.doantotnghiep.entity.RoleEntity;
-import com.mxhieu.doantotnghiep.entity.UserEntity;
 import com.mxhieu.doantotnghiep.exception.AppException;
 import com.mxhieu.doantotnghiep.exception.ErrorCode;
-import com.mxhieu.doantotnghiep.repository.RoleRepository;
-import com.mxhieu.doantotnghiep.repository.UserRepository;
 import com.mxhieu.doantotnghiep.service.AuthenticationService;
+import com.mxhieu.doantotnghiep.service.PrincipalService;
 import com.nimbusds.jose.*;
 import com.nimbusds.jose.crypto.MACSigner;
 import com.nimbusds.jwt.JWTClaimsSet;
-import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -23,25 +23,41 @@ import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Date;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Service
-@RequiredArgsConstructor
 @FieldDefaults(level = lombok.AccessLevel.PRIVATE)
 public class AuthenticationServiceImpl implements AuthenticationService {
     @Value("${jwt.signer-key}")
     protected String SIGNER_KEY;
 
+    @Value("${auth.password-hash.timeout-ms:5000}")
+    long passwordHashTimeoutMs;
+
     final PasswordEncoder passwordEncoder;
-    final UserRepository userRepository;
-    final RoleRepository roleRepository;
+    final PrincipalService principalService;
+    final ThreadPoolTaskExecutor passwordHashExecutor;
+    final CachingJwtDecoder jwtDecoder;
+
+    public AuthenticationServiceImpl(PasswordEncoder passwordEncoder,
+                                     PrincipalService principalService,
+                                     @Qualifier("passwordHashExecutor") ThreadPoolTaskExecutor passwordHashExecutor,
+                                     CachingJwtDecoder jwtDecoder) {
+        this.passwordEncoder = passwordEncoder;
+        this.principalService = principalService;
+        this.passwordHashExecutor = passwordHashExecutor;
+        this.jwtDecoder = jwtDecoder;
+    }
 
     @Override
     public AuthenticationResponse logIn(AuthenticationRequest request) {
-        UserEntity user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_EXISTS));
+        UserPrincipalDTO user = principalService.resolve(request.getEmail());
 
-        boolean authenticated = passwordEncoder.matches(request.getPassword(), user.getPassword());
+        boolean authenticated = passwordMatches(request.getPassword(), user.getPassword());
         if (!authenticated) {
             throw new AppException(ErrorCode.PASSWORD_NOT_MATCH);
         }
@@ -52,14 +68,14 @@ public class AuthenticationServiceImpl implements AuthenticationService {
         int id;
         String name = user.getFullName();
         Boolean firstLogin = false;
-        List<RoleEntity> roles = roleRepository.findByEmail(user.getEmail()).orElseThrow(() -> new AppException(ErrorCode.ROLE_NOT_FOUND));
-        if(roles.stream().anyMatch(role -> role.getValue().equals("TEACHER")) && user.getTeacherprofile() != null) {
-            id = user.getTeacherprofile().getId();
-        } else if(roles.stream().anyMatch(role -> role.getValue().equals("STUDENT")) && user.getStudentprofile() != null) {
-            id = user.getStudentprofile().getId();
-            firstLogin = user.getStudentprofile().getFirstLogin();
+        List<String> roles = user.getRoles();
+        if(roles.contains("TEACHER") && user.getTeacherProfileId() != null) {
+            id = user.getTeacherProfileId();
+        } else if(roles.contains("STUDENT") && user.getStudentProfileId() != null) {
+            id = user.getStudentProfileId();
+            firstLogin = user.getFirstLogin();
         }else {
-            id = user.getId();
+            id = user.getUserId();
         }
         return AuthenticationResponse.builder()
                 .id(id)
@@ -94,6 +110,34 @@ public class AuthenticationServiceImpl implements AuthenticationService {
         }
     }
 
+    @Override
+    public void logOut(String accessToken) {
+        // Xoá token khỏi cache JWT và chặn nó tới khi hết hạn
+        jwtDecoder.evict(accessToken);
+    }
+
+    // Chạy BCrypt trên pool giới hạn để số lõi CPU dành cho hash có trần. Thread request vẫn chờ (tối đa
+    // passwordHashTimeoutMs), khi hàng đợi đầy thì trả LOGIN_BUSY ngay thay vì để mọi request cùng tranh CPU
+    private boolean passwordMatches(String rawPassword, String encodedPassword) {
+        Future<Boolean> future;
+        try {
+            future = passwordHashExecutor.submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+        } catch (RejectedExecutionException e) {
+            throw new AppException(ErrorCode.LOGIN_BUSY);
+        }
+        try {
+            return future.get(passwordHashTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new AppException(ErrorCode.LOGIN_BUSY);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AppException(ErrorCode.LOGIN_BUSY);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
     private String generateRefreshToken(String email, int id, String name) {
         JWSHeader jwsHeader = new JWSHeader(JWSAlgorithm.HS512);
         JWTClaimsSet jwtClaimsSet = new JWTClaimsSet.Builder()
@@ -142,7 +186,6 @@ public class AuthenticationServiceImpl implements AuthenticationService {
     }
 
     private Object getRoleFromEmail(String email) {
-        List<RoleEntity> roles = roleRepository.findByEmail(email).orElseThrow(() -> new AppException(ErrorCode.ROLE_NOT_FOUND));
-        return roles.stream().map(roleEntity -> roleEntity.getValue()).collect(Collectors.joining(" "));
+        return String.join(" ", principalService.getRoles(email));
     }
 }
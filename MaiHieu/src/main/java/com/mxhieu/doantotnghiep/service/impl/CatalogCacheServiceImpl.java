@@ -0,0 +1,33 @@
+package com.mxhieu.doantotnghiep.service.impl;
+
+import com.mxhieu.doantotnghiep.entity.CourseEntity;
+import com.mxhieu.doantotnghiep.entity.ModuleEntity;
+import com.mxhieu.doantotnghiep.service.CatalogCacheService;
+import com.mxhieu.doantotnghiep.utils.AfterCommit;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.springframework.stereotype.Service;
+
+/**
+ * Xoá cache cấp 2 của cây khoá học (danh sách module/lesson/test và query cache) khi publish hoặc sửa cấu trúc.
+ * Entity được Hibernate tự cập nhật, còn các collection phía mappedBy thì phải xoá chủ động.
+ */
+@Service
+@RequiredArgsConstructor
+public class CatalogCacheServiceImpl implements CatalogCacheService {
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void evictCourseStructure() {
+        AfterCommit.run(this::evictNow);
+    }
+
+    private void evictNow() {
+        Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        cache.evictCollectionData(CourseEntity.class.getName() + ".modules");
+        cache.evictCollectionData(ModuleEntity.class.getName() + ".lessons");
+        cache.evictCollectionData(ModuleEntity.class.getName() + ".tests");
+        cache.evictQueryRegions();
+    }
+}
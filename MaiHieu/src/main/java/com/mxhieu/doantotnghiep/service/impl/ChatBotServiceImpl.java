@@ -3,25 +3,57 @@ package com.mxhieu.doantotnghiep.service.impl;
 import com.mxhieu.doantotnghiep.dto.request.ChatBotRequest;
 import com.mxhieu.doantotnghiep.dto.response.ChatBotResponse;
 import com.mxhieu.doantotnghiep.service.ChatBotService;
+import com.mxhieu.doantotnghiep.service.CourseContentIndexService;
+import com.mxhieu.doantotnghiep.service.OutboundCallService;
+import com.mxhieu.doantotnghiep.utils.OutboundIntegration;
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 public class ChatBotServiceImpl implements ChatBotService {
     private ChatClient chatClient;
-    public ChatBotServiceImpl(ChatClient.Builder chatClient) {
+    private final CourseContentIndexService courseContentIndexService;
+    private final OutboundCallService outboundCallService;
+    private final int topK;
+
+    public ChatBotServiceImpl(ChatClient.Builder chatClient,
+                              CourseContentIndexService courseContentIndexService,
+                              OutboundCallService outboundCallService,
+                              @Value("${chatbot.rag.top-k:4}") int topK) {
         this.chatClient = chatClient
                 .defaultSystem("Bạn là một trợ lý ảo của hệ thống Tiếng Anh cho người đi làm."
                         + " Bạn giúp người dùng trả lời các câu hỏi liên quan đến việc học tiếng Anh, cung cấp các mẹo học tập,"
                         + " và hỗ trợ giải quyết các vấn đề thường gặp trong quá trình học."
                         + " Hãy luôn giữ thái độ thân thiện, kiên nhẫn và khích lệ người học."
-                        + " Tránh trả lời các câu hỏi không liên quan đến việc học tiếng Anh.")
+                        + " Tránh trả lời các câu hỏi không liên quan đến việc học tiếng Anh."
+                        + " Nếu có phần 'Ngữ cảnh', ưu tiên dựa vào đó và trả lời ngắn gọn.")
                 .build();
+        this.courseContentIndexService = courseContentIndexService;
+        this.outboundCallService = outboundCallService;
+        this.topK = topK;
     }
     @Override
     public ChatBotResponse getResponse(ChatBotRequest request) {
+        String prompt = buildPrompt(request.getMessage());
+        String answer = outboundCallService.call(OutboundIntegration.GEMINI,
+                () -> chatClient.prompt().user(prompt).call().content(),
+                e -> "Trợ lý ảo đang quá tải, bạn vui lòng thử lại sau ít phút nhé.");
         return ChatBotResponse.builder()
-                .answer(chatClient.prompt().user(request.getMessage()).call().content())
+                .answer(answer)
                 .build();
     }
+
+    private String buildPrompt(String message) {
+        List<String> snippets = courseContentIndexService.search(message, topK);
+        if (snippets.isEmpty()) {
+            return message;
+        }
+        StringBuilder prompt = new StringBuilder("Ngữ cảnh:\n");
+        snippets.forEach(snippet -> prompt.append("- ").append(snippet).append('\n'));
+        prompt.append("\nCâu hỏi: ").append(message);
+        return prompt.toString();
+    }
 }
@@ -0,0 +1,102 @@
+package com.mxhieu.doantotnghiep.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.mxhieu.doantotnghiep.service.ContentPayloadService;
+import com.mxhieu.doantotnghiep.utils.AfterCommit;
+import com.mxhieu.doantotnghiep.utils.Const;
+import com.mxhieu.doantotnghiep.utils.ContentPayload;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache body đã serialize + gzip của nội dung dùng chung (đề mini test, bài tập) theo (loại, id, phiên bản).
+ * Sửa nội dung thì tăng phiên bản của đúng id đó sau khi commit: bản dựng dở từ dữ liệu cũ nằm ở phiên bản cũ
+ * nên không bao giờ được đọc lại, và bản mới được dựng ở lần gọi sau. Giới hạn theo tổng số byte đã nén.
+ */
+@Service
+public class ContentPayloadServiceImpl implements ContentPayloadService {
+    private final ObjectMapper objectMapper;
+    private final Cache<VersionedKey, ContentPayload> payloads;
+    private final ConcurrentHashMap<ContentKey, Long> versions = new ConcurrentHashMap<>();
+    // Tăng khi xoá toàn bộ (xoá lesson/module), gộp vào phiên bản của mọi khoá
+    private final AtomicLong epoch = new AtomicLong();
+
+    private record ContentKey(String kind, Integer id) {
+    }
+
+    private record VersionedKey(ContentKey key, long epoch, long version) {
+    }
+
+    public ContentPayloadServiceImpl(ObjectMapper objectMapper,
+                                     @Value("${content-payload.cache-bytes:67108864}") long cacheBytes) {
+        this.objectMapper = objectMapper;
+        this.payloads = CacheBuilder.newBuilder()
+                .maximumWeight(cacheBytes)
+                .weigher((VersionedKey key, ContentPayload payload) -> payload.gzip().length)
+                .expireAfterAccess(Duration.ofHours(6))
+                .build();
+    }
+
+    @Override
+    public ContentPayload getPayload(String kind, Integer id, Supplier<?> body) {
+        ContentKey key = new ContentKey(kind, id);
+        VersionedKey versionedKey = new VersionedKey(key, epoch.get(), versions.getOrDefault(key, 0L));
+        try {
+            return payloads.get(versionedKey, () -> ContentPayload.of(serialize(body.get())));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public void evictTest(Integer testId) {
+        if (testId != null) {
+            AfterCommit.run(() -> {
+                bump(new ContentKey(Const.CONTENT_PAYLOAD.TEST_ASSESSMENTS, testId));
+                bump(new ContentKey(Const.CONTENT_PAYLOAD.TEST_SUMMARY, testId));
+            });
+        }
+    }
+
+    @Override
+    public void evictExercises(Collection<Integer> exerciseIds) {
+        List<Integer> ids = List.copyOf(exerciseIds);
+        AfterCommit.run(() -> ids.forEach(id -> bump(new ContentKey(Const.CONTENT_PAYLOAD.EXERCISE, id))));
+    }
+
+    @Override
+    public void evictAll() {
+        AfterCommit.run(() -> {
+            epoch.incrementAndGet();
+            payloads.invalidateAll();
+        });
+    }
+
+    private void bump(ContentKey key) {
+        long version = versions.merge(key, 1L, Long::sum);
+        payloads.invalidate(new VersionedKey(key, epoch.get(), version - 1));
+    }
+
+    private byte[] serialize(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
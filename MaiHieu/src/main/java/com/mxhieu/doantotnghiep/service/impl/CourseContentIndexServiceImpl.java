@@ -0,0 +1,187 @@
+package com.mxhieu.doantotnghiep.service.impl;
+
+import com.mxhieu.doantotnghiep.entity.*;
+import com.mxhieu.doantotnghiep.repository.CourseRepository;
+import com.mxhieu.doantotnghiep.service.CourseContentIndexService;
+import com.mxhieu.doantotnghiep.service.TextEmbedder;
+import com.mxhieu.doantotnghiep.utils.AfterCommit;
+import com.mxhieu.doantotnghiep.utils.VectorIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+@Slf4j
+@Service
+public class CourseContentIndexServiceImpl implements CourseContentIndexService {
+    private final CourseRepository courseRepository;
+    private final TextEmbedder textEmbedder;
+    private final VectorIndex<String> index;
+    private final int maxSnippetChars;
+
+    public CourseContentIndexServiceImpl(CourseRepository courseRepository,
+                                         TextEmbedder textEmbedder,
+                                         @Value("${chatbot.rag.nprobe:4}") int nprobe,
+                                         @Value("${chatbot.rag.max-snippet-chars:400}") int maxSnippetChars) {
+        this.courseRepository = courseRepository;
+        this.textEmbedder = textEmbedder;
+        this.index = new VectorIndex<>(textEmbedder.dimension(), nprobe);
+        this.maxSnippetChars = maxSnippetChars;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void buildOnStartup() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            // Chatbot vẫn chạy được khi không dựng được index, chỉ là không có ngữ cảnh
+            log.warn("Không dựng được index nội dung khoá học: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        List<CourseEntity> courses = courseRepository.findByStatus("PUBLISHED");
+        // Mỗi khoá gốc chỉ giữ phiên bản publish mới nhất
+        Map<Integer, CourseEntity> latest = new HashMap<>();
+        for (CourseEntity course : courses) {
+            latest.merge(rootId(course), course,
+                    (a, b) -> Objects.requireNonNullElse(a.getVersion(), 0) >= Objects.requireNonNullElse(b.getVersion(), 0) ? a : b);
+        }
+        latest.values().forEach(course -> apply(rootId(course), collectSnippets(course)));
+        log.info("Đã dựng index nội dung cho {} khoá học, {} đoạn", latest.size(), index.size());
+    }
+
+    @Override
+    public void indexPublishedCourse(CourseEntity publishedCourse) {
+        // Lấy nội dung ngay trong transaction publish, chỉ cập nhật index khi transaction commit thành công
+        Integer group = rootId(publishedCourse);
+        Map<String, String> snippets = collectSnippets(publishedCourse);
+        AfterCommit.run(() -> apply(group, snippets));
+    }
+
+    @Override
+    public List<String> search(String query, int topK) {
+        if (query == null || query.isBlank() || index.size() == 0) {
+            return List.of();
+        }
+        return index.search(textEmbedder.embed(query), topK).stream()
+                .filter(hit -> hit.score() > 0)
+                .map(VectorIndex.Hit::payload)
+                .toList();
+    }
+
+    private void apply(Integer group, Map<String, String> snippets) {
+        Map<String, float[]> vectors = new HashMap<>();
+        snippets.forEach((key, text) -> vectors.put(key, textEmbedder.embed(text)));
+        index.replaceGroup(String.valueOf(group), snippets, vectors);
+    }
+
+    private Integer rootId(CourseEntity course) {
+        return course.getParentCourse() != null ? course.getParentCourse().getId() : course.getId();
+    }
+
+    private Map<String, String> collectSnippets(CourseEntity course) {
+        Map<String, String> snippets = new LinkedHashMap<>();
+        String prefix = "c" + rootId(course);
+        if (course.getModules() == null) {
+            return snippets;
+        }
+        int moduleIndex = 0;
+        for (ModuleEntity module : course.getModules()) {
+            String moduleKey = prefix + ":m" + moduleIndex++;
+            int lessonIndex = 0;
+            for (LessonEntity lesson : Objects.requireNonNullElse(module.getLessons(), List.<LessonEntity>of())) {
+                String lessonKey = moduleKey + ":l" + lessonIndex++;
+                String label = "[Bài học: " + lesson.getTitle() + "] ";
+                addChunks(snippets, lessonKey + ":s", label, lesson.getSummary());
+                int mediaIndex = 0;
+                for (MediaAssetEntity media : Objects.requireNonNullElse(lesson.getMediaassets(), List.<MediaAssetEntity>of())) {
+                    addChunks(snippets, lessonKey + ":t" + mediaIndex++, label, readTranscript(media.getTranscriptUrl()));
+                }
+                int questionIndex = 0;
+                for (ExerciseEntity exercise : Objects.requireNonNullElse(lesson.getExercises(), List.<ExerciseEntity>of())) {
+                    for (QuestionEntity question : Objects.requireNonNullElse(exercise.getQuestions(), List.<QuestionEntity>of())) {
+                        if (question.getExplain() != null && !question.getExplain().isBlank()) {
+                            addChunks(snippets, lessonKey + ":q" + questionIndex, label,
+                                    question.getQuestionText() + " - " + question.getExplain());
+                        }
+                        questionIndex++;
+                    }
+                }
+            }
+            int testIndex = 0;
+            for (TestEntity test : Objects.requireNonNullElse(module.getTests(), List.<TestEntity>of())) {
+                String testKey = moduleKey + ":t" + testIndex++;
+                String label = "[Bài test: " + test.getName() + "] ";
+                int questionIndex = 0;
+                for (AssessmentEntity assessment : Objects.requireNonNullElse(test.getAssessments(), List.<AssessmentEntity>of())) {
+                    for (AssessmentQuestionEntity question : Objects.requireNonNullElse(assessment.getAssessmentQuestions(), List.<AssessmentQuestionEntity>of())) {
+                        if (question.getExplain() != null && !question.getExplain().isBlank()) {
+                            addChunks(snippets, testKey + ":q" + questionIndex, label,
+                                    Objects.requireNonNullElse(question.getStem(), "") + " - " + question.getExplain());
+                        }
+                        questionIndex++;
+                    }
+                }
+            }
+        }
+        return snippets;
+    }
+
+    private void addChunks(Map<String, String> snippets, String key, String label, String text) {
+        if (text == null || text.isBlank()) {
+            return;
+        }
+        String normalized = text.replaceAll("\\s+", " ").trim();
+        int chunk = 0;
+        int start = 0;
+        while (start < normalized.length()) {
+            int end = Math.min(normalized.length(), start + maxSnippetChars);
+            if (end < normalized.length()) {
+                int space = normalized.lastIndexOf(' ', end);
+                if (space > start) {
+                    end = space;
+                }
+            }
+            snippets.put(key + "#" + chunk++, label + normalized.substring(start, end).trim());
+            start = end;
+        }
+    }
+
+    // Transcript lưu dạng file text/srt/vtt tương đối với thư mục chạy ứng dụng, giống video
+    private String readTranscript(String transcriptUrl) {
+        if (transcriptUrl == null || transcriptUrl.isBlank()) {
+            return null;
+        }
+        try {
+            Path path = Paths.get(System.getProperty("user.dir"), transcriptUrl);
+            if (!Files.isRegularFile(path)) {
+                return null;
+            }
+            StringBuilder text = new StringBuilder();
+            for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+                String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.equals("WEBVTT") || trimmed.contains("-->") || trimmed.matches("\\d+")) {
+                    continue;
+                }
+                text.append(trimmed).append(' ');
+            }
+            return text.toString();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Không đọc được transcript {}: {}", transcriptUrl, e.getMessage());
+            return null;
+        }
+    }
+}
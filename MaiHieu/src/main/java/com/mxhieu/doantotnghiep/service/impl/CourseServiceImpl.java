@@ -5,12 +5,18 @@ import com.mxhieu.doantotnghiep.converter.LessonConverter;
 import com.mxhieu.doantotnghiep.converter.ModuleConverter;
 import com.mxhieu.doantotnghiep.converter.TestConverter;
 import com.mxhieu.doantotnghiep.dto.request.CourseRequest;
+import com.mxhieu.doantotnghiep.dto.request.CursorPageRequest;
 import com.mxhieu.doantotnghiep.dto.response.CourseResponse;
+import com.mxhieu.doantotnghiep.dto.response.CourseSummaryResponse;
+import com.mxhieu.doantotnghiep.dto.response.CursorPageResponse;
 import com.mxhieu.doantotnghiep.dto.response.ModuleResponse;
 import com.mxhieu.doantotnghiep.entity.*;
 import com.mxhieu.doantotnghiep.exception.AppException;
 import com.mxhieu.doantotnghiep.exception.ErrorCode;
 import com.mxhieu.doantotnghiep.repository.CourseRepository;
+import com.mxhieu.doantotnghiep.repository.ModuleRepository;
+import com.mxhieu.doantotnghiep.service.CatalogCacheService;
+import com.mxhieu.doantotnghiep.service.CourseContentIndexService;
 import com.mxhieu.doantotnghiep.service.CourseService;
 import com.mxhieu.doantotnghiep.service.LessonService;
 import com.mxhieu.doantotnghiep.service.ModuleService;
@@ -29,11 +35,14 @@ import java.util.concurrent.atomic.AtomicInteger;
 @RequiredArgsConstructor
 public class CourseServiceImpl implements CourseService {
     private final CourseRepository courseRepository;
+    private final ModuleRepository moduleRepository;
     private final CourseConverter courseConverter;
     private final LessonService lessonService;
     private final ModuleService moduleService;
     private final LessonConverter lessonConverter;
     private final TestConverter testConverter;
+    private final CourseContentIndexService courseContentIndexService;
+    private final CatalogCacheService catalogCacheService;
 
     private final ModuleConverter moduleConverter;
     @Override
@@ -49,6 +58,11 @@ public class CourseServiceImpl implements CourseService {
                 .toList();
     }
 
+    @Override
+    public CursorPageResponse<CourseSummaryResponse> getCoursesPage(CursorPageRequest request, String status, String type, Integer teacherId) {
+        return courseRepository.findSummaries(request, status, type, teacherId);
+    }
+
     @Override
     public CourseResponse getCourseById(Integer id) {
         CourseResponse response = courseConverter.toCourseResponse(courseRepository.findById(id).orElseThrow(()-> new AppException(ErrorCode.COURSE_NOT_FOUND)));
@@ -92,6 +106,9 @@ public class CourseServiceImpl implements CourseService {
             moduleResponses.add(moduleResponse);
         }
         Collections.sort(moduleResponses, new ModuleComparator());
+        for (int i = 0; i < moduleResponses.size(); i++) {
+            moduleResponses.get(i).setOrderIndex((long) i + 1);
+        }
         response.setModules(moduleResponses);
         return response;
     }
@@ -168,6 +185,8 @@ public class CourseServiceImpl implements CourseService {
 
         courseRepository.save(courseEntity);
         courseRepository.save(publishedCourseEntity);
+        courseContentIndexService.indexPublishedCourse(publishedCourseEntity);
+        catalogCacheService.evictCourseStructure();
     }
 
     @Override
@@ -183,8 +202,12 @@ public class CourseServiceImpl implements CourseService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public CourseResponse getCourseForStudent(CourseRequest courseRequest) {
-        CourseEntity courseEntity = courseRepository.findById(courseRequest.getId()).orElseThrow(() -> new AppException(ErrorCode.COURSE_NOT_FOUND));
+        CourseEntity courseEntity = courseRepository.findWithModulesById(courseRequest.getId()).orElseThrow(() -> new AppException(ErrorCode.COURSE_NOT_FOUND));
+        // Nạp sẵn cây module -> lessons/tests trong transaction thay vì lazy load từng module
+        moduleRepository.fetchLessonsByCourseId(courseEntity.getId());
+        moduleRepository.fetchTestsByCourseId(courseEntity.getId());
         CourseResponse response = courseConverter.toCourseResponseByStudent(courseEntity, courseEntity.getStatus());
         List<ModuleResponse> moduleResponses = moduleService.getResponseDetailList(courseEntity.getModules(), courseRequest.getStudentProfileId());
         Collections.sort(moduleResponses, (m1, m2) -> Long.compare(m1.getOrderIndex(), m2.getOrderIndex()));
@@ -13,6 +13,8 @@ import com.mxhieu.doantotnghiep.repository.DictionaryRepository;
 import com.mxhieu.doantotnghiep.repository.PartOfSpeechRepository;
 import com.mxhieu.doantotnghiep.repository.StudentDictionaryRepository;
 import com.mxhieu.doantotnghiep.service.DictionaryService;
+import com.mxhieu.doantotnghiep.service.OutboundCallService;
+import com.mxhieu.doantotnghiep.utils.OutboundIntegration;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -27,6 +29,7 @@ public class DictionaryServiceImpl implements DictionaryService {
     private final PartOfSpeechRepository partOfSpeechRepository;
     private final DefinitionExampleRepository definitionExampleRepository;
     private final StudentDictionaryRepository studentDictionaryRepository;
+    private final OutboundCallService outboundCallService;
 
     // API key của Merriam-Webster (lấy từ application.properties)
     @Value("${merriam.api-key}")
@@ -54,12 +57,12 @@ public class DictionaryServiceImpl implements DictionaryService {
         String url = BASE_URL + word + "?key=" + apiKey;
 
         // Gọi API Merriam-Webster và lấy raw JSON (dạng String)
-        String rawJson = webClientBuilder.build()
+        String rawJson = outboundCallService.call(OutboundIntegration.MERRIAM, () -> webClientBuilder.build()
                 .get()
                 .uri(url)
                 .retrieve()
                 .bodyToMono(String.class)
-                .block();
+                .block());
 
         try {
             // Parse JSON string thành JsonNode
@@ -14,9 +14,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
@@ -56,7 +54,8 @@ public class EnrollmentServeceImpl implements EnrollmentServece {
             enrollmentEntity3.setStatus(1);
         }
         List<EnrollmentEntity> enrollmentEntities = List.of(enrollmentEntity1,enrollmentEntity2,enrollmentEntity3);
-        setEnrollmentCoures(enrollmentEntities,enrollmentRequest.getStudentProfileId());
+        setEnrollmentCoures(enrollmentEntities,studentProfile);
+        // enrollment và enrollmentcourse cấp ID theo khối nên flush thành các batch insert
         enrollmentRepository.saveAll(enrollmentEntities);
     }
 
@@ -78,99 +77,58 @@ public class EnrollmentServeceImpl implements EnrollmentServece {
         return enrollmentConverter.toStudyFlow(enrollmentEntities);
     }
 
-    private void setEnrollmentCoures(List<EnrollmentEntity> enrollmentEntities, Integer studentProfileId) {
-        AtomicBoolean checkFirstLessonWillUnlock = new AtomicBoolean(true);
-        AtomicBoolean checkFirstCouresWillUnlock = new AtomicBoolean(true);
-        enrollmentEntities.forEach(enrollmentEntity -> {
-            String status = switch (enrollmentEntity.getStatus()) {
+    // Khoá học DONE không ghi sẵn lessonprogress/testprogress: bài học/bài test của khoá DONE được coi là mở khoá
+    // khi đọc (isLock...), dòng tiến độ chỉ tạo khi học viên thực sự học bài đó (checkCompletionCondition)
+    private void setEnrollmentCoures(List<EnrollmentEntity> enrollmentEntities, StudentProfileEntity studentProfile) {
+        List<Integer> trackIds = enrollmentEntities.stream().map(enrollment -> enrollment.getTrack().getId()).toList();
+        Map<Integer, List<CourseEntity>> latestByTrack = new HashMap<>();
+        Set<Integer> seenParents = new HashSet<>();
+        for (CourseEntity latest : courseRepository.findLatestVersionsByTrackIds(trackIds)) {
+            if (seenParents.add(latest.getParentCourse().getId())) {
+                latestByTrack.computeIfAbsent(latest.getParentCourse().getTrack().getId(), id -> new ArrayList<>()).add(latest);
+            }
+        }
+        boolean checkFirstCouresWillUnlock = true;
+        for (EnrollmentEntity enrollmentEntity : enrollmentEntities) {
+            String trackStatus = switch (enrollmentEntity.getStatus()) {
                 case 1 -> "UNLOCK";
                 case 2 -> "DONE";
                 default -> "LOCK";
             };
-            List<CourseEntity> parentCourse = courseRepository.findByTrack_IdAndStatus(enrollmentEntity.getTrack().getId(), "OLD");
             List<EnrollmentCourseEntity> enrollmentCourseEntitys = new ArrayList<>();
-            for (CourseEntity courseEntity : parentCourse) {
-                CourseEntity childrenNew = courseRepository.findTopByParentCourse_IdOrderByVersionDesc(courseEntity.getId());
-                if(childrenNew != null){
-                    // lưu tiến độ với các khóa học done
-                    if(status.equals("DONE")){
-                        doneLessonWithDone(childrenNew,studentProfileId);
-                    }
-                    // chỉ mở khóa 1 khóa học đầu tiên của track được mở khóa
-                    if(status.equals("UNLOCK")){
-                        if(checkFirstCouresWillUnlock.get()){
-                            checkFirstCouresWillUnlock.set(false);
-                        }else{
-                            status = "LOCK";
-                        }
-                    }
-                    //mở khóa bài học đầu tiên của khóa học đầu tiên được mở khóa
-                    if(checkFirstLessonWillUnlock.get() && status.equals("UNLOCK")){
-                        checkFirstLessonWillUnlock.set(false);
-                        unLockFirstLesson(childrenNew, studentProfileId);
+            for (CourseEntity childrenNew : latestByTrack.getOrDefault(enrollmentEntity.getTrack().getId(), List.of())) {
+                String status = trackStatus;
+                // chỉ mở khóa 1 khóa học đầu tiên của track được mở khóa, kèm bài học đầu tiên của khoá đó
+                if(status.equals("UNLOCK")){
+                    if(checkFirstCouresWillUnlock){
+                        checkFirstCouresWillUnlock = false;
+                        unLockFirstLesson(childrenNew, studentProfile);
+                    }else{
+                        status = "LOCK";
                     }
-                    EnrollmentCourseEntity enrollmentCourseEntity = EnrollmentCourseEntity.builder()
-                            .enrollment(enrollmentEntity)
-                            .course(childrenNew)
-                            .status(status)
-                            .build();
-                    enrollmentCourseEntitys.add(enrollmentCourseEntity);
-
                 }
+                enrollmentCourseEntitys.add(EnrollmentCourseEntity.builder()
+                        .enrollment(enrollmentEntity)
+                        .course(childrenNew)
+                        .status(status)
+                        .build());
             }
             enrollmentEntity.setEnrollmentCourses(enrollmentCourseEntitys);
-        });
-    }
-
-    private void doneLessonWithDone(CourseEntity childrenNew, Integer studentProfileId) {
-        List<ModuleEntity> moduleEntities = moduleRepository.findByCourseIdOrderByOrderIndex(childrenNew.getId());
-        StudentProfileEntity studentProfile = studentProfileRepository.findById(studentProfileId).orElseThrow(() -> new AppException(ErrorCode.STUDENT_PROFILE_NOT_FOUND));
-        for (ModuleEntity moduleEntity : moduleEntities) {
-            if(moduleEntity.getType() == ModuleType.LESSON){
-                List<LessonEntity> lessonEntities = moduleEntity.getLessons();
-                for (LessonEntity lessonEntity : lessonEntities) {
-                    LessonProgressEntity lessonProgressEntity = new LessonProgressEntity();
-                    lessonProgressEntity.setLesson(lessonEntity);
-                    lessonProgressEntity.setStudentProfile(studentProfile);
-                    lessonProgressEntity.setProcess(0); // unlock
-                    lessonProgressEntity.setPercentageWatched(0);
-                    lessonProgressRepository.save(lessonProgressEntity);
-                }
-            }else{
-                List<TestEntity> firstTest = moduleEntity.getTests();
-                if(!firstTest.isEmpty()){
-                    TestProgressEntity firstTestProgressEntity = new TestProgressEntity();
-                    firstTestProgressEntity.setTest(firstTest.get(0));
-                    firstTestProgressEntity.setStudentProfile(studentProfile);
-                    firstTestProgressEntity.setProcess(0);
-                    testProgressRepository.save(firstTestProgressEntity);
-                }else{
-                    throw new AppException(ErrorCode.TEST_NOT_FOUND);
-                }
-            }
         }
     }
 
-    private void unLockFirstLesson(CourseEntity childrenNew, Integer studentProfileId) {
+    private void unLockFirstLesson(CourseEntity childrenNew, StudentProfileEntity studentProfile) {
         ModuleEntity firstModule = moduleRepository.findTopByCourse_IdOrderByOrderIndexAsc(childrenNew.getId());
-        StudentProfileEntity studentProfile = studentProfileRepository.findById(studentProfileId).orElseThrow(() -> new AppException(ErrorCode.STUDENT_PROFILE_NOT_FOUND));
         if(firstModule != null){
             if(firstModule.getType() == ModuleType.LESSON){
                 LessonEntity firstLesson = firstModule.getLessons().stream().sorted((l1, l2) -> l1.getOrderIndex().compareTo(l2.getOrderIndex())).findFirst().orElse(null);
-                LessonProgressEntity lessonProgressEntity = new LessonProgressEntity();
-                lessonProgressEntity.setLesson(firstLesson);
-                lessonProgressEntity.setStudentProfile(studentProfile);
-                lessonProgressEntity.setProcess(0); // unlock
-                lessonProgressEntity.setPercentageWatched(0);
-                lessonProgressRepository.save(lessonProgressEntity);
+                if(firstLesson != null){
+                    lessonProgressRepository.unlock(studentProfile.getId(), firstLesson.getId());
+                }
             }else{
                 List<TestEntity> firstTest = firstModule.getTests();
                 if(!firstTest.isEmpty()){
-                    TestProgressEntity firstTestProgressEntity = new TestProgressEntity();
-                    firstTestProgressEntity.setTest(firstTest.get(0));
-                    firstTestProgressEntity.setStudentProfile(studentProfile);
-                    firstTestProgressEntity.setProcess(0);
-                    testProgressRepository.save(firstTestProgressEntity);
+                    testProgressRepository.unlock(studentProfile.getId(), firstTest.get(0).getId());
                 }else{
                     throw new AppException(ErrorCode.TEST_NOT_FOUND);
                 }
@@ -2,21 +2,30 @@ package com.mxhieu.doantotnghiep.service.impl;
 
 import com.mxhieu.doantotnghiep.converter.ExerciseConverter;
 import com.mxhieu.doantotnghiep.dto.request.ExerciseRequest;
+import com.mxhieu.doantotnghiep.dto.response.AttemptanswerResponse;
 import com.mxhieu.doantotnghiep.dto.response.ChoiceResponse;
 import com.mxhieu.doantotnghiep.dto.response.ExerciseResponse;
+import com.mxhieu.doantotnghiep.dto.response.ExerciseStateResponse;
 import com.mxhieu.doantotnghiep.dto.response.QuestionResponse;
 import com.mxhieu.doantotnghiep.entity.*;
 import com.mxhieu.doantotnghiep.exception.AppException;
 import com.mxhieu.doantotnghiep.exception.ErrorCode;
 import com.mxhieu.doantotnghiep.repository.*;
+import com.mxhieu.doantotnghiep.service.ContentPayloadService;
 import com.mxhieu.doantotnghiep.service.ExerciseService;
+import com.mxhieu.doantotnghiep.service.GradingService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -27,12 +36,9 @@ public class ExerciseServiceImpl implements ExerciseService {
     private final ExerciseConverter exerciseConverter;
     private final AttemptAnswerRepository attemptAnswerRepository;
     private final AttemptRepository attemptRepository;
-    @Transactional
-
-    @Override
-    public void flushOrderIndex(Integer lessonId, Integer orderIndex) {
-        exerciseRepository.flushOrderIndex(lessonId, orderIndex);
-    }
+    private final QuestionRepository questionRepository;
+    private final GradingService gradingService;
+    private final ContentPayloadService contentPayloadService;
 
     @Override
     public int getMaxOrder(Integer lessonId) {
@@ -50,40 +56,68 @@ public class ExerciseServiceImpl implements ExerciseService {
         response.setTypeCode(exerciseEntity.getExercisetype().getCode());
         response.setIsCompleted(isCompleted);
         if(isCompleted){
-            List<QuestionResponse> questionResponses = response.getQuestions();
-            for(QuestionResponse questionResponse : questionResponses){
-                List<AttemptAnswerEntity> attemptAnswerEntitys = attemptAnswerRepository.findByQuestion_IdAndAttempt_StudentProfile_Id(questionResponse.getId(), studentProfileId);
-                if(attemptAnswerEntitys.isEmpty()){
-                    throw new AppException(ErrorCode.CHOICE_NOT_FOUND_BY_QUESTION_AND_STUDENT);
-                }
-                AttemptAnswerEntity attemptAnswerEntity = attemptAnswerEntitys.get(0);
-                for (ChoiceResponse choiceResponse : questionResponse.getChoices()) {
-                    if(attemptAnswerEntity.getChoice().getId().equals(choiceResponse.getId())){
-                        choiceResponse.setSelected(true);
-                        choiceResponse.setIsCorrect(attemptAnswerEntity.getIsCorrect());
-                    }else{
-                        choiceResponse.setSelected(false);
-                    }
+            markAnswers(response, firstAnswerByQuestion(attemptAnswerRepository.findAnswersByExerciseAndStudent(exerciseId, studentProfileId)));
+        }
+        return response;
+    }
+
+    // Giữ câu trả lời đầu tiên của mỗi câu hỏi (answers đã sắp theo id)
+    private Map<Integer, AttemptanswerResponse> firstAnswerByQuestion(List<AttemptanswerResponse> answers) {
+        Map<Integer, AttemptanswerResponse> firstAnswers = new HashMap<>();
+        for (AttemptanswerResponse answer : answers) {
+            firstAnswers.putIfAbsent(answer.getQuestionId(), answer);
+        }
+        return firstAnswers;
+    }
+
+    private void markAnswers(ExerciseResponse response, Map<Integer, AttemptanswerResponse> firstAnswers) {
+        for(QuestionResponse questionResponse : response.getQuestions()){
+            AttemptanswerResponse answer = firstAnswers.get(questionResponse.getId());
+            if(answer == null){
+                throw new AppException(ErrorCode.CHOICE_NOT_FOUND_BY_QUESTION_AND_STUDENT);
+            }
+            for (ChoiceResponse choiceResponse : questionResponse.getChoices()) {
+                if(answer.getChoiceId() != null && answer.getChoiceId().equals(choiceResponse.getId())){
+                    choiceResponse.setSelected(true);
+                    choiceResponse.setIsCorrect(answer.getIsCorrect());
+                }else{
+                    choiceResponse.setSelected(false);
                 }
             }
         }
-        return response;
+    }
+
+    @Override
+    public ExerciseStateResponse getExerciseStateForStudent(Integer exerciseId, Integer studentProfileId) {
+        if (!exerciseRepository.existsById(exerciseId)) {
+            throw new AppException(ErrorCode.EXERCISE_NOT_FOUND);
+        }
+        // Giữ câu trả lời đầu tiên của mỗi câu hỏi như màn làm bài
+        Map<Integer, AttemptanswerResponse> firstAnswers = new LinkedHashMap<>();
+        for (AttemptanswerResponse answer : attemptAnswerRepository.findAnswersByExerciseAndStudent(exerciseId, studentProfileId)) {
+            firstAnswers.putIfAbsent(answer.getQuestionId(), answer);
+        }
+        return ExerciseStateResponse.builder()
+                .exerciseId(exerciseId)
+                .isCompleted(exerciseRepository.isExerciseCompletedByStudent(exerciseId, studentProfileId))
+                .answers(new ArrayList<>(firstAnswers.values()))
+                .build();
     }
 
     @Override
     public List<ExerciseResponse> getSummaryExercisesByLessonId(Integer lessonId) {
-        List<ExerciseEntity> entities = exerciseRepository.findByLessonId(lessonId);
-        List<ExerciseResponse> exerciseResponses = exerciseConverter.toResponseSummaryList(entities);
-        return exerciseResponses;
+        // Projection id/tiêu đề/loại đã sắp theo OrderIndex, không đọc cột media/ảnh/đoạn văn
+        return exerciseConverter.toResponseSummaryList(exerciseRepository.findSummariesByLessonId(lessonId));
      }
 
 
+    @Transactional
     @Override
     public void createExercise(ExerciseRequest exerciseRequest) {
         LessonEntity lessonEntity = lessonRepository.findById(exerciseRequest.getLessonID()).orElseThrow(()-> new AppException(ErrorCode.LESSON_NOT_FOUND));
         ExerciseTypeEntity exerciseTypeEntity = exerciseTypeRepository.findByCode(exerciseRequest.getType()).orElseThrow(()-> new AppException(ErrorCode.EXERCISE_TYPE_NOT_FOUND));
         ExerciseEntity exerciseEntity = exerciseConverter.toEntity(exerciseRequest, ExerciseEntity.class);
-        exerciseEntity.setOrderIndex(getMaxOrder(exerciseRequest.getLessonID()));
+        exerciseEntity.setOrderIndex(exerciseRepository.orderKeyForPosition(lessonEntity.getId(), null, getMaxOrder(lessonEntity.getId())));
         exerciseEntity.setLesson(lessonEntity);
         exerciseEntity.setExercisetype(exerciseTypeEntity);
         if(exerciseRequest.getShowTime() != null ){
@@ -96,6 +130,8 @@ public class ExerciseServiceImpl implements ExerciseService {
             exerciseEntity.setShowTime(exerciseRequest.getShowTime());
         }
         exerciseRepository.save(exerciseEntity);
+        // Chèn vào giữa có thể phải đánh số lại OrderIndex của cả lesson
+        contentPayloadService.evictExercises(exerciseRepository.findAllExerciseIdsByLessonId(lessonEntity.getId()));
     }
 
     @Override
@@ -125,6 +161,7 @@ public class ExerciseServiceImpl implements ExerciseService {
             exerciseEntity.setShowTime(exerciseRequest.getShowTime());
         }
         exerciseRepository.save(exerciseEntity);
+        contentPayloadService.evictExercises(List.of(exerciseEntity.getId()));
     }
 
     private void checkTimeShowTime(LocalTime showTime, List<MediaAssetEntity> mediaAssetEntities) {
@@ -161,37 +198,56 @@ public class ExerciseServiceImpl implements ExerciseService {
     @Override
     public void deleteExcercise(Integer id) {
         exerciseRepository.deleteById(id);
+        gradingService.evictExerciseAnswerKeys();
+        contentPayloadService.evictExercises(List.of(id));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ExerciseResponse> getExerciseDetailsByLessonIdForStudent(Integer lessonId, Integer studentProfileId) {
-        List<ExerciseEntity> entities = exerciseRepository.findByLessonId(lessonId);
-        List<ExerciseResponse> responses = new ArrayList<>();
-        for (ExerciseEntity entity : entities) {
-            if(!entity.getExercisetype().getCode().equals("INTERACTIVE")){
-                boolean isCompleted = exerciseRepository.isExerciseCompletedByStudent(entity.getId(), studentProfileId);
-                ExerciseResponse response = getExerciseDetailById(entity.getId(), studentProfileId);
-                response.setIsCompleted(isCompleted);
-                responses.add(response);
-            }
-        }
-        return  responses;
+        return getLessonExercisesForStudent(lessonId, studentProfileId, false);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ExerciseResponse> getInteractiveExerciseByLessonIdForStudent(Integer lessonId, Integer studentProfileId) {
-        List<ExerciseEntity> entities = exerciseRepository.findByLessonId(lessonId);
+        return getLessonExercisesForStudent(lessonId, studentProfileId, true);
+    }
+
+    // Nạp bài tập của lesson cho học viên với số query cố định: bài tập + câu hỏi, lựa chọn + media,
+    // bài đã làm, câu trả lời; rồi ghép trong bộ nhớ theo id thay cho vài query trên mỗi bài tập/câu hỏi
+    private List<ExerciseResponse> getLessonExercisesForStudent(Integer lessonId, Integer studentProfileId, boolean interactive) {
+        List<ExerciseEntity> entities = exerciseRepository.findWithQuestionsByLessonId(lessonId).stream()
+                .filter(entity -> entity.getExercisetype().getCode().equals("INTERACTIVE") == interactive)
+                .toList();
         List<ExerciseResponse> responses = new ArrayList<>();
+        if (entities.isEmpty()) {
+            return responses;
+        }
+        questionRepository.fetchChoicesByLessonId(lessonId);
+        Set<Integer> completedIds = new HashSet<>(attemptRepository.findAttemptedExerciseIdsByLessonId(lessonId, studentProfileId));
+        Map<Integer, AttemptanswerResponse> firstAnswers = completedIds.isEmpty()
+                ? Map.of()
+                : firstAnswerByQuestion(attemptAnswerRepository.findAnswersByLessonAndStudent(lessonId, studentProfileId));
         for (ExerciseEntity entity : entities) {
-            if(entity.getExercisetype().getCode().equals("INTERACTIVE")){
-                boolean isCompleted = exerciseRepository.isExerciseCompletedByStudent(entity.getId(), studentProfileId);
-                ExerciseResponse response = getExerciseDetailById(entity.getId(), studentProfileId);
-                response.setIsCompleted(isCompleted);
-                responses.add(response);
+            ExerciseResponse response = exerciseConverter.toResponse(entity, ExerciseResponse.class);
+            boolean isCompleted = completedIds.contains(entity.getId());
+            response.setTypeCode(entity.getExercisetype().getCode());
+            response.setIsCompleted(isCompleted);
+            if (isCompleted) {
+                markAnswers(response, firstAnswers);
             }
+            responses.add(response);
         }
-        return  responses;
+        return responses;
     }
 
-
+    @Transactional
+    @Override
+    public void reorderExercises(Integer lessonId, List<Integer> exerciseIds) {
+        if (!exerciseRepository.applyOrder(lessonId, exerciseIds)) {
+            throw new AppException(ErrorCode.ORDER_LIST_MISMATCH);
+        }
+        contentPayloadService.evictExercises(exerciseIds);
+    }
 }
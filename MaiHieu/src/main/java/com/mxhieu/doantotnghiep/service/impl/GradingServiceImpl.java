@@ -0,0 +1,81 @@
+package com.mxhieu.doantotnghiep.service.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.mxhieu.doantotnghiep.repository.AssessmentQuestionRepository;
+import com.mxhieu.doantotnghiep.repository.QuestionRepository;
+import com.mxhieu.doantotnghiep.service.GradingService;
+import com.mxhieu.doantotnghiep.utils.AfterCommit;
+import com.mxhieu.doantotnghiep.utils.AnswerKey;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Giữ đáp án đã biên dịch của từng bài test / bài tập trong bộ nhớ, nạp bằng 1 query khi chấm lần đầu.
+ * Sửa đề thì tăng thế hệ của vùng cache tương ứng sau khi commit (việc soạn đề hiếm so với việc nộp bài):
+ * khoá cache gồm thế hệ, nên đáp án đang nạp dở từ dữ liệu trước commit nằm ở thế hệ cũ và không được đọc lại.
+ */
+@Service
+public class GradingServiceImpl implements GradingService {
+    private final AssessmentQuestionRepository assessmentQuestionRepository;
+    private final QuestionRepository questionRepository;
+    private final Cache<VersionedKey, AnswerKey> testKeys;
+    private final Cache<VersionedKey, AnswerKey> exerciseKeys;
+    private final AtomicLong testGeneration = new AtomicLong();
+    private final AtomicLong exerciseGeneration = new AtomicLong();
+
+    private record VersionedKey(long generation, Integer id) {
+    }
+
+    public GradingServiceImpl(AssessmentQuestionRepository assessmentQuestionRepository,
+                              QuestionRepository questionRepository,
+                              @Value("${grading.answer-key.cache-size:1000}") long cacheSize) {
+        this.assessmentQuestionRepository = assessmentQuestionRepository;
+        this.questionRepository = questionRepository;
+        this.testKeys = CacheBuilder.newBuilder().maximumSize(cacheSize).expireAfterAccess(Duration.ofHours(6)).build();
+        this.exerciseKeys = CacheBuilder.newBuilder().maximumSize(cacheSize).expireAfterAccess(Duration.ofHours(6)).build();
+    }
+
+    @Override
+    public AnswerKey getTestAnswerKey(Integer testId) {
+        return load(testKeys, testGeneration, testId, () -> AnswerKey.compile(assessmentQuestionRepository.findAnswerKeyRowsByTestId(testId)));
+    }
+
+    @Override
+    public AnswerKey getExerciseAnswerKey(Integer exerciseId) {
+        return load(exerciseKeys, exerciseGeneration, exerciseId, () -> AnswerKey.compile(questionRepository.findAnswerKeyRowsByExerciseId(exerciseId)));
+    }
+
+    @Override
+    public void evictTestAnswerKeys() {
+        AfterCommit.run(() -> nextGeneration(testKeys, testGeneration));
+    }
+
+    @Override
+    public void evictExerciseAnswerKeys() {
+        AfterCommit.run(() -> nextGeneration(exerciseKeys, exerciseGeneration));
+    }
+
+    private void nextGeneration(Cache<VersionedKey, AnswerKey> cache, AtomicLong generation) {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    // Đọc thế hệ trước khi nạp: bản nạp xong sau khi thế hệ đã tăng vẫn nằm ở khoá cũ
+    private AnswerKey load(Cache<VersionedKey, AnswerKey> cache, AtomicLong generation, Integer id, Callable<AnswerKey> compiler) {
+        try {
+            return cache.get(new VersionedKey(generation.get(), id), compiler);
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
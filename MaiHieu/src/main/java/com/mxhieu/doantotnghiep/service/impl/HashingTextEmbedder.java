@@ -0,0 +1,78 @@
+package com.mxhieu.doantotnghiep.service.impl;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.mxhieu.doantotnghiep.service.TextEmbedder;
+
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.Locale;
+
+/**
+ * Embedder cục bộ, xác định (deterministic): băm unigram + bigram vào một vector cố định.
+ * Không cần mạng nên dùng được khi offline và trong test; có thể thay bằng bean TextEmbedder khác.
+ */
+public class HashingTextEmbedder implements TextEmbedder {
+    private static final HashFunction HASH = Hashing.murmur3_32_fixed(20251019);
+
+    private final int dimension;
+
+    public HashingTextEmbedder(int dimension) {
+        this.dimension = dimension;
+    }
+
+    @Override
+    public int dimension() {
+        return dimension;
+    }
+
+    @Override
+    public float[] embed(String text) {
+        float[] vector = new float[dimension];
+        if (text == null || text.isBlank()) {
+            return vector;
+        }
+        String[] tokens = tokenize(text);
+        String previous = null;
+        for (String token : tokens) {
+            if (token.isEmpty()) {
+                continue;
+            }
+            add(vector, token, 1.0f);
+            if (previous != null) {
+                add(vector, previous + " " + token, 0.5f);
+            }
+            previous = token;
+        }
+        normalize(vector);
+        return vector;
+    }
+
+    private void add(float[] vector, String feature, float weight) {
+        int hash = HASH.hashString(feature, StandardCharsets.UTF_8).asInt();
+        int index = Math.floorMod(hash, dimension);
+        vector[index] += (hash & 0x80000000) == 0 ? weight : -weight;
+    }
+
+    private static String[] tokenize(String text) {
+        // Bỏ dấu tiếng Việt để "bài học" và "bai hoc" cho cùng một token
+        String normalized = Normalizer.normalize(text.toLowerCase(Locale.ROOT), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .replace('đ', 'd');
+        return normalized.split("[^\\p{L}\\p{N}]+");
+    }
+
+    private static void normalize(float[] vector) {
+        double norm = 0;
+        for (float v : vector) {
+            norm += v * v;
+        }
+        if (norm == 0) {
+            return;
+        }
+        float inv = (float) (1.0 / Math.sqrt(norm));
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] *= inv;
+        }
+    }
+}
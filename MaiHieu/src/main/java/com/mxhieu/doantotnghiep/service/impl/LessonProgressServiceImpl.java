@@ -13,6 +13,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -21,38 +22,41 @@ public class LessonProgressServiceImpl implements LessonProgressService {
     private final LessonRepository lessonRepository;
     private final StudentProfileRepository studentProfileRepository;
     private final AttemptRepository attemptRepository;
-    private final TestRepository testRepository;
     private final TestProgressRepository testProgressRepository;
     private final ExerciseRepository exerciseRepository;
     private final LessonService lessonService;
     private final CourseRepository courseRepository;
     private final EnrollmentCourseRepository enrollmentCourseRepository;
     private final EnrollmentRepository enrollmentRepository;
-    private final TrackRepository trackRepository;
+    private final StudentProgressSerializer studentProgressSerializer;
 
 
+    // Cả chuỗi (ghi tiến độ bài này, mở bài/khoá/track kế tiếp) chạy tuần tự theo học viên, mỗi bước là một câu lệnh
     @Override
     public Boolean checkCompletionCondition(LessonProgressRequest request) {
-        LessonEntity lessonEntity = lessonRepository.findById(request.getLessonId()).orElseThrow(()->new AppException(ErrorCode.LESSON_NOT_FOUND));
-        StudentProfileEntity studentProfileEntity = studentProfileRepository.findById(request.getStudentProfileId()).orElseThrow(()->new AppException(ErrorCode.STUDENT_PROFILE_NOT_FOUND));
-        List<LessonProgressEntity> lessonProgressEntity = lessonProgressRepository.findByLesson_IdAndStudentProfile_Id(request.getLessonId(), request.getStudentProfileId());
-
-        if(!lessonProgressEntity.isEmpty()){
-            LessonProgressEntity lessonProgress = lessonProgressEntity.get(0);
-            if(lessonProgress.getPercentageWatched() < request.getPercentageWatched()){
-                lessonProgress.setPercentageWatched(request.getPercentageWatched());
+        return studentProgressSerializer.run(request.getStudentProfileId(), () -> {
+            LessonEntity lessonEntity = lessonRepository.findById(request.getLessonId()).orElseThrow(()->new AppException(ErrorCode.LESSON_NOT_FOUND));
+            StudentProfileEntity studentProfileEntity = studentProfileRepository.findById(request.getStudentProfileId()).orElseThrow(()->new AppException(ErrorCode.STUDENT_PROFILE_NOT_FOUND));
+            Optional<LessonProgressEntity> lessonProgress = lessonProgressRepository.findByLesson_IdAndStudentProfile_Id(request.getLessonId(), request.getStudentProfileId());
+            if(lessonProgress.isEmpty()){
+                requireDoneCourse(lessonEntity, studentProfileEntity);
             }
-            if(checkCompleted(lessonProgress ,lessonEntity, request)){
-                lessonProgress.setProcess(2);
+            int storedWatched = lessonProgress.map(LessonProgressEntity::getPercentageWatched).orElse(0);
+            int percentageWatched = Math.max(storedWatched, request.getPercentageWatched());
+
+            boolean completed = checkCompleted(percentageWatched, lessonEntity, request);
+            lessonProgressRepository.upsertProgress(studentProfileEntity.getId(), lessonEntity.getId(), percentageWatched, completed ? 2 : 1);
+            if(completed){
                 unLockNextLesson(lessonEntity, studentProfileEntity);
-                lessonProgressRepository.save(lessonProgress);
-                return true;
-            } else {
-                lessonProgress.setProcess(1);
-                lessonProgressRepository.save(lessonProgress);
-                return false;
             }
-        }else{
+            return completed;
+        });
+    }
+
+    // Khoá học DONE (do điểm đầu vào) không ghi sẵn tiến độ từng bài, lần đầu học bài đó upsert mới tạo dòng
+    private void requireDoneCourse(LessonEntity lessonEntity, StudentProfileEntity studentProfileEntity) {
+        String statusOfCourse = enrollmentCourseRepository.findStatus(studentProfileEntity.getId(), lessonEntity.getModule().getCourse().getId());
+        if(!"DONE".equals(statusOfCourse)){
             throw new AppException(ErrorCode.LESSON_PROGRESS_NOT_EXISTS);
         }
     }
@@ -62,88 +66,39 @@ public class LessonProgressServiceImpl implements LessonProgressService {
         try{
             LessonOrTestAroundResponse nextLessonOrTest= lessonService.getNextLessonOrTest(request);
             if(nextLessonOrTest.getType().equals("LESSON")){
-                LessonEntity nextLesson = lessonRepository.findById(nextLessonOrTest.getId()).orElseThrow(()->new AppException(ErrorCode.LESSON_NOT_FOUND));
-                List<LessonProgressEntity> lessonProgressEntities = lessonProgressRepository.findByLesson_IdAndStudentProfile_Id(nextLesson.getId(), studentProfileEntity.getId());
-                if(lessonProgressEntities.isEmpty()){
-                    LessonProgressEntity lessonProgressEntity = new LessonProgressEntity();
-                    lessonProgressEntity.setLesson(nextLesson);
-                    lessonProgressEntity.setStudentProfile(studentProfileEntity);
-                    lessonProgressEntity.setProcess(0); // unlock
-                    lessonProgressEntity.setPercentageWatched(0);
-                    lessonProgressRepository.save(lessonProgressEntity);
-                }
+                lessonProgressRepository.unlock(studentProfileEntity.getId(), nextLessonOrTest.getId());
             }else{
-                TestEntity nextTest = testRepository.findById(nextLessonOrTest.getId()).orElseThrow(()->new AppException(ErrorCode.TEST_NOT_FOUND));
-                List<TestProgressEntity> testProgressEntities = testProgressRepository.findByTest_IdAndStudentProfile_Id(nextTest.getId(), studentProfileEntity.getId());
-                if(testProgressEntities.isEmpty()){
-                    TestProgressEntity testProgressEntity = new TestProgressEntity();
-                    testProgressEntity.setTest(nextTest);
-                    testProgressEntity.setStudentProfile(studentProfileEntity);
-                    testProgressEntity.setProcess(0); // unlock
-                    testProgressRepository.save(testProgressEntity);
-                }
+                testProgressRepository.unlock(studentProfileEntity.getId(), nextLessonOrTest.getId());
             }
         }catch (AppException e){
-            System.out.println("Loi o day");
-            e.printStackTrace();
             unLockNextCourse(lessonEntity.getModule().getCourse(), studentProfileEntity);
         }
     }
 
     @Override
     public void unLockNextCourse(CourseEntity course, StudentProfileEntity studentProfileEntity) {
-        setStatusCourse(course,studentProfileEntity,"DONE");
-        try{
-            List<EnrollmentCourseEntity> enrollmentCourseEntities = enrollmentCourseRepository.findByCourse_IdAndEnrollment_StudentProfile_Id(course.getId(), studentProfileEntity.getId());
-
-            if(!enrollmentCourseEntities.isEmpty()){
-                EnrollmentCourseEntity currentEnrollmentCourse = enrollmentCourseEntities.get(0);
-                EnrollmentCourseEntity nextEnrollmentCourse = enrollmentCourseRepository.findTopByIdAfterAndEnrollment_Id(currentEnrollmentCourse.getId(),currentEnrollmentCourse.getEnrollment().getId()).orElseThrow(() ->new AppException(ErrorCode.NEXT_NOT_FOUND));
-                setStatusCourse(nextEnrollmentCourse.getCourse(),studentProfileEntity,"UNLOCK");
-            }
-        }catch (AppException e){
-            unLockNextTrack(course.getTrack(), studentProfileEntity);
-        }
-    }
-
-    private void setStatusCourse(CourseEntity course, StudentProfileEntity studentProfileEntity, String status) {
+        enrollmentCourseRepository.updateStatus(studentProfileEntity.getId(), course.getId(), "DONE");
         List<EnrollmentCourseEntity> enrollmentCourseEntities = enrollmentCourseRepository.findByCourse_IdAndEnrollment_StudentProfile_Id(course.getId(), studentProfileEntity.getId());
-        if(!enrollmentCourseEntities.isEmpty()){
-
-            EnrollmentCourseEntity enrollmentCourseEntity = enrollmentCourseEntities.get(0);
-            if(!enrollmentCourseEntity.getStatus().equals("DONE")){
-                enrollmentCourseEntity.setStatus(status);
-                enrollmentCourseRepository.save(enrollmentCourseEntity);
-            }
+        if(enrollmentCourseEntities.isEmpty()){
+            return;
+        }
+        EnrollmentCourseEntity currentEnrollmentCourse = enrollmentCourseEntities.get(0);
+        Optional<EnrollmentCourseEntity> nextEnrollmentCourse = enrollmentCourseRepository.findTopByIdAfterAndEnrollment_Id(currentEnrollmentCourse.getId(),currentEnrollmentCourse.getEnrollment().getId());
+        if(nextEnrollmentCourse.isPresent()){
+            enrollmentCourseRepository.updateStatusById(nextEnrollmentCourse.get().getId(), "UNLOCK");
+        }else{
+            unLockNextTrack(course.getTrack(), studentProfileEntity);
         }
     }
 
+    // Track kế tiếp không tồn tại thì UPDATE không chạm dòng nào
     @Override
     public void unLockNextTrack(TrackEntity trackEntity, StudentProfileEntity studentProfileEntity) {
-        setStatusTrack(trackEntity,studentProfileEntity,2);
-        try {
-            TrackEntity nextTrack = trackRepository.findById(trackEntity.getId() + 1).orElseThrow(()->new AppException(ErrorCode.TRACK_NOT_FOUND));
-            setStatusTrack(nextTrack,studentProfileEntity,1);
-        }catch (AppException e){
-
-        }
+        enrollmentRepository.updateStatus(studentProfileEntity.getId(), trackEntity.getId(), 2);
+        enrollmentRepository.updateStatus(studentProfileEntity.getId(), trackEntity.getId() + 1, 1);
     }
 
-    private void setStatusTrack(TrackEntity trackEntity, StudentProfileEntity studentProfileEntity, int status) {
-        List<EnrollmentEntity> enrollmentEntities = enrollmentRepository.findByTrack_IdAndStudentProfile_Id(trackEntity.getId(), studentProfileEntity.getId());
-        if(!enrollmentEntities.isEmpty()){
-            EnrollmentEntity enrollmentEntity = enrollmentEntities.get(0);
-            if(!enrollmentEntity.getStatus().equals(2)){
-                enrollmentEntity.setStatus(status);
-                enrollmentRepository.save(enrollmentEntity);
-            }
-
-        }
-    }
-
-    private boolean checkCompleted(LessonProgressEntity lessonProgress, LessonEntity lessonEntity, LessonProgressRequest request) {
-        Integer percentageWatched = lessonProgress.getPercentageWatched();
-
+    private boolean checkCompleted(int percentageWatched, LessonEntity lessonEntity, LessonProgressRequest request) {
         if(percentageWatched < lessonEntity.getGatingRules()){
             return false;
         }
@@ -11,6 +11,8 @@ import com.mxhieu.doantotnghiep.entity.*;
 import com.mxhieu.doantotnghiep.exception.AppException;
 import com.mxhieu.doantotnghiep.exception.ErrorCode;
 import com.mxhieu.doantotnghiep.repository.*;
+import com.mxhieu.doantotnghiep.service.CatalogCacheService;
+import com.mxhieu.doantotnghiep.service.ContentPayloadService;
 import com.mxhieu.doantotnghiep.service.LessonService;
 import com.mxhieu.doantotnghiep.utils.ModuleType;
 import lombok.RequiredArgsConstructor;
@@ -38,6 +40,8 @@ public class LessonServiceImpl implements LessonService {
     private final ModuleRepository moduleRepository;
     private final LessonProgressRepository lessonProgressRepository;
     private final TestRepository testRepository;
+    private final CatalogCacheService catalogCacheService;
+    private final ContentPayloadService contentPayloadService;
 
     @Transactional
     @Override
@@ -63,15 +67,18 @@ public class LessonServiceImpl implements LessonService {
                 moduleRepository.findById(lessonRequest.getModuleId()).orElseThrow()
         );
 
-        // Cập nhật orderIndex
-        lessonRepository.flushOrderIndex(lessonRequest.getModuleId(), lessonRequest.getOrderIndex());
+        // orderIndex trong request là vị trí 1-based, đổi thành khoá thưa (chỉ ghi dòng mới)
+        int position = lessonRequest.getOrderIndex() != null ? lessonRequest.getOrderIndex() : getMaxOrder(lessonRequest.getModuleId());
+        lessonEntity.setOrderIndex(lessonRepository.orderKeyForPosition(lessonRequest.getModuleId(), null, position));
 
         // Lưu dữ liệu
         lessonRepository.save(lessonEntity);
         materialRepository.saveAll(materialEntities);
         mediaAssetRepository.save(mediaassetEntity);
+        catalogCacheService.evictCourseStructure();
     }
 
+    @Transactional
     @Override
     public void updateLesson(LessonRequest lessonRequest) {
 
@@ -81,26 +88,15 @@ public class LessonServiceImpl implements LessonService {
         List<MaterialEntity> materialEntities = lessonEntity.getMaterialEntities();
         List<MediaAssetEntity> mediaAssetEntities = lessonEntity.getMediaassets();
 
-        int oldIndex = lessonRequest.getOrderIndex();
-        int newIndex = lessonRequest.getOrderIndex();
         Integer moduleId = lessonEntity.getModule().getId();
-
-        lessonRepository.decreaseOrderIndex(moduleId,oldIndex);
-
-        int maxIndex = getMaxOrder(moduleId);
-
-        if(newIndex < maxIndex){
-            lessonRepository.flushOrderIndex(moduleId, newIndex);
-        }else{
-            newIndex = maxIndex;
+        if (lessonRequest.getOrderIndex() != null) {
+            // Chỉ ghi lại khoá của chính lesson này, các lesson khác giữ nguyên
+            lessonEntity.setOrderIndex(lessonRepository.orderKeyForPosition(moduleId, lessonEntity.getId(), lessonRequest.getOrderIndex()));
         }
 
-
-
         lessonEntity.setGatingRules(lessonRequest.getGatingRules());
         lessonEntity.setTitle(lessonRequest.getTitle());
         lessonEntity.setDurationMinutes(lessonRequest.getDurationMinutes());
-        lessonEntity.setOrderIndex(newIndex);
         lessonEntity.setSummary(lessonRequest.getSummary());
 
         // ====== DELETE OLD VIDEO ======
@@ -141,7 +137,19 @@ public class LessonServiceImpl implements LessonService {
     public void deleteLesson(Integer id) {
         LessonEntity lesson = lessonRepository.findById(id)
                 .orElseThrow(() -> new AppException(ErrorCode.LESSON_NOT_FOUND));
+        List<Integer> exerciseIds = exerciseRepository.findAllExerciseIdsByLessonId(id);
         lessonRepository.delete(lesson);
+        catalogCacheService.evictCourseStructure();
+        contentPayloadService.evictExercises(exerciseIds);
+    }
+
+    @Override
+    @Transactional
+    public void reorderLessons(Integer moduleId, List<Integer> lessonIds) {
+        if (!lessonRepository.applyOrder(moduleId, lessonIds)) {
+            throw new AppException(ErrorCode.ORDER_LIST_MISMATCH);
+        }
+        catalogCacheService.evictCourseStructure();
     }
 
     @Override
@@ -151,12 +159,11 @@ public class LessonServiceImpl implements LessonService {
             throw new AppException(ErrorCode.LESSON_IS_LOCK);
         }
 
-        List<LessonProgressEntity> lessonProgress = lessonProgressRepository.findByLesson_IdAndStudentProfile_Id(id,studentId);
-        int progressWatched = 0;
-        if(!lessonProgress.isEmpty()){
-            progressWatched = lessonProgress.get(0).getPercentageWatched();
-        }
+        int progressWatched = lessonProgressRepository.findByLesson_IdAndStudentProfile_Id(id,studentId)
+                .map(LessonProgressEntity::getPercentageWatched)
+                .orElse(0);
         LessonResponse response = lessonConverter.toResponse(lessonEntity, LessonResponse.class);
+        response.setOrderIndex(positionOf(lessonEntity));
         response.setProgressWatched(progressWatched);
         if(lessonEntity.getExercises().isEmpty()){
             response.setHasExercise(false);
@@ -175,7 +182,10 @@ public class LessonServiceImpl implements LessonService {
     @Override
     public List<LessonResponse> getLessons(Integer moduleId) {
         List<LessonEntity> lessonEntities = lessonRepository.findByModuleId(moduleId);
-        return lessonConverter.toResponseList(lessonEntities, LessonResponse.class);
+        lessonEntities.sort(Comparator.comparing(LessonEntity::getOrderIndex, Comparator.nullsFirst(Comparator.naturalOrder())));
+        List<LessonResponse> responses = lessonConverter.toResponseList(lessonEntities, LessonResponse.class);
+        IntStream.range(0, responses.size()).forEach(i -> responses.get(i).setOrderIndex(i + 1));
+        return responses;
     }
 
     @Override
@@ -205,35 +215,38 @@ public class LessonServiceImpl implements LessonService {
     @Override
     public LessonResponse getLesson(Integer id) {
         LessonEntity lessonEntity = lessonRepository.findById(id).orElseThrow(()-> new AppException(ErrorCode.LESSON_NOT_FOUND));
-        return lessonConverter.toResponse(lessonEntity, LessonResponse.class);
+        LessonResponse response = lessonConverter.toResponse(lessonEntity, LessonResponse.class);
+        response.setOrderIndex(positionOf(lessonEntity));
+        return response;
+    }
+
+    // OrderIndex lưu khoá thưa, FE làm việc với vị trí 1-based trong module
+    private int positionOf(LessonEntity lessonEntity) {
+        if (lessonEntity.getOrderIndex() == null || lessonEntity.getModule() == null) {
+            return 1;
+        }
+        return (int) lessonEntity.getModule().getLessons().stream()
+                .filter(lesson -> lesson.getOrderIndex() != null && lesson.getOrderIndex() < lessonEntity.getOrderIndex())
+                .count() + 1;
     }
 
     @Override
     public Boolean isCompletedLesson(Integer lessonId, Integer studentProfileId) {
-        List<LessonProgressEntity> lessonProgressEntities = lessonProgressRepository.findByLesson_IdAndStudentProfile_Id(lessonId, studentProfileId);
-        if (lessonProgressEntities.size() == 0) {
-            return false;
-        } else if (lessonProgressEntities.get(0).getProcess() == 0 || lessonProgressEntities.get(0).getProcess() == 1) {
-            return false;
-        }
-        return true;
+        return lessonProgressRepository.findByLesson_IdAndStudentProfile_Id(lessonId, studentProfileId)
+                .map(lessonProgress -> lessonProgress.getProcess() == 2)
+                .orElse(false);
     }
 
     @Override
     public Boolean isLockLesson(Integer lessonId, Integer studentProfileId) {
         LessonEntity lessonEntity = lessonRepository.findById(lessonId).orElseThrow(()-> new AppException(ErrorCode.LESSON_NOT_FOUND));
         String statusOfCourse = enrollmentcourseRepository.findStatus(studentProfileId, lessonEntity.getModule().getCourse().getId());
-        List<LessonProgressEntity> lessonProgressEntities = lessonProgressRepository.findByLesson_IdAndStudentProfile_Id(lessonEntity.getId(), studentProfileId);
         if(statusOfCourse.equals("LOCK")) {
             return true;
         }else if(statusOfCourse.equals("DONE")) {
             return false;
         }else {
-            if(lessonProgressEntities.isEmpty()) {
-                return true;
-            }else{
-                return false;
-            }
+            return lessonProgressRepository.findByLesson_IdAndStudentProfile_Id(lessonEntity.getId(), studentProfileId).isEmpty();
         }
     }
 
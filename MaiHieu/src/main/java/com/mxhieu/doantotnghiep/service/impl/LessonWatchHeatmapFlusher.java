@@ -0,0 +1,26 @@
+package com.mxhieu.doantotnghiep.service.impl;
+
+import com.mxhieu.doantotnghiep.service.LessonWatchHeatmapService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cộng dồn bộ đếm heatmap xem video xuống lessonwatchbucket theo chu kỳ, và một lần cuối khi tắt ứng dụng.
+ */
+@Component
+@RequiredArgsConstructor
+public class LessonWatchHeatmapFlusher {
+    private final LessonWatchHeatmapService lessonWatchHeatmapService;
+
+    @Scheduled(fixedDelayString = "${watch-heatmap.flush-ms:30000}")
+    public void flush() {
+        lessonWatchHeatmapService.flush();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        lessonWatchHeatmapService.flush();
+    }
+}
@@ -0,0 +1,171 @@
+package com.mxhieu.doantotnghiep.service.impl;
+
+import com.mxhieu.doantotnghiep.dto.request.WatchSegmentRequest;
+import com.mxhieu.doantotnghiep.dto.response.LessonWatchHeatmapResponse;
+import com.mxhieu.doantotnghiep.exception.AppException;
+import com.mxhieu.doantotnghiep.exception.ErrorCode;
+import com.mxhieu.doantotnghiep.repository.LessonRepository;
+import com.mxhieu.doantotnghiep.repository.MediaAssetRepository;
+import com.mxhieu.doantotnghiep.service.LessonWatchHeatmapService;
+import com.mxhieu.doantotnghiep.utils.Const;
+import com.mxhieu.doantotnghiep.utils.WatchHeatmap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Heatmap xem video theo bài học: beacon của trình phát cộng lượt xem vào WatchHeatmap trong bộ nhớ,
+ * LessonWatchHeatmapFlusher định kỳ cộng dồn phần chênh xuống bảng lessonwatchbucket theo lô.
+ * Giáo viên đọc heatmap từ bảng tổng hợp (mỗi bài tối đa vài trăm dòng) cộng phần chưa xả của instance này,
+ * không phải quét log xem thô.
+ */
+@Slf4j
+@Service
+public class LessonWatchHeatmapServiceImpl implements LessonWatchHeatmapService {
+    private static final String ADD_VIEWS = "INSERT INTO lessonwatchbucket (LessonID, Bucket, Views) VALUES (?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE Views = Views + VALUES(Views)";
+    private static final String FIND_VIEWS = "SELECT Bucket, Views FROM lessonwatchbucket WHERE LessonID = ?";
+
+    private record BucketViews(int lessonId, int bucket, long views) {
+    }
+
+    private final LessonRepository lessonRepository;
+    private final MediaAssetRepository mediaAssetRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final Map<Integer, WatchHeatmap> heatmaps = new ConcurrentHashMap<>();
+
+    public LessonWatchHeatmapServiceImpl(LessonRepository lessonRepository,
+                                         MediaAssetRepository mediaAssetRepository,
+                                         JdbcTemplate jdbcTemplate,
+                                         PlatformTransactionManager transactionManager) {
+        this.lessonRepository = lessonRepository;
+        this.mediaAssetRepository = mediaAssetRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    // Beacon không báo lỗi cho từng đoạn: đoạn sai (âm, rỗng, vượt thời lượng) bị bỏ qua hoặc cắt bớt
+    @Override
+    public void recordSegments(Integer lessonId, List<WatchSegmentRequest> segments) {
+        if (segments == null || segments.isEmpty()) {
+            return;
+        }
+        WatchHeatmap heatmap = heatmap(lessonId);
+        int recorded = 0;
+        for (WatchSegmentRequest segment : segments) {
+            if (recorded++ == Const.WATCH_HEATMAP.MAX_SEGMENTS) {
+                break;
+            }
+            if (segment != null && segment.getFromSec() != null && segment.getToSec() != null) {
+                heatmap.record(segment.getFromSec(), segment.getToSec());
+            }
+        }
+        // flush có thể đã bỏ histogram này (rỗng lúc xả) trong lúc đang ghi: chuyển phần ghi muộn sang histogram hiện hành
+        while (heatmaps.get(lessonId) != heatmap) {
+            long[] late = heatmap.drain();
+            if (Arrays.stream(late).allMatch(views -> views == 0)) {
+                return;
+            }
+            heatmap = heatmap(lessonId);
+            for (int bucket = 0; bucket < Math.min(late.length, heatmap.bucketCount()); bucket++) {
+                heatmap.add(bucket, late[bucket]);
+            }
+        }
+    }
+
+    @Override
+    public LessonWatchHeatmapResponse getHeatmap(Integer lessonId) {
+        if (!lessonRepository.existsById(lessonId)) {
+            throw new AppException(ErrorCode.LESSON_NOT_FOUND);
+        }
+        Integer lengthSec = mediaAssetRepository.findLengthSecByLessonId(lessonId);
+        long[] views = new long[WatchHeatmap.bucketCount(lengthSec)];
+        jdbcTemplate.query(FIND_VIEWS, rs -> {
+            int bucket = rs.getInt(1);
+            if (bucket < views.length) {
+                views[bucket] += rs.getLong(2);
+            }
+        }, lessonId);
+        WatchHeatmap pending = heatmaps.get(lessonId);
+        if (pending != null) {
+            long[] unflushed = pending.snapshot();
+            for (int i = 0; i < Math.min(unflushed.length, views.length); i++) {
+                views[i] += unflushed[i];
+            }
+        }
+        return LessonWatchHeatmapResponse.builder()
+                .lessonId(lessonId)
+                .lengthSec(lengthSec)
+                .bucketSec(Const.WATCH_HEATMAP.BUCKET_SEC)
+                .views(Arrays.stream(views).boxed().toList())
+                .build();
+    }
+
+    @Override
+    public int flush() {
+        List<BucketViews> rows = new ArrayList<>();
+        Map<Integer, Integer> bucketCounts = new HashMap<>();
+        for (Map.Entry<Integer, WatchHeatmap> entry : heatmaps.entrySet()) {
+            WatchHeatmap heatmap = entry.getValue();
+            bucketCounts.put(entry.getKey(), heatmap.bucketCount());
+            // Bài không ai xem trong chu kỳ vừa rồi thì bỏ histogram, lần xem sau tạo lại.
+            // Lượt ghi chen giữa drain và remove được xả nốt ngay; ghi muộn hơn nữa do recordSegments tự chuyển đi
+            if (!collect(rows, entry.getKey(), heatmap.drain()) && heatmaps.remove(entry.getKey(), heatmap)) {
+                collect(rows, entry.getKey(), heatmap.drain());
+            }
+        }
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        try {
+            transaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(ADD_VIEWS, rows, rows.size(), (ps, row) -> {
+                ps.setInt(1, row.lessonId());
+                ps.setInt(2, row.bucket());
+                ps.setLong(3, row.views());
+            }));
+            return rows.size();
+        } catch (RuntimeException e) {
+            // Cả lô rollback: cộng trả lại vào bộ đếm để lần xả sau ghi (kể cả bài vừa bị bỏ histogram ở trên)
+            for (BucketViews row : rows) {
+                heatmaps.computeIfAbsent(row.lessonId(), id -> new WatchHeatmap(bucketCounts.get(id)))
+                        .add(row.bucket(), row.views());
+            }
+            log.warn("Watch heatmap: chưa ghi được {} ô, thử lại lần xả sau: {}", rows.size(), e.getMessage());
+            return 0;
+        }
+    }
+
+    private static boolean collect(List<BucketViews> rows, int lessonId, long[] views) {
+        boolean viewed = false;
+        for (int bucket = 0; bucket < views.length; bucket++) {
+            if (views[bucket] > 0) {
+                rows.add(new BucketViews(lessonId, bucket, views[bucket]));
+                viewed = true;
+            }
+        }
+        return viewed;
+    }
+
+    private WatchHeatmap heatmap(Integer lessonId) {
+        WatchHeatmap heatmap = heatmaps.get(lessonId);
+        if (heatmap != null) {
+            return heatmap;
+        }
+        // Chỉ chạy khi bài học chưa có histogram trong bộ nhớ; truy vấn nằm ngoài computeIfAbsent để không giữ khoá bin
+        if (!lessonRepository.existsById(lessonId)) {
+            throw new AppException(ErrorCode.LESSON_NOT_FOUND);
+        }
+        int bucketCount = WatchHeatmap.bucketCount(mediaAssetRepository.findLengthSecByLessonId(lessonId));
+        return heatmaps.computeIfAbsent(lessonId, id -> new WatchHeatmap(bucketCount));
+    }
+}
@@ -0,0 +1,111 @@
+package com.mxhieu.doantotnghiep.service.impl;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mxhieu.doantotnghiep.dto.request.DataMailDTO;
+import com.mxhieu.doantotnghiep.entity.MailOutboxEntity;
+import com.mxhieu.doantotnghiep.service.MailOutboxService;
+import com.mxhieu.doantotnghiep.service.MailService;
+import com.mxhieu.doantotnghiep.service.OutboundCallService;
+import com.mxhieu.doantotnghiep.utils.OutboundIntegration;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Lấy mail đến hạn trong bảng mailoutbox theo lô, render template và gửi cả lô qua
+ * một kết nối SMTP (JavaMailSender.send(MimeMessage...)). Mail lỗi được hẹn gửi lại với backoff.
+ */
+@Slf4j
+@Component
+public class MailOutboxDispatcher {
+    private final MailOutboxService mailOutboxService;
+    private final MailService mailService;
+    private final JavaMailSender javaMailSender;
+    private final OutboundCallService outboundCallService;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+
+    public MailOutboxDispatcher(MailOutboxService mailOutboxService,
+                                MailService mailService,
+                                JavaMailSender javaMailSender,
+                                OutboundCallService outboundCallService,
+                                ObjectMapper objectMapper,
+                                @Value("${mail.outbox.batch-size:50}") int batchSize) {
+        this.mailOutboxService = mailOutboxService;
+        this.mailService = mailService;
+        this.javaMailSender = javaMailSender;
+        this.outboundCallService = outboundCallService;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${mail.outbox.poll-ms:5000}")
+    public void dispatch() {
+        List<MailOutboxEntity> batch;
+        do {
+            batch = mailOutboxService.claimBatch(batchSize);
+            if (!batch.isEmpty()) {
+                sendBatch(batch);
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    void sendBatch(List<MailOutboxEntity> batch) {
+        // MimeMessage không override equals/hashCode nên map theo identity; LinkedHashMap giữ thứ tự đã claim (mail cũ gửi trước)
+        Map<MimeMessage, Integer> messages = new LinkedHashMap<>();
+        for (MailOutboxEntity mail : batch) {
+            try {
+                messages.put(mailService.createMessage(toDataMail(mail), mail.getTemplateName()), mail.getId());
+            } catch (Exception e) {
+                mailOutboxService.markFailed(mail.getId(), "Render failed: " + e.getMessage());
+            }
+        }
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        Throwable error = outboundCallService.call(OutboundIntegration.SMTP, () -> {
+            javaMailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+            return null;
+        }, e -> e);
+
+        Map<Integer, String> failures = new HashMap<>();
+        if (error instanceof MailSendException sendException && !sendException.getFailedMessages().isEmpty()) {
+            sendException.getFailedMessages().forEach((message, cause) -> {
+                Integer id = messages.get(message);
+                if (id != null) {
+                    failures.put(id, cause.getMessage());
+                }
+            });
+        } else if (error != null) {
+            messages.values().forEach(id -> failures.put(id, error.getMessage()));
+        }
+
+        List<Integer> sent = messages.values().stream().filter(id -> !failures.containsKey(id)).toList();
+        if (!sent.isEmpty()) {
+            mailOutboxService.markSent(sent);
+        }
+        failures.forEach(mailOutboxService::markFailed);
+        if (!failures.isEmpty()) {
+            log.warn("Mail outbox: {} sent, {} failed", sent.size(), failures.size());
+        }
+    }
+
+    private DataMailDTO toDataMail(MailOutboxEntity mail) throws Exception {
+        Map<String, Object> props = mail.getProps() == null
+                ? new HashMap<>()
+                : objectMapper.readValue(mail.getProps(), new TypeReference<Map<String, Object>>() {});
+        DataMailDTO dataMail = new DataMailDTO();
+        dataMail.setTo(mail.getRecipient());
+        dataMail.setSubject(mail.getSubject());
+        dataMail.setProps(props);
+        return dataMail;
+    }
+}
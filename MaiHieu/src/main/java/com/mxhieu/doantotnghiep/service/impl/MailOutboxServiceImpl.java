@@ -0,0 +1,130 @@
+package com.mxhieu.doantotnghiep.service.impl;
+
+import com.mxhieu.doantotnghiep.dto.response.MailOutboxResponse;
+import com.mxhieu.doantotnghiep.dto.response.MailOutboxSummaryResponse;
+import com.mxhieu.doantotnghiep.entity.MailOutboxEntity;
+import com.mxhieu.doantotnghiep.exception.AppException;
+import com.mxhieu.doantotnghiep.exception.ErrorCode;
+import com.mxhieu.doantotnghiep.repository.MailOutboxRepository;
+import com.mxhieu.doantotnghiep.service.MailOutboxService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Service
+public class MailOutboxServiceImpl implements MailOutboxService {
+    public static final String PENDING = "PENDING";
+    public static final String SENDING = "SENDING";
+    public static final String SENT = "SENT";
+    public static final String FAILED = "FAILED";
+
+    private final MailOutboxRepository mailOutboxRepository;
+    private final int maxAttempts;
+    private final long backoffBaseSeconds;
+    private final long leaseSeconds;
+
+    public MailOutboxServiceImpl(MailOutboxRepository mailOutboxRepository,
+                                 @Value("${mail.outbox.max-attempts:6}") int maxAttempts,
+                                 @Value("${mail.outbox.backoff-base-seconds:30}") long backoffBaseSeconds,
+                                 @Value("${mail.outbox.lease-seconds:600}") long leaseSeconds) {
+        this.mailOutboxRepository = mailOutboxRepository;
+        this.maxAttempts = maxAttempts;
+        this.backoffBaseSeconds = backoffBaseSeconds;
+        this.leaseSeconds = leaseSeconds;
+    }
+
+    // Đánh dấu SENDING kèm hạn lease: nếu tiến trình chết giữa chừng, mail sẽ được lấy lại khi hết lease
+    @Override
+    @Transactional
+    public List<MailOutboxEntity> claimBatch(int size) {
+        LocalDateTime now = LocalDateTime.now();
+        List<MailOutboxEntity> batch = mailOutboxRepository.findByStatusInAndNextAttemptAtLessThanEqualOrderByIdAsc(
+                List.of(PENDING, SENDING), now, PageRequest.of(0, size));
+        batch.forEach(mail -> {
+            mail.setStatus(SENDING);
+            mail.setNextAttemptAt(now.plusSeconds(leaseSeconds));
+        });
+        return batch;
+    }
+
+    @Override
+    @Transactional
+    public void markSent(Collection<Integer> ids) {
+        LocalDateTime now = LocalDateTime.now();
+        mailOutboxRepository.findAllById(ids).forEach(mail -> {
+            mail.setStatus(SENT);
+            mail.setSentAt(now);
+            mail.setLastError(null);
+            mail.setProps(null);
+            mail.setAttempts(mail.getAttempts() + 1);
+        });
+    }
+
+    // Backoff lũy thừa: base, 2*base, 4*base... tối đa 1 giờ; quá maxAttempts thì FAILED.
+    // Mọi template đều mang mật khẩu/OTP nên FAILED cũng xoá Props như SENT: không giữ bí mật vô thời hạn,
+    // mail lỗi hẳn không gửi lại được mà phải tạo lại (đặt lại mật khẩu, gửi lại OTP)
+    @Override
+    @Transactional
+    public void markFailed(Integer id, String error) {
+        mailOutboxRepository.findById(id).ifPresent(mail -> {
+            int attempts = mail.getAttempts() + 1;
+            mail.setAttempts(attempts);
+            mail.setLastError(error != null && error.length() > 1000 ? error.substring(0, 1000) : error);
+            if (attempts >= maxAttempts) {
+                mail.setStatus(FAILED);
+                mail.setProps(null);
+            } else {
+                long delay = Math.min(3600, backoffBaseSeconds << Math.min(attempts - 1, 20));
+                mail.setStatus(PENDING);
+                mail.setNextAttemptAt(LocalDateTime.now().plusSeconds(delay));
+            }
+        });
+    }
+
+    @Override
+    public List<MailOutboxSummaryResponse> getSummary() {
+        return mailOutboxRepository.summarizeByStatus().stream()
+                .map(row -> MailOutboxSummaryResponse.builder()
+                        .status((String) row[0])
+                        .total((Long) row[1])
+                        .oldestCreatedAt((LocalDateTime) row[2])
+                        .build())
+                .toList();
+    }
+
+    @Override
+    public List<MailOutboxResponse> getByStatus(String status, int limit) {
+        return mailOutboxRepository.findByStatusOrderByIdDesc(status, PageRequest.of(0, limit)).stream()
+                .map(mail -> MailOutboxResponse.builder()
+                        .id(mail.getId())
+                        .recipient(mail.getRecipient())
+                        .subject(mail.getSubject())
+                        .templateName(mail.getTemplateName())
+                        .status(mail.getStatus())
+                        .attempts(mail.getAttempts())
+                        .nextAttemptAt(mail.getNextAttemptAt())
+                        .lastError(mail.getLastError())
+                        .createdAt(mail.getCreatedAt())
+                        .sentAt(mail.getSentAt())
+                        .build())
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public void retry(Integer id) {
+        MailOutboxEntity mail = mailOutboxRepository.findById(id)
+                .orElseThrow(() -> new AppException(ErrorCode.MAIL_OUTBOX_NOT_FOUND));
+        if (SENT.equals(mail.getStatus()) || mail.getProps() == null) {
+            throw new AppException(ErrorCode.MAIL_OUTBOX_NOT_RETRYABLE);
+        }
+        mail.setStatus(PENDING);
+        mail.setAttempts(0);
+        mail.setNextAttemptAt(LocalDateTime.now());
+    }
+}
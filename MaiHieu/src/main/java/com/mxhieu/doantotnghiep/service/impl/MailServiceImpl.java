@@ -1,9 +1,15 @@
 package com.mxhieu.doantotnghiep.service.impl;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mxhieu.doantotnghiep.dto.request.DataMailDTO;
+import com.mxhieu.doantotnghiep.entity.MailOutboxEntity;
 import com.mxhieu.doantotnghiep.exception.AppException;
 import com.mxhieu.doantotnghiep.exception.ErrorCode;
+import com.mxhieu.doantotnghiep.repository.MailOutboxRepository;
 import com.mxhieu.doantotnghiep.service.MailService;
+import com.mxhieu.doantotnghiep.service.OutboundCallService;
+import com.mxhieu.doantotnghiep.utils.OutboundIntegration;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,33 +17,35 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.thymeleaf.context.Context;
 import org.thymeleaf.spring6.SpringTemplateEngine;
 
+import java.time.LocalDateTime;
+
 @Service
 public class MailServiceImpl implements MailService {
     @Autowired
     JavaMailSender javaMailSender;
     @Autowired
     SpringTemplateEngine templateEngine;
+    @Autowired
+    OutboundCallService outboundCallService;
+    @Autowired
+    MailOutboxRepository mailOutboxRepository;
+    @Autowired
+    ObjectMapper objectMapper;
     @Value("${spring.mail.username}")
     private String fromEmail;
     @Override
     public void sendMail(DataMailDTO dataMail, String templateName) throws MessagingException {
         try {
-            MimeMessage message = javaMailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "utf-8");
-
-            Context context = new Context();
-            context.setVariables(dataMail.getProps());
+            MimeMessage message = createMessage(dataMail, templateName);
 
-            String html = templateEngine.process(templateName, context);
-            helper.setFrom(fromEmail);
-            helper.setTo(dataMail.getTo());
-            helper.setSubject(dataMail.getSubject());
-            helper.setText(html, true);
-
-            javaMailSender.send(message);
+            outboundCallService.call(OutboundIntegration.SMTP, () -> {
+                javaMailSender.send(message);
+                return null;
+            });
 
         } catch (Exception e) {
             System.err.println("Email send failed: " + e.getMessage());
@@ -45,4 +53,40 @@ public class MailServiceImpl implements MailService {
         }
     }
 
+    @Override
+    @Transactional
+    public void queueMail(DataMailDTO dataMail, String templateName) {
+        try {
+            MailOutboxEntity mail = MailOutboxEntity.builder()
+                    .recipient(dataMail.getTo())
+                    .subject(dataMail.getSubject())
+                    .templateName(templateName)
+                    .props(objectMapper.writeValueAsString(dataMail.getProps()))
+                    .status(MailOutboxServiceImpl.PENDING)
+                    .attempts(0)
+                    .nextAttemptAt(LocalDateTime.now())
+                    .createdAt(LocalDateTime.now())
+                    .build();
+            mailOutboxRepository.save(mail);
+        } catch (JsonProcessingException e) {
+            throw new AppException(ErrorCode.EMAIL_SEND_FAILED);
+        }
+    }
+
+    @Override
+    public MimeMessage createMessage(DataMailDTO dataMail, String templateName) throws MessagingException {
+        MimeMessage message = javaMailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "utf-8");
+
+        Context context = new Context();
+        context.setVariables(dataMail.getProps());
+
+        String html = templateEngine.process(templateName, context);
+        helper.setFrom(fromEmail);
+        helper.setTo(dataMail.getTo());
+        helper.setSubject(dataMail.getSubject());
+        helper.setText(html, true);
+        return message;
+    }
+
 }
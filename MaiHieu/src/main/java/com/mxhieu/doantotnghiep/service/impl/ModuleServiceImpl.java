@@ -2,9 +2,12 @@ package com.mxhieu.doantotnghiep.service.impl;
 
 import com.mxhieu.doantotnghiep.converter.LessonConverter;
 import com.mxhieu.doantotnghiep.converter.ModuleConverter;
+import com.mxhieu.doantotnghiep.dto.request.CursorPageRequest;
 import com.mxhieu.doantotnghiep.dto.request.ModuleRequest;
+import com.mxhieu.doantotnghiep.dto.response.CursorPageResponse;
 import com.mxhieu.doantotnghiep.dto.response.LessonResponse;
 import com.mxhieu.doantotnghiep.dto.response.ModuleResponse;
+import com.mxhieu.doantotnghiep.dto.response.ModuleSummaryResponse;
 import com.mxhieu.doantotnghiep.dto.response.TestResponse;
 import com.mxhieu.doantotnghiep.entity.LessonEntity;
 import com.mxhieu.doantotnghiep.entity.ModuleEntity;
@@ -14,6 +17,8 @@ import com.mxhieu.doantotnghiep.exception.ErrorCode;
 import com.mxhieu.doantotnghiep.repository.LessonRepository;
 import com.mxhieu.doantotnghiep.repository.ModuleRepository;
 import com.mxhieu.doantotnghiep.repository.TestRepository;
+import com.mxhieu.doantotnghiep.service.CatalogCacheService;
+import com.mxhieu.doantotnghiep.service.ContentPayloadService;
 import com.mxhieu.doantotnghiep.service.LessonService;
 import com.mxhieu.doantotnghiep.service.ModuleService;
 import com.mxhieu.doantotnghiep.service.TestService;
@@ -36,14 +41,18 @@ public class ModuleServiceImpl implements ModuleService {
     private final LessonConverter lessonConverter;
     private final TestRepository testRepository;
     private final TestService testService;
+    private final CatalogCacheService catalogCacheService;
+    private final ContentPayloadService contentPayloadService;
 
+    @Transactional
     @Override
     public void addModule(ModuleRequest request) {
         ModuleEntity module = moduleConverter.toEntity(request,ModuleEntity.class);
-        if(module.getOrderIndex() <= getMaxOrder(request.getCourseId())){
-            moduleRepository.flushOrderIndex(request.getCourseId(), request.getOrderIndex());
-        }
+        // request.orderIndex là vị trí 1-based, đổi thành khoá thưa nên không phải dời các module phía sau
+        Long position = request.getOrderIndex() != null ? request.getOrderIndex() : getMaxOrder(request.getCourseId());
+        module.setOrderIndex(moduleRepository.orderKeyForPosition(request.getCourseId(), null, position));
         moduleRepository.save(module);
+        catalogCacheService.evictCourseStructure();
     }
 
     @Override
@@ -54,6 +63,11 @@ public class ModuleServiceImpl implements ModuleService {
                 .toList();
     }
 
+    @Override
+    public CursorPageResponse<ModuleSummaryResponse> getPage(CursorPageRequest request, Integer courseId) {
+        return moduleRepository.findSummaries(request, courseId);
+    }
+
     @Override
     public Long getMaxOrder(Integer courseId) {
         Long maxOrder = moduleRepository.getMaxOrder(courseId) + 1;
@@ -135,6 +149,7 @@ public class ModuleServiceImpl implements ModuleService {
         List<ModuleResponse> moduleResponseList = new ArrayList<>();
         for(ModuleEntity moduleEntity : moduleEntities) {
             ModuleResponse moduleResponse = moduleConverter.toResponseByTeacherOrAdmin(moduleEntity);
+            moduleResponse.setOrderIndex((long) moduleResponseList.size() + 1);
             moduleResponse.setLessons(lessonConverter.toResponseByTeacherOrAdmin(moduleEntity.getLessons()));
             moduleResponseList.add(moduleResponse);
         }
@@ -145,33 +160,34 @@ public class ModuleServiceImpl implements ModuleService {
     @Override
     public void updateModule(ModuleRequest request) {
         ModuleEntity moduleEntity = moduleRepository.findById(request.getId()).orElseThrow(() -> new AppException(ErrorCode.MODULE_NOT_FOUND));
-        Long newIndext = request.getOrderIndex();
-        Long oldIndext = moduleEntity.getOrderIndex();
         Integer courseId = moduleEntity.getCourse().getId();
 
-        moduleRepository.decreaseOrderIndex(courseId, oldIndext);
-        Long maxIndex = getMaxOrder(courseId);
-
-
         moduleEntity.setTitle(request.getTitle());
-        if (newIndext < maxIndex) {
-            moduleRepository.flushOrderIndex(courseId, request.getOrderIndex());
-        }else{
-            newIndext = maxIndex;
+        if (request.getOrderIndex() != null) {
+            // Chỉ ghi lại khoá của chính module này, các module khác giữ nguyên
+            moduleEntity.setOrderIndex(moduleRepository.orderKeyForPosition(courseId, moduleEntity.getId(), request.getOrderIndex()));
         }
-        moduleEntity.setOrderIndex(newIndext);
         moduleRepository.save(moduleEntity);
+        catalogCacheService.evictCourseStructure();
     }
 
     @Override
     public void deleteModule(Integer id) {
-        ModuleEntity moduleEntity = moduleRepository.findById(id).orElseThrow(() -> new AppException(ErrorCode.MODULE_NOT_FOUND));
-        Long index = moduleEntity.getOrderIndex();
-        Integer courseId = moduleEntity.getCourse().getId();
-
-        moduleRepository.decreaseOrderIndex(courseId, index);
-
+        // Khoá thưa cho phép để lại khoảng trống, không cần dời các module phía sau
+        moduleRepository.findById(id).orElseThrow(() -> new AppException(ErrorCode.MODULE_NOT_FOUND));
         moduleRepository.deleteById(id);
+        catalogCacheService.evictCourseStructure();
+        // Bài tập và test của module bị xoá theo
+        contentPayloadService.evictAll();
+    }
+
+    @Transactional
+    @Override
+    public void reorderModules(Integer courseId, List<Integer> moduleIds) {
+        if (!moduleRepository.applyOrder(courseId, moduleIds)) {
+            throw new AppException(ErrorCode.ORDER_LIST_MISMATCH);
+        }
+        catalogCacheService.evictCourseStructure();
     }
 
     @Override
@@ -0,0 +1,58 @@
+package com.mxhieu.doantotnghiep.service.impl;
+
+import com.mxhieu.doantotnghiep.repository.ExerciseRepository;
+import com.mxhieu.doantotnghiep.repository.LessonRepository;
+import com.mxhieu.doantotnghiep.repository.ModuleRepository;
+import com.mxhieu.doantotnghiep.service.CatalogCacheService;
+import com.mxhieu.doantotnghiep.service.ContentPayloadService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Định kỳ đánh số lại OrderIndex của những nhóm module/lesson/exercise có khoá đã quá sát nhau,
+ * để thao tác chèn/di chuyển trong request gần như không bao giờ phải tự rebalance.
+ * Mỗi nhóm chạy trong transaction riêng (rebalanceOrderIndex) nên không giữ khoá lâu.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderIndexRebalancer {
+    private final ModuleRepository moduleRepository;
+    private final LessonRepository lessonRepository;
+    private final ExerciseRepository exerciseRepository;
+    private final CatalogCacheService catalogCacheService;
+    private final ContentPayloadService contentPayloadService;
+
+    @Scheduled(fixedDelayString = "${order-index.rebalance-ms:600000}", initialDelayString = "${order-index.rebalance-ms:600000}")
+    public void rebalance() {
+        int courses = rebalanceEach(moduleRepository.findCoursesWithCrowdedOrder(), moduleRepository::rebalanceOrderIndex);
+        int modules = rebalanceEach(lessonRepository.findModulesWithCrowdedOrder(), lessonRepository::rebalanceOrderIndex);
+        int lessons = rebalanceEach(exerciseRepository.findLessonsWithCrowdedOrder(), lessonId -> {
+            exerciseRepository.rebalanceOrderIndex(lessonId);
+            // OrderIndex nằm trong body bài tập đã cache
+            contentPayloadService.evictExercises(exerciseRepository.findAllExerciseIdsByLessonId(lessonId));
+        });
+        if (courses + modules + lessons > 0) {
+            catalogCacheService.evictCourseStructure();
+            log.info("Đã đánh số lại OrderIndex: {} khoá học, {} module, {} lesson", courses, modules, lessons);
+        }
+    }
+
+    private int rebalanceEach(List<Integer> parentIds, Consumer<Integer> rebalance) {
+        int done = 0;
+        for (Integer parentId : parentIds) {
+            try {
+                rebalance.accept(parentId);
+                done++;
+            } catch (RuntimeException e) {
+                log.warn("Không đánh số lại được OrderIndex của nhóm {}: {}", parentId, e.getMessage());
+            }
+        }
+        return done;
+    }
+}
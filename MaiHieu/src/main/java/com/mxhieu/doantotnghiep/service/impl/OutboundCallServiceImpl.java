@@ -0,0 +1,194 @@
+package com.mxhieu.doantotnghiep.service.impl;
+
+import com.mxhieu.doantotnghiep.exception.AppException;
+import com.mxhieu.doantotnghiep.exception.ErrorCode;
+import com.mxhieu.doantotnghiep.service.OutboundCallService;
+import com.mxhieu.doantotnghiep.utils.OutboundIntegration;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Chạy các lời gọi blocking ra dịch vụ ngoài trên pool riêng của từng dịch vụ (bulkhead).
+ * Thread gọi (thường là thread Tomcat) vẫn chờ kết quả, nhưng tối đa timeout-ms; khi pool và hàng đợi đã đầy
+ * thì bị từ chối ngay. Nhờ vậy một dịch vụ chậm chỉ giữ được tối đa concurrency + queue-capacity thread Tomcat,
+ * mỗi thread không quá timeout-ms, thay vì kéo theo mọi API học tập. Đây là giới hạn độ trễ, không phải giải phóng thread.
+ * Java 17 chưa có virtual thread nên mỗi pool là platform thread có giới hạn, hàng đợi ngắn.
+ */
+@Slf4j
+@Service
+public class OutboundCallServiceImpl implements OutboundCallService {
+    private final Map<OutboundIntegration, Bulkhead> bulkheads = new EnumMap<>(OutboundIntegration.class);
+
+    public OutboundCallServiceImpl(Environment environment, MeterRegistry meterRegistry) {
+        for (OutboundIntegration integration : OutboundIntegration.values()) {
+            bulkheads.put(integration, new Bulkhead(integration, environment, meterRegistry));
+        }
+    }
+
+    @Override
+    public <T> T call(OutboundIntegration integration, Callable<T> call, Function<Throwable, T> fallback) {
+        try {
+            return bulkheads.get(integration).execute(call);
+        } catch (Throwable e) {
+            log.warn("Outbound call {} failed: {}", integration.getKey(), e.toString());
+            return fallback.apply(e);
+        }
+    }
+
+    @Override
+    public <T> T call(OutboundIntegration integration, Callable<T> call) {
+        return call(integration, call, e -> {
+            if (e instanceof AppException appException) {
+                throw appException;
+            }
+            throw new AppException(ErrorCode.EXTERNAL_SERVICE_UNAVAILABLE);
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        bulkheads.values().forEach(bulkhead -> bulkhead.executor.shutdownNow());
+    }
+
+    private static final class Bulkhead {
+        private final OutboundIntegration integration;
+        private final ThreadPoolExecutor executor;
+        private final long timeoutMs;
+        private final int failureThreshold;
+        private final long openMs;
+
+        // Circuit breaker: mở sau failureThreshold lỗi liên tiếp, sau openMs cho đúng 1 lời gọi thử (half-open)
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private final AtomicLong openUntil = new AtomicLong();
+        private final AtomicBoolean halfOpenTrial = new AtomicBoolean();
+
+        private final Timer queueTimer;
+        private final Timer successTimer;
+        private final Timer failureTimer;
+        private final Counter rejectedCounter;
+        private final Counter timeoutCounter;
+        private final Counter shortCircuitCounter;
+
+        Bulkhead(OutboundIntegration integration, Environment environment, MeterRegistry registry) {
+            this.integration = integration;
+            String prefix = "outbound." + integration.getKey() + ".";
+            int concurrency = environment.getProperty(prefix + "concurrency", Integer.class, integration.getConcurrency());
+            int queueCapacity = environment.getProperty(prefix + "queue-capacity", Integer.class, integration.getQueueCapacity());
+            this.timeoutMs = environment.getProperty(prefix + "timeout-ms", Long.class, integration.getTimeoutMs());
+            this.failureThreshold = environment.getProperty(prefix + "failure-threshold", Integer.class, 5);
+            this.openMs = environment.getProperty(prefix + "open-ms", Long.class, 30_000L);
+
+            AtomicInteger threadCount = new AtomicInteger();
+            this.executor = new ThreadPoolExecutor(concurrency, concurrency, 60, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "outbound-" + integration.getKey() + "-" + threadCount.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    new ThreadPoolExecutor.AbortPolicy());
+            this.executor.allowCoreThreadTimeOut(true);
+
+            String tag = integration.getKey();
+            this.queueTimer = Timer.builder("outbound.queue").tag("integration", tag).register(registry);
+            this.successTimer = Timer.builder("outbound.latency").tag("integration", tag).tag("outcome", "success").register(registry);
+            this.failureTimer = Timer.builder("outbound.latency").tag("integration", tag).tag("outcome", "failure").register(registry);
+            this.rejectedCounter = Counter.builder("outbound.rejected").tag("integration", tag).tag("reason", "bulkhead_full").register(registry);
+            this.timeoutCounter = Counter.builder("outbound.rejected").tag("integration", tag).tag("reason", "timeout").register(registry);
+            this.shortCircuitCounter = Counter.builder("outbound.rejected").tag("integration", tag).tag("reason", "circuit_open").register(registry);
+            Gauge.builder("outbound.active", executor, ThreadPoolExecutor::getActiveCount).tag("integration", tag).register(registry);
+            Gauge.builder("outbound.queued", executor, e -> e.getQueue().size()).tag("integration", tag).register(registry);
+            Gauge.builder("outbound.circuit.open", this, b -> b.isOpen() ? 1 : 0).tag("integration", tag).register(registry);
+        }
+
+        <T> T execute(Callable<T> call) throws Exception {
+            boolean trial = acquirePermission();
+            long submittedAt = System.nanoTime();
+            Future<T> future;
+            try {
+                future = executor.submit(() -> {
+                    long startedAt = System.nanoTime();
+                    queueTimer.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+                    try {
+                        T result = call.call();
+                        successTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                        return result;
+                    } catch (Exception e) {
+                        failureTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                        throw e;
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                rejectedCounter.increment();
+                if (trial) {
+                    halfOpenTrial.set(false);
+                }
+                throw e;
+            }
+
+            try {
+                T result = future.get(timeoutMs, TimeUnit.MILLISECONDS);
+                onSuccess();
+                return result;
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                timeoutCounter.increment();
+                onFailure();
+                throw e;
+            } catch (ExecutionException e) {
+                onFailure();
+                throw e.getCause() instanceof Exception cause ? cause : e;
+            } catch (InterruptedException e) {
+                future.cancel(true);
+                Thread.currentThread().interrupt();
+                if (trial) {
+                    halfOpenTrial.set(false);
+                }
+                throw e;
+            }
+        }
+
+        private boolean isOpen() {
+            return openUntil.get() > System.currentTimeMillis();
+        }
+
+        private boolean acquirePermission() {
+            long until = openUntil.get();
+            if (until == 0) {
+                return false;
+            }
+            if (until > System.currentTimeMillis() || !halfOpenTrial.compareAndSet(false, true)) {
+                shortCircuitCounter.increment();
+                throw new IllegalStateException("Circuit open for " + integration.getKey());
+            }
+            return true;
+        }
+
+        private void onSuccess() {
+            consecutiveFailures.set(0);
+            openUntil.set(0);
+            halfOpenTrial.set(false);
+        }
+
+        private void onFailure() {
+            if (consecutiveFailures.incrementAndGet() >= failureThreshold || halfOpenTrial.get()) {
+                openUntil.set(System.currentTimeMillis() + openMs);
+                halfOpenTrial.set(false);
+            }
+        }
+    }
+}
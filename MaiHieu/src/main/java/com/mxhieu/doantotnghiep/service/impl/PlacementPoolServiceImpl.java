@@ -0,0 +1,119 @@
+package com.mxhieu.doantotnghiep.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mxhieu.doantotnghiep.converter.AssessmentConverter;
+import com.mxhieu.doantotnghiep.dto.response.ApiResponse;
+import com.mxhieu.doantotnghiep.dto.response.AssessmentResponse;
+import com.mxhieu.doantotnghiep.entity.AssessmentEntity;
+import com.mxhieu.doantotnghiep.exception.AppException;
+import com.mxhieu.doantotnghiep.exception.ErrorCode;
+import com.mxhieu.doantotnghiep.repository.AssessmentQuestionRepository;
+import com.mxhieu.doantotnghiep.repository.AssessmentRepository;
+import com.mxhieu.doantotnghiep.service.PlacementPoolService;
+import com.mxhieu.doantotnghiep.utils.AfterCommit;
+import com.mxhieu.doantotnghiep.utils.Const;
+import com.mxhieu.doantotnghiep.utils.ContentPayload;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Kho bài test đầu vào: danh sách bài đủ điều kiện cùng body JSON đã render và nén gzip (ContentPayload) của từng bài,
+ * dựng một lần khi cần rồi dùng lại cho mọi học viên mới. Mỗi request chỉ còn bốc ngẫu nhiên một mảng byte.
+ * Sửa đề thì bỏ cả kho, lần gọi sau dựng lại (việc soạn đề hiếm so với lượt làm bài đầu vào).
+ */
+@Slf4j
+@Service
+public class PlacementPoolServiceImpl implements PlacementPoolService {
+    private final AssessmentRepository assessmentRepository;
+    private final AssessmentQuestionRepository assessmentQuestionRepository;
+    private final AssessmentConverter assessmentConverter;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    // Tăng mỗi lần bỏ kho, kho dựng xong mà thế hệ đã đổi (đề vừa bị sửa) thì không được dùng lại
+    private final AtomicLong generation = new AtomicLong();
+    private volatile List<ContentPayload> pool;
+
+    public PlacementPoolServiceImpl(AssessmentRepository assessmentRepository,
+                                    AssessmentQuestionRepository assessmentQuestionRepository,
+                                    AssessmentConverter assessmentConverter,
+                                    ObjectMapper objectMapper,
+                                    PlatformTransactionManager transactionManager) {
+        this.assessmentRepository = assessmentRepository;
+        this.assessmentQuestionRepository = assessmentQuestionRepository;
+        this.assessmentConverter = assessmentConverter;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public ContentPayload getRandomPayload() {
+        List<ContentPayload> payloads = pool();
+        if (payloads.isEmpty()) {
+            throw new AppException(ErrorCode.TEST_NOT_FOUND);
+        }
+        return payloads.get(ThreadLocalRandom.current().nextInt(payloads.size()));
+    }
+
+    @Override
+    public void evictPlacementPool() {
+        AfterCommit.run(this::invalidate);
+    }
+
+    private void invalidate() {
+        generation.incrementAndGet();
+        pool = null;
+    }
+
+    private List<ContentPayload> pool() {
+        List<ContentPayload> payloads = pool;
+        if (payloads != null) {
+            return payloads;
+        }
+        synchronized (this) {
+            if (pool != null) {
+                return pool;
+            }
+            long buildGeneration = generation.get();
+            payloads = build();
+            if (generation.get() == buildGeneration) {
+                pool = payloads;
+            }
+            return payloads;
+        }
+    }
+
+    private List<ContentPayload> build() {
+        List<ContentPayload> payloads = readOnlyTransaction.execute(status -> {
+            List<ContentPayload> rendered = new ArrayList<>();
+            // Lọc bài ít câu hỏi bằng 1 query đếm, mỗi bài đủ điều kiện nạp cây đề 2 query
+            for (Integer testId : assessmentQuestionRepository.findTestIdsWithMinQuestions(Const.PLACEMENT.TEST_TYPE, Const.PLACEMENT.MIN_QUESTIONS)) {
+                List<AssessmentEntity> assessmentEntities = assessmentRepository.findWithQuestionsByTestId(testId);
+                assessmentQuestionRepository.fetchOptionsByTestId(testId);
+                rendered.add(ContentPayload.of(render(assessmentConverter.toTestDetailResponses(assessmentEntities))));
+            }
+            return rendered;
+        });
+        log.info("Placement pool: {} bài test đầu vào", payloads.size());
+        return List.copyOf(payloads);
+    }
+
+    private byte[] render(List<AssessmentResponse> assessmentResponses) {
+        try {
+            return objectMapper.writeValueAsBytes(ApiResponse.<List<AssessmentResponse>>builder()
+                    .code(200)
+                    .data(assessmentResponses)
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.mxhieu.doantotnghiep.service.impl;
+
+import com.google.common.cache.Cache;
+import com.mxhieu.doantotnghiep.dto.request.UserPrincipalDTO;
+import com.mxhieu.doantotnghiep.entity.RoleEntity;
+import com.mxhieu.doantotnghiep.exception.AppException;
+import com.mxhieu.doantotnghiep.exception.ErrorCode;
+import com.mxhieu.doantotnghiep.repository.RoleRepository;
+import com.mxhieu.doantotnghiep.repository.UserRepository;
+import com.mxhieu.doantotnghiep.service.PrincipalService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class PrincipalServiceImpl implements PrincipalService {
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final Cache<String, List<String>> roleCache;
+
+    @Override
+    public UserPrincipalDTO resolve(String email) {
+        UserPrincipalDTO principal = userRepository.findPrincipalByEmail(email)
+                .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_EXISTS));
+        roleCache.put(email, List.copyOf(principal.getRoles()));
+        return principal;
+    }
+
+    @Override
+    public List<String> getRoles(String email) {
+        List<String> roles = roleCache.getIfPresent(email);
+        if (roles == null) {
+            roles = roleRepository.findByEmail(email)
+                    .orElseThrow(() -> new AppException(ErrorCode.ROLE_NOT_FOUND))
+                    .stream()
+                    .map(RoleEntity::getValue)
+                    .toList();
+            roleCache.put(email, roles);
+        }
+        return roles;
+    }
+
+    @Override
+    public void evictRoles(String email) {
+        if (email != null) {
+            roleCache.invalidate(email);
+        }
+    }
+}
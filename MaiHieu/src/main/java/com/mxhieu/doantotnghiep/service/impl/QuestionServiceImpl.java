@@ -11,6 +11,8 @@ import com.mxhieu.doantotnghiep.repository.ChoiceRepository;
 import com.mxhieu.doantotnghiep.repository.ExerciseRepository;
 import com.mxhieu.doantotnghiep.repository.MediaQuestionRepository;
 import com.mxhieu.doantotnghiep.repository.QuestionRepository;
+import com.mxhieu.doantotnghiep.service.ContentPayloadService;
+import com.mxhieu.doantotnghiep.service.GradingService;
 import com.mxhieu.doantotnghiep.service.QuestionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -30,6 +32,8 @@ public class QuestionServiceImpl implements QuestionService {
     private final ChoiceRepository choiceRepository;
 
     private final ExerciseRepository exerciseRepository;
+    private final GradingService gradingService;
+    private final ContentPayloadService contentPayloadService;
     @Override
     public void createQuestionAndChoices(QuestionRequest questionRequest, MultipartFile file) {
         ExerciseEntity exerciseEntity = exerciseRepository.findById(questionRequest.getExerciseId()).orElseThrow(()-> new RuntimeException("Exercise not found"));
@@ -80,6 +84,8 @@ public class QuestionServiceImpl implements QuestionService {
         }
         questionEntity.setChoices(choiceEntities);
         questionRepository.save(questionEntity);
+        gradingService.evictExerciseAnswerKeys();
+        contentPayloadService.evictExercises(List.of(exerciseEntity.getId()));
     }
 
 
@@ -87,6 +93,8 @@ public class QuestionServiceImpl implements QuestionService {
     public void deleteQuestionAndChoies(int id) {
         QuestionEntity questionEntity = questionRepository.findById(id).orElseThrow(()-> new RuntimeException("Question not found"));
         questionRepository.delete(questionEntity);
+        gradingService.evictExerciseAnswerKeys();
+        contentPayloadService.evictExercises(List.of(questionEntity.getExercise().getId()));
     }
 
     @Transactional
@@ -148,6 +156,8 @@ public class QuestionServiceImpl implements QuestionService {
             choiceEntitiesNow.add(choiceEntity);
         }
         questionRepository.save(questionEntity);
+        gradingService.evictExerciseAnswerKeys();
+        contentPayloadService.evictExercises(List.of(exerciseEntity.getId()));
     }
 
     private List<ChoiceEntity> createChoices(QuestionEntity questionEntity, List<String> content, Object answer) {
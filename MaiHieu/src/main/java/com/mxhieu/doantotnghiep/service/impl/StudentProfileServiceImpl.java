@@ -1,10 +1,14 @@
 package com.mxhieu.doantotnghiep.service.impl;
 
 import com.mxhieu.doantotnghiep.converter.StudentProfileConverter;
+import com.mxhieu.doantotnghiep.converter.mapper.UserMapper;
+import com.mxhieu.doantotnghiep.dto.request.CursorPageRequest;
 import com.mxhieu.doantotnghiep.dto.request.DataMailDTO;
 import com.mxhieu.doantotnghiep.dto.request.StudentprofileRequest;
 import com.mxhieu.doantotnghiep.dto.request.TeacherprofileRequest;
+import com.mxhieu.doantotnghiep.dto.response.CursorPageResponse;
 import com.mxhieu.doantotnghiep.dto.response.StudentprofileResponse;
+import com.mxhieu.doantotnghiep.dto.response.StudentprofileSummaryResponse;
 import com.mxhieu.doantotnghiep.entity.*;
 import com.mxhieu.doantotnghiep.exception.AppException;
 import com.mxhieu.doantotnghiep.exception.ErrorCode;
@@ -17,8 +21,8 @@ import com.mxhieu.doantotnghiep.service.VerificationService;
 import com.mxhieu.doantotnghiep.utils.PasswordUtil;
 import jakarta.mail.MessagingException;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -32,15 +36,16 @@ public class StudentProfileServiceImpl implements StudentProfileService {
 
     private final StudentProfileRepository studentProfileRepository;
     private final MailService mailService;
-    private final ModelMapper modelMapper;
+    private final UserMapper userMapper;
     private final UserService userService;
     private final UserRepository userRepository;
     private final VerificationService verificationService;
     private final StudentProfileConverter studentProfileConverter;
 
+    @Transactional
     @Override
     public void createStudentProfile(StudentprofileRequest request) {
-        UserEntity user = modelMapper.map(request, UserEntity.class);
+        UserEntity user = userMapper.toEntity(request);
         userService.createStudent(user, request.getOtp());
         UserEntity savedUser = userRepository.findByEmail(request.getEmail()).get();
         StudentProfileEntity studentProfileEntity = new StudentProfileEntity();
@@ -54,6 +59,11 @@ public class StudentProfileServiceImpl implements StudentProfileService {
         return studentProfiles.stream().map(studentProfile -> studentProfileConverter.toResponse(studentProfile, StudentprofileResponse.class)).toList();
     }
 
+    @Override
+    public CursorPageResponse<StudentprofileSummaryResponse> getStudentProfilesPage(CursorPageRequest request, String status, String placementLevel) {
+        return studentProfileRepository.findSummaries(request, status, placementLevel);
+    }
+
     @Override
     public StudentprofileResponse getStudentProfileById(int id) {
         StudentProfileEntity studentProfile = studentProfileRepository.findById(id)
@@ -0,0 +1,38 @@
+package com.mxhieu.doantotnghiep.service.impl;
+
+import com.google.common.util.concurrent.Striped;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.locks.Lock;
+import java.util.function.Supplier;
+
+/**
+ * Chạy tuần tự các chuỗi cập nhật tiến độ (hoàn thành bài → mở bài/khoá học/track kế tiếp) của cùng một học viên.
+ * Khoá sọc theo studentProfileId, mỗi chuỗi nằm trong một transaction và chỉ nhả khoá sau khi commit,
+ * nên hai sự kiện đồng thời của một học viên không cùng dựa trên một trạng thái cũ.
+ * Giữa các instance thì dựa vào upsert trên unique key và các UPDATE có điều kiện.
+ */
+@Component
+public class StudentProgressSerializer {
+    private final Striped<Lock> locks;
+    private final TransactionTemplate transaction;
+
+    public StudentProgressSerializer(@Value("${progress.lock-stripes:256}") int stripes,
+                                     PlatformTransactionManager transactionManager) {
+        this.locks = Striped.lock(stripes);
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    public <T> T run(Integer studentProfileId, Supplier<T> cascade) {
+        Lock lock = locks.get(studentProfileId);
+        lock.lock();
+        try {
+            return transaction.execute(status -> cascade.get());
+        } finally {
+            lock.unlock();
+        }
+    }
+}
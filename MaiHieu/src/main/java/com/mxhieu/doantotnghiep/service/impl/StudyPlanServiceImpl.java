@@ -11,6 +11,7 @@ import com.mxhieu.doantotnghiep.service.*;
 import com.mxhieu.doantotnghiep.utils.ModuleType;
 import lombok.*;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -184,8 +185,9 @@ public class StudyPlanServiceImpl implements StudyPlanService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public InformationOfStudyPlanResponse getInformation(Integer studyPlanId) {
-        StudyPlanEntity studyPlanEntity = studyPlanRepository.findById(studyPlanId).orElseThrow(()->new AppException(ErrorCode.STUDYPLAN_NOT_FOUND));
+        StudyPlanEntity studyPlanEntity = studyPlanRepository.findDetailById(studyPlanId).orElseThrow(()->new AppException(ErrorCode.STUDYPLAN_NOT_FOUND));
         StudentProfileEntity studentProfile = studyPlanEntity.getStudentProfile();
         int tongSoNgay = studyPlanEntity.getSoLuongNgayHoc();
         int soNgayDaHoc = tinhSoNgayDaHoc(studyPlanEntity.getNgayHocTrongTuan(),studyPlanEntity.getStartDate());
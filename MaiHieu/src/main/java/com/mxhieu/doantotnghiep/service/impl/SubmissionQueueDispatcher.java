@@ -0,0 +1,67 @@
+package com.mxhieu.doantotnghiep.service.impl;
+
+import com.mxhieu.doantotnghiep.service.SubmissionQueueService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Xả hàng đợi bài nộp: lấy theo lô và ghi cả lô trong một transaction. Lô lỗi (thường do một bài hỏng,
+ * ví dụ câu hỏi vừa bị xoá) được ghi lại từng bài để chỉ bài lỗi phải thử lại.
+ */
+@Slf4j
+@Component
+public class SubmissionQueueDispatcher {
+    private final SubmissionQueueService submissionQueueService;
+    private final int batchSize;
+
+    public SubmissionQueueDispatcher(SubmissionQueueService submissionQueueService,
+                                     @Value("${submission.queue.batch-size:50}") int batchSize) {
+        this.submissionQueueService = submissionQueueService;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${submission.queue.poll-ms:500}")
+    public void dispatch() {
+        List<Integer> batch;
+        do {
+            batch = submissionQueueService.claimBatch(batchSize);
+            if (!batch.isEmpty()) {
+                writeBatch(batch);
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    @Scheduled(fixedDelayString = "${submission.queue.purge-ms:3600000}", initialDelayString = "${submission.queue.purge-ms:3600000}")
+    public void purge() {
+        int purged = submissionQueueService.purgeWritten();
+        if (purged > 0) {
+            log.info("Submission queue: đã dọn {} bài nộp đã ghi", purged);
+        }
+    }
+
+    void writeBatch(List<Integer> batch) {
+        try {
+            submissionQueueService.writeBatch(batch);
+            return;
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                submissionQueueService.markFailed(batch.get(0), e.getMessage());
+                log.warn("Submission queue: ghi bài nộp {} lỗi: {}", batch.get(0), e.getMessage());
+                return;
+            }
+            log.warn("Submission queue: ghi lô {} bài lỗi, ghi lại từng bài: {}", batch.size(), e.getMessage());
+        }
+        for (Integer id : batch) {
+            try {
+                submissionQueueService.writeBatch(List.of(id));
+            } catch (RuntimeException e) {
+                submissionQueueService.markFailed(id, e.getMessage());
+                log.warn("Submission queue: ghi bài nộp {} lỗi: {}", id, e.getMessage());
+            }
+        }
+    }
+}
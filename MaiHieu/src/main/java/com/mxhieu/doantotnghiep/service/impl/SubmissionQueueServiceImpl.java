@@ -0,0 +1,285 @@
+package com.mxhieu.doantotnghiep.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mxhieu.doantotnghiep.config.ReadFromPrimary;
+import com.mxhieu.doantotnghiep.dto.request.AssessmentAnswerRequest;
+import com.mxhieu.doantotnghiep.dto.request.AssessmentAttemptRequest;
+import com.mxhieu.doantotnghiep.dto.request.EnrollmentRequest;
+import com.mxhieu.doantotnghiep.dto.request.TestAttemptRequest;
+import com.mxhieu.doantotnghiep.dto.response.SubmissionResponse;
+import com.mxhieu.doantotnghiep.entity.*;
+import com.mxhieu.doantotnghiep.exception.AppException;
+import com.mxhieu.doantotnghiep.exception.ErrorCode;
+import com.mxhieu.doantotnghiep.repository.*;
+import com.mxhieu.doantotnghiep.service.EnrollmentServece;
+import com.mxhieu.doantotnghiep.service.SubmissionQueueService;
+import com.mxhieu.doantotnghiep.utils.AnswerKey;
+import com.mxhieu.doantotnghiep.utils.Const;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Hàng đợi ghi bài nộp (bảng submissionqueue). Request nộp bài chấm xong chỉ ghi 1 dòng chứa câu trả lời đã chấm;
+ * SubmissionQueueDispatcher lấy theo lô và ghi cây testattempt -> assessmentattempt -> assessmentanswer
+ * của cả lô trong một transaction (ID cấp theo khối nên INSERT được gom batch), kèm enrollment của bài test đầu vào.
+ */
+@Service
+public class SubmissionQueueServiceImpl implements SubmissionQueueService {
+    public static final String FIRST_TEST = "FIRST_TEST";
+    public static final String MINI_TEST = "MINI_TEST";
+
+    public static final String PENDING = "PENDING";
+    public static final String PROCESSING = "PROCESSING";
+    public static final String DONE = "DONE";
+    public static final String FAILED = "FAILED";
+
+    private final SubmissionQueueRepository submissionQueueRepository;
+    private final TestAttemptRepository testAttemptRepository;
+    private final TestRepository testRepository;
+    private final StudentProfileRepository studentProfileRepository;
+    private final AssessmentRepository assessmentRepository;
+    private final AssessmentQuestionRepository assessmentQuestionRepository;
+    private final AssessmentOptionRepository assessmentOptionRepository;
+    private final EnrollmentServece enrollmentServece;
+    private final ObjectMapper objectMapper;
+    private final int maxAttempts;
+    private final long backoffBaseSeconds;
+    private final long leaseSeconds;
+    private final long retentionHours;
+
+    public SubmissionQueueServiceImpl(SubmissionQueueRepository submissionQueueRepository,
+                                      TestAttemptRepository testAttemptRepository,
+                                      TestRepository testRepository,
+                                      StudentProfileRepository studentProfileRepository,
+                                      AssessmentRepository assessmentRepository,
+                                      AssessmentQuestionRepository assessmentQuestionRepository,
+                                      AssessmentOptionRepository assessmentOptionRepository,
+                                      EnrollmentServece enrollmentServece,
+                                      ObjectMapper objectMapper,
+                                      @Value("${submission.queue.max-attempts:5}") int maxAttempts,
+                                      @Value("${submission.queue.backoff-base-seconds:10}") long backoffBaseSeconds,
+                                      @Value("${submission.queue.lease-seconds:300}") long leaseSeconds,
+                                      @Value("${submission.queue.retention-hours:48}") long retentionHours) {
+        this.submissionQueueRepository = submissionQueueRepository;
+        this.testAttemptRepository = testAttemptRepository;
+        this.testRepository = testRepository;
+        this.studentProfileRepository = studentProfileRepository;
+        this.assessmentRepository = assessmentRepository;
+        this.assessmentQuestionRepository = assessmentQuestionRepository;
+        this.assessmentOptionRepository = assessmentOptionRepository;
+        this.enrollmentServece = enrollmentServece;
+        this.objectMapper = objectMapper;
+        this.maxAttempts = maxAttempts;
+        this.backoffBaseSeconds = backoffBaseSeconds;
+        this.leaseSeconds = leaseSeconds;
+        this.retentionHours = retentionHours;
+    }
+
+    // Lần nộp đã có (retry): trả lại đúng kết quả cũ, không chấm và không xếp hàng lại
+    @Override
+    public Optional<SubmissionResponse> findSubmitted(String submissionKey, Integer studentProfileId, Integer testId) {
+        if (submissionKey == null) {
+            return Optional.empty();
+        }
+        checkKey(submissionKey);
+        Optional<SubmissionQueueEntity> queued = submissionQueueRepository.findBySubmissionKey(submissionKey);
+        if (queued.isPresent()) {
+            return Optional.of(toResponse(checkOwner(queued.get(), studentProfileId, testId)));
+        }
+        // Dòng hàng đợi đã ghi xong có thể đã bị dọn, attempt vẫn giữ SubmissionKey
+        return testAttemptRepository.findBySubmissionKey(submissionKey).map(attempt -> {
+            if (!Objects.equals(attempt.getStudentProfile().getId(), studentProfileId) || !Objects.equals(attempt.getTest().getId(), testId)) {
+                throw new AppException(ErrorCode.SUBMISSION_KEY_CONFLICT);
+            }
+            return SubmissionResponse.builder()
+                    .submissionKey(submissionKey)
+                    .status(DONE)
+                    .totalScore(attempt.getTotalScore())
+                    .testAttemptId(attempt.getId())
+                    .build();
+        });
+    }
+
+    @Override
+    @Transactional
+    public SubmissionResponse enqueue(String submissionKey, String kind, Integer studentProfileId, Integer testId,
+                                      AnswerKey.Grade grade, TestAttemptRequest gradedAnswers) {
+        // Không có key thì không chống được gửi trùng, chỉ sinh key để theo dõi trạng thái
+        String key = submissionKey != null ? submissionKey : UUID.randomUUID().toString();
+        checkKey(key);
+        submissionQueueRepository.insertIfAbsent(key, kind, studentProfileId, testId, grade.percentExact(),
+                grade.correctQuestions(), grade.totalQuestions(), toJson(gradedAnswers), LocalDateTime.now());
+        SubmissionQueueEntity queued = submissionQueueRepository.lockBySubmissionKey(key)
+                .orElseThrow(() -> new AppException(ErrorCode.SUBMISSION_NOT_FOUND));
+        return toResponse(checkOwner(queued, studentProfileId, testId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @ReadFromPrimary // Client hỏi trạng thái ngay sau khi nộp
+    public SubmissionResponse getBySubmissionKey(String submissionKey) {
+        return submissionQueueRepository.findBySubmissionKey(submissionKey)
+                .map(this::toResponse)
+                .orElseThrow(() -> new AppException(ErrorCode.SUBMISSION_NOT_FOUND));
+    }
+
+    @Override
+    public Optional<Float> findPendingMaxScore(Integer testId, Integer studentProfileId) {
+        return Optional.ofNullable(submissionQueueRepository.findMaxScoreByTestAndStudentAndStatusIn(
+                testId, studentProfileId, List.of(PENDING, PROCESSING)));
+    }
+
+    // Đánh dấu PROCESSING kèm hạn lease: nếu tiến trình chết giữa chừng, bài nộp được lấy lại khi hết lease
+    @Override
+    @Transactional
+    public List<Integer> claimBatch(int size) {
+        LocalDateTime now = LocalDateTime.now();
+        List<SubmissionQueueEntity> batch = submissionQueueRepository.findByStatusInAndNextAttemptAtLessThanEqualOrderByIdAsc(
+                List.of(PENDING, PROCESSING), now, PageRequest.of(0, size));
+        batch.forEach(submission -> {
+            submission.setStatus(PROCESSING);
+            submission.setNextAttemptAt(now.plusSeconds(leaseSeconds));
+        });
+        return batch.stream().map(SubmissionQueueEntity::getId).toList();
+    }
+
+    // Ghi cả lô và đánh dấu DONE trong cùng transaction: hoặc ghi hết, hoặc không dòng nào đổi trạng thái
+    @Override
+    @Transactional
+    public void writeBatch(List<Integer> ids) {
+        List<SubmissionQueueEntity> batch = submissionQueueRepository.findAllById(ids).stream()
+                .filter(submission -> PROCESSING.equals(submission.getStatus()))
+                .sorted(Comparator.comparing(SubmissionQueueEntity::getId))
+                .toList();
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<TestAttemptEntity> testAttempts = new ArrayList<>(batch.size());
+        for (SubmissionQueueEntity submission : batch) {
+            testAttempts.add(toTestAttempt(submission));
+        }
+        testAttemptRepository.saveAll(testAttempts);
+
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < batch.size(); i++) {
+            SubmissionQueueEntity submission = batch.get(i);
+            if (FIRST_TEST.equals(submission.getKind())) {
+                // lưu enrollment và enrollmentCourse theo điểm bài test đầu vào
+                enrollmentServece.saveEnrollment(EnrollmentRequest.builder()
+                        .studentProfileId(submission.getStudentProfileId())
+                        .score(submission.getTotalScore())
+                        .build());
+            }
+            submission.setStatus(DONE);
+            submission.setWrittenAt(now);
+            submission.setTestAttemptId(testAttempts.get(i).getId());
+            submission.setAttempts(submission.getAttempts() + 1);
+            submission.setLastError(null);
+            submission.setPayload(null);
+        }
+    }
+
+    // Backoff lũy thừa như mail outbox; quá maxAttempts thì FAILED, giữ payload để xử lý tay
+    @Override
+    @Transactional
+    public void markFailed(Integer id, String error) {
+        submissionQueueRepository.findById(id).ifPresent(submission -> {
+            if (DONE.equals(submission.getStatus())) {
+                return;
+            }
+            int attempts = submission.getAttempts() + 1;
+            submission.setAttempts(attempts);
+            submission.setLastError(error != null && error.length() > 1000 ? error.substring(0, 1000) : error);
+            if (attempts >= maxAttempts) {
+                submission.setStatus(FAILED);
+            } else {
+                long delay = Math.min(3600, backoffBaseSeconds << Math.min(attempts - 1, 20));
+                submission.setStatus(PENDING);
+                submission.setNextAttemptAt(LocalDateTime.now().plusSeconds(delay));
+            }
+        });
+    }
+
+    @Override
+    @Transactional
+    public int purgeWritten() {
+        return submissionQueueRepository.deleteByStatusAndWrittenAtBefore(DONE, LocalDateTime.now().minusHours(retentionHours));
+    }
+
+    // Payload đã được chấm và xác thực lúc nộp nên chỉ cần tham chiếu, không SELECT câu hỏi/lựa chọn
+    private TestAttemptEntity toTestAttempt(SubmissionQueueEntity submission) {
+        TestAttemptRequest gradedAnswers = fromJson(submission.getPayload());
+        TestAttemptEntity testAttempt = TestAttemptEntity.builder()
+                .test(testRepository.getReferenceById(submission.getTestId()))
+                .studentProfile(studentProfileRepository.getReferenceById(submission.getStudentProfileId()))
+                .testAt(submission.getCreatedAt())
+                .totalScore(submission.getTotalScore())
+                .submissionKey(submission.getSubmissionKey())
+                .build();
+        List<AssessmentAttemptEntity> assessmentAttempts = new ArrayList<>();
+        for (AssessmentAttemptRequest assessmentAttemptRequest : gradedAnswers.getAssessmentAttemptRequests()) {
+            AssessmentAttemptEntity assessmentAttempt = new AssessmentAttemptEntity();
+            assessmentAttempt.setAssessment(assessmentRepository.getReferenceById(assessmentAttemptRequest.getAssessmentId()));
+            assessmentAttempt.setTestAttempt(testAttempt);
+            assessmentAttempt.setAssessmentAnswers(new ArrayList<>());
+            for (AssessmentAnswerRequest answer : assessmentAttemptRequest.getAssessmentAnswerRequests()) {
+                AssessmentAnswerEntity answerEntity = new AssessmentAnswerEntity();
+                answerEntity.setAssessmentQuestion(assessmentQuestionRepository.getReferenceById(answer.getAssessmentQuestionId()));
+                answerEntity.setAssessmentOption(answer.getAssessmentOptionId() == null ? null : assessmentOptionRepository.getReferenceById(answer.getAssessmentOptionId()));
+                answerEntity.setAnswerText(answer.getAnswerText());
+                answerEntity.setIsCorrect(answer.getIsCorrect());
+                answerEntity.setAssessmentAttempt(assessmentAttempt);
+                assessmentAttempt.getAssessmentAnswers().add(answerEntity);
+            }
+            assessmentAttempts.add(assessmentAttempt);
+        }
+        testAttempt.setAssessmentAttempts(assessmentAttempts);
+        return testAttempt;
+    }
+
+    private SubmissionQueueEntity checkOwner(SubmissionQueueEntity submission, Integer studentProfileId, Integer testId) {
+        if (!Objects.equals(submission.getStudentProfileId(), studentProfileId) || !Objects.equals(submission.getTestId(), testId)) {
+            throw new AppException(ErrorCode.SUBMISSION_KEY_CONFLICT);
+        }
+        return submission;
+    }
+
+    private void checkKey(String submissionKey) {
+        if (submissionKey.isBlank() || submissionKey.length() > Const.SUBMISSION.MAX_KEY_LENGTH) {
+            throw new AppException(ErrorCode.SUBMISSION_KEY_INVALID);
+        }
+    }
+
+    private SubmissionResponse toResponse(SubmissionQueueEntity submission) {
+        return SubmissionResponse.builder()
+                .submissionKey(submission.getSubmissionKey())
+                .status(submission.getStatus())
+                .totalScore(submission.getTotalScore())
+                .correctQuestions(submission.getCorrectQuestions())
+                .totalQuestions(submission.getTotalQuestions())
+                .testAttemptId(submission.getTestAttemptId())
+                .build();
+    }
+
+    private String toJson(TestAttemptRequest gradedAnswers) {
+        try {
+            return objectMapper.writeValueAsString(gradedAnswers);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private TestAttemptRequest fromJson(String payload) {
+        try {
+            return objectMapper.readValue(payload, TestAttemptRequest.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Payload bài nộp hỏng", e);
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package com.mxhieu.doantotnghiep.service.impl;
 
 import com.mxhieu.doantotnghiep.converter.TeacherprofileConverter;
+import com.mxhieu.doantotnghiep.converter.mapper.UserMapper;
+import com.mxhieu.doantotnghiep.dto.request.CursorPageRequest;
 import com.mxhieu.doantotnghiep.dto.request.DataMailDTO;
 import com.mxhieu.doantotnghiep.dto.request.TeacherprofileRequest;
+import com.mxhieu.doantotnghiep.dto.response.CursorPageResponse;
 import com.mxhieu.doantotnghiep.dto.response.TeacherprofileResponse;
+import com.mxhieu.doantotnghiep.dto.response.TeacherprofileSummaryResponse;
 import com.mxhieu.doantotnghiep.entity.RoleEntity;
 import com.mxhieu.doantotnghiep.entity.TeacherprofileEntity;
 import com.mxhieu.doantotnghiep.entity.UserEntity;
@@ -17,9 +21,7 @@ import com.mxhieu.doantotnghiep.repository.UserRoleRepository;
 import com.mxhieu.doantotnghiep.service.TeacherprofileService;
 import com.mxhieu.doantotnghiep.service.UserService;
 import com.mxhieu.doantotnghiep.utils.PasswordUtil;
-import jakarta.mail.MessagingException;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -37,7 +39,7 @@ import java.util.Map;
 public class TeacherprofileServiceImpl implements TeacherprofileService {
     private final TeacheprofileRepository teacherprofileRepository;
     private final UserRepository userRepository;
-    private final ModelMapper modelMapper;
+    private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
     private final MailServiceImpl mailService;
     private final RoleRepository roleRepository;
@@ -52,9 +54,10 @@ public class TeacherprofileServiceImpl implements TeacherprofileService {
             throw new AppException(ErrorCode.EMAIL_ALREADY_EXISTS);
     }
 
+    @Transactional
     @Override
     public void createTeacherProfile(TeacherprofileRequest request) {
-        UserEntity user = modelMapper.map(request, UserEntity.class);
+        UserEntity user = userMapper.toEntity(request);
 
         user.setBirthday(LocalDate.parse(request.getBirthday()));
         String generatedPassword = PasswordUtil.generateRandomPassword(8);
@@ -69,29 +72,22 @@ public class TeacherprofileServiceImpl implements TeacherprofileService {
         userRole.setRole(role);
         userRoleRepository.save(userRole);
 
-        TeacherprofileEntity teacherprofile = modelMapper.map(request, TeacherprofileEntity.class);
+        TeacherprofileEntity teacherprofile = teacherprofileConverter.toEntity(request, TeacherprofileEntity.class);
         teacherprofile.setUser(user);
         teacherprofileRepository.save(teacherprofile);
 
-        // 3️⃣ Gửi email thông báo mật khẩu
-        try {
-            DataMailDTO dataMail = new DataMailDTO();
-            dataMail.setTo(request.getEmail());
-            dataMail.setSubject("Tài khoản của bạn đã được tạo thành công");
-
-            Map<String, Object> props = new HashMap<>();
-            props.put("email", user.getEmail());
-            props.put("password", generatedPassword); // gửi mật khẩu thật
-            props.put("loginUrl", "https://your-frontend-app.com/login");
-            dataMail.setProps(props);
-
-            mailService.sendMail(dataMail, "user_created_template"); // HTML template bạn sẽ tạo
-        } catch (MessagingException e) {
-            e.printStackTrace();
-        }catch (Exception e) {
-            System.err.println("Email send failed: " + e.getMessage());
-            throw new AppException(ErrorCode.EMAIL_SEND_FAILED);
-        }
+        // 3️⃣ Gửi email thông báo mật khẩu (qua outbox, commit cùng transaction tạo tài khoản)
+        DataMailDTO dataMail = new DataMailDTO();
+        dataMail.setTo(request.getEmail());
+        dataMail.setSubject("Tài khoản của bạn đã được tạo thành công");
+
+        Map<String, Object> props = new HashMap<>();
+        props.put("email", user.getEmail());
+        props.put("password", generatedPassword); // gửi mật khẩu thật
+        props.put("loginUrl", "https://your-frontend-app.com/login");
+        dataMail.setProps(props);
+
+        mailService.queueMail(dataMail, "user_created_template"); // HTML template bạn sẽ tạo
 
     }
 
@@ -107,6 +103,11 @@ public class TeacherprofileServiceImpl implements TeacherprofileService {
         return teacherprofileConverter.toResponseList(teacherprofiles, TeacherprofileResponse.class);
     }
 
+    @Override
+    public CursorPageResponse<TeacherprofileSummaryResponse> getTeacherProfilesPage(CursorPageRequest request, String status) {
+        return teacherprofileRepository.findSummaries(request, status);
+    }
+
     @Override
     public TeacherprofileResponse getTeacherProfileByID(Integer id) {
 
@@ -1,25 +1,24 @@
 package com.mxhieu.doantotnghiep.service.impl;
 
-import com.mxhieu.doantotnghiep.converter.TestAttemptConverter;
 import com.mxhieu.doantotnghiep.dto.request.AssessmentAnswerRequest;
 import com.mxhieu.doantotnghiep.dto.request.AssessmentAttemptRequest;
-import com.mxhieu.doantotnghiep.dto.request.EnrollmentRequest;
 import com.mxhieu.doantotnghiep.dto.request.TestAttemptRequest;
 import com.mxhieu.doantotnghiep.dto.response.*;
 import com.mxhieu.doantotnghiep.entity.*;
 import com.mxhieu.doantotnghiep.exception.AppException;
 import com.mxhieu.doantotnghiep.exception.ErrorCode;
 import com.mxhieu.doantotnghiep.repository.*;
-import com.mxhieu.doantotnghiep.service.EnrollmentServece;
+import com.mxhieu.doantotnghiep.service.AnswerDraftService;
+import com.mxhieu.doantotnghiep.service.AttemptReviewService;
+import com.mxhieu.doantotnghiep.service.GradingService;
+import com.mxhieu.doantotnghiep.service.SubmissionQueueService;
 import com.mxhieu.doantotnghiep.service.TestAttemptService;
+import com.mxhieu.doantotnghiep.utils.AnswerKey;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
@@ -28,199 +27,123 @@ public class TestAttemptServiceImpl implements TestAttemptService {
     private final StudentProfileRepository studentProfileRepository;
     private final TestAttemptRepository testAttemptRepository;
     private final AssessmentRepository assessmentRepository;
-    private final AssessmentQuestionRepository assessmentQuestionRepository;
-    private final EnrollmentServece enrollmentServece;
-    private final TestAttemptConverter testAttemptConverter;
-    private final AssessmentOptionRepository assessmentOptionRepository;
-    private final AssessmentAnswerRepository assessmentAnswerRepository;
-
-    private final ModelMapper modelMapper;
+    private final GradingService gradingService;
+    private final SubmissionQueueService submissionQueueService;
+    private final AnswerDraftService answerDraftService;
+    private final AttemptReviewService attemptReviewService;
 
+    @Transactional
     @Override
-    public void saveResultFirstTest(TestAttemptRequest testAttemptRequest) {
+    public SubmissionResponse saveResultFirstTest(TestAttemptRequest testAttemptRequest) {
+        Optional<SubmissionResponse> submitted = submissionQueueService.findSubmitted(testAttemptRequest.getSubmissionKey(),
+                testAttemptRequest.getStudentProfileId(), testAttemptRequest.getTestId());
+        if (submitted.isPresent()) {
+            return submitted.get();
+        }
         StudentProfileEntity studentProfile = studentProfileRepository.findById(testAttemptRequest.getStudentProfileId()).orElseThrow(()-> new AppException(ErrorCode.STUDENT_PROFILE_NOT_FOUND));
         studentProfile.setFirstLogin(false);
-        TestAttemptEntity testAttemptEntity = TestAttemptEntity.builder()
-                .test(testRepository.findById(testAttemptRequest.getTestId()).orElseThrow(()-> new AppException(ErrorCode.TEST_NOT_FOUND)))
-                .studentProfile(studentProfile)
-                .testAt(LocalDateTime.now())
-                .totalScore(tinhDiem(testAttemptRequest.getAssessmentAttemptRequests()))
-                .build();
-        List<AssessmentAttemptEntity> attemptEntities = getAssessmentAttemp(testAttemptRequest.getAssessmentAttemptRequests(), testAttemptEntity);
-        testAttemptEntity.setAssessmentAttempts(attemptEntities);
-        studentProfileRepository.save(studentProfile);
-        testAttemptRepository.save(testAttemptEntity);
-        saveEnrollment(testAttemptEntity);
+        TestEntity test = testRepository.findById(testAttemptRequest.getTestId()).orElseThrow(()-> new AppException(ErrorCode.TEST_NOT_FOUND));
+        return submit(SubmissionQueueServiceImpl.FIRST_TEST, studentProfile.getId(), test.getId(), testAttemptRequest);
     }
 
+    @Transactional
     @Override
-    public void saveResultMiniTest(TestAttemptRequest testAttemptRequest) {
-        TestAttemptEntity testAttemptEntity = TestAttemptEntity.builder()
-                .test(testRepository.findById(testAttemptRequest.getTestId()).orElseThrow(()-> new AppException(ErrorCode.TEST_NOT_FOUND)))
-                .studentProfile(studentProfileRepository.findById(testAttemptRequest.getStudentProfileId()).orElseThrow(()-> new AppException(ErrorCode.STUDENT_PROFILE_NOT_FOUND)))
-                .testAt(LocalDateTime.now())
-                .totalScore(tinhDiem(testAttemptRequest.getAssessmentAttemptRequests()))
-                .build();
-        List<AssessmentAttemptEntity> attemptEntities = getAssessmentAttemp(testAttemptRequest.getAssessmentAttemptRequests(), testAttemptEntity);
-        testAttemptEntity.setAssessmentAttempts(attemptEntities);
-        testAttemptRepository.save(testAttemptEntity);
+    public SubmissionResponse saveResultMiniTest(TestAttemptRequest testAttemptRequest) {
+        Optional<SubmissionResponse> submitted = submissionQueueService.findSubmitted(testAttemptRequest.getSubmissionKey(),
+                testAttemptRequest.getStudentProfileId(), testAttemptRequest.getTestId());
+        if (submitted.isPresent()) {
+            return submitted.get();
+        }
+        if (!testRepository.existsById(testAttemptRequest.getTestId())) {
+            throw new AppException(ErrorCode.TEST_NOT_FOUND);
+        }
+        if (!studentProfileRepository.existsById(testAttemptRequest.getStudentProfileId())) {
+            throw new AppException(ErrorCode.STUDENT_PROFILE_NOT_FOUND);
+        }
+        return submit(SubmissionQueueServiceImpl.MINI_TEST, testAttemptRequest.getStudentProfileId(), testAttemptRequest.getTestId(), testAttemptRequest);
     }
 
     @Override
-    public TestAttemptResponse getTestAttemptDetailById(Integer id) {
-        TestAttemptEntity testAttemptEntity = testAttemptRepository.findById(id).orElseThrow(()-> new AppException(ErrorCode.TEST_ATTEMPT_NOT_FOUND));
-        TestAttemptResponse response = testAttemptConverter.toResponseSummery(testAttemptEntity);
-        List<AssessmentResponse> assessmentResponses = new ArrayList<>();
-        testAttemptEntity.getAssessmentAttempts().forEach(assessmentAttemptEntity -> {
-            AssessmentEntity assessmentEntity = assessmentAttemptEntity.getAssessment();
-            List<AssessmentAnswerEntity> answerEntities = assessmentAttemptEntity.getAssessmentAnswers();
-
-            switch (assessmentEntity.getExercisetype().getCode()) {
-                case "LISTENING_1" :
-                case "LISTENING_2" :
-                case "READING_6":
-                case "READING_7":
-                case "LISTENING_3_4":
-                    assessmentResponses.add(toAssessmentDetailResponse(assessmentEntity, answerEntities));
-                    break;
-                default:
-                    assessmentResponses.addAll(toSplitAssessmentDetailResponse(assessmentEntity, answerEntities));
-            }
-        });
-        response.setAssessmentResponses(assessmentResponses);
-        return response;
-    }
-
-    private List<AssessmentResponse> toSplitAssessmentDetailResponse(AssessmentEntity assessmentEntity, List<AssessmentAnswerEntity> answerEntities) {
-        List<AssessmentResponse> assessmentResponses = new ArrayList<>();
-        assessmentEntity.getAssessmentQuestions().stream().forEach(assessmentQuestionEntity -> {
-            AssessmentEntity assessmentEntityCoppy = modelMapper.map(assessmentEntity, AssessmentEntity.class);
-            assessmentEntityCoppy.setAssessmentQuestions(List.of(assessmentQuestionEntity));
-            assessmentResponses.add(toAssessmentDetailResponse(assessmentEntityCoppy, answerEntities));
-        });
-        return assessmentResponses;
-    }
-
-    private AssessmentResponse toAssessmentDetailResponse(AssessmentEntity assessmentEntity, List<AssessmentAnswerEntity> answerEntities) {
-        AssessmentResponse assessmentResponse = AssessmentResponse.builder()
-                .id(assessmentEntity.getId())
-                .title(assessmentEntity.getTitle())
-                .mediaData(assessmentEntity.getMediaData())
-                .typeName(assessmentEntity.getExercisetype().getDescription())
-                .imageData(assessmentEntity.getImageData())
-                .paragraphs(assessmentEntity.getParagraphs())
-                .build();
-        List<AssessmentQuestionResponse> assessmentQuestionResponses = new ArrayList<>();
-        assessmentEntity.getAssessmentQuestions().stream().forEach(assessmentQuestionEntity -> {
-            AssessmentQuestionResponse assessmentQuestionResponse = new AssessmentQuestionResponse();
-            assessmentQuestionResponse.setId(assessmentQuestionEntity.getId());
-            assessmentQuestionResponse.setQuestionText(assessmentQuestionEntity.getStem());
-            assessmentQuestionResponse.setExplain(assessmentQuestionEntity.getExplain());
-            assessmentQuestionResponse.setMediData(assessmentQuestionEntity.getMediData());
-            List<AssessmentOptionResponse> optionResponses = new ArrayList<>();
-            assessmentQuestionEntity.getAssessmentOptions().stream().forEach(assessmentOptionEntity -> {
-                AssessmentOptionResponse assessmentOptionResponse = AssessmentOptionResponse.builder()
-                        .content(assessmentOptionEntity.getContent())
-                        .id(assessmentOptionEntity.getId())
-                        .isCorrect(assessmentOptionEntity.getIsCorrect())
-                        .selected(checkChoiced(answerEntities, assessmentQuestionEntity.getId(), assessmentOptionEntity.getId()))
-                        .build();
-                optionResponses.add(assessmentOptionResponse);
-            });
-            assessmentQuestionResponse.setChoices(optionResponses);
-            assessmentQuestionResponses.add(assessmentQuestionResponse);
-        });
-        assessmentResponse.setAssessmentQuestions(assessmentQuestionResponses);
-        return assessmentResponse;
+    public SubmissionResponse getSubmission(String submissionKey) {
+        return submissionQueueService.getBySubmissionKey(submissionKey);
     }
 
-
-    private Boolean checkChoiced(List<AssessmentAnswerEntity> answerEntities, Integer questionId, Integer choiceId) {
-        for (AssessmentAnswerEntity answerEntity : answerEntities){
-            if(answerEntity.getAssessmentQuestion().getId().equals(questionId) && answerEntity.getAssessmentOption().getId().equals(choiceId)){
-                return true;
-            }
+    // Chấm ngay trong request để trả điểm, còn cây attempt/answer do SubmissionQueueDispatcher ghi theo lô
+    private SubmissionResponse submit(String kind, Integer studentProfileId, Integer testId, TestAttemptRequest testAttemptRequest) {
+        String submissionKey = testAttemptRequest.getSubmissionKey();
+        // Câu đã autosave nhưng client không gửi lại (vd. trình duyệt bị tắt giữa chừng) được lấy từ bản nháp
+        List<AssessmentAttemptRequest> answers = answerDraftService.mergeDraft(submissionKey, studentProfileId, testId,
+                testAttemptRequest.getAssessmentAttemptRequests());
+        AnswerKey answerKey = gradingService.getTestAnswerKey(testId);
+        AnswerKey.Grade grade = grade(answerKey, answers);
+        TestAttemptRequest gradedAnswers = gradedAnswers(answers, answerKey, grade);
+        SubmissionResponse response = submissionQueueService.enqueue(submissionKey, kind, studentProfileId, testId, grade, gradedAnswers);
+        if (submissionKey != null) {
+            answerDraftService.discardDraft(submissionKey, studentProfileId, testId);
         }
-        return false;
+        return response;
     }
 
-    private void saveEnrollment(TestAttemptEntity testAttemptEntity) {
-        EnrollmentRequest request = EnrollmentRequest.builder()
-                .studentProfileId(testAttemptEntity.getStudentProfile().getId())
-                .score(testAttemptEntity.getTotalScore())
-                .build();
-        // lưu enrollment và enrollmentCourse
-        enrollmentServece.saveEnrollment(request);
+    @Override
+    public TestAttemptResponse getTestAttemptDetailById(Integer id) {
+        return attemptReviewService.getTestAttemptReview(id);
     }
 
-    private List<AssessmentAttemptEntity> getAssessmentAttemp(List<AssessmentAttemptRequest> assessmentAttemptRequests, TestAttemptEntity testAttemptEntity) {
-        List<AssessmentAttemptEntity> attemptEntities = new ArrayList<>();
-        assessmentAttemptRequests.forEach(assessmentAttemptRequest -> {
-            if(attemptEntities.isEmpty() || checkExistence(attemptEntities, assessmentAttemptRequest) == null){
-                AssessmentAttemptEntity attempt = new AssessmentAttemptEntity();
-                attempt.setAssessment(assessmentRepository.findById(assessmentAttemptRequest.getAssessmentId()).orElseThrow(()-> new AppException(ErrorCode.ASSESSMENT_NOT_FOUND)));
-                attempt.setAssessmentAnswers(getAssessmentAnswers(assessmentAttemptRequest.getAssessmentAnswerRequests(), attempt));
-                attempt.setTestAttempt(testAttemptEntity);
-                attemptEntities.add(attempt);
-            }else {
-                AssessmentAttemptEntity attempt = checkExistence(attemptEntities, assessmentAttemptRequest);
-                attempt.getAssessmentAnswers().addAll(getAssessmentAnswers(assessmentAttemptRequest.getAssessmentAnswerRequests(), attempt));
+    // Chỉ giữ những gì worker cần để ghi: assessment, câu hỏi, lựa chọn đã khớp, chữ điền và kết quả chấm;
+    // câu trả lời của cùng một assessment (vd. phần lấy từ bản nháp) được gom về một assessmentattempt
+    private TestAttemptRequest gradedAnswers(List<AssessmentAttemptRequest> assessmentAttemptRequests, AnswerKey answerKey, AnswerKey.Grade grade) {
+        Map<Integer, List<AssessmentAnswerRequest>> gradedAttempts = new LinkedHashMap<>();
+        int answerIndex = 0;
+        for (AssessmentAttemptRequest assessmentAttemptRequest : assessmentAttemptRequests) {
+            // assessment không có câu hỏi nào thì không nằm trong đáp án, kiểm tra riêng
+            if (!answerKey.containsGroup(assessmentAttemptRequest.getAssessmentId())
+                    && !assessmentRepository.existsById(assessmentAttemptRequest.getAssessmentId())) {
+                throw new AppException(ErrorCode.ASSESSMENT_NOT_FOUND);
             }
-        });
-        return attemptEntities;
-    }
-
-    private List<AssessmentAnswerEntity> getAssessmentAnswers(List<AssessmentAnswerRequest> assessmentAnswerRequests, AssessmentAttemptEntity attemptEntity) {
-        List<AssessmentAnswerEntity> answerEntities = new ArrayList<>();
-        assessmentAnswerRequests.forEach(assessmentAnswerRequest -> {
-            AssessmentAnswerEntity answerEntity = new AssessmentAnswerEntity();
-            AssessmentOptionEntity assessmentOptionEntity = null;
-            AssessmentQuestionEntity assessmentQuestionEntity = assessmentQuestionRepository.findById(assessmentAnswerRequest.getAssessmentQuestionId()).orElseThrow(()-> new AppException(ErrorCode.ASSESSMENT_QUESSTION_NOT_FOUND));
-            try {
-                assessmentOptionEntity = assessmentQuestionEntity.getAssessmentOptions().stream().filter(option -> option.getId().equals(assessmentAnswerRequest.getAssessmentOptionId())).toList().get(0);
-            }catch (Exception e){
-                System.out.println(assessmentAnswerRequest.getAssessmentQuestionId());
-                System.out.println(assessmentQuestionEntity.getAssessmentOptions().stream().map(AssessmentOptionEntity::getId).toList());
-                System.out.println(assessmentAnswerRequest.getAssessmentOptionId());
-                throw new RuntimeException("Assessment option not found for the question");
+            List<AssessmentAnswerRequest> gradedAnswers = gradedAttempts.computeIfAbsent(assessmentAttemptRequest.getAssessmentId(), id -> new ArrayList<>());
+            for (AssessmentAnswerRequest assessmentAnswerRequest : answersOf(assessmentAttemptRequest)) {
+                gradedAnswers.add(AssessmentAnswerRequest.builder()
+                        .assessmentQuestionId(assessmentAnswerRequest.getAssessmentQuestionId())
+                        .assessmentOptionId(grade.matchedOptionIds()[answerIndex])
+                        .answerText(assessmentAnswerRequest.getAnswerText())
+                        .isCorrect(grade.answerCorrect()[answerIndex])
+                        .build());
+                answerIndex++;
             }
-
-            answerEntity.setAssessmentQuestion(assessmentQuestionEntity);
-            answerEntity.setAssessmentOption(assessmentOptionEntity);
-            answerEntity.setAssessmentAttempt(attemptEntity);
-            answerEntity.setIsCorrect(assessmentAnswerRequest.getIsCorrect());
-            answerEntities.add(answerEntity);
-        });
-        return answerEntities;
+        }
+        List<AssessmentAttemptRequest> attempts = new ArrayList<>();
+        gradedAttempts.forEach((assessmentId, answers) -> attempts.add(AssessmentAttemptRequest.builder()
+                .assessmentId(assessmentId)
+                .assessmentAnswerRequests(answers)
+                .build()));
+        return TestAttemptRequest.builder()
+                .assessmentAttemptRequests(attempts)
+                .build();
     }
 
-    private AssessmentAttemptEntity checkExistence(List<AssessmentAttemptEntity> attemptEntities, AssessmentAttemptRequest assessmentAttemptRequest) {
-        for (AssessmentAttemptEntity attemptEntity : attemptEntities) {
-            if (attemptEntity.getAssessment().getId() == assessmentAttemptRequest.getAssessmentId()) {
-                return attemptEntity;
+    // Chấm ở server theo đáp án đã biên dịch, bỏ qua cờ isCorrect client gửi lên
+    private AnswerKey.Grade grade(AnswerKey answerKey, List<AssessmentAttemptRequest> assessmentAttemptRequests) {
+        List<AnswerKey.Answer> answers = new ArrayList<>();
+        for (AssessmentAttemptRequest assessmentAttemptRequest : assessmentAttemptRequests) {
+            for (AssessmentAnswerRequest assessmentAnswerRequest : answersOf(assessmentAttemptRequest)) {
+                answers.add(new AnswerKey.Answer(assessmentAttemptRequest.getAssessmentId(),
+                        assessmentAnswerRequest.getAssessmentQuestionId(),
+                        assessmentAnswerRequest.getAssessmentOptionId(),
+                        assessmentAnswerRequest.getAnswerText()));
             }
         }
-        return null;
+        AnswerKey.Grade grade = answerKey.grade(answers);
+        if (!grade.isValid()) {
+            throw new AppException(grade.invalidReason() == AnswerKey.InvalidReason.UNKNOWN_QUESTION
+                    ? ErrorCode.ASSESSMENT_QUESSTION_NOT_FOUND
+                    : ErrorCode.ASSESSMENT_OPTION_INVALID);
+        }
+        return grade;
     }
 
-
-    private Float tinhDiem(List<AssessmentAttemptRequest> assessmentAttemptRequests) {
-        AtomicInteger sum = new AtomicInteger();
-        AtomicInteger soCauDung= new AtomicInteger();
-        float total = 0;
-        assessmentAttemptRequests.stream().forEach(assessmentAttemptRequest -> {
-            assessmentAttemptRequest.getAssessmentAnswerRequests().stream().forEach(assessmentAnswerRequest -> {
-                sum.addAndGet(1);
-                if(assessmentAnswerRequest.getIsCorrect()){
-                    soCauDung.addAndGet(1);
-                }
-            });
-        });
-        if(sum.get() != 0){
-            total = (float) (100 * soCauDung.get()) / sum.get();
-        }else{
-            total = 0;
-        }
-        return total;
+    private List<AssessmentAnswerRequest> answersOf(AssessmentAttemptRequest assessmentAttemptRequest) {
+        return assessmentAttemptRequest.getAssessmentAnswerRequests() == null
+                ? List.of()
+                : assessmentAttemptRequest.getAssessmentAnswerRequests();
     }
 }
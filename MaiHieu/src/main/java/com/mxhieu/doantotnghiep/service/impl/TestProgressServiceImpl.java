@@ -9,6 +9,7 @@ import com.mxhieu.doantotnghiep.exception.ErrorCode;
 import com.mxhieu.doantotnghiep.repository.*;
 import com.mxhieu.doantotnghiep.service.LessonProgressService;
 import com.mxhieu.doantotnghiep.service.LessonService;
+import com.mxhieu.doantotnghiep.service.SubmissionQueueService;
 import com.mxhieu.doantotnghiep.service.TestProgressService;
 import com.mxhieu.doantotnghiep.service.TrackService;
 import lombok.RequiredArgsConstructor;
@@ -17,6 +18,7 @@ import org.springframework.stereotype.Service;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 
 @RequiredArgsConstructor
@@ -27,31 +29,37 @@ public class TestProgressServiceImpl implements TestProgressService {
     private final TestRepository testRepository;
     private final TestAttemptRepository testAttemptRepository;
     private final LessonService lessonService;
-    private final LessonRepository lessonRepository;
     private final LessonProgressRepository lessonProgressRepository;
     private final LessonProgressService lessonProgressService;
+    private final EnrollmentCourseRepository enrollmentCourseRepository;
     private final TrackService trackService;
     private final EnrollmentRepository enrollmentRepository;
+    private final SubmissionQueueService submissionQueueService;
+    private final StudentProgressSerializer studentProgressSerializer;
+
+    // Cả chuỗi (ghi tiến độ bài test, mở bài/khoá/track kế tiếp) chạy tuần tự theo học viên, mỗi bước là một câu lệnh
     @Override
     public Boolean checkCompletionCondition(TestProgressRequest request) {
-        TestEntity testEntity = testRepository.findById(request.getTestId()).orElseThrow(() -> new AppException(ErrorCode.TEST_NOT_FOUND));
-        StudentProfileEntity studentProfileEntity = studentProfileRepository.findById(request.getStudentprofileId()).orElseThrow(()->new AppException(ErrorCode.STUDENT_PROFILE_NOT_FOUND));
-        List<TestProgressEntity> testProgressEntities = testProgressRepository.findByTest_IdAndStudentProfile_Id(request.getTestId(), request.getStudentprofileId());
+        return studentProgressSerializer.run(request.getStudentprofileId(), () -> {
+            TestEntity testEntity = testRepository.findById(request.getTestId()).orElseThrow(() -> new AppException(ErrorCode.TEST_NOT_FOUND));
+            StudentProfileEntity studentProfileEntity = studentProfileRepository.findById(request.getStudentprofileId()).orElseThrow(()->new AppException(ErrorCode.STUDENT_PROFILE_NOT_FOUND));
+            if(testProgressRepository.findByTest_IdAndStudentProfile_Id(request.getTestId(), request.getStudentprofileId()).isEmpty()){
+                requireDoneCourse(testEntity, studentProfileEntity);
+            }
 
-        if(!testProgressEntities.isEmpty()){
-            TestProgressEntity testProgressEntity = testProgressEntities.get(0);
-            if(checkCompleted(testEntity, request)){
-                testProgressEntity.setProcess(2);
+            boolean completed = checkCompleted(testEntity, request);
+            testProgressRepository.upsertProcess(studentProfileEntity.getId(), testEntity.getId(), completed ? 2 : 1);
+            if(completed){
                 unLockNext(testEntity, studentProfileEntity);
-                testProgressRepository.save(testProgressEntity);
-                return true;
-            } else {
-                testProgressEntity.setProcess(1);
-                testProgressRepository.save(testProgressEntity);
-                return false;
             }
+            return completed;
+        });
+    }
 
-        } else {
+    // Khoá học DONE (do điểm đầu vào) không ghi sẵn tiến độ từng bài test, lần đầu làm bài upsert mới tạo dòng
+    private void requireDoneCourse(TestEntity testEntity, StudentProfileEntity studentProfileEntity) {
+        String statusOfCourse = enrollmentCourseRepository.findStatus(studentProfileEntity.getId(), testEntity.getModule().getCourse().getId());
+        if(!"DONE".equals(statusOfCourse)){
             throw new AppException(ErrorCode.TEST_PROGRESS_NOT_EXISTS);
         }
     }
@@ -61,27 +69,9 @@ public class TestProgressServiceImpl implements TestProgressService {
             LessonOrTestAroundRequest request = new LessonOrTestAroundRequest(testEntity.getId(),"TEST");
             LessonOrTestAroundResponse nextLessonOrTest= lessonService.getNextLessonOrTest(request);
             if(nextLessonOrTest.getType().equals("LESSON")){
-                LessonEntity nextLesson = lessonRepository.findById(nextLessonOrTest.getId()).orElseThrow(()->new AppException(ErrorCode.LESSON_NOT_FOUND));
-                List<LessonProgressEntity> lessonProgressEntities = lessonProgressRepository.findByLesson_IdAndStudentProfile_Id(nextLesson.getId(), studentProfileEntity.getId());
-                if(lessonProgressEntities.isEmpty()){
-                    LessonProgressEntity lessonProgressEntity = new LessonProgressEntity();
-                    lessonProgressEntity.setLesson(nextLesson);
-                    lessonProgressEntity.setStudentProfile(studentProfileEntity);
-                    lessonProgressEntity.setProcess(0); // unlock
-                    lessonProgressEntity.setPercentageWatched(0);
-                    lessonProgressRepository.save(lessonProgressEntity);
-                }
+                lessonProgressRepository.unlock(studentProfileEntity.getId(), nextLessonOrTest.getId());
             }else{
-                TestEntity nextTest = testRepository.findById(nextLessonOrTest.getId()).orElseThrow(()->new AppException(ErrorCode.TEST_NOT_FOUND));
-                List<TestProgressEntity> testProgressEntities = testProgressRepository.findByTest_IdAndStudentProfile_Id(nextTest.getId(), studentProfileEntity.getId());
-                if(testProgressEntities.isEmpty()){
-                    TestProgressEntity testProgressEntity = new TestProgressEntity();
-                    testProgressEntity.setTest(nextTest);
-                    testProgressEntity.setStudentProfile(studentProfileEntity);
-                    testProgressEntity.setProcess(0); // unlock
-                    testProgressRepository.save(testProgressEntity);
-
-                }
+                testProgressRepository.unlock(studentProfileEntity.getId(), nextLessonOrTest.getId());
             }
         }catch (AppException e){
             lessonProgressService.unLockNextCourse(testEntity.getModule().getCourse(), studentProfileEntity);
@@ -90,11 +80,14 @@ public class TestProgressServiceImpl implements TestProgressService {
     }
 
     private boolean checkCompleted(TestEntity testEntity, TestProgressRequest request) {
-        TestAttemptEntity attempt = testAttemptRepository.findTopByTest_IdAndStudentProfile_IdOrderByTotalScoreDesc(testEntity.getId(), request.getStudentprofileId())
-                .orElseThrow(() -> new AppException(ErrorCode.TEST_ATTEMPT_NOT_FOUND));
-
-
-        return attempt.getTotalScore() >= 50;
+        Optional<TestAttemptEntity> attempt = testAttemptRepository.findTopByTest_IdAndStudentProfile_IdOrderByTotalScoreDesc(testEntity.getId(), request.getStudentprofileId());
+        // Bài vừa nộp có thể còn trong hàng đợi ghi, điểm đã chấm nằm ở đó
+        Optional<Float> pendingScore = submissionQueueService.findPendingMaxScore(testEntity.getId(), request.getStudentprofileId());
+        if (attempt.isEmpty() && pendingScore.isEmpty()) {
+            throw new AppException(ErrorCode.TEST_ATTEMPT_NOT_FOUND);
+        }
+        float bestScore = Math.max(attempt.map(TestAttemptEntity::getTotalScore).orElse(0f), pendingScore.orElse(0f));
+        return bestScore >= 50;
     }
 
 }
@@ -7,7 +7,12 @@ import com.mxhieu.doantotnghiep.entity.*;
 import com.mxhieu.doantotnghiep.exception.AppException;
 import com.mxhieu.doantotnghiep.exception.ErrorCode;
 import com.mxhieu.doantotnghiep.repository.*;
+import com.mxhieu.doantotnghiep.service.AttemptReviewService;
+import com.mxhieu.doantotnghiep.service.CatalogCacheService;
+import com.mxhieu.doantotnghiep.service.ContentPayloadService;
+import com.mxhieu.doantotnghiep.service.PlacementPoolService;
 import com.mxhieu.doantotnghiep.service.TestService;
+import com.mxhieu.doantotnghiep.utils.Const;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -23,6 +28,10 @@ public class TestServiceImpl implements TestService {
     private final TestAttemptRepository testAttemptRepository;
     private final EnrollmentCourseRepository enrollmentcourseRepository;
     private final TestProgressRepository testProgressRepository;
+    private final CatalogCacheService catalogCacheService;
+    private final AttemptReviewService attemptReviewService;
+    private final PlacementPoolService placementPoolService;
+    private final ContentPayloadService contentPayloadService;
 
     @Override
     public void createTest(TestRequest testRequest) {
@@ -30,6 +39,7 @@ public class TestServiceImpl implements TestService {
         ModuleEntity moduleEntity = moduleRepository.findById(testRequest.getModuleId()).orElseThrow(()->new AppException(ErrorCode.MODULE_NOT_FOUND));
         testEntity.setModule(moduleEntity);
         testRepository.save(testEntity);
+        catalogCacheService.evictCourseStructure();
     }
 
     @Override
@@ -47,13 +57,9 @@ public class TestServiceImpl implements TestService {
 
     @Override
     public List<TestResponse> getFirstTestsSummery() {
-        List<TestEntity> testEntities = testRepository.findByType("FIRST_TEST");
-        List<TestResponse> responses = new ArrayList<>();
-        testEntities.stream().forEach(testEntity -> {
-            TestResponse testResponse = testConverter.toResponseSummery(testEntity);
-            responses.add(testResponse);
-        });
-        return responses;
+        return testRepository.findSummariesByType(Const.PLACEMENT.TEST_TYPE).stream()
+                .map(testConverter::toResponseSummery)
+                .toList();
     }
 
     @Override
@@ -89,17 +95,12 @@ public class TestServiceImpl implements TestService {
     private boolean isLockLesson(Integer id, Integer studentProfileId) {
         TestEntity testEntity = testRepository.findById(id).orElseThrow(()->new AppException(ErrorCode.TEST_NOT_FOUND));
         String statusOfCourse = enrollmentcourseRepository.findStatus(studentProfileId, testEntity.getModule().getCourse().getId());
-        List<TestProgressEntity> testProgressEntities = testProgressRepository.findByTest_IdAndStudentProfile_Id(id, studentProfileId);
         if(statusOfCourse.equals("LOCK")) {
             return true;
         }else if(statusOfCourse.equals("DONE")) {
             return false;
         }else {
-            if(testProgressEntities.isEmpty()) {
-                return true;
-            }else{
-                return false;
-            }
+            return testProgressRepository.findByTest_IdAndStudentProfile_Id(id, studentProfileId).isEmpty();
         }
     }
 
@@ -129,13 +130,9 @@ public class TestServiceImpl implements TestService {
 
     @Override
     public TestResponse getMiniTestsSummery(Integer id) {
-        TestEntity testEntity = testRepository.findById(id).orElseThrow(()->new AppException(ErrorCode.TEST_NOT_FOUND));
-        TestResponse testResponse = TestResponse.builder()
-                .id(testEntity.getId())
-                .type(testEntity.getType())
-                .name(testEntity.getName())
-                .build();
-        return testResponse;
+        return testRepository.findSummaryById(id)
+                .map(testConverter::toResponseSummery)
+                .orElseThrow(()->new AppException(ErrorCode.TEST_NOT_FOUND));
     }
 
     @Override
@@ -152,35 +149,29 @@ public class TestServiceImpl implements TestService {
     public Boolean isLock(Integer id, Integer studentId) {
         TestEntity testEntity = testRepository.findById(id).orElseThrow(()->new AppException(ErrorCode.TEST_NOT_FOUND));
         String statusOfCourse = enrollmentcourseRepository.findStatus(studentId, testEntity.getModule().getCourse().getId());
-        List<TestProgressEntity> testProgressEntities = testProgressRepository.findByTest_IdAndStudentProfile_Id(testEntity.getId(), studentId);
-
         if(statusOfCourse.equals("LOCK")) {
             return true;
         }else if(statusOfCourse.equals("DONE")) {
             return false;
         }else {
-            if(testProgressEntities.size() == 0) {
-                return true;
-            }else{
-                return false;
-            }
+            return testProgressRepository.findByTest_IdAndStudentProfile_Id(testEntity.getId(), studentId).isEmpty();
         }
     }
 
     @Override
     public boolean isCompletedTest(Integer id, Integer studentProfileId) {
-        List<TestProgressEntity> testProgressEntities = testProgressRepository.findByTest_IdAndStudentProfile_Id(id, studentProfileId);
-        if(testProgressEntities.size() == 0) {
-            return false;
-        }else if(testProgressEntities.get(0).getProcess() == 0 || testProgressEntities.get(0).getProcess() == 1){
-            return false;
-        }
-        return true;
+        return testProgressRepository.findByTest_IdAndStudentProfile_Id(id, studentProfileId)
+                .map(testProgress -> testProgress.getProcess() != null && testProgress.getProcess() == 2)
+                .orElse(false);
     }
 
     @Override
     public void deleteTest(Integer id) {
         testRepository.deleteById(id);
+        catalogCacheService.evictCourseStructure();
+        attemptReviewService.evictTestReviews();
+        placementPoolService.evictPlacementPool();
+        contentPayloadService.evictTest(id);
     }
 
 }
@@ -1,14 +1,17 @@
 package com.mxhieu.doantotnghiep.service.impl;
 
+import com.mxhieu.doantotnghiep.service.OutboundCallService;
 import com.mxhieu.doantotnghiep.service.TextToSpeechService;
+import com.mxhieu.doantotnghiep.utils.OutboundIntegration;
 import com.microsoft.cognitiveservices.speech.*;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.concurrent.ExecutionException;
-
 @Service
+@RequiredArgsConstructor
 public class TextToSpeechServiceImpl implements TextToSpeechService {
+    private final OutboundCallService outboundCallService;
 
     @Value("${azure.speech.key}")
     private String subscriptionKey;
@@ -18,25 +21,22 @@ public class TextToSpeechServiceImpl implements TextToSpeechService {
 
     @Override
     public byte[] generateSpeech(String text) {
-        try {
+        return outboundCallService.call(OutboundIntegration.AZURE_TTS, () -> {
             SpeechConfig speechConfig = SpeechConfig.fromSubscription(subscriptionKey, region);
             speechConfig.setSpeechSynthesisVoiceName("en-US-GuyNeural");
 
             // Không ghi file, chỉ lấy bytes trong bộ nhớ
-            SpeechSynthesizer synthesizer = new SpeechSynthesizer(speechConfig, null);
-            SpeechSynthesisResult result = synthesizer.SpeakTextAsync(text).get();
-
-            if (result.getReason() == ResultReason.SynthesizingAudioCompleted) {
-                return result.getAudioData();
-            } else if (result.getReason() == ResultReason.Canceled) {
-                SpeechSynthesisCancellationDetails cancellation = SpeechSynthesisCancellationDetails.fromResult(result);
-                throw new RuntimeException("Speech synthesis canceled: " + cancellation.getErrorDetails());
+            try (SpeechSynthesizer synthesizer = new SpeechSynthesizer(speechConfig, null);
+                 SpeechSynthesisResult result = synthesizer.SpeakTextAsync(text).get()) {
+
+                if (result.getReason() == ResultReason.SynthesizingAudioCompleted) {
+                    return result.getAudioData();
+                } else if (result.getReason() == ResultReason.Canceled) {
+                    SpeechSynthesisCancellationDetails cancellation = SpeechSynthesisCancellationDetails.fromResult(result);
+                    throw new RuntimeException("Speech synthesis canceled: " + cancellation.getErrorDetails());
+                }
+                return new byte[0];
             }
-
-            synthesizer.close();
-            return new byte[0];
-        } catch (InterruptedException | ExecutionException e) {
-            throw new RuntimeException("Lỗi khi tổng hợp giọng nói", e);
-        }
+        });
     }
 }
@@ -11,7 +11,6 @@ import com.mxhieu.doantotnghiep.service.CourseService;
 import com.mxhieu.doantotnghiep.service.TrackService;
 import com.mxhieu.doantotnghiep.utils.ModuleType;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
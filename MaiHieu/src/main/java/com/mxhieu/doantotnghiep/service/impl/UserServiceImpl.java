@@ -1,9 +1,12 @@
 package com.mxhieu.doantotnghiep.service.impl;
 
 import com.mxhieu.doantotnghiep.converter.UserConverter;
+import com.mxhieu.doantotnghiep.dto.request.CursorPageRequest;
 import com.mxhieu.doantotnghiep.dto.request.DataMailDTO;
 import com.mxhieu.doantotnghiep.dto.request.UserRequest;
+import com.mxhieu.doantotnghiep.dto.response.CursorPageResponse;
 import com.mxhieu.doantotnghiep.dto.response.UserRespone;
+import com.mxhieu.doantotnghiep.dto.response.UserSummaryResponse;
 import com.mxhieu.doantotnghiep.entity.RoleEntity;
 import com.mxhieu.doantotnghiep.entity.StudentProfileEntity;
 import com.mxhieu.doantotnghiep.entity.UserEntity;
@@ -16,12 +19,12 @@ import com.mxhieu.doantotnghiep.repository.UserRoleRepository;
 import com.mxhieu.doantotnghiep.service.UserService;
 import com.mxhieu.doantotnghiep.service.VerificationService;
 import com.mxhieu.doantotnghiep.utils.PasswordUtil;
-import jakarta.mail.MessagingException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.PostMapping;
 
 import java.time.LocalDate;
@@ -44,8 +47,8 @@ public class UserServiceImpl implements UserService {
     private final UserConverter userConverter;
 
     @Override
-    public List<UserEntity> getUsers() {
-        return userRepository.findAll();
+    public CursorPageResponse<UserSummaryResponse> getUsers(CursorPageRequest request, String status) {
+        return userRepository.findSummaries(request, status);
     }
 
     /**
@@ -62,6 +65,7 @@ public class UserServiceImpl implements UserService {
     /**
      * Bước 2️⃣: xác thực mã OTP và tạo user
      */
+    @Transactional
     @Override
     public void createUser(UserRequest user, String otp) {
         boolean verified = verificationService.verifyCode(user.getEmail(), otp);
@@ -94,22 +98,18 @@ public class UserServiceImpl implements UserService {
         userRoleRepository.save(userRole);
 
 
-        // 3️⃣ Gửi email thông báo mật khẩu
-        try {
-            DataMailDTO dataMail = new DataMailDTO();
-            dataMail.setTo(user.getEmail());
-            dataMail.setSubject("Tài khoản của bạn đã được tạo thành công");
+        // 3️⃣ Gửi email thông báo mật khẩu (qua outbox, commit cùng transaction tạo tài khoản)
+        DataMailDTO dataMail = new DataMailDTO();
+        dataMail.setTo(user.getEmail());
+        dataMail.setSubject("Tài khoản của bạn đã được tạo thành công");
 
-            Map<String, Object> props = new HashMap<>();
-            props.put("email", user.getEmail());
-            props.put("password", generatedPassword); // gửi mật khẩu thật
-            props.put("loginUrl", "https://your-frontend-app.com/login");
-            dataMail.setProps(props);
+        Map<String, Object> props = new HashMap<>();
+        props.put("email", user.getEmail());
+        props.put("password", generatedPassword); // gửi mật khẩu thật
+        props.put("loginUrl", "https://your-frontend-app.com/login");
+        dataMail.setProps(props);
 
-            mailService.sendMail(dataMail, "user_created_template"); // HTML template bạn sẽ tạo
-        } catch (MessagingException e) {
-            e.printStackTrace();
-        }
+        mailService.queueMail(dataMail, "user_created_template"); // HTML template bạn sẽ tạo
     }
 
     @Override
@@ -124,6 +124,7 @@ public class UserServiceImpl implements UserService {
         return userConverter.toInForUser(userEntity, roles);
     }
 
+    @Transactional
     @Override
     public void createStudent(UserEntity user, String otp) {
         boolean verified = verificationService.verifyCode(user.getEmail(), otp);
@@ -150,22 +151,18 @@ public class UserServiceImpl implements UserService {
         userRoleRepository.save(userRole);
 
 
-        // 3️⃣ Gửi email thông báo mật khẩu
-        try {
-            DataMailDTO dataMail = new DataMailDTO();
-            dataMail.setTo(user.getEmail());
-            dataMail.setSubject("Tài khoản của bạn đã được tạo thành công");
+        // 3️⃣ Gửi email thông báo mật khẩu (qua outbox, commit cùng transaction tạo tài khoản)
+        DataMailDTO dataMail = new DataMailDTO();
+        dataMail.setTo(user.getEmail());
+        dataMail.setSubject("Tài khoản của bạn đã được tạo thành công");
 
-            Map<String, Object> props = new HashMap<>();
-            props.put("email", user.getEmail());
-            props.put("password", generatedPassword); // gửi mật khẩu thật
-            props.put("loginUrl", "https://your-frontend-app.com/login");
-            dataMail.setProps(props);
+        Map<String, Object> props = new HashMap<>();
+        props.put("email", user.getEmail());
+        props.put("password", generatedPassword); // gửi mật khẩu thật
+        props.put("loginUrl", "https://your-frontend-app.com/login");
+        dataMail.setProps(props);
 
-            mailService.sendMail(dataMail, "user_created_template"); // HTML template bạn sẽ tạo
-        } catch (MessagingException e) {
-            e.printStackTrace();
-        }
+        mailService.queueMail(dataMail, "user_created_template"); // HTML template bạn sẽ tạo
     }
     @Override
     public void updateInformation(UserRequest userRequest) {
@@ -201,28 +198,25 @@ public class UserServiceImpl implements UserService {
         return respone;
     }
 
+    @Transactional
     @Override
     public void forGotPassword(String email) {
         UserEntity userEntity = userRepository.findByEmail(email).orElseThrow(() -> new AppException(ErrorCode.USER_NOT_FOUND));
         String newPass = PasswordUtil.generateRandomPassword(8);
         userEntity.setPassword(passwordEncoder.encode(newPass));
 
-        try {
-            DataMailDTO dataMail = new DataMailDTO();
-            dataMail.setTo(userEntity.getEmail());
-            dataMail.setSubject("Mật khẩu của bạn đã được cấp lại!");
-
-            Map<String, Object> props = new HashMap<>();
-            props.put("email", userEntity.getEmail());
-            props.put("newPassword", newPass);
-            props.put("year", LocalDate.now().getYear());
-            dataMail.setProps(props);
+        DataMailDTO dataMail = new DataMailDTO();
+        dataMail.setTo(userEntity.getEmail());
+        dataMail.setSubject("Mật khẩu của bạn đã được cấp lại!");
 
-            mailService.sendMail(dataMail, "for_got_password_teamplate");
+        Map<String, Object> props = new HashMap<>();
+        props.put("email", userEntity.getEmail());
+        props.put("newPassword", newPass);
+        props.put("year", LocalDate.now().getYear());
+        dataMail.setProps(props);
 
-            userRepository.save(userEntity);
-        }catch (MessagingException e) {
-            e.printStackTrace();
-        }
+        // Mật khẩu mới và email được commit cùng nhau
+        userRepository.save(userEntity);
+        mailService.queueMail(dataMail, "for_got_password_teamplate");
     }
 }
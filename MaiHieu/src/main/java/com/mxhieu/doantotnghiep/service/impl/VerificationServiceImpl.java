@@ -32,11 +32,7 @@ public class VerificationServiceImpl implements VerificationService {
         props.put("email", email);
         props.put("otp", otp);
         dataMail.setProps(props);
-        try {
-            mailService.sendMail(dataMail, "verify_email_template");
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        mailService.queueMail(dataMail, "verify_email_template");
     }
 
     @Override
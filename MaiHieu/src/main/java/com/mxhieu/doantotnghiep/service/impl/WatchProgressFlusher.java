@@ -0,0 +1,31 @@
+package com.mxhieu.doantotnghiep.service.impl;
+
+import com.mxhieu.doantotnghiep.service.WatchProgressService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Xả bộ đệm heartbeat xem video xuống lessonprogress theo chu kỳ, và một lần cuối khi tắt ứng dụng.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WatchProgressFlusher {
+    private final WatchProgressService watchProgressService;
+
+    @Scheduled(fixedDelayString = "${progress.heartbeat.flush-ms:5000}")
+    public void flush() {
+        watchProgressService.flush();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        int written = watchProgressService.flush();
+        if (written > 0) {
+            log.info("Watch progress: đã ghi {} tiến độ còn trong bộ đệm trước khi tắt", written);
+        }
+    }
+}
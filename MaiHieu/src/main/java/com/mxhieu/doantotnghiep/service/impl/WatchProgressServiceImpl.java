@@ -0,0 +1,189 @@
+package com.mxhieu.doantotnghiep.service.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.mxhieu.doantotnghiep.dto.request.LessonProgressRequest;
+import com.mxhieu.doantotnghiep.exception.AppException;
+import com.mxhieu.doantotnghiep.exception.ErrorCode;
+import com.mxhieu.doantotnghiep.repository.EnrollmentCourseRepository;
+import com.mxhieu.doantotnghiep.repository.LessonProgressRepository;
+import com.mxhieu.doantotnghiep.repository.LessonRepository;
+import com.mxhieu.doantotnghiep.service.LessonProgressService;
+import com.mxhieu.doantotnghiep.service.WatchProgressService;
+import com.mxhieu.doantotnghiep.utils.WatchProgressBuffer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Heartbeat % đã xem video: chưa tới ngưỡng hoàn thành (GatingRules) thì chỉ gộp vào WatchProgressBuffer
+ * (giữ % lớn nhất mỗi học viên/bài học), WatchProgressFlusher xả theo lô vài giây một lần, nên sập máy mất tối đa
+ * một chu kỳ xả. Heartbeat vượt ngưỡng với bài chưa hoàn thành thì đi đường đồng bộ checkCompletionCondition
+ * (kiểm tra bài tập, mở bài kế tiếp) ngay trong request. Nếu vượt ngưỡng mà chưa hoàn thành (còn bài tập chưa làm)
+ * thì nhớ cặp đó và các heartbeat sau lại vào bộ đệm; chỉ kiểm tra lại đồng bộ sau mỗi recheck-seconds,
+ * để học viên làm xong bài tập rồi xem tiếp vẫn được hoàn thành bài.
+ * Lần đầu gặp một cặp (học viên, bài học) kiểm tra học viên được học bài đó như đường đồng bộ,
+ * để bộ đệm không tạo tiến độ cho bài đang khoá.
+ */
+@Slf4j
+@Service
+public class WatchProgressServiceImpl implements WatchProgressService {
+    // Cùng ngữ nghĩa LessonProgressRepository.upsertProgress với process 1 (đang học); viết bằng JDBC để ghi theo batch
+    private static final String UPSERT_WATCHED = "INSERT INTO lessonprogress (StudentProfileID, LessonID, PercentageWatched, Process) " +
+            "VALUES (?, ?, ?, 1) ON DUPLICATE KEY UPDATE " +
+            "PercentageWatched = GREATEST(COALESCE(PercentageWatched, 0), VALUES(PercentageWatched)), " +
+            "Process = GREATEST(COALESCE(Process, 0), 1)";
+
+    private final LessonProgressService lessonProgressService;
+    private final LessonRepository lessonRepository;
+    private final LessonProgressRepository lessonProgressRepository;
+    private final EnrollmentCourseRepository enrollmentCourseRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final int batchSize;
+    private final WatchProgressBuffer buffer = new WatchProgressBuffer();
+    private final Cache<Integer, WatchProgressBuffer.Gate> gates;
+    // Cặp (học viên, bài học) đã được phép ghi tiến độ; giá trị true nghĩa là bài đã hoàn thành
+    private final Cache<Long, Boolean> admitted;
+    // Cặp đã vượt ngưỡng nhưng chưa hoàn thành; hết hạn thì heartbeat kế tiếp kiểm tra hoàn thành lại
+    private final Cache<Long, Boolean> crossedIncomplete;
+
+    public WatchProgressServiceImpl(LessonProgressService lessonProgressService,
+                                    LessonRepository lessonRepository,
+                                    LessonProgressRepository lessonProgressRepository,
+                                    EnrollmentCourseRepository enrollmentCourseRepository,
+                                    JdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${progress.heartbeat.batch-size:200}") int batchSize,
+                                    @Value("${progress.heartbeat.admitted-cache-size:200000}") long admittedCacheSize,
+                                    @Value("${progress.heartbeat.recheck-seconds:60}") long recheckSeconds) {
+        this.lessonProgressService = lessonProgressService;
+        this.lessonRepository = lessonRepository;
+        this.lessonProgressRepository = lessonProgressRepository;
+        this.enrollmentCourseRepository = enrollmentCourseRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        // GatingRules hiếm khi sửa; cũ tối đa một phút chỉ làm heartbeat đi nhầm đường, đường đồng bộ luôn đọc lại bài học
+        this.gates = CacheBuilder.newBuilder().maximumSize(10_000).expireAfterWrite(Duration.ofMinutes(1)).build();
+        this.admitted = CacheBuilder.newBuilder().maximumSize(admittedCacheSize).expireAfterAccess(Duration.ofMinutes(30)).build();
+        this.crossedIncomplete = CacheBuilder.newBuilder().maximumSize(admittedCacheSize).expireAfterWrite(Duration.ofSeconds(recheckSeconds)).build();
+    }
+
+    @Override
+    public void recordHeartbeat(LessonProgressRequest request) {
+        if (request.getLessonId() == null) {
+            throw new AppException(ErrorCode.LESSON_NOT_FOUND);
+        }
+        if (request.getStudentProfileId() == null) {
+            throw new AppException(ErrorCode.STUDENT_PROFILE_NOT_FOUND);
+        }
+        int studentProfileId = request.getStudentProfileId();
+        int lessonId = request.getLessonId();
+        int percentageWatched = request.getPercentageWatched() == null ? 0 : Math.max(0, Math.min(100, request.getPercentageWatched()));
+        WatchProgressBuffer.Gate gate = gate(lessonId);
+        long key = WatchProgressBuffer.key(studentProfileId, lessonId);
+        Boolean completed = admitted.getIfPresent(key);
+        if (completed == null) {
+            completed = admit(studentProfileId, gate);
+        }
+
+        int watched = Math.max(percentageWatched, buffer.peek(studentProfileId, lessonId));
+        int gatingRules = gate.gatingRules() == null ? 0 : gate.gatingRules();
+        if (!completed && watched >= gatingRules && crossedIncomplete.getIfPresent(key) == null) {
+            LessonProgressRequest crossing = new LessonProgressRequest();
+            crossing.setLessonId(lessonId);
+            crossing.setStudentProfileId(studentProfileId);
+            crossing.setPercentageWatched(watched);
+            if (lessonProgressService.checkCompletionCondition(crossing)) {
+                admitted.put(key, true);
+                crossedIncomplete.invalidate(key);
+            } else {
+                crossedIncomplete.put(key, true);
+            }
+            return;
+        }
+        buffer.offer(studentProfileId, lessonId, percentageWatched);
+    }
+
+    @Override
+    public int flush() {
+        int written = 0;
+        List<WatchProgressBuffer.Entry> batch;
+        do {
+            batch = buffer.drain(batchSize);
+            if (batch.isEmpty()) {
+                break;
+            }
+            if (!writeBatch(batch)) {
+                break;
+            }
+            written += batch.size();
+        } while (batch.size() == batchSize);
+        return written;
+    }
+
+    // Lô lỗi thì ghi lại từng dòng: dòng vi phạm ràng buộc (bài học vừa bị xoá) bị bỏ, lỗi khác (mất kết nối DB)
+    // thì trả phần còn lại về bộ đệm cho lần xả sau
+    private boolean writeBatch(List<WatchProgressBuffer.Entry> batch) {
+        try {
+            upsert(batch);
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Watch progress: ghi lô {} dòng lỗi, ghi lại từng dòng: {}", batch.size(), e.getMessage());
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            WatchProgressBuffer.Entry entry = batch.get(i);
+            try {
+                upsert(List.of(entry));
+            } catch (DataIntegrityViolationException e) {
+                admitted.invalidate(WatchProgressBuffer.key(entry.studentProfileId(), entry.lessonId()));
+                log.warn("Watch progress: bỏ tiến độ học viên {} bài {}: {}", entry.studentProfileId(), entry.lessonId(), e.getMessage());
+            } catch (RuntimeException e) {
+                buffer.restore(batch.subList(i, batch.size()));
+                log.warn("Watch progress: chưa ghi được {} dòng, thử lại lần xả sau: {}", batch.size() - i, e.getMessage());
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void upsert(List<WatchProgressBuffer.Entry> entries) {
+        transaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPSERT_WATCHED, entries, entries.size(), (ps, entry) -> {
+            ps.setInt(1, entry.studentProfileId());
+            ps.setInt(2, entry.lessonId());
+            ps.setInt(3, entry.percentageWatched());
+        }));
+    }
+
+    private WatchProgressBuffer.Gate gate(Integer lessonId) {
+        WatchProgressBuffer.Gate gate = gates.getIfPresent(lessonId);
+        if (gate == null) {
+            gate = lessonRepository.findGateById(lessonId).orElseThrow(() -> new AppException(ErrorCode.LESSON_NOT_FOUND));
+            gates.put(lessonId, gate);
+        }
+        return gate;
+    }
+
+    // Như checkCompletionCondition: phải có dòng tiến độ (bài đã mở khoá) hoặc khoá học đã DONE
+    private boolean admit(int studentProfileId, WatchProgressBuffer.Gate gate) {
+        Boolean completed = lessonProgressRepository.findByLesson_IdAndStudentProfile_Id(gate.lessonId(), studentProfileId)
+                .map(lessonProgress -> lessonProgress.getProcess() == 2)
+                .orElse(null);
+        if (completed == null) {
+            if (!"DONE".equals(enrollmentCourseRepository.findStatus(studentProfileId, gate.courseId()))) {
+                throw new AppException(ErrorCode.LESSON_PROGRESS_NOT_EXISTS);
+            }
+            completed = false;
+        }
+        admitted.put(WatchProgressBuffer.key(studentProfileId, gate.lessonId()), completed);
+        return completed;
+    }
+}
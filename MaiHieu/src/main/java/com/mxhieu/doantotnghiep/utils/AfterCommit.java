@@ -0,0 +1,26 @@
+package com.mxhieu.doantotnghiep.utils;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Chạy tác vụ (thường là xoá cache) khi transaction hiện tại commit thành công; không có transaction thì chạy ngay.
+ * Xoá trước khi commit thì request đọc song song có thể nạp lại dữ liệu cũ vào cache; rollback thì không cần xoá.
+ */
+public final class AfterCommit {
+    private AfterCommit() {
+    }
+
+    public static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.mxhieu.doantotnghiep.utils;
+
+import java.text.Normalizer;
+import java.util.*;
+
+/**
+ * Đáp án đã "biên dịch" của một bài test hoặc bài tập, bất biến sau khi tạo nên dùng chung giữa các luồng.
+ * Câu hỏi và lựa chọn được sắp theo id trong mảng nguyên thuỷ, đáp án đúng của mỗi câu là một bitmask
+ * trên các lựa chọn của câu đó. Loại câu hỏi lấy theo loại bài (exercisetype) của nhóm và số lựa chọn đúng:
+ * - FILL: loại FILL_IN_THE_BLANK, học viên gửi chữ, so với nội dung lựa chọn sau khi chuẩn hoá;
+ *   một lựa chọn có thể chứa nhiều cách viết ngăn bởi '|'
+ * - SINGLE: các loại khác, đúng một lựa chọn đúng (gồm cả đúng/sai)
+ * - MULTIPLE: các loại khác, nhiều lựa chọn đúng (kể cả khi mọi lựa chọn đều đúng), phải chọn đúng cả tập
+ * Câu không có lựa chọn đúng nào (dữ liệu chưa soạn xong) không được tính điểm.
+ */
+public final class AnswerKey {
+    public static final byte SINGLE = 0;
+    public static final byte MULTIPLE = 1;
+    public static final byte FILL = 2;
+
+    public static final String FILL_TYPE_CODE = "FILL_IN_THE_BLANK";
+
+    private static final int MAX_OPTIONS_PER_QUESTION = Long.SIZE;
+
+    private final int[] questionIds;
+    private final int[] questionGroups;
+    private final byte[] kinds;
+    private final long[] correctMasks;
+    private final String[][] acceptedTexts;
+    private final int[][] acceptedOptionIds;
+    private final int[] optionIds;
+    private final int[] optionQuestions;
+    private final byte[] optionBits;
+    private final int gradableQuestions;
+
+    /** Một dòng đọc từ DB: câu hỏi (thuộc nhóm = assessment/exercise, typeCode là loại bài của nhóm) và một lựa chọn của nó (có thể null). */
+    public record Row(Integer groupId, Integer questionId, Integer optionId, Boolean isCorrect, String content, String typeCode) {
+    }
+
+    /** Một câu trả lời gửi lên: chọn lựa chọn (optionId) hoặc điền chữ (text). groupId null thì không kiểm tra nhóm. */
+    public record Answer(Integer groupId, Integer questionId, Integer optionId, String text) {
+    }
+
+    /**
+     * Kết quả chấm. {@code invalidAnswer} >= 0 là chỉ số câu trả lời đầu tiên không thuộc bài
+     * (câu hỏi/lựa chọn lạ) và khi đó các trường khác không có nghĩa.
+     */
+    public record Grade(int correctQuestions, int totalQuestions, boolean[] answerCorrect, Integer[] matchedOptionIds,
+                        int invalidAnswer, InvalidReason invalidReason) {
+        public boolean isValid() {
+            return invalidAnswer < 0;
+        }
+
+        public int percent() {
+            return totalQuestions == 0 ? 0 : correctQuestions * 100 / totalQuestions;
+        }
+
+        public float percentExact() {
+            return totalQuestions == 0 ? 0 : (float) (100 * correctQuestions) / totalQuestions;
+        }
+    }
+
+    public enum InvalidReason { UNKNOWN_QUESTION, UNKNOWN_OPTION }
+
+    private AnswerKey(int[] questionIds, int[] questionGroups, byte[] kinds, long[] correctMasks, String[][] acceptedTexts,
+                      int[][] acceptedOptionIds, int[] optionIds, int[] optionQuestions, byte[] optionBits, int gradableQuestions) {
+        this.questionIds = questionIds;
+        this.questionGroups = questionGroups;
+        this.kinds = kinds;
+        this.correctMasks = correctMasks;
+        this.acceptedTexts = acceptedTexts;
+        this.acceptedOptionIds = acceptedOptionIds;
+        this.optionIds = optionIds;
+        this.optionQuestions = optionQuestions;
+        this.optionBits = optionBits;
+        this.gradableQuestions = gradableQuestions;
+    }
+
+    public static AnswerKey compile(List<Row> rows) {
+        // Gom lựa chọn theo câu hỏi, câu hỏi theo id tăng dần
+        TreeMap<Integer, List<Row>> byQuestion = new TreeMap<>();
+        Map<Integer, Integer> groups = new HashMap<>();
+        Set<Integer> fillQuestions = new HashSet<>();
+        for (Row row : rows) {
+            List<Row> options = byQuestion.computeIfAbsent(row.questionId(), id -> new ArrayList<>());
+            groups.put(row.questionId(), row.groupId());
+            if (FILL_TYPE_CODE.equals(row.typeCode())) {
+                fillQuestions.add(row.questionId());
+            }
+            if (row.optionId() != null) {
+                options.add(row);
+            }
+        }
+
+        int questionCount = byQuestion.size();
+        int[] questionIds = new int[questionCount];
+        int[] questionGroups = new int[questionCount];
+        byte[] kinds = new byte[questionCount];
+        long[] correctMasks = new long[questionCount];
+        String[][] acceptedTexts = new String[questionCount][];
+        int[][] acceptedOptionIds = new int[questionCount][];
+        List<int[]> options = new ArrayList<>();
+        int gradable = 0;
+
+        int qi = 0;
+        for (Map.Entry<Integer, List<Row>> entry : byQuestion.entrySet()) {
+            List<Row> questionOptions = entry.getValue();
+            if (questionOptions.size() > MAX_OPTIONS_PER_QUESTION) {
+                throw new IllegalStateException("Câu hỏi " + entry.getKey() + " có quá " + MAX_OPTIONS_PER_QUESTION + " lựa chọn");
+            }
+            questionOptions.sort(Comparator.comparing(Row::optionId));
+            questionIds[qi] = entry.getKey();
+            Integer group = groups.get(entry.getKey());
+            questionGroups[qi] = group == null ? 0 : group;
+
+            long mask = 0;
+            int correct = 0;
+            for (int bit = 0; bit < questionOptions.size(); bit++) {
+                Row option = questionOptions.get(bit);
+                options.add(new int[]{option.optionId(), qi, bit});
+                if (Boolean.TRUE.equals(option.isCorrect())) {
+                    mask |= 1L << bit;
+                    correct++;
+                }
+            }
+            correctMasks[qi] = mask;
+            if (correct > 0) {
+                gradable++;
+            }
+            if (correct > 0 && fillQuestions.contains(entry.getKey())) {
+                kinds[qi] = FILL;
+                Map<String, Integer> accepted = new LinkedHashMap<>();
+                for (Row option : questionOptions) {
+                    for (String spelling : Objects.toString(option.content(), "").split("\\|")) {
+                        String text = normalize(spelling);
+                        if (!text.isEmpty()) {
+                            accepted.putIfAbsent(text, option.optionId());
+                        }
+                    }
+                }
+                acceptedTexts[qi] = accepted.keySet().toArray(new String[0]);
+                acceptedOptionIds[qi] = accepted.values().stream().mapToInt(Integer::intValue).toArray();
+            } else {
+                kinds[qi] = correct > 1 ? MULTIPLE : SINGLE;
+            }
+            qi++;
+        }
+
+        options.sort(Comparator.comparingInt(option -> option[0]));
+        int[] optionIds = new int[options.size()];
+        int[] optionQuestions = new int[options.size()];
+        byte[] optionBits = new byte[options.size()];
+        for (int i = 0; i < options.size(); i++) {
+            optionIds[i] = options.get(i)[0];
+            optionQuestions[i] = options.get(i)[1];
+            optionBits[i] = (byte) options.get(i)[2];
+        }
+        return new AnswerKey(questionIds, questionGroups, kinds, correctMasks, acceptedTexts, acceptedOptionIds,
+                optionIds, optionQuestions, optionBits, gradable);
+    }
+
+    public int questionCount() {
+        return questionIds.length;
+    }
+
+    public boolean containsGroup(Integer groupId) {
+        if (groupId == null) {
+            return false;
+        }
+        for (int group : questionGroups) {
+            if (group == groupId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Chấm cả bài trong một lượt: gom lựa chọn của từng câu thành bitmask rồi so với đáp án.
+     * Câu không trả lời tính là sai; mỗi câu trả lời được đánh dấu đúng/sai theo kết quả của cả câu hỏi.
+     */
+    public Grade grade(List<Answer> answers) {
+        int questionCount = questionIds.length;
+        long[] selected = new long[questionCount];
+        boolean[] textCorrect = new boolean[questionCount];
+        boolean[] textWrong = new boolean[questionCount];
+        int[] answerQuestion = new int[answers.size()];
+        Integer[] matchedOptionIds = new Integer[answers.size()];
+
+        for (int i = 0; i < answers.size(); i++) {
+            Answer answer = answers.get(i);
+            int qi = answer.questionId() == null ? -1 : Arrays.binarySearch(questionIds, answer.questionId());
+            if (qi < 0 || (answer.groupId() != null && questionGroups[qi] != answer.groupId())) {
+                return invalid(i, InvalidReason.UNKNOWN_QUESTION);
+            }
+            answerQuestion[i] = qi;
+            if (answer.optionId() != null) {
+                int oi = Arrays.binarySearch(optionIds, answer.optionId());
+                if (oi < 0 || optionQuestions[oi] != qi) {
+                    return invalid(i, InvalidReason.UNKNOWN_OPTION);
+                }
+                matchedOptionIds[i] = answer.optionId();
+                if (kinds[qi] == FILL) {
+                    // Câu điền từ chỉ có lựa chọn đúng: chọn thẳng lựa chọn không được tính
+                    textWrong[qi] = true;
+                } else {
+                    selected[qi] |= 1L << optionBits[oi];
+                }
+            } else if (kinds[qi] == FILL && answer.text() != null) {
+                int accepted = indexOfAccepted(qi, normalize(answer.text()));
+                if (accepted >= 0) {
+                    textCorrect[qi] = true;
+                    matchedOptionIds[i] = acceptedOptionIds[qi][accepted];
+                } else {
+                    textWrong[qi] = true;
+                }
+            } else {
+                textWrong[qi] = true;
+            }
+        }
+
+        boolean[] questionCorrect = new boolean[questionCount];
+        int correct = 0;
+        for (int qi = 0; qi < questionCount; qi++) {
+            if (correctMasks[qi] == 0) {
+                continue;
+            }
+            boolean ok = kinds[qi] == FILL
+                    ? textCorrect[qi] && !textWrong[qi]
+                    : !textWrong[qi] && selected[qi] == correctMasks[qi];
+            questionCorrect[qi] = ok;
+            if (ok) {
+                correct++;
+            }
+        }
+
+        boolean[] answerCorrect = new boolean[answers.size()];
+        for (int i = 0; i < answers.size(); i++) {
+            answerCorrect[i] = questionCorrect[answerQuestion[i]];
+        }
+        return new Grade(correct, gradableQuestions, answerCorrect, matchedOptionIds, -1, null);
+    }
+
+    /** Chuẩn hoá câu trả lời điền từ: NFKC, chữ thường, bỏ dấu câu, gộp khoảng trắng. */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        StringBuilder sb = new StringBuilder(normalized.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < normalized.length(); ) {
+            int cp = normalized.codePointAt(i);
+            i += Character.charCount(cp);
+            if (Character.isLetterOrDigit(cp)) {
+                if (pendingSpace && !sb.isEmpty()) {
+                    sb.append(' ');
+                }
+                pendingSpace = false;
+                sb.appendCodePoint(cp);
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return sb.toString();
+    }
+
+    private int indexOfAccepted(int qi, String text) {
+        String[] accepted = acceptedTexts[qi];
+        for (int i = 0; i < accepted.length; i++) {
+            if (accepted[i].equals(text)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static Grade invalid(int answerIndex, InvalidReason reason) {
+        return new Grade(0, 0, new boolean[0], new Integer[0], answerIndex, reason);
+    }
+}
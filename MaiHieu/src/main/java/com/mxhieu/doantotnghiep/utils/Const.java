@@ -8,4 +8,58 @@ public class Const {
     public final static class TEMPLATE_FILE_NAME {
         public final static String CLIENT_REGISTER = "MailTemplate";
     }
+
+    // Bảng cấp ID theo khối (pooled) cho các bảng ghi nhiều, để Hibernate gom INSERT thành batch
+    public final static class ID_GENERATOR {
+        public final static String TABLE = "id_generator";
+        public final static String PK_COLUMN = "SequenceName";
+        public final static String VALUE_COLUMN = "NextVal";
+        public final static int ALLOCATION_SIZE = 50;
+    }
+
+    // OrderIndex của module/lesson/exercise là khoá thưa: phần tử cách nhau GAP, chèn/di chuyển lấy điểm giữa hai hàng xóm
+    public final static class ORDER_INDEX {
+        public final static long GAP = 1024;
+        // Khoảng cách nhỏ hơn MIN_GAP thì job nền đánh số lại cả nhóm, tránh phải rebalance ngay trong request
+        public final static long MIN_GAP = 8;
+        // Giữ khoá xa giới hạn của cột INT
+        public final static long MAX_KEY = Integer.MAX_VALUE / 2;
+    }
+
+    // Mã nộp bài client sinh cho mỗi lượt làm bài (khoá idempotency của bài nộp và khoá của bản nháp)
+    public final static class SUBMISSION {
+        public final static int MAX_KEY_LENGTH = 64;
+        // Số câu trả lời tối đa trong một lần lưu nháp
+        public final static int MAX_DRAFT_ANSWERS = 500;
+        // Số dòng bản nháp xoá trong một transaction của job compaction
+        public final static int DRAFT_COMPACT_BATCH = 200;
+    }
+
+    // Bài test đầu vào: chỉ bốc ngẫu nhiên trong các bài đủ số câu hỏi
+    public final static class PLACEMENT {
+        public final static String TEST_TYPE = "FIRST_TEST";
+        public final static long MIN_QUESTIONS = 10;
+    }
+
+    // Loại nội dung trong cache body dùng chung (ContentPayloadService), mỗi loại một không gian id
+    public final static class CONTENT_PAYLOAD {
+        public final static String TEST_ASSESSMENTS = "test-assessments";
+        public final static String TEST_SUMMARY = "test-summary";
+        public final static String EXERCISE = "exercise";
+    }
+
+    // Heatmap xem video: đếm lượt xem theo ô thời gian cố định BUCKET_SEC giây của mỗi bài học
+    public final static class WATCH_HEATMAP {
+        public final static int BUCKET_SEC = 10;
+        // Bài học chưa có thời lượng video thì nhận tối đa 4 giờ
+        public final static int MAX_LENGTH_SEC = 4 * 3600;
+        public final static int MAX_SEGMENTS = 50;
+    }
+
+    // Danh sách phân trang theo con trỏ (keyset) cho các màn quản trị/giáo viên
+    public final static class CURSOR_PAGE {
+        public final static int DEFAULT_LIMIT = 20;
+        public final static int MAX_LIMIT = 100;
+        public final static String DEFAULT_SORT = "id";
+    }
 }
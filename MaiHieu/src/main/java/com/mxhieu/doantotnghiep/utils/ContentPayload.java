@@ -0,0 +1,100 @@
+package com.mxhieu.doantotnghiep.utils;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Body JSON đã serialize và nén gzip sẵn, kèm ETag mạnh tính từ nội dung (giống nhau giữa các instance).
+ * ETag mạnh gắn với đúng từng byte nên bản gzip mang ETag riêng (hậu tố -gz), bản không nén giữ etag.
+ * Dùng chung cho mọi học viên nên không được chứa dữ liệu riêng của ai.
+ */
+public record ContentPayload(String etag, byte[] gzip) {
+    private static final int ETAG_BYTES = 16;
+    private static final String GZIP_ETAG_SUFFIX = "-gz";
+
+    public static ContentPayload of(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return new ContentPayload("\"" + HexFormat.of().formatHex(digest, 0, ETAG_BYTES) + "\"", gzip(json));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public String gzipEtag() {
+        return etag.substring(0, etag.length() - 1) + GZIP_ETAG_SUFFIX + "\"";
+    }
+
+    public byte[] json() {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 304 khi If-None-Match khớp ETag; ngược lại trả nguyên mảng đã nén nếu client nhận gzip (trình duyệt luôn nhận),
+     * còn không thì giải nén. no-cache: trình duyệt được giữ bản sao nhưng phải hỏi lại server mỗi lần dùng.
+     */
+    public ResponseEntity<byte[]> toResponse(String ifNoneMatch, String acceptEncoding) {
+        boolean acceptsGzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        String variantEtag = acceptsGzip ? gzipEtag() : etag;
+        if (matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(variantEtag)
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(variantEtag)
+                .cacheControl(CacheControl.noCache())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (acceptsGzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(acceptsGzip ? gzip : json());
+    }
+
+    // If-None-Match so sánh yếu: bỏ tiền tố W/ (proxy có thể đổi ETag sang yếu khi nén lại),
+    // và hai bản gzip/không nén cùng nội dung nên ETag của bản nào cũng khớp
+    private boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag) || tag.equals(gzipEtag())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,9 @@
+package com.mxhieu.doantotnghiep.utils;
+
+/**
+ * Một dòng của các màn tóm tắt (danh sách bài tập của lesson, phần thi của test, danh sách bài test):
+ * chỉ id, tiêu đề và loại, chọn bằng JPQL constructor expression nên không đọc các cột
+ * MediaData/ImageData/Paragraphs của bảng nội dung.
+ */
+public record ContentSummary(Integer id, String title, String type) {
+}
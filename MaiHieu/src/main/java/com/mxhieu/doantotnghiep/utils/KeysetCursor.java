@@ -0,0 +1,37 @@
+package com.mxhieu.doantotnghiep.utils;
+
+import com.mxhieu.doantotnghiep.exception.AppException;
+import com.mxhieu.doantotnghiep.exception.ErrorCode;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Con trỏ dùng chung cho mọi danh sách phân trang keyset: vị trí của dòng cuối trang trước
+ * gồm cách sắp xếp, id và giá trị cột sắp xếp (null khi sắp theo id hoặc dòng đó không có giá trị).
+ * Mã hoá thành chuỗi base64url "2:sort:id:value" ("2:sort:id" khi value null, để phân biệt với chuỗi rỗng)
+ * để client chỉ việc gửi lại nguyên văn;
+ * con trỏ của cách sắp xếp khác bị từ chối thay vì trả về trang sai.
+ */
+public record KeysetCursor(String sort, Integer id, String value) {
+    private static final String VERSION = "2";
+
+    public String encode() {
+        String raw = VERSION + ":" + sort + ":" + id + (value == null ? "" : ":" + value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String token, String expectedSort) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // giá trị nằm cuối và có thể chứa ':'
+            String[] parts = raw.split(":", 4);
+            if (parts.length < 3 || !VERSION.equals(parts[0]) || !parts[1].equals(expectedSort)) {
+                throw new AppException(ErrorCode.CURSOR_INVALID);
+            }
+            return new KeysetCursor(parts[1], Integer.valueOf(parts[2]), parts.length == 4 ? parts[3] : null);
+        } catch (IllegalArgumentException e) {
+            throw new AppException(ErrorCode.CURSOR_INVALID);
+        }
+    }
+}
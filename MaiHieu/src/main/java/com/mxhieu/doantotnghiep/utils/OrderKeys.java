@@ -0,0 +1,32 @@
+package com.mxhieu.doantotnghiep.utils;
+
+import java.util.List;
+
+/**
+ * Tính khoá OrderIndex thưa: FE vẫn gửi vị trí 1-based, server đổi vị trí thành khoá nằm giữa hai phần tử kề nhau
+ * nên chèn/di chuyển chỉ ghi đúng một dòng.
+ */
+public final class OrderKeys {
+    private OrderKeys() {
+    }
+
+    /**
+     * @param siblingKeys khoá của các phần tử cùng nhóm (đã sắp tăng dần, không gồm phần tử đang chèn/di chuyển)
+     * @param position    vị trí 1-based mong muốn, ngoài khoảng [1, n + 1] thì bị kẹp lại
+     * @return khoá mới, hoặc null khi hai hàng xóm đã sát nhau và cần đánh số lại nhóm
+     */
+    public static Long keyAt(List<Long> siblingKeys, long position) {
+        int size = siblingKeys.size();
+        int index = (int) Math.max(0, Math.min(size, position - 1));
+        long prev = index > 0 ? siblingKeys.get(index - 1) : 0;
+        if (index == size) {
+            long key = prev + Const.ORDER_INDEX.GAP;
+            return key <= Const.ORDER_INDEX.MAX_KEY ? key : null;
+        }
+        long next = siblingKeys.get(index);
+        if (next - prev < 2) {
+            return null;
+        }
+        return prev + (next - prev) / 2;
+    }
+}
@@ -0,0 +1,25 @@
+package com.mxhieu.doantotnghiep.utils;
+
+import lombok.Getter;
+
+// Các dịch vụ ngoài gọi kiểu blocking, mỗi cái có bulkhead riêng (giá trị mặc định, ghi đè bằng outbound.<key>.*)
+@Getter
+public enum OutboundIntegration {
+    MERRIAM("merriam", 8, 16, 5_000),
+    AZURE_TTS("azure-tts", 4, 16, 15_000),
+    GEMINI("gemini", 8, 16, 30_000),
+    SMTP("smtp", 2, 50, 60_000),
+    FFMPEG("ffmpeg", 2, 4, 600_000);
+
+    private final String key;
+    private final int concurrency;
+    private final int queueCapacity;
+    private final long timeoutMs;
+
+    OutboundIntegration(String key, int concurrency, int queueCapacity, long timeoutMs) {
+        this.key = key;
+        this.concurrency = concurrency;
+        this.queueCapacity = queueCapacity;
+        this.timeoutMs = timeoutMs;
+    }
+}
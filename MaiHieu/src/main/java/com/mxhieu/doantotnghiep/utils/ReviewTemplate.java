@@ -0,0 +1,129 @@
+package com.mxhieu.doantotnghiep.utils;
+
+import com.mxhieu.doantotnghiep.dto.response.AssessmentOptionResponse;
+import com.mxhieu.doantotnghiep.dto.response.AssessmentQuestionResponse;
+import com.mxhieu.doantotnghiep.dto.response.AssessmentResponse;
+
+import java.util.*;
+
+/**
+ * Khung xem lại bài của một bài test: đề (assessment, câu hỏi, lựa chọn) dựng một lần từ các dòng projection,
+ * bất biến sau khi tạo nên dùng chung cho mọi attempt của bài test đó.
+ * Mỗi lần xem chỉ tạo DTO mới và đánh dấu lựa chọn đã chọn bằng tập khoá (câu hỏi, lựa chọn), media dùng chung.
+ * Các dạng không nằm trong {@link #WHOLE_TYPES} được tách thành một AssessmentResponse cho mỗi câu hỏi.
+ */
+public final class ReviewTemplate {
+    public static final Set<String> WHOLE_TYPES = Set.of("LISTENING_1", "LISTENING_2", "READING_6", "READING_7", "LISTENING_3_4");
+
+    private final Map<Integer, Part> parts;
+
+    public record AssessmentRow(Integer id, String title, byte[] mediaData, byte[] imageData, List<String> paragraphs,
+                                String typeCode, String typeName) {
+    }
+
+    public record QuestionRow(Integer assessmentId, Integer id, String stem, String explain, byte[] mediData) {
+    }
+
+    public record OptionRow(Integer questionId, Integer id, String content, Boolean isCorrect) {
+    }
+
+    /** Một lựa chọn học viên đã chọn trong attempt. */
+    public record Selection(Integer questionId, Integer optionId) {
+    }
+
+    private record Part(AssessmentResponse header, boolean split, List<Question> questions) {
+    }
+
+    private record Question(QuestionRow row, List<OptionRow> options) {
+    }
+
+    private ReviewTemplate(Map<Integer, Part> parts) {
+        this.parts = parts;
+    }
+
+    /** Các dòng câu hỏi/lựa chọn phải theo thứ tự hiển thị (id tăng dần). */
+    public static ReviewTemplate compile(List<AssessmentRow> assessments, List<QuestionRow> questions, List<OptionRow> options) {
+        Map<Integer, List<OptionRow>> optionsByQuestion = new HashMap<>();
+        for (OptionRow option : options) {
+            optionsByQuestion.computeIfAbsent(option.questionId(), id -> new ArrayList<>()).add(option);
+        }
+        Map<Integer, List<Question>> questionsByAssessment = new HashMap<>();
+        for (QuestionRow question : questions) {
+            questionsByAssessment.computeIfAbsent(question.assessmentId(), id -> new ArrayList<>())
+                    .add(new Question(question, List.copyOf(optionsByQuestion.getOrDefault(question.id(), List.of()))));
+        }
+        Map<Integer, Part> parts = new HashMap<>();
+        for (AssessmentRow assessment : assessments) {
+            AssessmentResponse header = AssessmentResponse.builder()
+                    .id(assessment.id())
+                    .title(assessment.title())
+                    .mediaData(assessment.mediaData())
+                    .typeName(assessment.typeName())
+                    .imageData(assessment.imageData())
+                    .paragraphs(assessment.paragraphs())
+                    .build();
+            parts.put(assessment.id(), new Part(header, !WHOLE_TYPES.contains(assessment.typeCode()),
+                    List.copyOf(questionsByAssessment.getOrDefault(assessment.id(), List.of()))));
+        }
+        return new ReviewTemplate(parts);
+    }
+
+    public static long selectionKey(int questionId, int optionId) {
+        return ((long) questionId << Integer.SIZE) | (optionId & 0xFFFFFFFFL);
+    }
+
+    public static Set<Long> selections(List<Selection> rows) {
+        Set<Long> selections = new HashSet<>(rows.size() * 2);
+        for (Selection row : rows) {
+            selections.add(selectionKey(row.questionId(), row.optionId()));
+        }
+        return selections;
+    }
+
+    /** Dựng phần đề của bài làm theo thứ tự assessment trong attempt; assessment không còn trong đề thì bỏ qua. */
+    public List<AssessmentResponse> render(List<Integer> assessmentIds, Set<Long> selections) {
+        List<AssessmentResponse> assessmentResponses = new ArrayList<>();
+        for (Integer assessmentId : assessmentIds) {
+            Part part = parts.get(assessmentId);
+            if (part == null) {
+                continue;
+            }
+            if (part.split()) {
+                for (Question question : part.questions()) {
+                    assessmentResponses.add(part.header().toBuilder()
+                            .assessmentQuestions(List.of(toQuestionResponse(question, selections)))
+                            .build());
+                }
+            } else {
+                List<AssessmentQuestionResponse> questionResponses = new ArrayList<>(part.questions().size());
+                for (Question question : part.questions()) {
+                    questionResponses.add(toQuestionResponse(question, selections));
+                }
+                assessmentResponses.add(part.header().toBuilder()
+                        .assessmentQuestions(questionResponses)
+                        .build());
+            }
+        }
+        return assessmentResponses;
+    }
+
+    private static AssessmentQuestionResponse toQuestionResponse(Question question, Set<Long> selections) {
+        QuestionRow row = question.row();
+        List<AssessmentOptionResponse> optionResponses = new ArrayList<>(question.options().size());
+        for (OptionRow option : question.options()) {
+            optionResponses.add(AssessmentOptionResponse.builder()
+                    .content(option.content())
+                    .id(option.id())
+                    .isCorrect(option.isCorrect())
+                    .selected(selections.contains(selectionKey(row.id(), option.id())))
+                    .build());
+        }
+        AssessmentQuestionResponse assessmentQuestionResponse = new AssessmentQuestionResponse();
+        assessmentQuestionResponse.setId(row.id());
+        assessmentQuestionResponse.setQuestionText(row.stem());
+        assessmentQuestionResponse.setExplain(row.explain());
+        assessmentQuestionResponse.setMediData(row.mediData());
+        assessmentQuestionResponse.setChoices(optionResponses);
+        return assessmentQuestionResponse;
+    }
+}
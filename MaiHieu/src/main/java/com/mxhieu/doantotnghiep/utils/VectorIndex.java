@@ -0,0 +1,242 @@
+package com.mxhieu.doantotnghiep.utils;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index vector trong bộ nhớ kiểu IVF (inverted file): các vector được gom vào cụm quanh centroid,
+ * khi tìm kiếm chỉ quét {@code nprobe} cụm gần nhất. Khi index còn nhỏ thì quét toàn bộ.
+ * Vector đầu vào phải đã chuẩn hoá L2, điểm trả về là tích vô hướng (cosine).
+ */
+public class VectorIndex<T> {
+    private static final int FLAT_SCAN_LIMIT = 256;
+    private static final int KMEANS_ITERATIONS = 6;
+
+    private final int dimension;
+    private final int nprobe;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Entry<T>> entries = new HashMap<>();
+    private float[][] centroids = new float[0][];
+    private List<List<Entry<T>>> lists = new ArrayList<>();
+    private int trainedSize = 0;
+
+    public VectorIndex(int dimension, int nprobe) {
+        this.dimension = dimension;
+        this.nprobe = nprobe;
+    }
+
+    public record Hit<T>(String key, T payload, float score) {
+    }
+
+    private static final class Entry<T> {
+        final String key;
+        final String group;
+        final float[] vector;
+        final T payload;
+        int list = -1;
+
+        Entry(String key, String group, float[] vector, T payload) {
+            this.key = key;
+            this.group = group;
+            this.vector = vector;
+            this.payload = payload;
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Thay toàn bộ phần tử của một nhóm (ví dụ một khoá học) bằng danh sách mới.
+     */
+    public void replaceGroup(String group, Map<String, T> payloads, Map<String, float[]> vectors) {
+        lock.writeLock().lock();
+        try {
+            removeGroupLocked(group);
+            payloads.forEach((key, payload) -> {
+                float[] vector = vectors.get(key);
+                if (vector == null || vector.length != dimension) {
+                    throw new IllegalArgumentException("Vector dimension mismatch for " + key);
+                }
+                Entry<T> entry = new Entry<>(key, group, vector, payload);
+                Entry<T> old = entries.put(key, entry);
+                if (old != null) {
+                    detach(old);
+                }
+                attach(entry);
+            });
+            if (entries.size() > FLAT_SCAN_LIMIT && entries.size() >= 2 * trainedSize) {
+                train();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeGroup(String group) {
+        lock.writeLock().lock();
+        try {
+            removeGroupLocked(group);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Hit<T>> search(float[] query, int k) {
+        lock.readLock().lock();
+        try {
+            PriorityQueue<Hit<T>> top = new PriorityQueue<>(Comparator.comparingDouble(Hit::score));
+            if (centroids.length == 0) {
+                for (Entry<T> entry : entries.values()) {
+                    offer(top, entry, query, k);
+                }
+            } else {
+                for (int list : nearestLists(query, Math.min(nprobe, centroids.length))) {
+                    for (Entry<T> entry : lists.get(list)) {
+                        offer(top, entry, query, k);
+                    }
+                }
+            }
+            List<Hit<T>> result = new ArrayList<>(top);
+            result.sort(Comparator.comparingDouble((Hit<T> h) -> h.score()).reversed());
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void offer(PriorityQueue<Hit<T>> top, Entry<T> entry, float[] query, int k) {
+        float score = dot(entry.vector, query);
+        if (top.size() < k) {
+            top.add(new Hit<>(entry.key, entry.payload, score));
+        } else if (score > top.peek().score()) {
+            top.poll();
+            top.add(new Hit<>(entry.key, entry.payload, score));
+        }
+    }
+
+    private void removeGroupLocked(String group) {
+        Iterator<Entry<T>> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry<T> entry = iterator.next();
+            if (entry.group.equals(group)) {
+                detach(entry);
+                iterator.remove();
+            }
+        }
+    }
+
+    private void attach(Entry<T> entry) {
+        if (centroids.length == 0) {
+            return;
+        }
+        entry.list = nearestLists(entry.vector, 1)[0];
+        lists.get(entry.list).add(entry);
+    }
+
+    private void detach(Entry<T> entry) {
+        if (entry.list >= 0 && entry.list < lists.size()) {
+            lists.get(entry.list).remove(entry);
+        }
+        entry.list = -1;
+    }
+
+    private int[] nearestLists(float[] vector, int count) {
+        Integer[] order = new Integer[centroids.length];
+        float[] scores = new float[centroids.length];
+        for (int i = 0; i < centroids.length; i++) {
+            order[i] = i;
+            scores[i] = dot(centroids[i], vector);
+        }
+        Arrays.sort(order, (a, b) -> Float.compare(scores[b], scores[a]));
+        int[] result = new int[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = order[i];
+        }
+        return result;
+    }
+
+    // K-means (spherical) đơn giản, khởi tạo xác định từ các phần tử cách đều nhau
+    private void train() {
+        List<Entry<T>> all = new ArrayList<>(entries.values());
+        all.sort(Comparator.comparing(e -> e.key));
+        int nlist = Math.max(1, (int) Math.sqrt(all.size()));
+        float[][] next = new float[nlist][];
+        for (int i = 0; i < nlist; i++) {
+            next[i] = all.get(i * all.size() / nlist).vector.clone();
+        }
+        int[] assignment = new int[all.size()];
+        for (int iteration = 0; iteration < KMEANS_ITERATIONS; iteration++) {
+            for (int i = 0; i < all.size(); i++) {
+                assignment[i] = nearest(next, all.get(i).vector);
+            }
+            float[][] sums = new float[nlist][dimension];
+            for (int i = 0; i < all.size(); i++) {
+                float[] sum = sums[assignment[i]];
+                float[] vector = all.get(i).vector;
+                for (int d = 0; d < dimension; d++) {
+                    sum[d] += vector[d];
+                }
+            }
+            for (int c = 0; c < nlist; c++) {
+                if (normalize(sums[c])) {
+                    next[c] = sums[c];
+                }
+            }
+        }
+        centroids = next;
+        lists = new ArrayList<>(nlist);
+        for (int c = 0; c < nlist; c++) {
+            lists.add(new ArrayList<>());
+        }
+        for (Entry<T> entry : all) {
+            entry.list = nearest(centroids, entry.vector);
+            lists.get(entry.list).add(entry);
+        }
+        trainedSize = all.size();
+    }
+
+    private static int nearest(float[][] candidates, float[] vector) {
+        int best = 0;
+        float bestScore = Float.NEGATIVE_INFINITY;
+        for (int i = 0; i < candidates.length; i++) {
+            float score = dot(candidates[i], vector);
+            if (score > bestScore) {
+                bestScore = score;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    private static boolean normalize(float[] vector) {
+        double norm = 0;
+        for (float v : vector) {
+            norm += v * v;
+        }
+        if (norm == 0) {
+            return false;
+        }
+        float inv = (float) (1.0 / Math.sqrt(norm));
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] *= inv;
+        }
+        return true;
+    }
+
+    private static float dot(float[] a, float[] b) {
+        float sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,62 @@
+package com.mxhieu.doantotnghiep.utils;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram lượt xem của một bài học: mỗi ô là một LongAdder đếm số lần một đoạn đã xem phủ qua ô đó,
+ * nên nhiều học viên xem cùng đoạn không tranh chấp cùng một biến đếm.
+ * drain dùng sumThenReset (lấy và đặt lại từng cell nguyên tử) nên lượt đếm chen vào lúc xả được tính ở lần sau.
+ */
+public final class WatchHeatmap {
+    private final LongAdder[] buckets;
+
+    public WatchHeatmap(int bucketCount) {
+        buckets = new LongAdder[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public static int bucketCount(Integer lengthSec) {
+        int length = lengthSec == null || lengthSec <= 0
+                ? Const.WATCH_HEATMAP.MAX_LENGTH_SEC
+                : Math.min(lengthSec, Const.WATCH_HEATMAP.MAX_LENGTH_SEC);
+        return (length + Const.WATCH_HEATMAP.BUCKET_SEC - 1) / Const.WATCH_HEATMAP.BUCKET_SEC;
+    }
+
+    public int bucketCount() {
+        return buckets.length;
+    }
+
+    /** Cộng một lượt cho mọi ô mà đoạn [fromSec, toSec) chạm tới; đoạn rỗng hoặc ngoài thời lượng bị bỏ qua. */
+    public void record(int fromSec, int toSec) {
+        if (fromSec < 0 || toSec <= fromSec) {
+            return;
+        }
+        int first = fromSec / Const.WATCH_HEATMAP.BUCKET_SEC;
+        int last = Math.min((toSec - 1) / Const.WATCH_HEATMAP.BUCKET_SEC, buckets.length - 1);
+        for (int bucket = first; bucket <= last; bucket++) {
+            buckets[bucket].increment();
+        }
+    }
+
+    public void add(int bucket, long views) {
+        buckets[bucket].add(views);
+    }
+
+    public long[] drain() {
+        long[] views = new long[buckets.length];
+        for (int i = 0; i < buckets.length; i++) {
+            views[i] = buckets[i].sumThenReset();
+        }
+        return views;
+    }
+
+    public long[] snapshot() {
+        long[] views = new long[buckets.length];
+        for (int i = 0; i < buckets.length; i++) {
+            views[i] = buckets[i].sum();
+        }
+        return views;
+    }
+}
@@ -0,0 +1,59 @@
+package com.mxhieu.doantotnghiep.utils;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bộ đệm heartbeat xem video: mỗi (học viên, bài học) chỉ giữ % đã xem lớn nhất chưa ghi xuống DB.
+ * ConcurrentHashMap khoá theo từng bin nên heartbeat của các cặp khác nhau không chặn nhau;
+ * drain lấy ra và xoá từng khoá, heartbeat đến sau đó tạo khoá mới và được ghi ở lần xả kế tiếp.
+ */
+public final class WatchProgressBuffer {
+    private final ConcurrentHashMap<Long, Integer> pending = new ConcurrentHashMap<>();
+
+    /** % đã xem đang chờ ghi của một cặp (học viên, bài học). */
+    public record Entry(int studentProfileId, int lessonId, int percentageWatched) {
+    }
+
+    /** Ngưỡng hoàn thành (GatingRules) và khoá học của bài học, dùng để kiểm tra heartbeat không cần nạp entity. */
+    public record Gate(Integer lessonId, Integer gatingRules, Integer courseId) {
+    }
+
+    public static long key(int studentProfileId, int lessonId) {
+        return ((long) studentProfileId << Integer.SIZE) | (lessonId & 0xFFFFFFFFL);
+    }
+
+    public void offer(int studentProfileId, int lessonId, int percentageWatched) {
+        pending.merge(key(studentProfileId, lessonId), percentageWatched, Math::max);
+    }
+
+    public int peek(int studentProfileId, int lessonId) {
+        return pending.getOrDefault(key(studentProfileId, lessonId), 0);
+    }
+
+    public List<Entry> drain(int max) {
+        List<Entry> entries = new ArrayList<>(Math.min(max, pending.size()));
+        Iterator<Long> keys = pending.keySet().iterator();
+        while (entries.size() < max && keys.hasNext()) {
+            long key = keys.next();
+            Integer percentageWatched = pending.remove(key);
+            if (percentageWatched != null) {
+                entries.add(new Entry((int) (key >>> Integer.SIZE), (int) key, percentageWatched));
+            }
+        }
+        return entries;
+    }
+
+    /** Trả lại các dòng ghi lỗi để lần xả sau thử lại, gộp với heartbeat đến trong lúc ghi. */
+    public void restore(List<Entry> entries) {
+        for (Entry entry : entries) {
+            offer(entry.studentProfileId(), entry.lessonId(), entry.percentageWatched());
+        }
+    }
+
+    public int size() {
+        return pending.size();
+    }
+}
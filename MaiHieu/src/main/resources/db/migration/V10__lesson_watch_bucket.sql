@@ -0,0 +1,10 @@
+-- Heatmap xem video: tổng lượt xem theo ô thời gian (Bucket = giây / Const.WATCH_HEATMAP.BUCKET_SEC) của từng bài học.
+-- Bảng tổng hợp, được cộng dồn theo lô từ bộ đếm trong bộ nhớ; không lưu sự kiện xem thô.
+-- Không có khoá ngoại: ghi chỉ là upsert cộng dồn, ID bài học không được tái sử dụng.
+
+CREATE TABLE IF NOT EXISTS `lessonwatchbucket` (
+  `LessonID` int NOT NULL,
+  `Bucket` int NOT NULL,
+  `Views` bigint NOT NULL,
+  PRIMARY KEY (`LessonID`, `Bucket`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
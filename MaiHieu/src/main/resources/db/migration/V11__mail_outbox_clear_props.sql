@@ -0,0 +1,2 @@
+-- Props chứa mật khẩu tạm/OTP: mail đã ở trạng thái cuối (SENT/FAILED) không cần giữ nữa.
+UPDATE `mailoutbox` SET `Props` = NULL WHERE `Status` IN ('SENT', 'FAILED') AND `Props` IS NOT NULL;
@@ -0,0 +1,15 @@
+-- Danh sách phân trang keyset (KeysetListing) sắp theo (cột, ID) và lọc "sau con trỏ" trên cột nguyên dạng:
+-- mỗi cột sắp xếp cần một index để đọc thẳng theo thứ tự và dừng sau limit + 1 dòng (InnoDB tự nối ID vào cuối index).
+
+-- UserRepositoryImpl / StudentProfileRepositoryImpl / TeacheprofileRepositoryImpl sắp theo fullName;
+-- email đã có unique IDX_b7eee57d84fb7ed872e660197f từ baseline
+ALTER TABLE `user`
+    ADD KEY `idx_user_fullname` (`FullName`);
+
+-- CourseRepositoryImpl sắp theo title
+ALTER TABLE `course`
+    ADD KEY `idx_course_title` (`Title`);
+
+-- ModuleRepositoryImpl lọc theo khoá học; sắp theo orderIndex đã có idx_module_course_order (V5)
+ALTER TABLE `module`
+    ADD KEY `idx_module_course_title` (`CourseID`, `Title`);
@@ -0,0 +1,18 @@
+-- Bảng outbox cho mail gửi bất đồng bộ (MailOutboxDispatcher).
+-- IF NOT EXISTS: CSDL dựng từ database/database_merge.sql đã có sẵn bảng này.
+
+CREATE TABLE IF NOT EXISTS `mailoutbox` (
+  `ID` int NOT NULL AUTO_INCREMENT,
+  `Recipient` varchar(255) NOT NULL,
+  `Subject` varchar(255) DEFAULT NULL,
+  `TemplateName` varchar(100) NOT NULL,
+  `Props` text,
+  `Status` varchar(20) NOT NULL,
+  `Attempts` int NOT NULL DEFAULT '0',
+  `NextAttemptAt` datetime NOT NULL,
+  `LastError` varchar(1000) DEFAULT NULL,
+  `CreatedAt` datetime NOT NULL,
+  `SentAt` datetime DEFAULT NULL,
+  PRIMARY KEY (`ID`),
+  KEY `mailoutbox_status_next_idx` (`Status`,`NextAttemptAt`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
@@ -0,0 +1,19 @@
+-- Bảng id_generator cho các entity dùng @TableGenerator (ID cấp theo khối).
+-- NextVal = MAX(ID) + 50 (allocationSize) để khối ID đầu tiên Hibernate lấy ra (NextVal - 49 .. NextVal)
+-- không trùng ID đã có; GREATEST giữ nguyên giá trị nếu bảng đã được seed trước đó.
+
+CREATE TABLE IF NOT EXISTS `id_generator` (
+  `SequenceName` varchar(64) NOT NULL,
+  `NextVal` bigint NOT NULL,
+  PRIMARY KEY (`SequenceName`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+INSERT INTO `id_generator` (`SequenceName`, `NextVal`)
+SELECT 'assessmentanswer', COALESCE(MAX(`ID`), 0) + 50 FROM `assessmentanswer`
+UNION ALL SELECT 'assessmentattempt', COALESCE(MAX(`ID`), 0) + 50 FROM `assessmentattempt`
+UNION ALL SELECT 'attemptanswer', COALESCE(MAX(`ID`), 0) + 50 FROM `attemptanswer`
+UNION ALL SELECT 'enrollmentcourse', COALESCE(MAX(`ID`), 0) + 50 FROM `enrollmentcourse`
+UNION ALL SELECT 'lessonprogress', COALESCE(MAX(`ID`), 0) + 50 FROM `lessonprogress`
+UNION ALL SELECT 'studyplanitem', COALESCE(MAX(`ID`), 0) + 50 FROM `studyplanitem`
+UNION ALL SELECT 'testprogress', COALESCE(MAX(`ID`), 0) + 50 FROM `testprogress`
+ON DUPLICATE KEY UPDATE `NextVal` = GREATEST(`NextVal`, VALUES(`NextVal`));
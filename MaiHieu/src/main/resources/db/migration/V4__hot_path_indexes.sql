@@ -0,0 +1,77 @@
+-- Index ghép cho các truy vấn tra cứu nóng (lọc theo học viên + bài/khoá) và ràng buộc unique mà code đang giả định.
+-- Index đơn cột cũ trên cột đứng đầu index ghép được bỏ: FK vẫn dùng được index ghép, bớt một index phải ghi.
+
+-- Mỗi học viên chỉ có 1 dòng tiến độ cho mỗi bài học / bài test.
+-- Gộp dòng trùng trước khi tạo unique: giữ dòng ID nhỏ nhất với tiến độ cao nhất (Process 0 mở khoá < 1 đang học < 2 hoàn thành).
+UPDATE `lessonprogress` keep
+JOIN (SELECT MIN(`ID`) AS `ID`, MAX(`Process`) AS `Process`, MAX(`PercentageWatched`) AS `PercentageWatched`
+      FROM `lessonprogress`
+      GROUP BY `StudentProfileID`, `LessonID`
+      HAVING COUNT(*) > 1) merged ON merged.`ID` = keep.`ID`
+SET keep.`Process` = merged.`Process`, keep.`PercentageWatched` = merged.`PercentageWatched`;
+
+DELETE duplicate FROM `lessonprogress` duplicate
+JOIN `lessonprogress` keep ON keep.`StudentProfileID` = duplicate.`StudentProfileID`
+    AND keep.`LessonID` = duplicate.`LessonID`
+    AND keep.`ID` < duplicate.`ID`;
+
+ALTER TABLE `lessonprogress`
+    ADD UNIQUE KEY `uq_lessonprogress_student_lesson` (`StudentProfileID`, `LessonID`),
+    DROP KEY `FKLessonProg793747`;
+
+UPDATE `testprogress` keep
+JOIN (SELECT MIN(`ID`) AS `ID`, MAX(`Process`) AS `Process`, MAX(`TotalScore`) AS `TotalScore`
+      FROM `testprogress`
+      WHERE `StudentprofileID` IS NOT NULL AND `TestId` IS NOT NULL
+      GROUP BY `StudentprofileID`, `TestId`
+      HAVING COUNT(*) > 1) merged ON merged.`ID` = keep.`ID`
+SET keep.`Process` = merged.`Process`, keep.`TotalScore` = merged.`TotalScore`;
+
+DELETE duplicate FROM `testprogress` duplicate
+JOIN `testprogress` keep ON keep.`StudentprofileID` = duplicate.`StudentprofileID`
+    AND keep.`TestId` = duplicate.`TestId`
+    AND keep.`ID` < duplicate.`ID`;
+
+ALTER TABLE `testprogress`
+    ADD UNIQUE KEY `uq_testprogress_student_test` (`StudentprofileID`, `TestId`),
+    DROP KEY `student_fk_idx`;
+
+-- AttemptRepository.findFirstByStudentProfileIdAndExerciseIdOrderByIdAsc (InnoDB tự nối ID vào cuối index nên không cần sort)
+ALTER TABLE `attempt`
+    ADD KEY `idx_attempt_student_exercise` (`StudentProfileID`, `ExerciseID`),
+    DROP KEY `FKAttempt228324`;
+
+-- EnrollmentCourseRepository.findStatus: enrollment theo (StudentProfileID, TrackID), enrollmentcourse theo
+-- (EnrollmentID, CourseID) kèm status để đọc thẳng từ index
+ALTER TABLE `enrollment`
+    ADD KEY `idx_enrollment_student_track` (`StudentProfileID`, `TrackID`),
+    DROP KEY `FKEnrollment902962`;
+
+ALTER TABLE `enrollmentcourse`
+    ADD KEY `idx_enrollmentcourse_enrollment_course` (`EnrollmentID`, `CourseID`, `status`),
+    DROP KEY `enrollment_fk_idx`;
+
+-- TestAttemptRepository: lọc theo học viên + test, lấy lần có TotalScore cao nhất
+ALTER TABLE `testattempt`
+    ADD KEY `idx_testattempt_student_test_score` (`StudentProfileID`, `TestID`, `TotalScore`),
+    DROP KEY `StudentProfileID_idx`;
+
+ALTER TABLE `studyplan`
+    ADD KEY `idx_studyplan_student_track` (`StudentProfileID`, `TrackID`),
+    DROP KEY `FKStudyPlan83084`;
+
+-- RoleRepository.findByEmail: user (Email unique) -> userrole -> role
+ALTER TABLE `userrole`
+    ADD KEY `idx_userrole_user_role` (`UserID`, `RoleID`),
+    DROP KEY `FKUserRole407442`;
+
+-- uq_student_dictionary chỉ trên StudentProfileId khiến mỗi học viên lưu được đúng 1 từ;
+-- ràng buộc đúng là uq_student_definition (StudentProfileId, DefinitionExampleId), FK dùng tiếp index đó.
+ALTER TABLE `studentdictionary`
+    DROP KEY `uq_student_dictionary`;
+
+-- Index `_idx` trùng hoàn toàn với ModuleID_idx
+ALTER TABLE `test`
+    DROP KEY `_idx`;
+
+-- dictionary(Word) đã có UNIQUE KEY `Word` từ baseline, findByWord dùng được luôn.
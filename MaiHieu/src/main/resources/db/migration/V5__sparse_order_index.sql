@@ -0,0 +1,36 @@
+-- OrderIndex của module/lesson/exercise chuyển sang khoá thưa (Const.ORDER_INDEX.GAP = 1024):
+-- đánh số lại theo thứ tự hiện tại trong từng nhóm, sau đó chèn/di chuyển chỉ ghi một dòng.
+
+UPDATE `module` t
+JOIN (
+    SELECT `ID`, ROW_NUMBER() OVER (PARTITION BY `CourseID` ORDER BY `OrderIndex`, `ID`) AS rn
+    FROM `module`
+) r ON r.`ID` = t.`ID`
+SET t.`OrderIndex` = r.rn * 1024;
+
+UPDATE `lesson` t
+JOIN (
+    SELECT `ID`, ROW_NUMBER() OVER (PARTITION BY `ModuleID` ORDER BY `OrderIndex`, `ID`) AS rn
+    FROM `lesson`
+) r ON r.`ID` = t.`ID`
+SET t.`OrderIndex` = r.rn * 1024;
+
+UPDATE `exercise` t
+JOIN (
+    SELECT `ID`, ROW_NUMBER() OVER (PARTITION BY `LessonID` ORDER BY `OrderIndex`, `ID`) AS rn
+    FROM `exercise`
+) r ON r.`ID` = t.`ID`
+SET t.`OrderIndex` = r.rn * 1024;
+
+-- Tính khoá theo vị trí, next/previous lesson và job rebalance đều đọc (cha, OrderIndex) theo thứ tự
+ALTER TABLE `module`
+    ADD KEY `idx_module_course_order` (`CourseID`, `OrderIndex`),
+    DROP KEY `FKModule365712`;
+
+ALTER TABLE `lesson`
+    ADD KEY `idx_lesson_module_order` (`ModuleID`, `OrderIndex`),
+    DROP KEY `FKLesson896661`;
+
+ALTER TABLE `exercise`
+    ADD KEY `idx_exercise_lesson_order` (`LessonID`, `OrderIndex`),
+    DROP KEY `FKExercise205531`;
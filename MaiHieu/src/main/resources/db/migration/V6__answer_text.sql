@@ -0,0 +1,8 @@
+-- Câu điền từ: lưu chữ học viên gõ; khi gõ sai thì không trỏ tới lựa chọn nào nên cột lựa chọn cho phép NULL.
+ALTER TABLE `assessmentanswer`
+    ADD COLUMN `AnswerText` varchar(255) DEFAULT NULL,
+    MODIFY `assessmentOptionID` int DEFAULT NULL;
+
+ALTER TABLE `attemptanswer`
+    ADD COLUMN `AnswerText` varchar(255) DEFAULT NULL,
+    MODIFY `ChoiceID` int DEFAULT NULL;
@@ -0,0 +1,35 @@
+-- Hàng đợi bài nộp (SubmissionQueueDispatcher): request chấm điểm xong chỉ ghi 1 dòng vào đây,
+-- worker gom nhiều bài rồi ghi testattempt / assessmentattempt / assessmentanswer theo lô.
+-- SubmissionKey do client sinh cho mỗi lần nộp, unique để gửi lại không tạo attempt trùng.
+
+CREATE TABLE IF NOT EXISTS `submissionqueue` (
+  `ID` int NOT NULL AUTO_INCREMENT,
+  `SubmissionKey` varchar(64) NOT NULL,
+  `Kind` varchar(20) NOT NULL,
+  `StudentProfileID` int NOT NULL,
+  `TestID` int NOT NULL,
+  `TotalScore` float NOT NULL,
+  `CorrectQuestions` int NOT NULL,
+  `TotalQuestions` int NOT NULL,
+  `Payload` mediumtext,
+  `Status` varchar(20) NOT NULL,
+  `Attempts` int NOT NULL DEFAULT '0',
+  `NextAttemptAt` datetime NOT NULL,
+  `LastError` varchar(1000) DEFAULT NULL,
+  `CreatedAt` datetime NOT NULL,
+  `WrittenAt` datetime DEFAULT NULL,
+  `TestAttemptID` int DEFAULT NULL,
+  PRIMARY KEY (`ID`),
+  UNIQUE KEY `uq_submissionqueue_key` (`SubmissionKey`),
+  KEY `submissionqueue_status_next_idx` (`Status`,`NextAttemptAt`),
+  KEY `submissionqueue_student_test_idx` (`StudentProfileID`,`TestID`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+ALTER TABLE `testattempt`
+    ADD COLUMN `SubmissionKey` varchar(64) DEFAULT NULL,
+    ADD UNIQUE KEY `uq_testattempt_submission_key` (`SubmissionKey`);
+
+-- testattempt chuyển sang ID cấp theo khối để worker gom INSERT của nhiều bài nộp thành batch
+INSERT INTO `id_generator` (`SequenceName`, `NextVal`)
+SELECT 'testattempt', COALESCE(MAX(`ID`), 0) + 50 FROM `testattempt`
+ON DUPLICATE KEY UPDATE `NextVal` = GREATEST(`NextVal`, VALUES(`NextVal`));
@@ -0,0 +1,22 @@
+-- Bản nháp bài làm (autosave): log chỉ ghi thêm, mỗi dòng là câu trả lời mới nhất của 1 câu hỏi tại thời điểm lưu.
+-- Bản nháp hiện tại = dòng có Seq lớn nhất của mỗi câu hỏi; job nền xoá dòng đã bị thay thế và bản nháp bị bỏ dở.
+-- Không có khoá ngoại: lưu nháp chỉ là INSERT, câu hỏi/lựa chọn được kiểm tra khi nộp bài.
+
+CREATE TABLE IF NOT EXISTS `answerdraft` (
+  `ID` int NOT NULL,
+  `SubmissionKey` varchar(64) NOT NULL,
+  `StudentProfileID` int NOT NULL,
+  `TestID` int NOT NULL,
+  `AssessmentID` int NOT NULL,
+  `QuestionID` int NOT NULL,
+  `Seq` bigint NOT NULL,
+  `OptionIDs` varchar(255) DEFAULT NULL,
+  `AnswerText` varchar(255) DEFAULT NULL,
+  `CreatedAt` datetime NOT NULL,
+  PRIMARY KEY (`ID`),
+  KEY `answerdraft_key_question_seq_idx` (`SubmissionKey`,`QuestionID`,`Seq`),
+  KEY `answerdraft_created_idx` (`CreatedAt`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+INSERT INTO `id_generator` (`SequenceName`, `NextVal`) VALUES ('answerdraft', 50)
+ON DUPLICATE KEY UPDATE `NextVal` = `NextVal`;
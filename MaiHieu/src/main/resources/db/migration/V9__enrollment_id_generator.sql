@@ -0,0 +1,6 @@
+-- enrollment chuyển sang @TableGenerator để lượt ghi danh (3 enrollment + các enrollmentcourse) insert theo batch.
+-- Cùng quy ước với V3: NextVal = MAX(ID) + 50, GREATEST giữ nguyên nếu đã seed.
+
+INSERT INTO `id_generator` (`SequenceName`, `NextVal`)
+SELECT 'enrollment', COALESCE(MAX(`ID`), 0) + 50 FROM `enrollment`
+ON DUPLICATE KEY UPDATE `NextVal` = GREATEST(`NextVal`, VALUES(`NextVal`));
@@ -0,0 +1,58 @@
+package com.mxhieu.doantotnghiep.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Microbenchmark đơn giản: chi phí decode + dựng Authentication mỗi request, trước và sau khi có cache.
+ * Đo theo thời gian thực nên dễ dao động trên CI, chỉ bật khi có tham số:
+ * mvn test -Dtest=CachingJwtDecoderBenchmarkTest -Dbench.jwt=true
+ * Kiểm tra chức năng (cache, thu hồi token) nằm ở CachingJwtDecoderTest.
+ */
+@EnabledIfSystemProperty(named = "bench.jwt", matches = "true")
+class CachingJwtDecoderBenchmarkTest {
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 200_000;
+
+    @Test
+    void cachedDecodeIsCheaper() throws Exception {
+        String token = CachingJwtDecoderTest.sign();
+        NimbusJwtDecoder nimbus = NimbusJwtDecoder.withSecretKey(new SecretKeySpec(CachingJwtDecoderTest.KEY.getBytes(), "HS512"))
+                .macAlgorithm(MacAlgorithm.HS512)
+                .build();
+        JwtGrantedAuthoritiesConverter authorities = new JwtGrantedAuthoritiesConverter();
+        authorities.setAuthoritiesClaimName("role");
+        authorities.setAuthorityPrefix("ROLE_");
+        JwtAuthenticationConverter plainConverter = new JwtAuthenticationConverter();
+        plainConverter.setJwtGrantedAuthoritiesConverter(authorities);
+
+        CachingJwtDecoder caching = new CachingJwtDecoder(nimbus, authorities, 1000, Duration.ofDays(7));
+        CachingJwtAuthenticationConverter cachingConverter = new CachingJwtAuthenticationConverter(caching);
+
+        long before = nanosPerOp(() -> plainConverter.convert(nimbus.decode(token)));
+        long after = nanosPerOp(() -> cachingConverter.convert(caching.decode(token)));
+
+        assertTrue(after < before, () -> "cached path should be faster than re-verifying the token: "
+                + after + " ns/op with cache, " + before + " ns/op without");
+    }
+
+    private long nanosPerOp(Runnable op) {
+        for (int i = 0; i < WARMUP; i++) {
+            op.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            op.run();
+        }
+        return (System.nanoTime() - start) / ITERATIONS;
+    }
+}
@@ -0,0 +1,109 @@
+package com.mxhieu.doantotnghiep.config;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingJwtDecoderTest {
+    static final String KEY = "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef";
+
+    @Test
+    void cachedDecodeReturnsTheSameAuthenticationAndHonoursRevocation() throws Exception {
+        String token = sign();
+        CachingJwtDecoder caching = new CachingJwtDecoder(nimbus(), authorities(), 1000, Duration.ofDays(7));
+        CachingJwtAuthenticationConverter cachingConverter = new CachingJwtAuthenticationConverter(caching);
+
+        AbstractAuthenticationToken authentication = cachingConverter.convert(caching.decode(token));
+        assertEquals("student@example.com", authentication.getName());
+        assertTrue(authentication.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_STUDENT")));
+        assertSame(caching.decode(token), caching.decode(token));
+
+        caching.evict(token);
+        assertThrows(BadJwtException.class, () -> caching.decode(token));
+    }
+
+    @Test
+    void revokedTokenStaysRejectedAfterTheVerifiedCacheOverflows() throws Exception {
+        CachingJwtDecoder caching = new CachingJwtDecoder(nimbus(), authorities(), 2, Duration.ofDays(7));
+        String token = sign();
+        caching.decode(token);
+        caching.evict(token);
+
+        // Nhiều token khác được verify và thu hồi, vượt xa maximumSize của cache
+        for (int i = 0; i < 20; i++) {
+            String other = sign("student" + i + "@example.com");
+            caching.decode(other);
+            caching.evict(other);
+        }
+
+        assertThrows(BadJwtException.class, () -> caching.decode(token));
+        assertEquals(0, caching.sweepRevoked());
+        assertThrows(BadJwtException.class, () -> caching.decode(token));
+    }
+
+    @Test
+    void sweepDropsOnlyRevocationsOfExpiredTokens() {
+        Instant now = Instant.now();
+        JwtDecoder delegate = token -> Jwt.withTokenValue(token)
+                .header("alg", "HS512")
+                .subject(token)
+                .issuedAt(now.minus(Duration.ofDays(1)))
+                .expiresAt(token.equals("expired") ? now.minus(Duration.ofMinutes(5)) : now.plus(Duration.ofHours(1)))
+                .build();
+        CachingJwtDecoder caching = new CachingJwtDecoder(delegate, authorities(), 1000, Duration.ofDays(7));
+        caching.evict("expired");
+        caching.evict("live");
+
+        assertEquals(1, caching.sweepRevoked());
+        assertThrows(BadJwtException.class, () -> caching.decode("live"));
+    }
+
+    private static NimbusJwtDecoder nimbus() {
+        return NimbusJwtDecoder.withSecretKey(new SecretKeySpec(KEY.getBytes(), "HS512"))
+                .macAlgorithm(MacAlgorithm.HS512)
+                .build();
+    }
+
+    private static JwtGrantedAuthoritiesConverter authorities() {
+        JwtGrantedAuthoritiesConverter authorities = new JwtGrantedAuthoritiesConverter();
+        authorities.setAuthoritiesClaimName("role");
+        authorities.setAuthorityPrefix("ROLE_");
+        return authorities;
+    }
+
+    static String sign() throws Exception {
+        return sign("student@example.com");
+    }
+
+    static String sign(String subject) throws Exception {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject(subject)
+                .issuer("com.mxhieu")
+                .issueTime(new Date())
+                .expirationTime(Date.from(Instant.now().plus(Duration.ofDays(7))))
+                .claim("role", "STUDENT")
+                .claim("type", "access")
+                .claim("id", 1)
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS512), claims);
+        jwt.sign(new MACSigner(KEY.getBytes()));
+        return jwt.serialize();
+    }
+}
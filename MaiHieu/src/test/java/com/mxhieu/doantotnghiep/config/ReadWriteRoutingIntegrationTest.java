@@ -0,0 +1,94 @@
+package com.mxhieu.doantotnghiep.config;
+
+import com.mxhieu.doantotnghiep.repository.MySqlTestSupport;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Định tuyến thật qua cả chuỗi JPA: @Transactional(readOnly = true) -> LazyConnectionDataSourceProxy
+ * -> ReadWriteRoutingDataSource -> pool replica, trên hai schema MySQL local (primary và bản copy làm replica).
+ * Mỗi transaction hỏi SELECT DATABASE() qua EntityManager để biết connection thật đang nối schema nào.
+ * Schema replica phải có sẵn (xem application-replica.properties). Chỉ chạy khi có tham số, ví dụ:
+ * mvn test -Dtest=ReadWriteRoutingIntegrationTest -Dexplain.jdbc.url=jdbc:mysql://localhost:3306/db_do_an_tot_nghiep
+ *   -Dreplica.jdbc.url=jdbc:mysql://localhost:3306/db_do_an_tot_nghiep_replica -Dexplain.jdbc.user=root -Dexplain.jdbc.password=123456
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "explain.jdbc.url", matches = ".+")
+@EnabledIfSystemProperty(named = "replica.jdbc.url", matches = ".+")
+class ReadWriteRoutingIntegrationTest extends MySqlTestSupport {
+    @Autowired private SchemaProbe probe;
+
+    @DynamicPropertySource
+    static void replica(DynamicPropertyRegistry registry) {
+        registry.add("datasource.replica.url", () -> System.getProperty("replica.jdbc.url"));
+        registry.add("datasource.replica.username", () -> System.getProperty("explain.jdbc.user", "root"));
+        registry.add("datasource.replica.password", () -> System.getProperty("explain.jdbc.password", ""));
+        // Không có người dùng đăng nhập nên cửa sổ "vừa ghi" chỉ còn theo request
+        registry.add("datasource.replica.sticky-ms", () -> "0");
+    }
+
+    @TestConfiguration
+    static class Probe {
+        @Bean
+        SchemaProbe schemaProbe() {
+            return new SchemaProbe();
+        }
+    }
+
+    static class SchemaProbe {
+        @PersistenceContext
+        private EntityManager entityManager;
+
+        @Transactional(readOnly = true)
+        public String readOnly() {
+            return currentSchema();
+        }
+
+        @Transactional
+        public String readWrite() {
+            return currentSchema();
+        }
+
+        @Transactional(readOnly = true)
+        @ReadFromPrimary
+        public String readOnlyFromPrimary() {
+            return currentSchema();
+        }
+
+        private String currentSchema() {
+            return (String) entityManager.createNativeQuery("SELECT DATABASE()").getSingleResult();
+        }
+    }
+
+    @Test
+    void readOnlyTransactionsReachTheReplicaSchema() {
+        String primary = schema(System.getProperty("explain.jdbc.url"));
+        String replica = schema(System.getProperty("replica.jdbc.url"));
+
+        assertEquals(replica, probe.readOnly());
+        assertEquals(primary, probe.readOnlyFromPrimary());
+        // connection được trả sau mỗi transaction: transaction đọc kế tiếp lại về replica
+        assertEquals(replica, probe.readOnly());
+
+        assertEquals(primary, probe.readWrite());
+        // Test chạy trong một request giả (MockHttpServletRequest): sau khi ghi, request đó đọc ở primary
+        assertEquals(primary, probe.readOnly());
+    }
+
+    private static String schema(String url) {
+        String path = url.substring(url.lastIndexOf('/') + 1);
+        int query = path.indexOf('?');
+        return query < 0 ? path : path.substring(0, query);
+    }
+}
@@ -0,0 +1,180 @@
+package com.mxhieu.doantotnghiep.converter;
+
+import com.mxhieu.doantotnghiep.converter.mapper.*;
+import com.mxhieu.doantotnghiep.dto.response.AssessmentResponse;
+import com.mxhieu.doantotnghiep.dto.response.CourseResponse;
+import com.mxhieu.doantotnghiep.dto.response.LessonResponse;
+import com.mxhieu.doantotnghiep.entity.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * JMH: ModelMapper (STRICT, cấu hình như ModelMapperConfig cũ) so với mapper MapStruct sinh lúc compile,
+ * đo throughput và số byte cấp phát mỗi lần map (GCProfiler, gc.alloc.rate.norm).
+ * Chạy khá lâu nên chỉ bật khi có tham số:
+ * mvn test -Dtest=MapperBenchmarkTest -Dbench.mapper=true
+ */
+@EnabledIfSystemProperty(named = "bench.mapper", matches = "true")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmarkTest {
+    private ModelMapper modelMapper;
+    private CourseMapper courseMapper;
+    private LessonMapper lessonMapper;
+    private AssessmentMapper assessmentMapper;
+
+    private CourseEntity course;
+    private LessonEntity lesson;
+    private AssessmentEntity assessment;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        modelMapper.getConfiguration().setMatchingStrategy(MatchingStrategies.STRICT);
+        BlobMapper blobMapper = new BlobMapper();
+        lessonMapper = new LessonMapperImpl();
+        courseMapper = new CourseMapperImpl(new ModuleMapperImpl(lessonMapper, new TestMapperImpl()), blobMapper);
+        assessmentMapper = new AssessmentMapperImpl(blobMapper);
+
+        course = course();
+        lesson = course.getModules().get(0).getLessons().get(0);
+        assessment = assessment(course.getModules().get(0).getTests().get(0));
+    }
+
+    @Benchmark
+    public CourseResponse courseModelMapper() {
+        return modelMapper.map(course, CourseResponse.class);
+    }
+
+    @Benchmark
+    public CourseResponse courseMapStruct() {
+        return courseMapper.toResponse(course);
+    }
+
+    @Benchmark
+    public LessonResponse lessonModelMapper() {
+        return modelMapper.map(lesson, LessonResponse.class);
+    }
+
+    @Benchmark
+    public LessonResponse lessonMapStruct() {
+        return lessonMapper.toResponse(lesson);
+    }
+
+    @Benchmark
+    public AssessmentResponse assessmentModelMapper() {
+        return modelMapper.map(assessment, AssessmentResponse.class);
+    }
+
+    @Benchmark
+    public AssessmentResponse assessmentMapStruct() {
+        return assessmentMapper.toResponse(assessment);
+    }
+
+    @Test
+    void generatedMappersBeatModelMapper() throws Exception {
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(MapperBenchmarkTest.class.getName() + "\\.")
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+
+        Map<String, RunResult> byName = new HashMap<>();
+        results.forEach(r -> byName.put(r.getParams().getBenchmark().substring(MapperBenchmarkTest.class.getName().length() + 1), r));
+        for (String dto : List.of("course", "lesson", "assessment")) {
+            RunResult reflective = byName.get(dto + "ModelMapper");
+            RunResult generated = byName.get(dto + "MapStruct");
+            double reflectiveOps = reflective.getPrimaryResult().getScore();
+            double generatedOps = generated.getPrimaryResult().getScore();
+            double reflectiveBytes = allocatedBytesPerOp(reflective);
+            double generatedBytes = allocatedBytesPerOp(generated);
+            System.out.printf("%-10s ModelMapper %,12.3f ops/ms %,13.0f B/op | MapStruct %,12.3f ops/ms %,13.0f B/op%n",
+                    dto, reflectiveOps, reflectiveBytes, generatedOps, generatedBytes);
+            assertTrue(generatedOps > reflectiveOps, dto + ": MapStruct phải nhanh hơn ModelMapper");
+            assertTrue(generatedBytes < reflectiveBytes, dto + ": MapStruct phải cấp phát ít hơn ModelMapper");
+        }
+    }
+
+    private double allocatedBytesPerOp(RunResult result) {
+        return result.getSecondaryResults().get("gc.alloc.rate.norm").getScore();
+    }
+
+    // Khoá học cỡ thật: ảnh bìa, 4 module x 6 lesson + 1 test
+    private CourseEntity course() {
+        CourseEntity course = new CourseEntity();
+        course.setId(1);
+        course.setTitle("TOEIC 650+");
+        course.setDescription("Lộ trình luyện thi TOEIC 650+");
+        course.setImgData(new byte[64 * 1024]);
+        course.setStatus("PUBLISHED");
+        course.setVersion(3);
+        course.setType("MAIN");
+        List<ModuleEntity> modules = new ArrayList<>();
+        for (int m = 1; m <= 4; m++) {
+            ModuleEntity module = new ModuleEntity();
+            module.setId(m);
+            module.setTitle("Module " + m);
+            module.setDescription("Mô tả module " + m);
+            module.setOrderIndex((long) m * 1024);
+            module.setScore(100);
+            module.setCourse(course);
+            List<LessonEntity> lessons = new ArrayList<>();
+            for (int l = 1; l <= 6; l++) {
+                LessonEntity lesson = new LessonEntity();
+                lesson.setId(m * 100 + l);
+                lesson.setTitle("Lesson " + l);
+                lesson.setSummary("Tóm tắt lesson " + l);
+                lesson.setDurationMinutes(30);
+                lesson.setOrderIndex(l * 1024);
+                lesson.setGatingRules(80);
+                lesson.setModule(module);
+                lesson.setMaterialEntities(new ArrayList<>());
+                lessons.add(lesson);
+            }
+            TestEntity test = new TestEntity();
+            test.setId(m);
+            test.setType("MINI");
+            test.setName("Mini test " + m);
+            test.setModule(module);
+            module.setLessons(lessons);
+            module.setTests(new ArrayList<>(List.of(test)));
+            modules.add(module);
+        }
+        course.setModules(modules);
+        return course;
+    }
+
+    private AssessmentEntity assessment(TestEntity test) {
+        ExerciseTypeEntity type = new ExerciseTypeEntity();
+        type.setId(1);
+        type.setCode("LISTENING");
+        type.setDescription("Nghe hiểu");
+        AssessmentEntity assessment = new AssessmentEntity();
+        assessment.setId(1);
+        assessment.setVersion(1);
+        assessment.setIsActive(1);
+        assessment.setTitle("Part 3");
+        assessment.setMediaData(new byte[256 * 1024]);
+        assessment.setImageData(new byte[32 * 1024]);
+        assessment.setParagraphs(new ArrayList<>(List.of("Đoạn hội thoại 1", "Đoạn hội thoại 2", "Đoạn hội thoại 3")));
+        assessment.setTest(test);
+        assessment.setExercisetype(type);
+        assessment.setAssessmentQuestions(new ArrayList<>());
+        return assessment;
+    }
+}
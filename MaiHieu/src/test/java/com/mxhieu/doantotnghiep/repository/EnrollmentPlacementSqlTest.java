@@ -0,0 +1,109 @@
+package com.mxhieu.doantotnghiep.repository;
+
+import com.mxhieu.doantotnghiep.dto.request.EnrollmentRequest;
+import com.mxhieu.doantotnghiep.service.EnrollmentServece;
+import com.mxhieu.doantotnghiep.utils.Const;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Ghi danh sau bài test đầu vào trên MySQL thật: khoá DONE không sinh dòng tiến độ, bản mới nhất của mọi khoá
+ * trong ba track được đọc bằng đúng một câu SELECT, và enrollment lấy ID từ bảng id_generator (V9) thành một batch insert.
+ * Dữ liệu mẫu ghi trong transaction của test và rollback khi xong (chỉ bảng id_generator được tăng, như khi chạy thật).
+ * Chỉ chạy khi có tham số, ví dụ:
+ * mvn test -Dtest=EnrollmentPlacementSqlTest -Dexplain.jdbc.url=jdbc:mysql://localhost:3306/db_do_an_tot_nghiep -Dexplain.jdbc.user=root -Dexplain.jdbc.password=123456
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "explain.jdbc.url", matches = ".+")
+class EnrollmentPlacementSqlTest extends MySqlTestSupport {
+    private static final Pattern FROM_COURSE = Pattern.compile("\\bfrom course\\b");
+    private static final Pattern INSERT_ENROLLMENT = Pattern.compile("^insert into enrollment\\b");
+    private static final List<String> TRACK_CODES = List.of("0-300", "300-600", "600+");
+    private static final int ID = 900_300;
+
+    @Autowired private EnrollmentServece enrollmentService;
+    @Autowired private EntityManager entityManager;
+
+    @Test
+    @Transactional
+    void placementEnrollmentSkipsProgressForDoneCoursesAndBatchesGeneratedIds() {
+        List<Integer> lessons = fixture();
+
+        startCapture();
+        enrollmentService.saveEnrollment(EnrollmentRequest.builder().studentProfileId(ID).score(75f).build());
+        entityManager.flush();
+        List<String> statements = captured().stream().map(sql -> sql.trim().toLowerCase(Locale.ROOT)).toList();
+
+        assertEquals(1, statements.stream().filter(sql -> sql.startsWith("select") && FROM_COURSE.matcher(sql).find()).count(),
+                () -> "version lookup is not a single query: " + statements);
+        assertEquals(1, statements.stream().filter(sql -> INSERT_ENROLLMENT.matcher(sql).find()).count(),
+                () -> "enrollments are not inserted as one batch: " + statements);
+
+        // Chỉ bản mới nhất (version 2) của mỗi khoá gốc mẫu được ghi danh; điểm 75 nên hai track đầu DONE
+        List<String> enrolled = jdbcTemplate.queryForList("SELECT CONCAT(ec.CourseID, ':', ec.status) FROM enrollmentcourse ec " +
+                "JOIN enrollment e ON e.ID = ec.EnrollmentID WHERE e.StudentProfileID = ? AND ec.CourseID BETWEEN ? AND ? " +
+                "ORDER BY ec.CourseID", String.class, ID, course(1, 0), course(3, 2));
+        assertEquals(3, enrolled.size(), () -> "enrolled: " + enrolled);
+        assertEquals(List.of(course(1, 2) + ":DONE", course(2, 2) + ":DONE"), enrolled.subList(0, 2));
+        assertTrue(enrolled.get(2).startsWith(course(3, 2) + ":"), () -> "enrolled: " + enrolled);
+
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM lessonprogress WHERE StudentProfileID = ? " +
+                "AND LessonID IN (?, ?)", Integer.class, ID, lessons.get(0), lessons.get(1)));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM testprogress WHERE StudentprofileID = ?", Integer.class, ID));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM lessonprogress WHERE StudentProfileID = ?", Integer.class, ID));
+
+        // ID cấp theo khối từ id_generator (không phải AUTO_INCREMENT): mọi ID nằm trong khối vừa cấp
+        int nextVal = nextVal();
+        List<Integer> ids = jdbcTemplate.queryForList("SELECT ID FROM enrollment WHERE StudentProfileID = ?", Integer.class, ID);
+        assertEquals(3, ids.size());
+        ids.forEach(id -> assertTrue(id <= nextVal && id > nextVal - 2 * Const.ID_GENERATOR.ALLOCATION_SIZE,
+                () -> "enrollment " + id + " not from id_generator (NextVal " + nextVal + ")"));
+    }
+
+    // Ba track (dùng lại track có sẵn nếu đã có mã), mỗi track một khoá gốc OLD với hai phiên bản, phiên bản 2 có một bài học
+    private List<Integer> fixture() {
+        List<Integer> lessons = new ArrayList<>();
+        withoutForeignKeyChecks(() -> {
+            jdbcTemplate.update("INSERT INTO studentprofile (ID, UserID) VALUES (?, ?)", ID, ID);
+            for (int track = 1; track <= 3; track++) {
+                String code = TRACK_CODES.get(track - 1);
+                jdbcTemplate.update("INSERT INTO track (ID, Code, Name) SELECT ?, ?, ? FROM DUAL " +
+                        "WHERE NOT EXISTS (SELECT 1 FROM track WHERE Code = ?)", ID + track, code, code, code);
+                Integer trackId = jdbcTemplate.queryForObject("SELECT ID FROM track WHERE Code = ?", Integer.class, code);
+                jdbcTemplate.update("INSERT INTO course (ID, TrackID, TeacherID, Title, Status, Version) VALUES (?, ?, ?, 'Placement', 'OLD', 0)",
+                        course(track, 0), trackId, ID);
+                for (int version = 1; version <= 2; version++) {
+                    jdbcTemplate.update("INSERT INTO course (ID, TrackID, TeacherID, Title, Status, Version, ParentCourseID) " +
+                            "VALUES (?, ?, ?, 'Placement', 'NEW', ?, ?)", course(track, version), trackId, ID, version, course(track, 0));
+                }
+                jdbcTemplate.update("INSERT INTO module (ID, CourseID, Title, OrderIndex, type) VALUES (?, ?, 'Module', 1, 'LESSON')",
+                        course(track, 2), course(track, 2));
+                jdbcTemplate.update("INSERT INTO lesson (ID, ModuleID, Title, OrderIndex) VALUES (?, ?, 'Lesson', 1)",
+                        course(track, 2), course(track, 2));
+                lessons.add(course(track, 2));
+            }
+        });
+        return lessons;
+    }
+
+    private static int course(int track, int version) {
+        return ID + track * 10 + version;
+    }
+
+    // Bộ cấp ID ghi id_generator trong transaction riêng: đọc có khoá để thấy bản đã commit thay vì snapshot của test
+    private int nextVal() {
+        return jdbcTemplate.queryForObject("SELECT NextVal FROM id_generator WHERE SequenceName = 'enrollment' LOCK IN SHARE MODE",
+                Integer.class);
+    }
+}
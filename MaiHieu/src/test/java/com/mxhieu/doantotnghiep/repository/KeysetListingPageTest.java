@@ -0,0 +1,113 @@
+package com.mxhieu.doantotnghiep.repository;
+
+import com.mxhieu.doantotnghiep.dto.request.CursorPageRequest;
+import com.mxhieu.doantotnghiep.dto.response.CursorPageResponse;
+import com.mxhieu.doantotnghiep.dto.response.ModuleSummaryResponse;
+import com.mxhieu.doantotnghiep.dto.response.UserSummaryResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Đi hết các trang của danh sách keyset trên MySQL thật với giá trị sắp xếp trùng nhau và NULL, cả tăng lẫn giảm dần:
+ * nối các trang theo nextCursor phải ra đúng thứ tự (giá trị, id) của toàn bộ dữ liệu mẫu, không trùng và không sót dòng,
+ * kể cả khi ranh giới trang rơi vào giữa một nhóm giá trị trùng hoặc nhóm NULL.
+ * Dữ liệu mẫu ghi trong transaction của test và rollback khi xong. Chỉ chạy khi có tham số, ví dụ:
+ * mvn test -Dtest=KeysetListingPageTest -Dexplain.jdbc.url=jdbc:mysql://localhost:3306/db_do_an_tot_nghiep -Dexplain.jdbc.user=root -Dexplain.jdbc.password=123456
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "explain.jdbc.url", matches = ".+")
+class KeysetListingPageTest extends MySqlTestSupport {
+    private static final int ID = 900_600;
+    private static final String STATUS = "KEYSET_PAGE";
+    // Phần tử i là giá trị của dòng ID + i; id tăng không cùng chiều với giá trị để bắt lỗi so sánh khoá phụ
+    private static final List<String> FULL_NAMES = Arrays.asList("Binh", null, "An", "", "Binh", null, "An", "Chi", "Binh", "", null, "An");
+    private static final List<Long> ORDER_INDEXES = Arrays.asList(2048L, null, 1024L, 2048L, null, 3072L, 1024L, 2048L, null, 1024L);
+    private static final List<Integer> LIMITS = List.of(1, 2, 3, 5, 100);
+
+    @Autowired private UserRepository userRepository;
+    @Autowired private ModuleRepository moduleRepository;
+
+    @Test
+    @Transactional
+    void textSortPagesCoverEveryRowOnceInBothDirections() {
+        for (int i = 0; i < FULL_NAMES.size(); i++) {
+            jdbcTemplate.update("INSERT INTO user (ID, Email, FullName, Status) VALUES (?, ?, ?, ?)",
+                    ID + i, "keyset-" + i + "@example.com", FULL_NAMES.get(i), STATUS);
+        }
+
+        for (int limit : LIMITS) {
+            assertEquals(expected(FULL_NAMES, false), walk(request -> userRepository.findSummaries(request, STATUS),
+                    UserSummaryResponse::getId, "fullName", limit), "fullName, limit " + limit);
+            assertEquals(expected(FULL_NAMES, true), walk(request -> userRepository.findSummaries(request, STATUS),
+                    UserSummaryResponse::getId, "-fullName", limit), "-fullName, limit " + limit);
+            assertEquals(ids(FULL_NAMES.size()), walk(request -> userRepository.findSummaries(request, STATUS),
+                    UserSummaryResponse::getId, "id", limit), "id, limit " + limit);
+        }
+    }
+
+    @Test
+    @Transactional
+    void numberSortPagesCoverEveryRowOnceInBothDirections() {
+        withoutForeignKeyChecks(() -> {
+            for (int i = 0; i < ORDER_INDEXES.size(); i++) {
+                jdbcTemplate.update("INSERT INTO module (ID, CourseID, Title, OrderIndex) VALUES (?, ?, 'Module', ?)",
+                        ID + i, ID, ORDER_INDEXES.get(i));
+            }
+        });
+
+        for (int limit : LIMITS) {
+            assertEquals(expected(ORDER_INDEXES, false), walk(request -> moduleRepository.findSummaries(request, ID),
+                    ModuleSummaryResponse::getId, "orderIndex", limit), "orderIndex, limit " + limit);
+            assertEquals(expected(ORDER_INDEXES, true), walk(request -> moduleRepository.findSummaries(request, ID),
+                    ModuleSummaryResponse::getId, "-orderIndex", limit), "-orderIndex, limit " + limit);
+        }
+    }
+
+    // Nối các trang theo nextCursor; số trang bị chặn để con trỏ lặp lại không treo test
+    private <T> List<Integer> walk(Function<CursorPageRequest, CursorPageResponse<T>> listing, Function<T, Integer> id,
+                                   String sort, int limit) {
+        List<Integer> ids = new ArrayList<>();
+        String cursor = null;
+        for (int pages = 0; pages <= FULL_NAMES.size(); pages++) {
+            CursorPageResponse<T> page = listing.apply(CursorPageRequest.builder().sort(sort).limit(limit).cursor(cursor).build());
+            assertTrue(page.getItems().size() <= limit, () -> sort + ": page larger than " + limit);
+            page.getItems().forEach(item -> ids.add(id.apply(item)));
+            cursor = page.getNextCursor();
+            if (cursor == null) {
+                return ids;
+            }
+            assertEquals(limit, page.getItems().size(), () -> sort + ": short page before the last one");
+        }
+        return fail(sort + " did not reach the last page: " + ids);
+    }
+
+    // Thứ tự mong đợi theo (giá trị, id), NULL đứng đầu khi tăng dần như MySQL; giảm dần là đảo ngược
+    private static <V extends Comparable<V>> List<Integer> expected(List<V> values, boolean descending) {
+        List<Integer> order = new ArrayList<>(IntStream.range(0, values.size()).boxed()
+                .sorted(Comparator.comparing(values::get, Comparator.nullsFirst(Comparator.<V>naturalOrder()))
+                        .thenComparing(Comparator.naturalOrder()))
+                .map(i -> ID + i)
+                .toList());
+        if (descending) {
+            Collections.reverse(order);
+        }
+        return order;
+    }
+
+    private static List<Integer> ids(int count) {
+        return IntStream.range(0, count).mapToObj(i -> ID + i).toList();
+    }
+}
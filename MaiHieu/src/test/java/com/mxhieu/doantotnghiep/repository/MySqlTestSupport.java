@@ -0,0 +1,78 @@
+package com.mxhieu.doantotnghiep.repository;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Khung chung của các test chạy trên MySQL thật (chỉ bật khi có -Dexplain.jdbc.url, lớp con tự khai báo
+ * @EnabledIfSystemProperty): trỏ datasource vào database từ tham số, bắt SQL Hibernate sinh ra của riêng luồng test
+ * và ghi dữ liệu mẫu khi đã tắt kiểm tra khoá ngoại. Lớp con cần thêm thuộc tính thì khai báo một
+ * @DynamicPropertySource khác tên, Spring gộp cả hai.
+ */
+@Import(MySqlTestSupport.CaptureSql.class)
+public abstract class MySqlTestSupport {
+    private static final List<String> CAPTURED = new CopyOnWriteArrayList<>();
+    // Chỉ bắt SQL của luồng test: các job @Scheduled (dispatcher hàng đợi bài nộp, outbox...) chạy song song
+    private static volatile Thread testThread;
+
+    @Autowired protected JdbcTemplate jdbcTemplate;
+    @Autowired protected PlatformTransactionManager transactionManager;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getProperty("explain.jdbc.url"));
+        registry.add("spring.datasource.username", () -> System.getProperty("explain.jdbc.user", "root"));
+        registry.add("spring.datasource.password", () -> System.getProperty("explain.jdbc.password", ""));
+    }
+
+    @TestConfiguration
+    static class CaptureSql {
+        @Bean
+        HibernatePropertiesCustomizer captureSqlCustomizer() {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, (StatementInspector) sql -> {
+                if (Thread.currentThread() == testThread) {
+                    CAPTURED.add(sql);
+                }
+                return sql;
+            });
+        }
+    }
+
+    // Bắt đầu ghi lại SQL của luồng hiện tại, bỏ các câu đã bắt trước đó
+    protected static void startCapture() {
+        testThread = Thread.currentThread();
+        CAPTURED.clear();
+    }
+
+    protected static List<String> captured() {
+        return List.copyOf(CAPTURED);
+    }
+
+    /**
+     * Dữ liệu mẫu không dựng đủ các bảng cha: tắt FOREIGN_KEY_CHECKS trên connection của transaction đang chạy
+     * (transaction của test, rollback khi xong) hoặc của một transaction riêng được commit khi test không có transaction.
+     */
+    protected void withoutForeignKeyChecks(Runnable fixture) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.execute("SET FOREIGN_KEY_CHECKS = 0");
+            try {
+                fixture.run();
+            } finally {
+                jdbcTemplate.execute("SET FOREIGN_KEY_CHECKS = 1");
+            }
+        });
+    }
+}
@@ -0,0 +1,127 @@
+package com.mxhieu.doantotnghiep.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Upsert tiến độ trên MySQL thật: GREATEST không bao giờ kéo lùi % đã xem/trạng thái, và nhiều lượt mở khoá
+ * đồng thời của cùng (học viên, bài học) chỉ để lại đúng một dòng nhờ unique key. Mỗi lượt ghi là một transaction
+ * riêng đã commit (như các request song song); dữ liệu mẫu được xoá khi xong. Chỉ chạy khi có tham số, ví dụ:
+ * mvn test -Dtest=ProgressUpsertSqlTest -Dexplain.jdbc.url=jdbc:mysql://localhost:3306/db_do_an_tot_nghiep -Dexplain.jdbc.user=root -Dexplain.jdbc.password=123456
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "explain.jdbc.url", matches = ".+")
+class ProgressUpsertSqlTest extends MySqlTestSupport {
+    private static final int ID = 900_400;
+    private static final int THREADS = 8;
+
+    @Autowired private LessonProgressRepository lessonProgressRepository;
+    @Autowired private TestProgressRepository testProgressRepository;
+
+    @BeforeEach
+    void fixture() {
+        cleanUp();
+        // Học viên, bài học, bài test mẫu không cần user/module thật; ghi trong transaction riêng đã commit
+        withoutForeignKeyChecks(() -> {
+            jdbcTemplate.update("INSERT INTO studentprofile (ID, UserID) VALUES (?, ?)", ID, ID);
+            jdbcTemplate.update("INSERT INTO lesson (ID, ModuleID) VALUES (?, ?)", ID, ID);
+            jdbcTemplate.update("INSERT INTO test (ID, ModuleID) VALUES (?, ?)", ID, ID);
+        });
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM lessonprogress WHERE StudentProfileID = ?", ID);
+        jdbcTemplate.update("DELETE FROM testprogress WHERE StudentprofileID = ?", ID);
+        jdbcTemplate.update("DELETE FROM lesson WHERE ID = ?", ID);
+        jdbcTemplate.update("DELETE FROM test WHERE ID = ?", ID);
+        jdbcTemplate.update("DELETE FROM studentprofile WHERE ID = ?", ID);
+    }
+
+    @Test
+    void lessonUpsertNeverLowersProgress() {
+        inTransaction(() -> lessonProgressRepository.upsertProgress(ID, ID, 80, 1));
+        assertEquals(Map.of("PercentageWatched", 80, "Process", 1), lessonRow());
+
+        // sự kiện đến muộn mang giá trị cũ hơn
+        inTransaction(() -> lessonProgressRepository.upsertProgress(ID, ID, 30, 0));
+        assertEquals(Map.of("PercentageWatched", 80, "Process", 1), lessonRow());
+
+        inTransaction(() -> lessonProgressRepository.upsertProgress(ID, ID, 95, 2));
+        inTransaction(() -> lessonProgressRepository.unlock(ID, ID));
+        assertEquals(Map.of("PercentageWatched", 95, "Process", 2), lessonRow());
+    }
+
+    @Test
+    void testUpsertNeverLowersProcess() {
+        inTransaction(() -> testProgressRepository.upsertProcess(ID, ID, 2));
+        inTransaction(() -> testProgressRepository.upsertProcess(ID, ID, 1));
+        inTransaction(() -> testProgressRepository.unlock(ID, ID));
+
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT Process FROM testprogress WHERE StudentprofileID = ? AND TestId = ?",
+                Integer.class, ID, ID));
+    }
+
+    @Test
+    void concurrentUnlocksLeaveExactlyOneRow() throws Exception {
+        concurrently(thread -> lessonProgressRepository.unlock(ID, ID));
+        concurrently(thread -> testProgressRepository.unlock(ID, ID));
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM lessonprogress WHERE StudentProfileID = ? AND LessonID = ?",
+                Integer.class, ID, ID));
+        assertEquals(Map.of("PercentageWatched", 0, "Process", 0), lessonRow());
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM testprogress WHERE StudentprofileID = ? AND TestId = ?",
+                Integer.class, ID, ID));
+    }
+
+    @Test
+    void concurrentUpsertsKeepTheHighestProgress() throws Exception {
+        concurrently(thread -> lessonProgressRepository.upsertProgress(ID, ID, thread * 10, thread % 3));
+
+        assertEquals(Map.of("PercentageWatched", (THREADS - 1) * 10, "Process", 2), lessonRow());
+    }
+
+    private Map<String, Object> lessonRow() {
+        return jdbcTemplate.queryForMap("SELECT PercentageWatched, Process FROM lessonprogress WHERE StudentProfileID = ? AND LessonID = ?",
+                ID, ID);
+    }
+
+    private void inTransaction(Runnable write) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> write.run());
+    }
+
+    // Mỗi luồng một transaction, cùng bắt đầu ghi sau barrier
+    private void concurrently(IntConsumer write) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CyclicBarrier start = new CyclicBarrier(THREADS);
+            List<Future<?>> writes = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                int index = thread;
+                writes.add(executor.submit(() -> {
+                    start.await(10, TimeUnit.SECONDS);
+                    inTransaction(() -> write.accept(index));
+                    return null;
+                }));
+            }
+            for (Future<?> future : writes) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
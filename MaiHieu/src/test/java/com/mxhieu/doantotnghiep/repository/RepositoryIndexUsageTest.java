@@ -0,0 +1,147 @@
+package com.mxhieu.doantotnghiep.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Chạy các truy vấn tra cứu nóng qua repository, bắt SQL Hibernate sinh ra rồi EXPLAIN trên MySQL thật
+ * (schema do Flyway migrate lúc khởi động). Mỗi bảng trong plan phải được tra bằng một index khớp điều kiện:
+ * không full scan, không ghép nhiều index đơn cột (index_merge), không sort lại (Using filesort).
+ * Dữ liệu mẫu (40 học viên x 10 bài) được ghi trong transaction của test và rollback khi xong,
+ * để optimizer có số liệu thật thay vì bảng rỗng ("Impossible WHERE").
+ * Chỉ chạy khi có tham số, ví dụ:
+ * mvn test -Dtest=RepositoryIndexUsageTest -Dexplain.jdbc.url=jdbc:mysql://localhost:3306/db_do_an_tot_nghiep -Dexplain.jdbc.user=root -Dexplain.jdbc.password=123456
+ * DictionaryRepository.findTop10ByWordContainingIgnoreCase (LIKE '%...%') không nằm trong danh sách vì không index B-tree nào dùng được.
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "explain.jdbc.url", matches = ".+")
+class RepositoryIndexUsageTest extends MySqlTestSupport {
+    private static final int ID = 900_000;
+    private static final String EMAIL = "explain@example.com";
+    private static final String SEQ = "WITH RECURSIVE seq (n) AS (SELECT 0 UNION ALL SELECT n + 1 FROM seq WHERE n < 399) ";
+    private static final List<String> FIXTURE = List.of(
+            "INSERT INTO user (ID, Email) VALUES (" + ID + ", '" + EMAIL + "')",
+            "INSERT INTO studentprofile (ID, UserID) VALUES (" + ID + ", " + ID + ")",
+            "INSERT INTO track (ID) VALUES (" + ID + ")",
+            "INSERT INTO course (ID, TrackID, TeacherID) VALUES (" + ID + ", " + ID + ", " + ID + ")",
+            "INSERT INTO lesson (ID, ModuleID) VALUES (" + ID + ", " + ID + ")",
+            "INSERT INTO test (ID) VALUES (" + ID + ")",
+            "INSERT INTO exercise (ID, ExerciseTypeID) VALUES (" + ID + ", " + ID + ")",
+            "INSERT INTO definitionexample (ID, PartOfSpeechID, Definition) VALUES (" + ID + ", " + ID + ", 'explain')",
+            "INSERT INTO role (ID) VALUES (" + ID + ")",
+            "INSERT INTO dictionary (Word) " + SEQ + "SELECT CONCAT('explain-', n) FROM seq",
+            "INSERT INTO lessonprogress (StudentProfileID, LessonID, Process) " + SEQ + "SELECT " + ID + " + n % 40, " + ID + " + n DIV 40, 0 FROM seq",
+            "INSERT INTO testprogress (StudentprofileID, TestId) " + SEQ + "SELECT " + ID + " + n % 40, " + ID + " + n DIV 40 FROM seq",
+            "INSERT INTO attempt (StudentProfileID, ExerciseID) " + SEQ + "SELECT " + ID + " + n % 40, " + ID + " + n DIV 40 FROM seq",
+            "INSERT INTO enrollment (ID, StudentProfileID, TrackID) " + SEQ + "SELECT " + ID + " + n, " + ID + " + n % 40, " + ID + " + n DIV 40 FROM seq",
+            "INSERT INTO enrollmentcourse (EnrollmentID, CourseID) " + SEQ + "SELECT " + ID + " + n, " + ID + " + n DIV 40 FROM seq",
+            "INSERT INTO testattempt (StudentProfileID, TestID, TotalScore, TestAt) " + SEQ + "SELECT " + ID + " + n % 40, " + ID + " + n DIV 40, n % 7, NOW() FROM seq",
+            "INSERT INTO studyplan (StudentProfileID, TrackID) " + SEQ + "SELECT " + ID + " + n % 40, " + ID + " + n DIV 40 FROM seq",
+            "INSERT INTO studentdictionary (StudentProfileId, DefinitionExampleId) " + SEQ + "SELECT " + ID + " + n, " + ID + " FROM seq WHERE n < 40",
+            "INSERT INTO userrole (UserID, RoleID) " + SEQ + "SELECT " + ID + " + n % 40, " + ID + " + n DIV 40 FROM seq"
+    );
+
+    @Autowired private LessonProgressRepository lessonProgressRepository;
+    @Autowired private TestProgressRepository testProgressRepository;
+    @Autowired private AttemptRepository attemptRepository;
+    @Autowired private EnrollmentRepository enrollmentRepository;
+    @Autowired private EnrollmentCourseRepository enrollmentCourseRepository;
+    @Autowired private TestAttemptRepository testAttemptRepository;
+    @Autowired private StudyPlanRepository studyPlanRepository;
+    @Autowired private StudentDictionaryRepository studentDictionaryRepository;
+    @Autowired private DictionaryRepository dictionaryRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private RoleRepository roleRepository;
+
+    @Test
+    @Transactional
+    void hotLookupsUseIndexes() {
+        // Chỉ cần dòng cha cho các bảng bị join hằng (PK), không dựng đủ cây khoá học
+        withoutForeignKeyChecks(() -> FIXTURE.forEach(jdbcTemplate::execute));
+        explainHotLookups();
+    }
+
+    private void explainHotLookups() {
+        Map<String, List<String>> failures = new LinkedHashMap<>();
+        check(failures, "LessonProgressRepository.findByLesson_IdAndStudentProfile_Id",
+                () -> lessonProgressRepository.findByLesson_IdAndStudentProfile_Id(ID, ID));
+        check(failures, "TestProgressRepository.findByTest_IdAndStudentProfile_Id",
+                () -> testProgressRepository.findByTest_IdAndStudentProfile_Id(ID, ID));
+        check(failures, "AttemptRepository.findFirstByStudentProfileIdAndExerciseIdOrderByIdAsc",
+                () -> attemptRepository.findFirstByStudentProfileIdAndExerciseIdOrderByIdAsc(ID, ID));
+        check(failures, "EnrollmentRepository.findByTrack_IdAndStudentProfile_Id",
+                () -> enrollmentRepository.findByTrack_IdAndStudentProfile_Id(ID, ID));
+        check(failures, "EnrollmentCourseRepository.findStatus",
+                () -> enrollmentCourseRepository.findStatus(ID, ID));
+        check(failures, "EnrollmentCourseRepository.findByCourse_IdAndEnrollment_StudentProfile_Id",
+                () -> enrollmentCourseRepository.findByCourse_IdAndEnrollment_StudentProfile_Id(ID, ID));
+        check(failures, "TestAttemptRepository.findByTestIdAndStudentProfileId",
+                () -> testAttemptRepository.findByTestIdAndStudentProfileId(ID, ID));
+        check(failures, "TestAttemptRepository.findTopByTest_IdAndStudentProfile_IdOrderByTotalScoreDesc",
+                () -> testAttemptRepository.findTopByTest_IdAndStudentProfile_IdOrderByTotalScoreDesc(ID, ID));
+        check(failures, "StudyPlanRepository.findByTrack_IdAndStudentProfile_Id",
+                () -> studyPlanRepository.findByTrack_IdAndStudentProfile_Id(ID, ID));
+        check(failures, "StudentDictionaryRepository.existsByStudentProfile_IdAndDefinitionExample_Id",
+                () -> studentDictionaryRepository.existsByStudentProfile_IdAndDefinitionExample_Id(ID, ID));
+        check(failures, "StudentDictionaryRepository.findByStudentProfile_Id",
+                () -> studentDictionaryRepository.findByStudentProfile_Id(ID));
+        check(failures, "DictionaryRepository.findByWord",
+                () -> dictionaryRepository.findByWord("explain-7"), "explain-7");
+        check(failures, "UserRepository.findByEmail",
+                () -> userRepository.findByEmail(EMAIL), EMAIL);
+        check(failures, "RoleRepository.findByEmail",
+                () -> roleRepository.findByEmail(EMAIL), EMAIL);
+
+        assertTrue(failures.isEmpty(), () -> {
+            StringBuilder message = new StringBuilder("Queries without index access:");
+            failures.forEach((name, plan) -> message.append("\n").append(name).append("\n  ").append(String.join("\n  ", plan)));
+            return message.toString();
+        });
+    }
+
+    /**
+     * Chạy truy vấn, EXPLAIN từng câu SELECT bắt được. Tham số chuỗi truyền theo thứ tự xuất hiện,
+     * các tham số còn lại (ID, LIMIT) bind bằng ID của dữ liệu mẫu.
+     */
+    private void check(Map<String, List<String>> failures, String name, Runnable query, Object... stringParams) {
+        startCapture();
+        query.run();
+        List<String> selects = captured().stream().filter(sql -> sql.trim().toLowerCase(Locale.ROOT).startsWith("select")).toList();
+        assertFalse(selects.isEmpty(), name + " did not hit the database");
+
+        for (String sql : selects) {
+            Object[] params = new Object[(int) sql.chars().filter(c -> c == '?').count()];
+            for (int i = 0; i < params.length; i++) {
+                params[i] = i < stringParams.length ? stringParams[i] : ID;
+            }
+            List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, params);
+            for (Map<String, Object> row : plan) {
+                Object table = row.get("table");
+                if (table != null && !table.toString().startsWith("<") && !usesIndex(row)) {
+                    failures.computeIfAbsent(name, k -> new ArrayList<>(List.of(sql))).add(row.toString());
+                }
+            }
+        }
+    }
+
+    private boolean usesIndex(Map<String, Object> row) {
+        String type = Objects.toString(row.get("type"), "");
+        String extra = Objects.toString(row.get("Extra"), "");
+        String ref = Objects.toString(row.get("ref"), "");
+        if (row.get("key") == null || type.equals("ALL") || type.equals("index") || type.startsWith("index_merge")
+                || extra.contains("Using filesort") || extra.contains("Using temporary")) {
+            return false;
+        }
+        // "Using where" khi chỉ tra được 1 cột của index: phần điều kiện còn lại phải lọc từng dòng.
+        // Tra theo index ghép (ref=const,const) kèm ORDER BY ... LIMIT thì MySQL vẫn ghi "Using where", bỏ qua.
+        return !extra.contains("Using where") || ref.contains(",");
+    }
+}
@@ -0,0 +1,82 @@
+package com.mxhieu.doantotnghiep.repository;
+
+import com.mxhieu.doantotnghiep.dto.request.TestAttemptRequest;
+import com.mxhieu.doantotnghiep.dto.response.SubmissionResponse;
+import com.mxhieu.doantotnghiep.service.SubmissionQueueService;
+import com.mxhieu.doantotnghiep.service.impl.SubmissionQueueServiceImpl;
+import com.mxhieu.doantotnghiep.utils.AnswerKey;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Gửi trùng SubmissionKey trên MySQL thật: request thứ hai đã cố định snapshot (findSubmitted) trước khi
+ * request thứ nhất commit, rồi thua cuộc đua insert; nó vẫn phải nhận lại đúng bài nộp đã xếp hàng.
+ * Dữ liệu được commit thật (hai transaction song song) và xoá khi xong. Chỉ chạy khi có tham số, ví dụ:
+ * mvn test -Dtest=SubmissionKeyIdempotencyTest -Dexplain.jdbc.url=jdbc:mysql://localhost:3306/db_do_an_tot_nghiep -Dexplain.jdbc.user=root -Dexplain.jdbc.password=123456
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "explain.jdbc.url", matches = ".+")
+class SubmissionKeyIdempotencyTest extends MySqlTestSupport {
+    private static final int STUDENT = 900_200;
+    private static final int TEST = 900_200;
+    private static final AnswerKey.Grade GRADE = new AnswerKey.Grade(1, 2, new boolean[0], new Integer[0], -1, null);
+
+    private final String key = "idempotency-" + UUID.randomUUID();
+
+    @Autowired private SubmissionQueueService submissionQueueService;
+
+    @DynamicPropertySource
+    static void queue(DynamicPropertyRegistry registry) {
+        // Dispatcher không được ghi các dòng mẫu trong lúc test
+        registry.add("submission.queue.poll-ms", () -> "3600000");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM submissionqueue WHERE SubmissionKey = ?", key);
+    }
+
+    @Test
+    void sameKeyTwiceReturnsTheQueuedSubmission() {
+        SubmissionResponse first = enqueue();
+        SubmissionResponse second = enqueue();
+
+        assertEquals(first.getSubmissionKey(), second.getSubmissionKey());
+        assertEquals(SubmissionQueueServiceImpl.PENDING, second.getStatus());
+        assertEquals(1, rows());
+    }
+
+    @Test
+    void duplicateThatLosesTheInsertRaceSeesTheWinnersRow() {
+        SubmissionResponse[] winner = new SubmissionResponse[1];
+        // Như TestAttemptServiceImpl.saveResult*: findSubmitted chạy trước trong cùng transaction nên snapshot đã cố định
+        SubmissionResponse loser = new TransactionTemplate(transactionManager).execute(status -> {
+            assertTrue(submissionQueueService.findSubmitted(key, STUDENT, TEST).isEmpty());
+            winner[0] = CompletableFuture.supplyAsync(this::enqueue).join();
+            return enqueue();
+        });
+
+        assertEquals(winner[0].getSubmissionKey(), loser.getSubmissionKey());
+        assertEquals(winner[0].getTotalScore(), loser.getTotalScore());
+        assertEquals(1, rows());
+    }
+
+    private SubmissionResponse enqueue() {
+        return submissionQueueService.enqueue(key, SubmissionQueueServiceImpl.MINI_TEST, STUDENT, TEST, GRADE, new TestAttemptRequest());
+    }
+
+    private int rows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM submissionqueue WHERE SubmissionKey = ?", Integer.class, key);
+    }
+}
@@ -0,0 +1,142 @@
+package com.mxhieu.doantotnghiep.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.sql.*;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark ghi 1 bài nộp TOEIC 200 câu (bảng assessmentanswer) ở mức JDBC, đúng các câu lệnh Hibernate phát ra:
+ * - trước: ID IDENTITY, mỗi dòng 1 INSERT + đọc generated key (không batch được)
+ * - sau: ID cấp theo khối 50 từ bảng id_generator, INSERT gom batch 50, rewriteBatchedStatements=true
+ * Cần MySQL thật nên chỉ chạy khi có tham số, ví dụ:
+ * mvn test -Dtest=SubmissionWriteBenchmarkTest -Dbench.jdbc.url=jdbc:mysql://localhost:3306/db_do_an_tot_nghiep -Dbench.jdbc.user=root -Dbench.jdbc.password=123456
+ */
+@EnabledIfSystemProperty(named = "bench.jdbc.url", matches = ".+")
+class SubmissionWriteBenchmarkTest {
+    private static final int ANSWERS = 200;
+    private static final int BATCH = 50;
+    private static final int WARMUP = 3;
+    private static final int RUNS = 10;
+
+    private static final String INSERT_IDENTITY =
+            "INSERT INTO bench_assessmentanswer (IsCorrect, AssessmentAttemptID, AssessmentQuestionID, AssessmentOptionID) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_WITH_ID =
+            "INSERT INTO bench_assessmentanswer (ID, IsCorrect, AssessmentAttemptID, AssessmentQuestionID, AssessmentOptionID) VALUES (?, ?, ?, ?, ?)";
+
+    @Test
+    void pooledIdsWithBatchingWriteSubmissionFaster() throws Exception {
+        String url = System.getProperty("bench.jdbc.url");
+        String user = System.getProperty("bench.jdbc.user", "root");
+        String password = System.getProperty("bench.jdbc.password", "");
+        String batchedUrl = url + (url.contains("?") ? "&" : "?") + "rewriteBatchedStatements=true";
+
+        try (Connection identity = DriverManager.getConnection(url, user, password);
+             Connection batched = DriverManager.getConnection(batchedUrl, user, password);
+             Connection generator = DriverManager.getConnection(url, user, password)) {
+            createTables(identity);
+            try {
+                for (int i = 0; i < WARMUP; i++) {
+                    writeWithIdentity(identity, i);
+                    writeBatched(batched, generator, i);
+                }
+                long before = 0;
+                long after = 0;
+                for (int i = 0; i < RUNS; i++) {
+                    long start = System.nanoTime();
+                    writeWithIdentity(identity, i);
+                    before += System.nanoTime() - start;
+
+                    start = System.nanoTime();
+                    writeBatched(batched, generator, i);
+                    after += System.nanoTime() - start;
+                }
+                double beforeMs = before / 1e6 / RUNS;
+                double afterMs = after / 1e6 / RUNS;
+                System.out.printf("Submission write (%d answers): %.2f ms with IDENTITY, %.2f ms with pooled ids + batch%n",
+                        ANSWERS, beforeMs, afterMs);
+                assertTrue(afterMs < beforeMs, "batched write should be faster than row-by-row IDENTITY inserts");
+            } finally {
+                try (Statement statement = identity.createStatement()) {
+                    statement.execute("DROP TABLE IF EXISTS bench_assessmentanswer");
+                    statement.execute("DROP TABLE IF EXISTS bench_id_generator");
+                }
+            }
+        }
+    }
+
+    private void createTables(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_assessmentanswer");
+            statement.execute("DROP TABLE IF EXISTS bench_id_generator");
+            statement.execute("CREATE TABLE bench_assessmentanswer (ID int NOT NULL AUTO_INCREMENT, IsCorrect bit(1), " +
+                    "AssessmentAttemptID int, AssessmentQuestionID int, AssessmentOptionID int, PRIMARY KEY (ID))");
+            statement.execute("CREATE TABLE bench_id_generator (SequenceName varchar(64) NOT NULL, NextVal bigint NOT NULL, PRIMARY KEY (SequenceName))");
+            statement.execute("INSERT INTO bench_id_generator VALUES ('assessmentanswer', 1000000)");
+        }
+    }
+
+    private void writeWithIdentity(Connection connection, int attempt) throws SQLException {
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_IDENTITY, Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < ANSWERS; i++) {
+                bindAnswer(insert, 1, attempt, i);
+                insert.executeUpdate();
+                try (ResultSet keys = insert.getGeneratedKeys()) {
+                    keys.next();
+                }
+            }
+        }
+        connection.commit();
+    }
+
+    private void writeBatched(Connection connection, Connection generator, int attempt) throws SQLException {
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_WITH_ID)) {
+            long nextId = 0;
+            long blockEnd = -1;
+            for (int i = 0; i < ANSWERS; i++) {
+                if (nextId > blockEnd) {
+                    blockEnd = allocateBlock(generator);
+                    nextId = blockEnd - BATCH + 1;
+                }
+                insert.setLong(1, nextId++);
+                bindAnswer(insert, 2, attempt, i);
+                insert.addBatch();
+                if ((i + 1) % BATCH == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+    }
+
+    // Giống TableGenerator của Hibernate: transaction riêng, khoá dòng, tăng NextVal thêm 1 khối
+    private long allocateBlock(Connection generator) throws SQLException {
+        generator.setAutoCommit(false);
+        long value;
+        try (PreparedStatement select = generator.prepareStatement(
+                "SELECT NextVal FROM bench_id_generator WHERE SequenceName = 'assessmentanswer' FOR UPDATE");
+             ResultSet rs = select.executeQuery()) {
+            rs.next();
+            value = rs.getLong(1) + BATCH;
+        }
+        try (PreparedStatement update = generator.prepareStatement(
+                "UPDATE bench_id_generator SET NextVal = ? WHERE SequenceName = 'assessmentanswer'")) {
+            update.setLong(1, value);
+            update.executeUpdate();
+        }
+        generator.commit();
+        return value;
+    }
+
+    private void bindAnswer(PreparedStatement insert, int from, int attempt, int question) throws SQLException {
+        insert.setBoolean(from, question % 3 == 0);
+        insert.setInt(from + 1, attempt);
+        insert.setInt(from + 2, question);
+        insert.setInt(from + 3, question * 4);
+    }
+}
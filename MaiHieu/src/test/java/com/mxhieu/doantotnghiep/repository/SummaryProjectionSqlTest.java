@@ -0,0 +1,65 @@
+package com.mxhieu.doantotnghiep.repository;
+
+import com.mxhieu.doantotnghiep.service.AssessmentService;
+import com.mxhieu.doantotnghiep.service.ExerciseService;
+import com.mxhieu.doantotnghiep.service.TestService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Các endpoint tóm tắt (bài tập của lesson, phần thi của test, bài test đầu vào, mini test) chỉ trả id/tiêu đề/loại:
+ * bắt SQL Hibernate sinh ra và kiểm tra không câu nào đọc cột blob/văn bản dài.
+ * Dữ liệu mẫu ghi trong transaction của test và rollback khi xong. Chỉ chạy khi có tham số, ví dụ:
+ * mvn test -Dtest=SummaryProjectionSqlTest -Dexplain.jdbc.url=jdbc:mysql://localhost:3306/db_do_an_tot_nghiep -Dexplain.jdbc.user=root -Dexplain.jdbc.password=123456
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "explain.jdbc.url", matches = ".+")
+class SummaryProjectionSqlTest extends MySqlTestSupport {
+    private static final List<String> HEAVY_COLUMNS = List.of("mediadata", "imagedata", "paragraphs", "imgdata");
+    private static final int ID = 900_100;
+    private static final List<String> FIXTURE = List.of(
+            "INSERT INTO exercisetype (ID, Code, Description) VALUES (" + ID + ", 'SUMMARY_SQL', 'Summary')",
+            "INSERT INTO lesson (ID, ModuleID) VALUES (" + ID + ", " + ID + ")",
+            "INSERT INTO test (ID, Type, Name) VALUES (" + ID + ", 'FIRST_TEST', 'Summary test')",
+            "INSERT INTO exercise (ID, LessonID, ExerciseTypeID, Title, OrderIndex, MediaData, Paragraphs) VALUES ("
+                    + ID + ", " + ID + ", " + ID + ", 'Exercise', 1024, x'00', '[\"p\"]')",
+            "INSERT INTO assessment (ID, TestID, TypeID, Title, MediaData, ImageData) VALUES ("
+                    + ID + ", " + ID + ", " + ID + ", 'Part 1', x'00', x'00')"
+    );
+
+    @Autowired private ExerciseService exerciseService;
+    @Autowired private AssessmentService assessmentService;
+    @Autowired private TestService testService;
+
+    @Test
+    @Transactional
+    void summaryEndpointsSkipHeavyColumns() {
+        withoutForeignKeyChecks(() -> FIXTURE.forEach(jdbcTemplate::execute));
+
+        assertEquals("Summary", check(() -> exerciseService.getSummaryExercisesByLessonId(ID)).get(0).getTypeName());
+        assertEquals("Part 1", check(() -> assessmentService.getSummaryAssessmentsByTestId(ID)).get(0).getTitle());
+        assertTrue(check(() -> testService.getFirstTestsSummery()).stream().anyMatch(test -> test.getId() == ID));
+        assertEquals("Summary test", check(() -> testService.getMiniTestsSummery(ID)).getName());
+    }
+
+    private <T> T check(Supplier<T> endpoint) {
+        startCapture();
+        T result = endpoint.get();
+        List<String> selects = captured().stream().filter(sql -> sql.trim().toLowerCase(Locale.ROOT).startsWith("select")).toList();
+        assertFalse(selects.isEmpty(), "summary did not hit the database");
+        for (String sql : selects) {
+            String lower = sql.toLowerCase(Locale.ROOT);
+            HEAVY_COLUMNS.forEach(column -> assertFalse(lower.contains(column), () -> "summary reads " + column + ": " + sql));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,161 @@
+package com.mxhieu.doantotnghiep.service.impl;
+
+import com.mxhieu.doantotnghiep.dto.request.AnswerDraftRequest;
+import com.mxhieu.doantotnghiep.dto.request.AssessmentAnswerRequest;
+import com.mxhieu.doantotnghiep.dto.request.AssessmentAttemptRequest;
+import com.mxhieu.doantotnghiep.dto.request.DraftAnswerRequest;
+import com.mxhieu.doantotnghiep.entity.AnswerDraftEntity;
+import com.mxhieu.doantotnghiep.exception.AppException;
+import com.mxhieu.doantotnghiep.exception.ErrorCode;
+import com.mxhieu.doantotnghiep.repository.AnswerDraftRepository;
+import com.mxhieu.doantotnghiep.utils.Const;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AnswerDraftServiceImplTest {
+    private AnswerDraftRepository answerDraftRepository;
+    private AnswerDraftServiceImpl answerDraftService;
+    private int nextId;
+
+    @BeforeEach
+    void setUp() {
+        answerDraftRepository = mock(AnswerDraftRepository.class);
+        answerDraftService = new AnswerDraftServiceImpl(answerDraftRepository, mock(PlatformTransactionManager.class), 24);
+    }
+
+    @Test
+    void latestSeqWinsEvenWhenAutosavesArriveOutOfOrder() {
+        draft(row(1, 10, 3, List.of(101), null),
+                row(1, 10, 1, List.of(102), null),
+                row(1, 20, 2, List.of(201, 203), null),
+                row(2, 30, 2, List.of(), "New York"));
+
+        List<AssessmentAttemptRequest> merged = answerDraftService.mergeDraft("k", 1, 1, null);
+
+        assertEquals(2, merged.size());
+        assertEquals(List.of("10:101", "20:201", "20:203"), answers(merged.get(0)));
+        assertEquals(2, merged.get(1).getAssessmentId());
+        assertEquals("New York", merged.get(1).getAssessmentAnswerRequests().get(0).getAnswerText());
+    }
+
+    @Test
+    void clearedAnswersAreDropped() {
+        draft(row(1, 10, 1, List.of(101), null),
+                row(1, 10, 2, List.of(), null));
+
+        assertTrue(answerDraftService.mergeDraft("k", 1, 1, null).isEmpty());
+    }
+
+    @Test
+    void submittedAnswersTakePrecedenceOverDraft() {
+        draft(row(1, 10, 1, List.of(101), null),
+                row(1, 20, 1, List.of(201), null));
+        List<AssessmentAttemptRequest> submitted = List.of(AssessmentAttemptRequest.builder()
+                .assessmentId(1)
+                .assessmentAnswerRequests(List.of(AssessmentAnswerRequest.builder().assessmentQuestionId(10).assessmentOptionId(102).build()))
+                .build());
+
+        List<AssessmentAttemptRequest> merged = answerDraftService.mergeDraft("k", 1, 1, submitted);
+
+        assertEquals(List.of("10:102"), answers(merged.get(0)));
+        assertEquals(List.of("20:201"), answers(merged.get(1)));
+        // danh sách client gửi lên không bị sửa
+        assertEquals(1, submitted.size());
+    }
+
+    @Test
+    void draftWithoutSeqIsRejected() {
+        AnswerDraftRequest request = AnswerDraftRequest.builder()
+                .studentProfileId(1)
+                .testId(1)
+                .answers(List.of(DraftAnswerRequest.builder().assessmentId(1).assessmentQuestionId(10).assessmentOptionIds(List.of(101)).build()))
+                .build();
+
+        AppException exception = assertThrows(AppException.class, () -> answerDraftService.saveDraft("k", request));
+        assertEquals(ErrorCode.ANSWER_DRAFT_SEQ_REQUIRED, exception.getErrorCode());
+        verifyNoInteractions(answerDraftRepository);
+    }
+
+    @Test
+    void noSubmissionKeyMeansNoDraftLookup() {
+        answerDraftService.mergeDraft(null, 1, 1, List.of());
+
+        verifyNoInteractions(answerDraftRepository);
+    }
+
+    @Test
+    void compactionDeletesSupersededRowsPerDraftInSmallBatches() {
+        List<Integer> fullBatch = IntStream.range(0, Const.SUBMISSION.DRAFT_COMPACT_BATCH).boxed().toList();
+        when(answerDraftRepository.findKeysSavedSince(any())).thenReturn(List.of("a", "b"));
+        when(answerDraftRepository.findSupersededIds("a", Const.SUBMISSION.DRAFT_COMPACT_BATCH)).thenReturn(fullBatch, List.of(900, 901));
+        when(answerDraftRepository.findSupersededIds("b", Const.SUBMISSION.DRAFT_COMPACT_BATCH)).thenReturn(List.of());
+
+        assertEquals(Const.SUBMISSION.DRAFT_COMPACT_BATCH + 2, answerDraftService.compact());
+
+        verify(answerDraftRepository).deleteAllByIdInBatch(fullBatch);
+        verify(answerDraftRepository).deleteAllByIdInBatch(List.of(900, 901));
+        verify(answerDraftRepository, times(2)).deleteAllByIdInBatch(any());
+    }
+
+    @Test
+    void nextCompactionOnlyLooksAtDraftsSavedSinceThePreviousOne() {
+        when(answerDraftRepository.findKeysSavedSince(any())).thenReturn(List.of());
+        LocalDateTime before = LocalDateTime.now();
+
+        answerDraftService.compact();
+        answerDraftService.compact();
+
+        ArgumentCaptor<LocalDateTime> since = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(answerDraftRepository, times(2)).findKeysSavedSince(since.capture());
+        assertTrue(since.getAllValues().get(0).isBefore(before.minusHours(23)));
+        assertTrue(since.getAllValues().get(1).isAfter(before.minusMinutes(2)));
+    }
+
+    @Test
+    void abandonedDraftsAreDeletedByIdOneDraftAtATime() {
+        when(answerDraftRepository.findAbandonedKeys(any(), eq(Const.SUBMISSION.DRAFT_COMPACT_BATCH))).thenReturn(List.of("x", "y"));
+        when(answerDraftRepository.findIdsSavedBefore(eq("x"), any(), eq(Const.SUBMISSION.DRAFT_COMPACT_BATCH))).thenReturn(List.of(1, 2));
+        when(answerDraftRepository.findIdsSavedBefore(eq("y"), any(), eq(Const.SUBMISSION.DRAFT_COMPACT_BATCH))).thenReturn(List.of(3));
+
+        assertEquals(3, answerDraftService.expireAbandoned());
+
+        verify(answerDraftRepository).deleteAllByIdInBatch(List.of(1, 2));
+        verify(answerDraftRepository).deleteAllByIdInBatch(List.of(3));
+        verify(answerDraftRepository, times(1)).findAbandonedKeys(any(), anyInt());
+    }
+
+    private void draft(AnswerDraftEntity... rows) {
+        when(answerDraftRepository.findBySubmissionKeyAndStudentProfileIdAndTestId("k", 1, 1)).thenReturn(new ArrayList<>(List.of(rows)));
+    }
+
+    private AnswerDraftEntity row(int assessmentId, int questionId, long seq, List<Integer> optionIds, String text) {
+        return AnswerDraftEntity.builder()
+                .id(++nextId)
+                .submissionKey("k")
+                .studentProfileId(1)
+                .testId(1)
+                .assessmentId(assessmentId)
+                .questionId(questionId)
+                .seq(seq)
+                .optionIds(optionIds)
+                .answerText(text)
+                .build();
+    }
+
+    private List<String> answers(AssessmentAttemptRequest attempt) {
+        return attempt.getAssessmentAnswerRequests().stream()
+                .map(answer -> answer.getAssessmentQuestionId() + ":" + answer.getAssessmentOptionId())
+                .toList();
+    }
+}
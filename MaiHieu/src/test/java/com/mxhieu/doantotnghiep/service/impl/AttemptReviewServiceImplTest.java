@@ -0,0 +1,67 @@
+package com.mxhieu.doantotnghiep.service.impl;
+
+import com.mxhieu.doantotnghiep.converter.TestAttemptConverter;
+import com.mxhieu.doantotnghiep.dto.response.TestAttemptResponse;
+import com.mxhieu.doantotnghiep.entity.TestAttemptEntity;
+import com.mxhieu.doantotnghiep.entity.TestEntity;
+import com.mxhieu.doantotnghiep.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class AttemptReviewServiceImplTest {
+    private static final int ATTEMPT = 5;
+    private static final int TEST = 7;
+
+    private TestAttemptRepository testAttemptRepository;
+    private AssessmentRepository assessmentRepository;
+    private AttemptReviewServiceImpl attemptReviewService;
+
+    @BeforeEach
+    void setUp() {
+        testAttemptRepository = mock(TestAttemptRepository.class);
+        assessmentRepository = mock(AssessmentRepository.class);
+        when(testAttemptRepository.findById(ATTEMPT)).thenReturn(Optional.of(TestAttemptEntity.builder()
+                .id(ATTEMPT)
+                .test(TestEntity.builder().id(TEST).build())
+                .build()));
+        TestAttemptConverter testAttemptConverter = mock(TestAttemptConverter.class);
+        when(testAttemptConverter.toResponseSummery(any())).thenReturn(TestAttemptResponse.builder().id(ATTEMPT).build());
+        attemptReviewService = new AttemptReviewServiceImpl(testAttemptRepository, mock(AssessmentAttemptRepository.class),
+                mock(AssessmentAnswerRepository.class), assessmentRepository, mock(AssessmentQuestionRepository.class),
+                testAttemptConverter, 100, 100);
+    }
+
+    @Test
+    void reviewIsServedFromCacheUntilEvicted() {
+        attemptReviewService.getTestAttemptReview(ATTEMPT);
+        attemptReviewService.getTestAttemptReview(ATTEMPT);
+        verify(testAttemptRepository, times(1)).findById(ATTEMPT);
+        verify(assessmentRepository, times(1)).findReviewRowsByTestId(TEST);
+
+        attemptReviewService.evictTestReviews();
+        attemptReviewService.getTestAttemptReview(ATTEMPT);
+        verify(testAttemptRepository, times(2)).findById(ATTEMPT);
+        verify(assessmentRepository, times(2)).findReviewRowsByTestId(TEST);
+    }
+
+    @Test
+    void templateLoadedFromRowsReadBeforeTheEditCommittedIsNotReused() {
+        // Lần dựng đề đầu đọc dữ liệu cũ, rồi việc sửa đề commit và xoá cache trước khi bản dựng đó kịp ghi vào cache
+        when(assessmentRepository.findReviewRowsByTestId(TEST)).thenAnswer(invocation -> {
+            attemptReviewService.evictTestReviews();
+            return List.of();
+        }).thenReturn(List.of());
+
+        attemptReviewService.getTestAttemptReview(ATTEMPT);
+        attemptReviewService.getTestAttemptReview(ATTEMPT);
+        attemptReviewService.getTestAttemptReview(ATTEMPT);
+
+        verify(assessmentRepository, times(2)).findReviewRowsByTestId(TEST);
+    }
+}
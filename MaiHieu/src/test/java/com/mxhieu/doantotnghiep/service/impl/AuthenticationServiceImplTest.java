@@ -0,0 +1,81 @@
+package com.mxhieu.doantotnghiep.service.impl;
+
+import com.mxhieu.doantotnghiep.config.CachingJwtDecoder;
+import com.mxhieu.doantotnghiep.dto.request.AuthenticationRequest;
+import com.mxhieu.doantotnghiep.dto.request.UserPrincipalDTO;
+import com.mxhieu.doantotnghiep.exception.AppException;
+import com.mxhieu.doantotnghiep.exception.ErrorCode;
+import com.mxhieu.doantotnghiep.service.PrincipalService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class AuthenticationServiceImplTest {
+    private static final String EMAIL = "student@example.com";
+
+    private final CountDownLatch releaseHash = new CountDownLatch(1);
+    private ThreadPoolTaskExecutor passwordHashExecutor;
+    private AuthenticationServiceImpl authenticationService;
+
+    @BeforeEach
+    void setUp() {
+        PrincipalService principalService = mock(PrincipalService.class);
+        when(principalService.resolve(EMAIL)).thenReturn(UserPrincipalDTO.builder().email(EMAIL).password("hash").build());
+        // Băm "chậm": chờ tới khi test cho phép
+        PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+        when(passwordEncoder.matches(anyString(), anyString())).thenAnswer(invocation -> releaseHash.await(5, TimeUnit.SECONDS));
+        passwordHashExecutor = new ThreadPoolTaskExecutor();
+        passwordHashExecutor.setCorePoolSize(1);
+        passwordHashExecutor.setMaxPoolSize(1);
+        passwordHashExecutor.setQueueCapacity(1);
+        passwordHashExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        passwordHashExecutor.initialize();
+        authenticationService = new AuthenticationServiceImpl(passwordEncoder, principalService, passwordHashExecutor,
+                mock(CachingJwtDecoder.class));
+        ReflectionTestUtils.setField(authenticationService, "passwordHashTimeoutMs", 500L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseHash.countDown();
+        passwordHashExecutor.shutdown();
+    }
+
+    @Test
+    void loginIsRejectedAtOnceWhenTheHashQueueIsFull() {
+        // Một lượt đang băm, một lượt trong hàng đợi: lượt thứ ba bị từ chối
+        passwordHashExecutor.submit(() -> releaseHash.await(5, TimeUnit.SECONDS));
+        passwordHashExecutor.submit(() -> releaseHash.await(5, TimeUnit.SECONDS));
+
+        long started = System.nanoTime();
+        AppException exception = assertThrows(AppException.class, () -> authenticationService.logIn(request()));
+
+        assertEquals(ErrorCode.LOGIN_BUSY, exception.getErrorCode());
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started) < 500, "rejection must not wait for the timeout");
+    }
+
+    @Test
+    void loginGivesUpAndCancelsTheHashAfterTheTimeout() {
+        AppException exception = assertThrows(AppException.class, () -> authenticationService.logIn(request()));
+
+        assertEquals(ErrorCode.LOGIN_BUSY, exception.getErrorCode());
+        // Lượt băm bị huỷ (interrupt) nên luồng duy nhất của pool được trả lại ngay
+        assertEquals(0, passwordHashExecutor.getThreadPoolExecutor().getQueue().size());
+        assertDoesNotThrow(() -> passwordHashExecutor.submit(() -> true).get(1, TimeUnit.SECONDS));
+    }
+
+    private static AuthenticationRequest request() {
+        return new AuthenticationRequest(EMAIL, "secret");
+    }
+}
@@ -0,0 +1,110 @@
+package com.mxhieu.doantotnghiep.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mxhieu.doantotnghiep.utils.Const;
+import com.mxhieu.doantotnghiep.utils.ContentPayload;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContentPayloadServiceImplTest {
+    private static final String TEST = Const.CONTENT_PAYLOAD.TEST_ASSESSMENTS;
+
+    private ContentPayloadServiceImpl contentPayloadService;
+    private AtomicInteger renders;
+
+    @BeforeEach
+    void setUp() {
+        contentPayloadService = new ContentPayloadServiceImpl(new ObjectMapper(), 1 << 20);
+        renders = new AtomicInteger();
+    }
+
+    @Test
+    void servesCachedBytesUntilThatContentChanges() {
+        ContentPayload first = get(1);
+        assertSame(first, get(1));
+        get(2);
+
+        contentPayloadService.evictTest(1);
+
+        ContentPayload changed = get(1);
+        assertNotSame(first, changed);
+        assertNotEquals(first.etag(), changed.etag());
+        assertEquals(3, renders.get());
+        // test 2 không bị ảnh hưởng
+        get(2);
+        assertEquals(3, renders.get());
+    }
+
+    @Test
+    void payloadRenderedFromDataChangedMidwayIsNotReused() {
+        // Đề bị sửa (và commit) trong lúc đang dựng body từ dữ liệu cũ
+        contentPayloadService.getPayload(TEST, 1, () -> {
+            contentPayloadService.evictTest(1);
+            return Map.of("version", "old");
+        });
+
+        ContentPayload next = get(1);
+
+        assertEquals("{\"version\":1}", new String(next.json()));
+    }
+
+    @Test
+    void exerciseEvictionOnlyTouchesListedIds() {
+        ContentPayload seven = contentPayloadService.getPayload(Const.CONTENT_PAYLOAD.EXERCISE, 7, () -> Map.of("id", renders.incrementAndGet()));
+        contentPayloadService.getPayload(Const.CONTENT_PAYLOAD.EXERCISE, 8, () -> Map.of("id", renders.incrementAndGet()));
+
+        contentPayloadService.evictExercises(List.of(8));
+
+        assertSame(seven, contentPayloadService.getPayload(Const.CONTENT_PAYLOAD.EXERCISE, 7, () -> Map.of("id", renders.incrementAndGet())));
+        assertEquals(2, renders.get());
+    }
+
+    @Test
+    void honoursIfNoneMatchAndAcceptEncoding() {
+        ContentPayload payload = get(1);
+
+        ResponseEntity<byte[]> notModified = payload.toResponse("\"other\", W/" + payload.etag(), "gzip");
+        assertEquals(HttpStatus.NOT_MODIFIED, notModified.getStatusCode());
+        assertNull(notModified.getBody());
+        assertEquals(payload.gzipEtag(), notModified.getHeaders().getETag());
+
+        ResponseEntity<byte[]> gzip = payload.toResponse(null, "gzip, deflate, br");
+        assertSame(payload.gzip(), gzip.getBody());
+        assertEquals("gzip", gzip.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(payload.gzipEtag(), gzip.getHeaders().getETag());
+
+        ResponseEntity<byte[]> plain = payload.toResponse("\"other\"", null);
+        assertEquals(HttpStatus.OK, plain.getStatusCode());
+        assertEquals("{\"version\":1}", new String(plain.getBody()));
+        assertNull(plain.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(payload.etag(), plain.getHeaders().getETag());
+    }
+
+    @Test
+    void gzipAndIdentityBodiesCarryDifferentStrongEtags() {
+        ContentPayload payload = get(1);
+
+        assertNotEquals(payload.etag(), payload.gzipEtag());
+        assertTrue(payload.gzipEtag().startsWith("\"") && payload.gzipEtag().endsWith("-gz\""));
+        // Client đổi Accept-Encoding vẫn được 304 vì hai bản cùng nội dung, ETag trả về theo bản nó sẽ nhận
+        ResponseEntity<byte[]> identity = payload.toResponse(payload.gzipEtag(), null);
+        assertEquals(HttpStatus.NOT_MODIFIED, identity.getStatusCode());
+        assertEquals(payload.etag(), identity.getHeaders().getETag());
+        ResponseEntity<byte[]> gzip = payload.toResponse("W/" + payload.etag(), "gzip");
+        assertEquals(HttpStatus.NOT_MODIFIED, gzip.getStatusCode());
+        assertEquals(payload.gzipEtag(), gzip.getHeaders().getETag());
+    }
+
+    private ContentPayload get(Integer testId) {
+        return contentPayloadService.getPayload(TEST, testId, () -> Map.of("version", renders.incrementAndGet()));
+    }
+}
@@ -0,0 +1,117 @@
+package com.mxhieu.doantotnghiep.service.impl;
+
+import com.mxhieu.doantotnghiep.converter.EnrollmentConverter;
+import com.mxhieu.doantotnghiep.converter.TrackConverter;
+import com.mxhieu.doantotnghiep.dto.request.EnrollmentRequest;
+import com.mxhieu.doantotnghiep.entity.*;
+import com.mxhieu.doantotnghiep.repository.*;
+import com.mxhieu.doantotnghiep.utils.ModuleType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class EnrollmentServeceImplTest {
+    private static final int STUDENT = 4;
+    private static final List<String> TRACK_CODES = List.of("0-300", "300-600", "600+");
+
+    private CourseRepository courseRepository;
+    private EnrollmentRepository enrollmentRepository;
+    private ModuleRepository moduleRepository;
+    private LessonProgressRepository lessonProgressRepository;
+    private TestProgressRepository testProgressRepository;
+    private EnrollmentServeceImpl enrollmentService;
+
+    @BeforeEach
+    void setUp() {
+        StudentProfileRepository studentProfileRepository = mock(StudentProfileRepository.class);
+        TrackRepository trackRepository = mock(TrackRepository.class);
+        courseRepository = mock(CourseRepository.class);
+        enrollmentRepository = mock(EnrollmentRepository.class);
+        moduleRepository = mock(ModuleRepository.class);
+        lessonProgressRepository = mock(LessonProgressRepository.class);
+        testProgressRepository = mock(TestProgressRepository.class);
+        when(studentProfileRepository.findById(STUDENT)).thenReturn(Optional.of(StudentProfileEntity.builder().id(STUDENT).build()));
+
+        // Track i (1..3) có hai khoá gốc 10i+1, 10i+2; bản mới nhất của khoá gốc p là 10p.
+        // Query trả thêm một dòng trùng khoá gốc 11 (cùng version lớn nhất), chỉ dòng đầu được dùng.
+        List<CourseEntity> latest = new ArrayList<>();
+        for (int track = 1; track <= 3; track++) {
+            TrackEntity trackEntity = TrackEntity.builder().id(track).code(TRACK_CODES.get(track - 1)).build();
+            when(trackRepository.findByCode(trackEntity.getCode())).thenReturn(Optional.of(trackEntity));
+            for (int parent = track * 10 + 1; parent <= track * 10 + 2; parent++) {
+                CourseEntity parentCourse = CourseEntity.builder().id(parent).track(trackEntity).build();
+                latest.add(CourseEntity.builder().id(parent * 10).parentCourse(parentCourse).build());
+                if (parent == 11) {
+                    latest.add(CourseEntity.builder().id(parent * 10 - 1).parentCourse(parentCourse).build());
+                }
+            }
+        }
+        when(courseRepository.findLatestVersionsByTrackIds(anyCollection())).thenReturn(latest);
+
+        enrollmentService = new EnrollmentServeceImpl(studentProfileRepository, trackRepository, enrollmentRepository,
+                courseRepository, mock(EnrollmentCourseRepository.class), mock(EnrollmentConverter.class),
+                mock(TrackConverter.class), moduleRepository, lessonProgressRepository, testProgressRepository);
+    }
+
+    @Test
+    void doneCoursesGetNoProgressRowsAndOnlyTheFirstOpenLessonIsUnlocked() {
+        // Bài học thứ tự 1 đứng sau trong danh sách: phải chọn theo OrderIndex
+        when(moduleRepository.findTopByCourse_IdOrderByOrderIndexAsc(310)).thenReturn(ModuleEntity.builder()
+                .type(ModuleType.LESSON)
+                .lessons(List.of(LessonEntity.builder().id(3102).orderIndex(2).build(),
+                        LessonEntity.builder().id(3101).orderIndex(1).build()))
+                .build());
+
+        enrollmentService.saveEnrollment(EnrollmentRequest.builder().studentProfileId(STUDENT).score(75f).build());
+
+        assertEquals(Map.of(
+                "0-300", List.of("110:DONE", "120:DONE"),
+                "300-600", List.of("210:DONE", "220:DONE"),
+                "600+", List.of("310:UNLOCK", "320:LOCK")), savedCourses());
+        verify(moduleRepository, times(1)).findTopByCourse_IdOrderByOrderIndexAsc(anyInt());
+        verify(lessonProgressRepository, times(1)).unlock(STUDENT, 3101);
+        verifyNoMoreInteractions(moduleRepository, lessonProgressRepository);
+        verifyNoInteractions(testProgressRepository);
+    }
+
+    @Test
+    void latestVersionsOfAllThreeTracksAreLoadedInOneQuery() {
+        when(moduleRepository.findTopByCourse_IdOrderByOrderIndexAsc(110)).thenReturn(ModuleEntity.builder()
+                .type(ModuleType.TEST)
+                .tests(List.of(TestEntity.builder().id(1101).build()))
+                .build());
+
+        enrollmentService.saveEnrollment(EnrollmentRequest.builder().studentProfileId(STUDENT).score(10f).build());
+
+        verify(courseRepository, times(1)).findLatestVersionsByTrackIds(List.of(1, 2, 3));
+        verifyNoMoreInteractions(courseRepository);
+        assertEquals(List.of("110:UNLOCK", "120:LOCK"), savedCourses().get("0-300"));
+        assertEquals(List.of("310:LOCK", "320:LOCK"), savedCourses().get("600+"));
+        verify(testProgressRepository, times(1)).unlock(STUDENT, 1101);
+        verifyNoInteractions(lessonProgressRepository);
+    }
+
+    // track -> "courseId:status" của các enrollmentcourse được lưu cùng enrollment, theo thứ tự
+    @SuppressWarnings("unchecked")
+    private Map<String, List<String>> savedCourses() {
+        ArgumentCaptor<Iterable<EnrollmentEntity>> saved = ArgumentCaptor.forClass(Iterable.class);
+        verify(enrollmentRepository).saveAll(saved.capture());
+        List<EnrollmentEntity> enrollments = new ArrayList<>();
+        saved.getValue().forEach(enrollments::add);
+        assertEquals(3, enrollments.size());
+        return enrollments.stream().collect(Collectors.toMap(enrollment -> enrollment.getTrack().getCode(),
+                enrollment -> enrollment.getEnrollmentCourses().stream()
+                        .map(course -> course.getCourse().getId() + ":" + course.getStatus())
+                        .toList()));
+    }
+}
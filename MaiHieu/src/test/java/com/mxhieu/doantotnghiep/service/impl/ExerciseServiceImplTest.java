@@ -0,0 +1,136 @@
+package com.mxhieu.doantotnghiep.service.impl;
+
+import com.mxhieu.doantotnghiep.converter.ExerciseConverter;
+import com.mxhieu.doantotnghiep.dto.response.AttemptanswerResponse;
+import com.mxhieu.doantotnghiep.dto.response.ChoiceResponse;
+import com.mxhieu.doantotnghiep.dto.response.ExerciseResponse;
+import com.mxhieu.doantotnghiep.dto.response.QuestionResponse;
+import com.mxhieu.doantotnghiep.entity.ChoiceEntity;
+import com.mxhieu.doantotnghiep.entity.ExerciseEntity;
+import com.mxhieu.doantotnghiep.entity.ExerciseTypeEntity;
+import com.mxhieu.doantotnghiep.entity.QuestionEntity;
+import com.mxhieu.doantotnghiep.repository.*;
+import com.mxhieu.doantotnghiep.service.ContentPayloadService;
+import com.mxhieu.doantotnghiep.service.GradingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ExerciseServiceImplTest {
+    private static final int LESSON = 1;
+    private static final int STUDENT = 2;
+
+    private ExerciseRepository exerciseRepository;
+    private AttemptAnswerRepository attemptAnswerRepository;
+    private AttemptRepository attemptRepository;
+    private QuestionRepository questionRepository;
+    private ExerciseServiceImpl exerciseService;
+
+    @BeforeEach
+    void setUp() {
+        exerciseRepository = mock(ExerciseRepository.class);
+        attemptAnswerRepository = mock(AttemptAnswerRepository.class);
+        attemptRepository = mock(AttemptRepository.class);
+        questionRepository = mock(QuestionRepository.class);
+        ExerciseConverter exerciseConverter = mock(ExerciseConverter.class);
+        when(exerciseConverter.toResponse(any(), eq(ExerciseResponse.class)))
+                .thenAnswer(invocation -> toResponse(invocation.getArgument(0)));
+        exerciseService = new ExerciseServiceImpl(exerciseRepository, mock(ExerciseTypeRepository.class),
+                mock(LessonRepository.class), exerciseConverter, attemptAnswerRepository, attemptRepository,
+                questionRepository, mock(GradingService.class), mock(ContentPayloadService.class));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 12})
+    void lessonIsLoadedInFourQueriesWhateverItsSize(int exercises) {
+        List<ExerciseEntity> entities = IntStream.rangeClosed(1, exercises).mapToObj(id -> exercise(id, "MULTIPLE_CHOICE")).toList();
+        when(exerciseRepository.findWithQuestionsByLessonId(LESSON)).thenReturn(entities);
+        when(attemptRepository.findAttemptedExerciseIdsByLessonId(LESSON, STUDENT))
+                .thenReturn(entities.stream().map(ExerciseEntity::getId).toList());
+        List<AttemptanswerResponse> answers = new ArrayList<>();
+        entities.forEach(entity -> entity.getQuestions().forEach(question ->
+                answers.add(answer(question.getId(), question.getId() * 10 + 1, true))));
+        when(attemptAnswerRepository.findAnswersByLessonAndStudent(LESSON, STUDENT)).thenReturn(answers);
+
+        List<ExerciseResponse> responses = exerciseService.getExerciseDetailsByLessonIdForStudent(LESSON, STUDENT);
+
+        assertEquals(exercises, responses.size());
+        assertTrue(responses.stream().allMatch(ExerciseResponse::getIsCompleted));
+        verify(exerciseRepository, times(1)).findWithQuestionsByLessonId(LESSON);
+        verify(questionRepository, times(1)).fetchChoicesByLessonId(LESSON);
+        verify(attemptRepository, times(1)).findAttemptedExerciseIdsByLessonId(LESSON, STUDENT);
+        verify(attemptAnswerRepository, times(1)).findAnswersByLessonAndStudent(LESSON, STUDENT);
+        verifyNoMoreInteractions(exerciseRepository, questionRepository, attemptRepository, attemptAnswerRepository);
+    }
+
+    @Test
+    void firstAnswerOfEachQuestionIsSelectedOnlyForCompletedExercises() {
+        when(exerciseRepository.findWithQuestionsByLessonId(LESSON))
+                .thenReturn(List.of(exercise(1, "MULTIPLE_CHOICE"), exercise(2, "MULTIPLE_CHOICE"), exercise(3, "INTERACTIVE")));
+        when(attemptRepository.findAttemptedExerciseIdsByLessonId(LESSON, STUDENT)).thenReturn(List.of(1));
+        // Câu 10 được trả lời hai lần, lần đầu chọn lựa chọn 102 (sai)
+        when(attemptAnswerRepository.findAnswersByLessonAndStudent(LESSON, STUDENT))
+                .thenReturn(List.of(answer(10, 102, false), answer(10, 101, true)));
+
+        List<ExerciseResponse> responses = exerciseService.getExerciseDetailsByLessonIdForStudent(LESSON, STUDENT);
+
+        assertEquals(List.of(1, 2), responses.stream().map(ExerciseResponse::getId).toList());
+        List<ChoiceResponse> answered = responses.get(0).getQuestions().get(0).getChoices();
+        assertEquals(List.of(false, true), answered.stream().map(ChoiceResponse::getSelected).toList());
+        assertFalse(answered.get(1).getIsCorrect());
+        assertFalse(responses.get(1).getIsCompleted());
+        assertNull(responses.get(1).getQuestions().get(0).getChoices().get(0).getSelected());
+    }
+
+    @Test
+    void interactiveViewSkipsTheRestOfTheLoaderWhenNothingMatches() {
+        when(exerciseRepository.findWithQuestionsByLessonId(LESSON)).thenReturn(List.of(exercise(1, "MULTIPLE_CHOICE")));
+
+        assertTrue(exerciseService.getInteractiveExerciseByLessonIdForStudent(LESSON, STUDENT).isEmpty());
+        verifyNoInteractions(questionRepository, attemptRepository, attemptAnswerRepository);
+    }
+
+    // Mỗi bài tập có một câu hỏi (id = exerciseId * 10) với hai lựa chọn (id câu hỏi * 10 + 1, + 2)
+    private static ExerciseEntity exercise(int id, String typeCode) {
+        int questionId = id * 10;
+        QuestionEntity question = QuestionEntity.builder()
+                .id(questionId)
+                .choices(List.of(choice(questionId * 10 + 1, true), choice(questionId * 10 + 2, false)))
+                .build();
+        return ExerciseEntity.builder()
+                .id(id)
+                .exercisetype(ExerciseTypeEntity.builder().code(typeCode).build())
+                .questions(List.of(question))
+                .build();
+    }
+
+    private static ChoiceEntity choice(int id, boolean isCorrect) {
+        return ChoiceEntity.builder().id(id).isCorrect(isCorrect).build();
+    }
+
+    private static AttemptanswerResponse answer(int questionId, int choiceId, boolean isCorrect) {
+        return AttemptanswerResponse.builder().questionId(questionId).choiceId(choiceId).isCorrect(isCorrect).build();
+    }
+
+    private static ExerciseResponse toResponse(ExerciseEntity entity) {
+        return ExerciseResponse.builder()
+                .id(entity.getId())
+                .questions(entity.getQuestions().stream().map(question -> QuestionResponse.builder()
+                        .id(question.getId())
+                        .choices(question.getChoices().stream().map(choice -> ChoiceResponse.builder()
+                                .id(choice.getId())
+                                .isCorrect(choice.getIsCorrect())
+                                .build()).toList())
+                        .build()).toList())
+                .build();
+    }
+}
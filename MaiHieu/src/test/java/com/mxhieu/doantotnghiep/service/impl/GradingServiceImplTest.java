@@ -0,0 +1,62 @@
+package com.mxhieu.doantotnghiep.service.impl;
+
+import com.mxhieu.doantotnghiep.repository.AssessmentQuestionRepository;
+import com.mxhieu.doantotnghiep.repository.QuestionRepository;
+import com.mxhieu.doantotnghiep.utils.AnswerKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class GradingServiceImplTest {
+    private static final int TEST = 7;
+    // Câu 10 chọn một: đề cũ đáp án 101, đề sau khi sửa đáp án 102
+    private static final List<AnswerKey.Row> OLD_ROWS = List.of(
+            new AnswerKey.Row(1, 10, 101, true, "A", "MULTIPLE_CHOICE"),
+            new AnswerKey.Row(1, 10, 102, false, "B", "MULTIPLE_CHOICE"));
+    private static final List<AnswerKey.Row> NEW_ROWS = List.of(
+            new AnswerKey.Row(1, 10, 101, false, "A", "MULTIPLE_CHOICE"),
+            new AnswerKey.Row(1, 10, 102, true, "B", "MULTIPLE_CHOICE"));
+
+    private AssessmentQuestionRepository assessmentQuestionRepository;
+    private GradingServiceImpl gradingService;
+
+    @BeforeEach
+    void setUp() {
+        assessmentQuestionRepository = mock(AssessmentQuestionRepository.class);
+        gradingService = new GradingServiceImpl(assessmentQuestionRepository, mock(QuestionRepository.class), 100);
+    }
+
+    @Test
+    void answerKeyIsCompiledOnceUntilEvicted() {
+        when(assessmentQuestionRepository.findAnswerKeyRowsByTestId(TEST)).thenReturn(OLD_ROWS, NEW_ROWS);
+
+        assertSame(gradingService.getTestAnswerKey(TEST), gradingService.getTestAnswerKey(TEST));
+        gradingService.evictTestAnswerKeys();
+
+        assertTrue(correct(gradingService.getTestAnswerKey(TEST), 102));
+        verify(assessmentQuestionRepository, times(2)).findAnswerKeyRowsByTestId(TEST);
+    }
+
+    @Test
+    void keyLoadedFromRowsReadBeforeTheEditCommittedIsNotReused() {
+        // Lần nạp đầu đọc đề cũ, rồi việc sửa đề commit và xoá cache trước khi lần nạp đó kịp ghi vào cache
+        when(assessmentQuestionRepository.findAnswerKeyRowsByTestId(TEST)).thenAnswer(invocation -> {
+            gradingService.evictTestAnswerKeys();
+            return OLD_ROWS;
+        }).thenReturn(NEW_ROWS);
+
+        assertTrue(correct(gradingService.getTestAnswerKey(TEST), 101));
+
+        assertTrue(correct(gradingService.getTestAnswerKey(TEST), 102));
+        assertTrue(correct(gradingService.getTestAnswerKey(TEST), 102));
+        verify(assessmentQuestionRepository, times(2)).findAnswerKeyRowsByTestId(TEST);
+    }
+
+    private static boolean correct(AnswerKey key, int optionId) {
+        return key.grade(List.of(new AnswerKey.Answer(1, 10, optionId, null))).correctQuestions() == 1;
+    }
+}
@@ -0,0 +1,83 @@
+package com.mxhieu.doantotnghiep.service.impl;
+
+import com.mxhieu.doantotnghiep.dto.request.WatchSegmentRequest;
+import com.mxhieu.doantotnghiep.repository.LessonRepository;
+import com.mxhieu.doantotnghiep.repository.MediaAssetRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class LessonWatchHeatmapServiceImplTest {
+    private static final int LESSON = 3;
+
+    private LessonRepository lessonRepository;
+    private JdbcTemplate jdbcTemplate;
+    private LessonWatchHeatmapServiceImpl heatmapService;
+
+    @BeforeEach
+    void setUp() {
+        lessonRepository = mock(LessonRepository.class);
+        MediaAssetRepository mediaAssetRepository = mock(MediaAssetRepository.class);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        // video 60 giây: 6 ô 10 giây, bảng tổng hợp chưa có dòng nào
+        when(lessonRepository.existsById(LESSON)).thenReturn(true);
+        when(mediaAssetRepository.findLengthSecByLessonId(LESSON)).thenReturn(60);
+        heatmapService = new LessonWatchHeatmapServiceImpl(lessonRepository, mediaAssetRepository, jdbcTemplate,
+                mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void viewsRecordedWhileFlushDropsTheIdleHeatmapAreKept() {
+        AtomicBoolean flushed = new AtomicBoolean();
+        // flush chạy giữa lúc lấy histogram (còn rỗng) và lúc cộng lượt xem vào nó
+        WatchSegmentRequest racing = new WatchSegmentRequest(0, 20) {
+            @Override
+            public Integer getFromSec() {
+                if (flushed.compareAndSet(false, true)) {
+                    assertEquals(0, heatmapService.flush());
+                }
+                return super.getFromSec();
+            }
+        };
+
+        heatmapService.recordSegments(LESSON, List.of(racing));
+
+        assertEquals(List.of(1L, 1L, 0L, 0L, 0L, 0L), heatmapService.getHeatmap(LESSON).getViews());
+        assertEquals(2, heatmapService.flush());
+    }
+
+    @Test
+    void idleHeatmapIsDroppedAndRecreatedOnTheNextView() {
+        heatmapService.recordSegments(LESSON, List.of(new WatchSegmentRequest(0, 30)));
+
+        assertEquals(3, heatmapService.flush());
+        assertEquals(0, heatmapService.flush());
+        verify(lessonRepository, times(1)).existsById(LESSON);
+
+        heatmapService.recordSegments(LESSON, List.of(new WatchSegmentRequest(50, 60)));
+        verify(lessonRepository, times(2)).existsById(LESSON);
+        assertEquals(1, heatmapService.flush());
+    }
+
+    @Test
+    void failedFlushKeepsTheViewsForTheNextFlush() {
+        heatmapService.recordSegments(LESSON, List.of(new WatchSegmentRequest(0, 10), new WatchSegmentRequest(0, 20)));
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any()))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenReturn(new int[][]{{1, 1}});
+
+        assertEquals(0, heatmapService.flush());
+        assertEquals(List.of(2L, 1L, 0L, 0L, 0L, 0L), heatmapService.getHeatmap(LESSON).getViews());
+        assertEquals(2, heatmapService.flush());
+        assertEquals(List.of(0L, 0L, 0L, 0L, 0L, 0L), heatmapService.getHeatmap(LESSON).getViews());
+    }
+}
@@ -0,0 +1,96 @@
+package com.mxhieu.doantotnghiep.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.mxhieu.doantotnghiep.entity.MailOutboxEntity;
+import com.mxhieu.doantotnghiep.service.MailOutboxService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templateresolver.StringTemplateResolver;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class MailOutboxDispatcherTest {
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private MailOutboxService mailOutboxService;
+    private MailOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+
+        // Template được truyền thẳng dưới dạng chuỗi thay cho file trong templates/
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(new StringTemplateResolver());
+
+        OutboundCallServiceImpl outboundCallService = new OutboundCallServiceImpl(new MockEnvironment(), new SimpleMeterRegistry());
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        MailServiceImpl mailService = new MailServiceImpl();
+        ReflectionTestUtils.setField(mailService, "javaMailSender", mailSender);
+        ReflectionTestUtils.setField(mailService, "templateEngine", templateEngine);
+        ReflectionTestUtils.setField(mailService, "fromEmail", "noreply@example.com");
+
+        mailOutboxService = mock(MailOutboxService.class);
+        dispatcher = new MailOutboxDispatcher(mailOutboxService, mailService, mailSender, outboundCallService, objectMapper, 50);
+    }
+
+    @Test
+    void sendsWholeBatchAndMarksItSent() throws Exception {
+        List<MailOutboxEntity> batch = List.of(
+                mail(1, "a@example.com", "<p>OTP: <span th:text=\"${otp}\"></span></p>", "{\"otp\":\"123456\"}"),
+                mail(2, "b@example.com", "<p>Hi <span th:text=\"${email}\"></span></p>", "{\"email\":\"b@example.com\"}"));
+        when(mailOutboxService.claimBatch(50)).thenReturn(batch);
+
+        dispatcher.dispatch();
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(2, received.length);
+        assertTrue(GreenMailUtil.getBody(received[0]).contains("123456"));
+        verify(mailOutboxService).markSent(argThat(ids -> ids.containsAll(List.of(1, 2)) && ids.size() == 2));
+        verify(mailOutboxService, never()).markFailed(anyInt(), anyString());
+    }
+
+    @Test
+    void schedulesRetryWhenSmtpIsDown() {
+        greenMail.stop();
+        when(mailOutboxService.claimBatch(50)).thenReturn(List.of(mail(3, "c@example.com", "<p>x</p>", "{}")));
+
+        dispatcher.dispatch();
+
+        verify(mailOutboxService).markFailed(eq(3), any());
+        verify(mailOutboxService, never()).markSent(any());
+    }
+
+    private MailOutboxEntity mail(int id, String to, String template, String props) {
+        return MailOutboxEntity.builder()
+                .id(id)
+                .recipient(to)
+                .subject("Test")
+                .templateName(template)
+                .props(props)
+                .status(MailOutboxServiceImpl.SENDING)
+                .attempts(0)
+                .nextAttemptAt(LocalDateTime.now())
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,64 @@
+package com.mxhieu.doantotnghiep.service.impl;
+
+import com.mxhieu.doantotnghiep.entity.MailOutboxEntity;
+import com.mxhieu.doantotnghiep.exception.AppException;
+import com.mxhieu.doantotnghiep.exception.ErrorCode;
+import com.mxhieu.doantotnghiep.repository.MailOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class MailOutboxServiceImplTest {
+    private static final String PROPS = "{\"email\":\"a@example.com\",\"password\":\"secret\"}";
+
+    private MailOutboxEntity mail;
+    private MailOutboxServiceImpl mailOutboxService;
+
+    @BeforeEach
+    void setUp() {
+        mail = MailOutboxEntity.builder().id(1).props(PROPS).status(MailOutboxServiceImpl.SENDING).attempts(0).build();
+        MailOutboxRepository mailOutboxRepository = mock(MailOutboxRepository.class);
+        when(mailOutboxRepository.findById(1)).thenReturn(Optional.of(mail));
+        when(mailOutboxRepository.findAllById(List.of(1))).thenReturn(List.of(mail));
+        mailOutboxService = new MailOutboxServiceImpl(mailOutboxRepository, 2, 30, 600);
+    }
+
+    @Test
+    void secretsAreKeptForRetriesAndClearedOnceFailed() {
+        mailOutboxService.markFailed(1, "timeout");
+        assertEquals(MailOutboxServiceImpl.PENDING, mail.getStatus());
+        assertEquals(PROPS, mail.getProps());
+
+        mailOutboxService.markFailed(1, "timeout");
+        assertEquals(MailOutboxServiceImpl.FAILED, mail.getStatus());
+        assertNull(mail.getProps());
+        assertEquals("timeout", mail.getLastError());
+
+        AppException e = assertThrows(AppException.class, () -> mailOutboxService.retry(1));
+        assertEquals(ErrorCode.MAIL_OUTBOX_NOT_RETRYABLE, e.getErrorCode());
+        assertNotEquals(ErrorCode.MAIL_OUTBOX_NOT_FOUND.getCode(), e.getErrorCode().getCode());
+    }
+
+    @Test
+    void sentMailDropsItsSecrets() {
+        mailOutboxService.markSent(List.of(1));
+
+        assertEquals(MailOutboxServiceImpl.SENT, mail.getStatus());
+        assertNull(mail.getProps());
+    }
+
+    @Test
+    void pendingMailCanBeRetriedImmediately() {
+        mailOutboxService.markFailed(1, "timeout");
+
+        mailOutboxService.retry(1);
+
+        assertEquals(MailOutboxServiceImpl.PENDING, mail.getStatus());
+        assertEquals(0, mail.getAttempts());
+    }
+}
@@ -0,0 +1,189 @@
+package com.mxhieu.doantotnghiep.service.impl;
+
+import com.mxhieu.doantotnghiep.utils.OutboundIntegration;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutboundCallServiceImplTest {
+    private static final OutboundIntegration MERRIAM = OutboundIntegration.MERRIAM;
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+    private OutboundCallServiceImpl outboundCallService;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+        outboundCallService.shutdown();
+    }
+
+    @Test
+    void callIsRejectedAtOnceWhenPoolAndQueueAreFull() throws Exception {
+        service(1, 1, 5_000, 5, 30_000);
+        CountDownLatch running = new CountDownLatch(1);
+        // Một lời gọi đang chạy, một lời gọi chờ trong hàng đợi
+        Future<String> first = inBackground(() -> {
+            running.countDown();
+            return await(release);
+        });
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        Future<String> queued = inBackground(() -> "queued");
+        waitUntil(() -> gauge("outbound.queued") == 1);
+
+        Throwable failure = failureOf(() -> "third");
+
+        assertInstanceOf(RejectedExecutionException.class, failure);
+        assertEquals(1, rejected("bulkhead_full"));
+        release.countDown();
+        assertEquals("released", first.get(5, TimeUnit.SECONDS));
+        assertEquals("queued", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void timeoutCancelsTheRunningCall() throws Exception {
+        service(1, 1, 100, 5, 30_000);
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        Throwable failure = failureOf(() -> {
+            try {
+                return await(release);
+            } catch (IllegalStateException e) {
+                interrupted.countDown();
+                throw e;
+            }
+        });
+
+        assertInstanceOf(TimeoutException.class, failure);
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS), "timed out call was not interrupted");
+        assertEquals(1, rejected("timeout"));
+        // Luồng duy nhất của pool đã được trả lại
+        assertEquals("next", outboundCallService.call(MERRIAM, () -> "next", e -> "fallback"));
+    }
+
+    @Test
+    void circuitOpensAfterThresholdFailuresAndShortCircuitsCalls() {
+        service(1, 1, 5_000, 3, 60_000);
+        for (int i = 0; i < 3; i++) {
+            assertInstanceOf(IllegalArgumentException.class, failureOf(() -> {
+                throw new IllegalArgumentException("down");
+            }));
+        }
+        AtomicInteger invoked = new AtomicInteger();
+
+        Throwable failure = failureOf(() -> {
+            invoked.incrementAndGet();
+            return "ok";
+        });
+
+        assertInstanceOf(IllegalStateException.class, failure);
+        assertEquals(0, invoked.get());
+        assertEquals(1, rejected("circuit_open"));
+        assertEquals(1, gauge("outbound.circuit.open"));
+    }
+
+    @Test
+    void onlyOneHalfOpenTrialRunsAndItsSuccessClosesTheCircuit() throws Exception {
+        service(2, 1, 5_000, 1, 100);
+        failureOf(() -> {
+            throw new IllegalArgumentException("down");
+        });
+        Thread.sleep(150);
+        CountDownLatch trialRunning = new CountDownLatch(1);
+        Future<String> trial = inBackground(() -> {
+            trialRunning.countDown();
+            return await(release);
+        });
+        assertTrue(trialRunning.await(5, TimeUnit.SECONDS));
+        AtomicInteger invoked = new AtomicInteger();
+
+        // Trong lúc lời gọi thử đang chạy, lời gọi khác vẫn bị chặn dù pool còn chỗ
+        assertInstanceOf(IllegalStateException.class, failureOf(() -> {
+            invoked.incrementAndGet();
+            return "ok";
+        }));
+        assertEquals(0, invoked.get());
+
+        release.countDown();
+        assertEquals("released", trial.get(5, TimeUnit.SECONDS));
+        assertEquals("ok", outboundCallService.call(MERRIAM, () -> "ok", e -> "fallback"));
+        assertEquals(0, gauge("outbound.circuit.open"));
+    }
+
+    @Test
+    void failedHalfOpenTrialReopensTheCircuit() throws Exception {
+        service(1, 1, 5_000, 3, 100);
+        for (int i = 0; i < 3; i++) {
+            failureOf(() -> {
+                throw new IllegalArgumentException("down");
+            });
+        }
+        Thread.sleep(150);
+
+        // Một lỗi của lời gọi thử là đủ để mở lại, không cần đủ ngưỡng
+        assertInstanceOf(IllegalArgumentException.class, failureOf(() -> {
+            throw new IllegalArgumentException("still down");
+        }));
+        assertInstanceOf(IllegalStateException.class, failureOf(() -> "ok"));
+    }
+
+    private void service(int concurrency, int queueCapacity, long timeoutMs, int failureThreshold, long openMs) {
+        String prefix = "outbound." + MERRIAM.getKey() + ".";
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty(prefix + "concurrency", String.valueOf(concurrency))
+                .withProperty(prefix + "queue-capacity", String.valueOf(queueCapacity))
+                .withProperty(prefix + "timeout-ms", String.valueOf(timeoutMs))
+                .withProperty(prefix + "failure-threshold", String.valueOf(failureThreshold))
+                .withProperty(prefix + "open-ms", String.valueOf(openMs));
+        outboundCallService = new OutboundCallServiceImpl(environment, registry);
+    }
+
+    // Lỗi mà fallback nhận được (null nếu lời gọi thành công)
+    private Throwable failureOf(Callable<String> call) {
+        CompletableFuture<Throwable> failure = new CompletableFuture<>();
+        outboundCallService.call(MERRIAM, call, e -> {
+            failure.complete(e);
+            return null;
+        });
+        return failure.getNow(null);
+    }
+
+    private Future<String> inBackground(Callable<String> call) {
+        return callers.submit(() -> outboundCallService.call(MERRIAM, call));
+    }
+
+    private double rejected(String reason) {
+        return registry.get("outbound.rejected").tag("integration", MERRIAM.getKey()).tag("reason", reason).counter().count();
+    }
+
+    private double gauge(String name) {
+        return registry.get(name).tag("integration", MERRIAM.getKey()).gauge().value();
+    }
+
+    private static String await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            return "released";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void waitUntil(Callable<Boolean> condition) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.call()) {
+            assertTrue(System.currentTimeMillis() < deadline, "condition not reached");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.mxhieu.doantotnghiep.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mxhieu.doantotnghiep.converter.AssessmentConverter;
+import com.mxhieu.doantotnghiep.dto.response.AssessmentResponse;
+import com.mxhieu.doantotnghiep.exception.AppException;
+import com.mxhieu.doantotnghiep.repository.AssessmentQuestionRepository;
+import com.mxhieu.doantotnghiep.repository.AssessmentRepository;
+import com.mxhieu.doantotnghiep.utils.Const;
+import com.mxhieu.doantotnghiep.utils.ContentPayload;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PlacementPoolServiceImplTest {
+    private AssessmentRepository assessmentRepository;
+    private AssessmentQuestionRepository assessmentQuestionRepository;
+    private AssessmentConverter assessmentConverter;
+    private PlacementPoolServiceImpl placementPoolService;
+
+    @BeforeEach
+    void setUp() {
+        assessmentRepository = mock(AssessmentRepository.class);
+        assessmentQuestionRepository = mock(AssessmentQuestionRepository.class);
+        assessmentConverter = mock(AssessmentConverter.class);
+        when(assessmentConverter.toTestDetailResponses(any()))
+                .thenReturn(List.of(AssessmentResponse.builder().id(1).title("Part 1").build()));
+        placementPoolService = new PlacementPoolServiceImpl(assessmentRepository, assessmentQuestionRepository,
+                assessmentConverter, new ObjectMapper(), mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void rendersEligibleTestsOnceAndServesTheSameBytes() throws Exception {
+        eligible(7);
+
+        ContentPayload first = placementPoolService.getRandomPayload();
+        ContentPayload second = placementPoolService.getRandomPayload();
+
+        assertSame(first, second);
+        verify(assessmentQuestionRepository, times(1)).findTestIdsWithMinQuestions(Const.PLACEMENT.TEST_TYPE, Const.PLACEMENT.MIN_QUESTIONS);
+        verify(assessmentRepository, times(1)).findWithQuestionsByTestId(7);
+        String json = new String(new GZIPInputStream(new ByteArrayInputStream(first.gzip())).readAllBytes());
+        assertEquals("{\"code\":200,\"data\":[{\"id\":1,\"title\":\"Part 1\"}]}", json);
+    }
+
+    @Test
+    void evictionRebuildsThePool() {
+        eligible(7);
+        placementPoolService.getRandomPayload();
+
+        placementPoolService.evictPlacementPool();
+        placementPoolService.getRandomPayload();
+
+        verify(assessmentRepository, times(2)).findWithQuestionsByTestId(7);
+    }
+
+    @Test
+    void noEligibleTestIsNotFound() {
+        eligible();
+
+        assertThrows(AppException.class, () -> placementPoolService.getRandomPayload());
+    }
+
+    private void eligible(Integer... testIds) {
+        when(assessmentQuestionRepository.findTestIdsWithMinQuestions(anyString(), anyLong())).thenReturn(List.of(testIds));
+    }
+}
@@ -0,0 +1,90 @@
+package com.mxhieu.doantotnghiep.service.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.mxhieu.doantotnghiep.dto.request.UserPrincipalDTO;
+import com.mxhieu.doantotnghiep.entity.RoleEntity;
+import com.mxhieu.doantotnghiep.entity.UserEntity;
+import com.mxhieu.doantotnghiep.entity.UserRoleEntity;
+import com.mxhieu.doantotnghiep.entity.UserRoleEntityListener;
+import com.mxhieu.doantotnghiep.repository.RoleRepository;
+import com.mxhieu.doantotnghiep.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PrincipalServiceImplTest {
+    private static final String EMAIL = "student@example.com";
+
+    private UserRepository userRepository;
+    private RoleRepository roleRepository;
+    private Cache<String, List<String>> roleCache;
+    private PrincipalServiceImpl principalService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        roleRepository = mock(RoleRepository.class);
+        roleCache = CacheBuilder.newBuilder().build();
+        principalService = new PrincipalServiceImpl(userRepository, roleRepository, roleCache);
+        when(userRepository.findPrincipalByEmail(EMAIL)).thenReturn(Optional.of(UserPrincipalDTO.builder()
+                .email(EMAIL)
+                .roles(List.of("STUDENT"))
+                .build()));
+    }
+
+    @Test
+    void loginResolvesUserAndRolesInOneQueryAndWarmsTheRoleCache() {
+        assertEquals(List.of("STUDENT"), principalService.resolve(EMAIL).getRoles());
+
+        assertEquals(List.of("STUDENT"), principalService.getRoles(EMAIL));
+        verify(userRepository, times(1)).findPrincipalByEmail(EMAIL);
+        verifyNoMoreInteractions(userRepository);
+        verifyNoInteractions(roleRepository);
+    }
+
+    @Test
+    void rolesAreLoadedOnceThenServedFromCache() {
+        when(roleRepository.findByEmail(EMAIL)).thenReturn(Optional.of(List.of(role("TEACHER"))));
+
+        assertEquals(List.of("TEACHER"), principalService.getRoles(EMAIL));
+        assertEquals(List.of("TEACHER"), principalService.getRoles(EMAIL));
+        verify(roleRepository, times(1)).findByEmail(EMAIL);
+
+        principalService.evictRoles(EMAIL);
+        principalService.getRoles(EMAIL);
+        verify(roleRepository, times(2)).findByEmail(EMAIL);
+    }
+
+    @Test
+    void roleChangeEvictsTheCacheOnlyAfterCommit() {
+        principalService.resolve(EMAIL);
+        UserRoleEntityListener listener = new UserRoleEntityListener(roleCache);
+        UserRoleEntity userRole = UserRoleEntity.builder().user(UserEntity.builder().email(EMAIL).build()).build();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Listener chạy lúc flush: đăng nhập xen vào trước commit vẫn thấy role cũ trong DB lẫn cache
+            listener.evictRoles(userRole);
+            assertNotNull(roleCache.getIfPresent(EMAIL));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertNull(roleCache.getIfPresent(EMAIL));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static RoleEntity role(String value) {
+        RoleEntity role = new RoleEntity();
+        role.setValue(value);
+        return role;
+    }
+}
@@ -0,0 +1,74 @@
+package com.mxhieu.doantotnghiep.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class StudentProgressSerializerTest {
+    private final List<String> events = new CopyOnWriteArrayList<>();
+    private StudentProgressSerializer serializer;
+
+    @BeforeEach
+    void setUp() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        doAnswer(invocation -> events.add("commit")).when(transactionManager).commit(any());
+        doAnswer(invocation -> events.add("rollback")).when(transactionManager).rollback(any());
+        serializer = new StudentProgressSerializer(16, transactionManager);
+    }
+
+    @Test
+    void cascadesOfOneStudentRunOneAfterAnotherAndReleaseOnlyAfterCommit() throws Exception {
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        CompletableFuture<Integer> first = CompletableFuture.supplyAsync(() -> serializer.run(7, () -> {
+            events.add("start 1");
+            firstStarted.countDown();
+            await(releaseFirst);
+            events.add("end 1");
+            return 1;
+        }));
+        assertTrue(firstStarted.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Integer> second = CompletableFuture.supplyAsync(() -> serializer.run(7, () -> {
+            events.add("start 2");
+            return 2;
+        }));
+
+        // chuỗi thứ hai phải chờ khoá của học viên 7
+        assertThrows(TimeoutException.class, () -> second.get(200, TimeUnit.MILLISECONDS));
+        releaseFirst.countDown();
+
+        assertEquals(1, first.get(5, TimeUnit.SECONDS));
+        assertEquals(2, second.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of("start 1", "end 1", "commit", "start 2", "commit"), events);
+    }
+
+    @Test
+    void failedCascadeRollsBackAndReleasesTheLock() {
+        assertThrows(IllegalStateException.class, () -> serializer.run(7, () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        assertEquals(3, serializer.run(7, () -> 3));
+        assertEquals(List.of("rollback", "commit"), events);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.mxhieu.doantotnghiep.service.impl;
+
+import com.mxhieu.doantotnghiep.service.SubmissionQueueService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SubmissionQueueDispatcherTest {
+    private SubmissionQueueService submissionQueueService;
+    private SubmissionQueueDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        submissionQueueService = mock(SubmissionQueueService.class);
+        dispatcher = new SubmissionQueueDispatcher(submissionQueueService, 3);
+    }
+
+    @Test
+    void drainsFullBatchesInOneWriteEach() {
+        when(submissionQueueService.claimBatch(3)).thenReturn(List.of(1, 2, 3), List.of(4));
+
+        dispatcher.dispatch();
+
+        verify(submissionQueueService).writeBatch(List.of(1, 2, 3));
+        verify(submissionQueueService).writeBatch(List.of(4));
+        verify(submissionQueueService, times(2)).claimBatch(3);
+        verify(submissionQueueService, never()).markFailed(any(), any());
+    }
+
+    @Test
+    void retriesFailedBatchOneByOneAndOnlyFailsBrokenSubmission() {
+        doThrow(new IllegalStateException("FK assessmentQuestionId")).when(submissionQueueService).writeBatch(List.of(1, 2, 3));
+        doThrow(new IllegalStateException("FK assessmentQuestionId")).when(submissionQueueService).writeBatch(List.of(2));
+
+        dispatcher.writeBatch(List.of(1, 2, 3));
+
+        verify(submissionQueueService).writeBatch(List.of(1));
+        verify(submissionQueueService).writeBatch(List.of(3));
+        verify(submissionQueueService).markFailed(eq(2), contains("FK"));
+        verify(submissionQueueService, never()).markFailed(eq(1), any());
+        verify(submissionQueueService, never()).markFailed(eq(3), any());
+    }
+}
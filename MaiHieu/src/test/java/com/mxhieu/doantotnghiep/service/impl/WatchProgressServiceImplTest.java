@@ -0,0 +1,132 @@
+package com.mxhieu.doantotnghiep.service.impl;
+
+import com.mxhieu.doantotnghiep.dto.request.LessonProgressRequest;
+import com.mxhieu.doantotnghiep.entity.LessonProgressEntity;
+import com.mxhieu.doantotnghiep.exception.AppException;
+import com.mxhieu.doantotnghiep.exception.ErrorCode;
+import com.mxhieu.doantotnghiep.repository.EnrollmentCourseRepository;
+import com.mxhieu.doantotnghiep.repository.LessonProgressRepository;
+import com.mxhieu.doantotnghiep.repository.LessonRepository;
+import com.mxhieu.doantotnghiep.service.LessonProgressService;
+import com.mxhieu.doantotnghiep.utils.WatchProgressBuffer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class WatchProgressServiceImplTest {
+    private LessonProgressService lessonProgressService;
+    private LessonProgressRepository lessonProgressRepository;
+    private EnrollmentCourseRepository enrollmentCourseRepository;
+    private JdbcTemplate jdbcTemplate;
+    private WatchProgressServiceImpl watchProgressService;
+
+    @BeforeEach
+    void setUp() {
+        lessonProgressService = mock(LessonProgressService.class);
+        LessonRepository lessonRepository = mock(LessonRepository.class);
+        lessonProgressRepository = mock(LessonProgressRepository.class);
+        enrollmentCourseRepository = mock(EnrollmentCourseRepository.class);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        // bài 5 hoàn thành khi xem từ 80%
+        when(lessonRepository.findGateById(5)).thenReturn(Optional.of(new WatchProgressBuffer.Gate(5, 80, 9)));
+        when(lessonProgressRepository.findByLesson_IdAndStudentProfile_Id(5, 1))
+                .thenReturn(Optional.of(LessonProgressEntity.builder().process(1).percentageWatched(0).build()));
+        watchProgressService = new WatchProgressServiceImpl(lessonProgressService, lessonRepository, lessonProgressRepository,
+                enrollmentCourseRepository, jdbcTemplate, mock(PlatformTransactionManager.class), 200, 1000, 60);
+    }
+
+    @Test
+    void heartbeatsBelowTheThresholdAreCoalescedAndFlushedOnce() {
+        heartbeat(1, 10);
+        heartbeat(1, 40);
+        heartbeat(1, 30);
+
+        verifyNoInteractions(lessonProgressService, jdbcTemplate);
+        verify(lessonProgressRepository, times(1)).findByLesson_IdAndStudentProfile_Id(5, 1);
+
+        assertEquals(1, watchProgressService.flush());
+        assertEquals(List.of(new WatchProgressBuffer.Entry(1, 5, 40)), flushed());
+        assertEquals(0, watchProgressService.flush());
+    }
+
+    @Test
+    void crossingTheThresholdChecksCompletionSynchronously() {
+        heartbeat(1, 50);
+        when(lessonProgressService.checkCompletionCondition(any())).thenReturn(true);
+
+        heartbeat(1, 85);
+        // bài đã hoàn thành: heartbeat sau đó chỉ vào bộ đệm
+        heartbeat(1, 90);
+
+        ArgumentCaptor<LessonProgressRequest> request = ArgumentCaptor.forClass(LessonProgressRequest.class);
+        verify(lessonProgressService, times(1)).checkCompletionCondition(request.capture());
+        assertEquals(85, request.getValue().getPercentageWatched());
+        watchProgressService.flush();
+        assertEquals(List.of(new WatchProgressBuffer.Entry(1, 5, 90)), flushed());
+    }
+
+    @Test
+    void crossedButIncompleteLessonGoesBackToTheBuffer() {
+        // còn bài tập chưa làm: vượt ngưỡng nhưng chưa hoàn thành
+        when(lessonProgressService.checkCompletionCondition(any())).thenReturn(false);
+
+        heartbeat(1, 85);
+        heartbeat(1, 90);
+        heartbeat(1, 95);
+
+        verify(lessonProgressService, times(1)).checkCompletionCondition(any());
+        assertEquals(1, watchProgressService.flush());
+        assertEquals(List.of(new WatchProgressBuffer.Entry(1, 5, 95)), flushed());
+    }
+
+    @Test
+    void lockedLessonIsRejectedBeforeBuffering() {
+        when(enrollmentCourseRepository.findStatus(2, 9)).thenReturn("UNLOCK");
+
+        AppException e = assertThrows(AppException.class, () -> heartbeat(2, 10));
+
+        assertEquals(ErrorCode.LESSON_PROGRESS_NOT_EXISTS, e.getErrorCode());
+        assertEquals(0, watchProgressService.flush());
+    }
+
+    @Test
+    void failedFlushKeepsTheHeartbeatsForTheNextFlush() {
+        heartbeat(1, 40);
+        DataAccessResourceFailureException down = new DataAccessResourceFailureException("down");
+        // cả lô lẫn lần ghi lại từng dòng đều lỗi (mất kết nối DB)
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any()))
+                .thenThrow(down, down)
+                .thenReturn(new int[][]{{1}});
+
+        assertEquals(0, watchProgressService.flush());
+        heartbeat(1, 20);
+        assertEquals(1, watchProgressService.flush());
+    }
+
+    private void heartbeat(int studentProfileId, int percentageWatched) {
+        LessonProgressRequest request = new LessonProgressRequest();
+        request.setStudentProfileId(studentProfileId);
+        request.setLessonId(5);
+        request.setPercentageWatched(percentageWatched);
+        watchProgressService.recordHeartbeat(request);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<WatchProgressBuffer.Entry> flushed() {
+        ArgumentCaptor<Collection<WatchProgressBuffer.Entry>> rows = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate, atLeastOnce()).batchUpdate(anyString(), rows.capture(), anyInt(), any());
+        return new ArrayList<>(rows.getValue());
+    }
+}
@@ -0,0 +1,105 @@
+package com.mxhieu.doantotnghiep.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnswerKeyTest {
+    // Nhóm 1: câu 10 chọn một (đúng/sai), câu 20 chọn nhiều; nhóm 2: câu 30 điền từ, câu 40 chưa có đáp án
+    private static final AnswerKey KEY = AnswerKey.compile(List.of(
+            new AnswerKey.Row(1, 10, 101, true, "True", "MULTIPLE_CHOICE"),
+            new AnswerKey.Row(1, 10, 102, false, "False", "MULTIPLE_CHOICE"),
+            new AnswerKey.Row(1, 20, 201, true, "A", "MULTIPLE_CHOICE"),
+            new AnswerKey.Row(1, 20, 202, false, "B", "MULTIPLE_CHOICE"),
+            new AnswerKey.Row(1, 20, 203, true, "C", "MULTIPLE_CHOICE"),
+            new AnswerKey.Row(2, 30, 301, true, "New York|NYC", AnswerKey.FILL_TYPE_CODE),
+            new AnswerKey.Row(2, 40, null, null, null, AnswerKey.FILL_TYPE_CODE)));
+
+    @Test
+    void gradesAllQuestionsInOnePass() {
+        AnswerKey.Grade grade = KEY.grade(List.of(
+                choice(1, 10, 101),
+                choice(1, 20, 203),
+                choice(1, 20, 201),
+                text(2, 30, "  new-york! ")));
+
+        assertTrue(grade.isValid());
+        assertEquals(3, grade.totalQuestions());
+        assertEquals(3, grade.correctQuestions());
+        assertEquals(100, grade.percent());
+        assertArrayEquals(new boolean[]{true, true, true, true}, grade.answerCorrect());
+        assertEquals(301, grade.matchedOptionIds()[3]);
+    }
+
+    @Test
+    void multipleChoiceNeedsTheExactSet() {
+        AnswerKey.Grade partial = KEY.grade(List.of(choice(1, 10, 101), choice(1, 20, 201)));
+        assertEquals(1, partial.correctQuestions());
+        assertArrayEquals(new boolean[]{true, false}, partial.answerCorrect());
+
+        AnswerKey.Grade extra = KEY.grade(List.of(choice(1, 20, 201), choice(1, 20, 202), choice(1, 20, 203)));
+        assertEquals(0, extra.correctQuestions());
+    }
+
+    @Test
+    void unansweredQuestionsCountAsWrong() {
+        AnswerKey.Grade grade = KEY.grade(List.of(choice(1, 10, 101)));
+        assertEquals(1, grade.correctQuestions());
+        assertEquals(3, grade.totalQuestions());
+        assertEquals(33, grade.percent());
+        assertEquals(100f / 3, grade.percentExact(), 0.001f);
+    }
+
+    @Test
+    void fillInBlankAcceptsAlternativeSpellingsOnly() {
+        assertEquals(1, KEY.grade(List.of(text(2, 30, "NYC"))).correctQuestions());
+        assertEquals(0, KEY.grade(List.of(text(2, 30, "Boston"))).correctQuestions());
+        assertEquals(0, KEY.grade(List.of(text(2, 30, null))).correctQuestions());
+        // chọn thẳng lựa chọn của câu điền từ không được tính
+        assertEquals(0, KEY.grade(List.of(choice(2, 30, 301))).correctQuestions());
+    }
+
+    @Test
+    void choiceQuestionsWithOnlyCorrectOptionsAreGradedByChoice() {
+        // câu 50 chỉ có một lựa chọn, câu 60 "chọn tất cả": mọi lựa chọn đều đúng nhưng không phải điền từ
+        AnswerKey key = AnswerKey.compile(List.of(
+                new AnswerKey.Row(1, 50, 501, true, "Yes", "SINGLE_CHOICE"),
+                new AnswerKey.Row(1, 60, 601, true, "A", "MULTIPLE_CHOICE"),
+                new AnswerKey.Row(1, 60, 602, true, "B", "MULTIPLE_CHOICE")));
+
+        AnswerKey.Grade grade = key.grade(List.of(choice(1, 50, 501), choice(1, 60, 601), choice(1, 60, 602)));
+        assertEquals(2, grade.correctQuestions());
+        assertArrayEquals(new Integer[]{501, 601, 602}, grade.matchedOptionIds());
+        assertEquals(1, key.grade(List.of(choice(1, 50, 501), choice(1, 60, 601))).correctQuestions());
+    }
+
+    @Test
+    void rejectsAnswersOutsideTheKey() {
+        AnswerKey.Grade unknownQuestion = KEY.grade(List.of(choice(1, 10, 101), choice(1, 99, 101)));
+        assertFalse(unknownQuestion.isValid());
+        assertEquals(1, unknownQuestion.invalidAnswer());
+        assertEquals(AnswerKey.InvalidReason.UNKNOWN_QUESTION, unknownQuestion.invalidReason());
+
+        assertEquals(AnswerKey.InvalidReason.UNKNOWN_QUESTION, KEY.grade(List.of(choice(2, 10, 101))).invalidReason());
+        // lựa chọn của câu khác
+        assertEquals(AnswerKey.InvalidReason.UNKNOWN_OPTION, KEY.grade(List.of(choice(1, 10, 201))).invalidReason());
+    }
+
+    @Test
+    void normalizesCaseWidthAndPunctuation() {
+        assertEquals("new york", AnswerKey.normalize("  NEW,  York. "));
+        assertEquals("abc 123", AnswerKey.normalize("ＡＢＣ－１２３"));
+        assertEquals("", AnswerKey.normalize(null));
+        assertEquals("tiếng việt", AnswerKey.normalize("Tiếng Việt!"));
+    }
+
+    private static AnswerKey.Answer choice(Integer groupId, Integer questionId, Integer optionId) {
+        return new AnswerKey.Answer(groupId, questionId, optionId, null);
+    }
+
+    private static AnswerKey.Answer text(Integer groupId, Integer questionId, String text) {
+        return new AnswerKey.Answer(groupId, questionId, null, text);
+    }
+}
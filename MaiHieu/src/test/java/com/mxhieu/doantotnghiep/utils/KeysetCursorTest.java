@@ -0,0 +1,38 @@
+package com.mxhieu.doantotnghiep.utils;
+
+import com.mxhieu.doantotnghiep.exception.AppException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetCursorTest {
+
+    @Test
+    void roundTripsValuesContainingSeparators() {
+        KeysetCursor cursor = new KeysetCursor("-fullName", 42, "Nguyễn: A");
+
+        KeysetCursor decoded = KeysetCursor.decode(cursor.encode(), "-fullName");
+
+        assertEquals(cursor, decoded);
+        assertFalse(cursor.encode().contains("="));
+    }
+
+    @Test
+    void keepsNullValueApartFromEmptyValue() {
+        assertNull(KeysetCursor.decode(new KeysetCursor("fullName", 7, null).encode(), "fullName").value());
+        assertEquals("", KeysetCursor.decode(new KeysetCursor("fullName", 7, "").encode(), "fullName").value());
+    }
+
+    @Test
+    void rejectsCursorOfAnotherSort() {
+        String token = new KeysetCursor("fullName", 1, "An").encode();
+
+        assertThrows(AppException.class, () -> KeysetCursor.decode(token, "-fullName"));
+    }
+
+    @Test
+    void rejectsGarbage() {
+        assertThrows(AppException.class, () -> KeysetCursor.decode("not a cursor", "id"));
+        assertThrows(AppException.class, () -> KeysetCursor.decode(new KeysetCursor("id", null, null).encode(), "id"));
+    }
+}
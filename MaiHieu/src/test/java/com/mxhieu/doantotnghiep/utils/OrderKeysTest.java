@@ -0,0 +1,52 @@
+package com.mxhieu.doantotnghiep.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderKeysTest {
+    private static final long GAP = Const.ORDER_INDEX.GAP;
+
+    @Test
+    void appendsAfterLastAndStartsEmptyGroupAtGap() {
+        assertEquals(GAP, OrderKeys.keyAt(List.of(), 1));
+        assertEquals(3 * GAP, OrderKeys.keyAt(List.of(GAP, 2 * GAP), 3));
+        // vị trí vượt quá cuối danh sách bị kẹp về cuối
+        assertEquals(3 * GAP, OrderKeys.keyAt(List.of(GAP, 2 * GAP), 99));
+    }
+
+    @Test
+    void insertsBetweenNeighbours() {
+        List<Long> keys = List.of(GAP, 2 * GAP, 3 * GAP);
+        assertEquals(GAP / 2, OrderKeys.keyAt(keys, 1));
+        assertEquals(GAP / 2, OrderKeys.keyAt(keys, 0));
+        assertEquals(GAP + GAP / 2, OrderKeys.keyAt(keys, 2));
+        assertEquals(2 * GAP + GAP / 2, OrderKeys.keyAt(keys, 3));
+    }
+
+    @Test
+    void returnsNullWhenNeighboursAreAdjacent() {
+        assertNull(OrderKeys.keyAt(List.of(5L, 6L), 2));
+        assertNull(OrderKeys.keyAt(List.of(1L), 1));
+        assertNull(OrderKeys.keyAt(List.of(Const.ORDER_INDEX.MAX_KEY), 2));
+    }
+
+    @Test
+    void repeatedInsertsAtSamePositionKeepOrderUntilGapIsExhausted() {
+        List<Long> keys = new ArrayList<>(List.of(GAP, 2 * GAP));
+        int inserts = 0;
+        Long key;
+        while ((key = OrderKeys.keyAt(keys, 2)) != null) {
+            keys.add(1, key);
+            inserts++;
+        }
+        // log2(1024) lần chèn liên tiếp vào cùng một khe trước khi phải rebalance
+        assertEquals(10, inserts);
+        for (int i = 1; i < keys.size(); i++) {
+            assertTrue(keys.get(i - 1) < keys.get(i));
+        }
+    }
+}
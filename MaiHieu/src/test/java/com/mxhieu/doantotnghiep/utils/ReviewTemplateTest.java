@@ -0,0 +1,78 @@
+package com.mxhieu.doantotnghiep.utils;
+
+import com.mxhieu.doantotnghiep.dto.response.AssessmentOptionResponse;
+import com.mxhieu.doantotnghiep.dto.response.AssessmentResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReviewTemplateTest {
+    private static final byte[] AUDIO = {1, 2, 3};
+
+    // Nhóm 1 (LISTENING_1) giữ nguyên, nhóm 2 (READING_5) tách theo câu hỏi
+    private static final ReviewTemplate TEMPLATE = ReviewTemplate.compile(
+            List.of(new ReviewTemplate.AssessmentRow(1, "Part 1", AUDIO, null, null, "LISTENING_1", "Listening"),
+                    new ReviewTemplate.AssessmentRow(2, "Part 5", null, null, List.of("p1"), "READING_5", "Reading")),
+            List.of(new ReviewTemplate.QuestionRow(1, 10, "Q10", null, null),
+                    new ReviewTemplate.QuestionRow(1, 11, "Q11", null, null),
+                    new ReviewTemplate.QuestionRow(2, 20, "Q20", null, null),
+                    new ReviewTemplate.QuestionRow(2, 21, "Q21", null, null)),
+            List.of(new ReviewTemplate.OptionRow(10, 101, "A", true),
+                    new ReviewTemplate.OptionRow(10, 102, "B", false),
+                    new ReviewTemplate.OptionRow(11, 111, "A", true),
+                    new ReviewTemplate.OptionRow(20, 201, "A", false),
+                    new ReviewTemplate.OptionRow(20, 202, "B", true),
+                    new ReviewTemplate.OptionRow(21, 211, "A", true)));
+
+    @Test
+    void splitTypesRenderOneResponsePerQuestionSharingTheHeader() {
+        List<AssessmentResponse> responses = TEMPLATE.render(List.of(1, 2), Set.of());
+
+        assertEquals(3, responses.size());
+        assertEquals(List.of(10, 11), responses.get(0).getAssessmentQuestions().stream().map(q -> q.getId()).toList());
+        assertEquals(20, responses.get(1).getAssessmentQuestions().get(0).getId());
+        assertEquals(21, responses.get(2).getAssessmentQuestions().get(0).getId());
+        assertEquals("Part 5", responses.get(2).getTitle());
+        assertSame(AUDIO, responses.get(0).getMediaData());
+    }
+
+    @Test
+    void marksSelectedOptionsFromTheIndex() {
+        Set<Long> selections = ReviewTemplate.selections(List.of(
+                new ReviewTemplate.Selection(10, 102),
+                new ReviewTemplate.Selection(20, 202)));
+
+        List<AssessmentResponse> responses = TEMPLATE.render(List.of(1, 2), selections);
+
+        assertEquals(List.of(false, true), selected(responses.get(0).getAssessmentQuestions().get(0).getChoices()));
+        assertEquals(List.of(false), selected(responses.get(0).getAssessmentQuestions().get(1).getChoices()));
+        assertEquals(List.of(false, true), selected(responses.get(1).getAssessmentQuestions().get(0).getChoices()));
+        // cùng id lựa chọn nhưng khác câu hỏi thì không tính
+        assertFalse(ReviewTemplate.selections(List.of(new ReviewTemplate.Selection(11, 102)))
+                .contains(ReviewTemplate.selectionKey(10, 102)));
+    }
+
+    @Test
+    void everyRenderReturnsFreshResponses() {
+        List<AssessmentResponse> first = TEMPLATE.render(List.of(1), Set.of());
+        first.get(0).getAssessmentQuestions().get(0).getChoices().get(0).setSelected(true);
+        first.get(0).setTitle("changed");
+
+        AssessmentResponse second = TEMPLATE.render(List.of(1), Set.of()).get(0);
+
+        assertEquals("Part 1", second.getTitle());
+        assertFalse(second.getAssessmentQuestions().get(0).getChoices().get(0).getSelected());
+    }
+
+    @Test
+    void skipsAssessmentsNoLongerInTheTest() {
+        assertEquals(1, TEMPLATE.render(List.of(99, 1), Set.of()).size());
+    }
+
+    private static List<Boolean> selected(List<AssessmentOptionResponse> choices) {
+        return choices.stream().map(AssessmentOptionResponse::getSelected).toList();
+    }
+}
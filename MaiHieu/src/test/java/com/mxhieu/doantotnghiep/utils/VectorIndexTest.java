@@ -0,0 +1,46 @@
+package com.mxhieu.doantotnghiep.utils;
+
+import com.mxhieu.doantotnghiep.service.impl.HashingTextEmbedder;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VectorIndexTest {
+    private final HashingTextEmbedder embedder = new HashingTextEmbedder(384);
+
+    @Test
+    void embedderIsDeterministicAndIgnoresDiacritics() {
+        assertArrayEquals(embedder.embed("Thì hiện tại đơn"), embedder.embed("thi hien tai don"));
+    }
+
+    @Test
+    void searchFindsRelevantSnippetAfterTraining() {
+        VectorIndex<String> index = new VectorIndex<>(embedder.dimension(), 4);
+        for (int group = 0; group < 40; group++) {
+            Map<String, String> payloads = new HashMap<>();
+            Map<String, float[]> vectors = new HashMap<>();
+            for (int i = 0; i < 10; i++) {
+                String text = "filler lesson " + group + " topic " + i + " vocabulary unit " + (group * 10 + i);
+                payloads.put(group + ":" + i, text);
+                vectors.put(group + ":" + i, embedder.embed(text));
+            }
+            if (group == 7) {
+                payloads.put("7:present", "present perfect tense uses have has past participle");
+                vectors.put("7:present", embedder.embed("present perfect tense uses have has past participle"));
+            }
+            index.replaceGroup(String.valueOf(group), payloads, vectors);
+        }
+
+        List<VectorIndex.Hit<String>> hits = index.search(embedder.embed("how to use present perfect tense"), 3);
+        assertEquals("7:present", hits.get(0).key());
+
+        index.removeGroup("7");
+        assertTrue(index.search(embedder.embed("present perfect tense"), 3).stream()
+                .noneMatch(hit -> hit.key().equals("7:present")));
+        assertEquals(390, index.size());
+    }
+}
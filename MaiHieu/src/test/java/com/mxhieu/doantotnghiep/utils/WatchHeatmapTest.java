@@ -0,0 +1,40 @@
+package com.mxhieu.doantotnghiep.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WatchHeatmapTest {
+
+    @Test
+    void bucketCountRoundsUpAndFallsBackToTheCap() {
+        assertEquals(7, WatchHeatmap.bucketCount(61));
+        assertEquals(6, WatchHeatmap.bucketCount(60));
+        int cap = Const.WATCH_HEATMAP.MAX_LENGTH_SEC / Const.WATCH_HEATMAP.BUCKET_SEC;
+        assertEquals(cap, WatchHeatmap.bucketCount(null));
+        assertEquals(cap, WatchHeatmap.bucketCount(0));
+        assertEquals(cap, WatchHeatmap.bucketCount(Const.WATCH_HEATMAP.MAX_LENGTH_SEC * 2));
+    }
+
+    @Test
+    void recordCountsEveryTouchedBucketAndClampsToTheLength() {
+        WatchHeatmap heatmap = new WatchHeatmap(3);
+
+        heatmap.record(5, 20);
+        heatmap.record(25, 600);
+        heatmap.record(10, 10);
+        heatmap.record(-5, 8);
+
+        assertArrayEquals(new long[]{1, 1, 1}, heatmap.snapshot());
+    }
+
+    @Test
+    void drainResetsTheCounters() {
+        WatchHeatmap heatmap = new WatchHeatmap(2);
+        heatmap.record(0, 20);
+        heatmap.add(1, 4);
+
+        assertArrayEquals(new long[]{1, 5}, heatmap.drain());
+        assertArrayEquals(new long[]{0, 0}, heatmap.snapshot());
+    }
+}
@@ -1,3 +1,5 @@
+-- Schema ban đầu để import tay. Từ nay schema do Flyway quản lý (MaiHieu/src/main/resources/db/migration):
+-- CSDL import từ file này được baseline V1 khi ứng dụng khởi động, sau đó chạy tiếp các migration V2+.
 -- MySQL dump 10.13  Distrib 8.0.43, for Win64 (x86_64)
 --
 -- Host: localhost    Database: db_do_an_tot_nghiep
@@ -425,6 +427,30 @@ CREATE TABLE `exercisetype` (
 ) ENGINE=InnoDB AUTO_INCREMENT=12 DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 /*!40101 SET character_set_client = @saved_cs_client */;
 
+--
+-- Table structure for table `id_generator`
+--
+
+DROP TABLE IF EXISTS `id_generator`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `id_generator` (
+  `SequenceName` varchar(64) NOT NULL,
+  `NextVal` bigint NOT NULL,
+  PRIMARY KEY (`SequenceName`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
+--
+-- Dumping data for table `id_generator`
+--
+
+LOCK TABLES `id_generator` WRITE;
+/*!40000 ALTER TABLE `id_generator` DISABLE KEYS */;
+INSERT INTO `id_generator` VALUES ('assessmentanswer',50),('assessmentattempt',50),('attemptanswer',50),('enrollmentcourse',50),('lessonprogress',50),('studyplanitem',50),('testprogress',50);
+/*!40000 ALTER TABLE `id_generator` ENABLE KEYS */;
+UNLOCK TABLES;
+
 --
 -- Table structure for table `lesson`
 --
@@ -467,6 +493,30 @@ CREATE TABLE `lessonprogress` (
 ) ENGINE=InnoDB AUTO_INCREMENT=6 DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 /*!40101 SET character_set_client = @saved_cs_client */;
 
+--
+-- Table structure for table `mailoutbox`
+--
+
+DROP TABLE IF EXISTS `mailoutbox`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `mailoutbox` (
+  `ID` int NOT NULL AUTO_INCREMENT,
+  `Recipient` varchar(255) NOT NULL,
+  `Subject` varchar(255) DEFAULT NULL,
+  `TemplateName` varchar(100) NOT NULL,
+  `Props` text,
+  `Status` varchar(20) NOT NULL,
+  `Attempts` int NOT NULL DEFAULT '0',
+  `NextAttemptAt` datetime NOT NULL,
+  `LastError` varchar(1000) DEFAULT NULL,
+  `CreatedAt` datetime NOT NULL,
+  `SentAt` datetime DEFAULT NULL,
+  PRIMARY KEY (`ID`),
+  KEY `mailoutbox_status_next_idx` (`Status`,`NextAttemptAt`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
 --
 -- Table structure for table `material`
 --